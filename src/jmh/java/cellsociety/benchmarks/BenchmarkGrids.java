@@ -0,0 +1,107 @@
+package cellsociety.benchmarks;
+
+import cellsociety.model.config.CellRecord;
+import cellsociety.model.config.ParameterRecord;
+import cellsociety.model.data.Grid;
+import cellsociety.model.data.cells.CellFactory;
+import cellsociety.model.data.constants.EdgeType;
+import cellsociety.model.data.constants.GridShape;
+import cellsociety.model.data.constants.NeighborType;
+import cellsociety.model.logic.Logic;
+import java.lang.reflect.InvocationTargetException;
+import java.util.HashMap;
+import java.util.List;
+import util.SampleCells;
+
+/**
+ * Creates the grids and logics measured by the benchmarks. Grids are generated by
+ * {@link SampleCells} from a fixed seed, so every run of a benchmark starts from exactly the same
+ * cells and results of different engine versions can be compared directly.
+ *
+ * @author Billy McCune
+ */
+final class BenchmarkGrids {
+
+  /**
+   * The seed every benchmark grid is generated from.
+   */
+  static final long SEED = 308;
+
+  private static final String LOGIC_PACKAGE = "cellsociety.model.logic";
+  private static final String STATE_PACKAGE = "cellsociety.model.data.states";
+
+  private BenchmarkGrids() {
+  }
+
+  /**
+   * Generates the initial cells of a simulation.
+   *
+   * @param simulation the simulation name, e.g. "Life" or "Wator"
+   * @param numRows    the number of rows
+   * @param numCols    the number of columns
+   * @return the generated cells
+   * @throws IllegalArgumentException if the simulation is unknown
+   */
+  static List<List<CellRecord>> createCells(String simulation, int numRows, int numCols) {
+    return SampleCells.createCells(simulation, numRows, numCols, SEED);
+  }
+
+  /**
+   * Creates a grid of generated cells and the logic of the simulation on top of it, the same way
+   * the model does when a configuration is loaded.
+   *
+   * @param simulation   the simulation name, e.g. "Life" or "Wator"
+   * @param size         the number of rows and columns
+   * @param shape        the shape of the cells
+   * @param neighborType the neighbor arrangement
+   * @param edgeType     the edge behavior
+   * @param radius       the neighbor radius
+   * @return the grid and the logic of the simulation
+   * @throws ReflectiveOperationException if the logic or state class cannot be created
+   */
+  static Simulation createSimulation(String simulation, int size, GridShape shape,
+      NeighborType neighborType, EdgeType edgeType, int radius)
+      throws ReflectiveOperationException {
+    Grid<?> grid = createGrid(simulation, size, shape, neighborType, edgeType);
+    grid.setSteps(radius);
+    Class<?> logicClass = Class.forName(LOGIC_PACKAGE + "." + simulation + "Logic");
+    try {
+      Logic<?> logic = (Logic<?>) logicClass.getDeclaredConstructor(Grid.class,
+          ParameterRecord.class).newInstance(grid, new ParameterRecord(new HashMap<>(),
+          new HashMap<>()));
+      logic.seedRandom(SEED);
+      return new Simulation(grid, logic);
+    } catch (InvocationTargetException e) {
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+
+  /**
+   * Creates a grid of generated cells without any logic.
+   *
+   * @param simulation   the simulation name, e.g. "Life" or "Wator"
+   * @param size         the number of rows and columns
+   * @param shape        the shape of the cells
+   * @param neighborType the neighbor arrangement
+   * @param edgeType     the edge behavior
+   * @return the grid
+   * @throws ReflectiveOperationException if the state class cannot be found
+   */
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  static Grid<?> createGrid(String simulation, int size, GridShape shape,
+      NeighborType neighborType, EdgeType edgeType) throws ReflectiveOperationException {
+    Class stateClass = Class.forName(STATE_PACKAGE + "." + simulation + "State");
+    return new Grid(createCells(simulation, size, size), new CellFactory(stateClass), shape,
+        neighborType, edgeType);
+  }
+
+  /**
+   * A grid together with the logic updating it.
+   *
+   * @param grid  the grid of the simulation
+   * @param logic the logic of the simulation
+   */
+  record Simulation(Grid<?> grid, Logic<?> logic) {
+
+  }
+}
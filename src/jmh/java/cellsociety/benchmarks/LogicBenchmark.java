@@ -0,0 +1,103 @@
+package cellsociety.benchmarks;
+
+import cellsociety.benchmarks.BenchmarkGrids.Simulation;
+import cellsociety.model.data.constants.EdgeType;
+import cellsociety.model.data.constants.GridShape;
+import cellsociety.model.data.constants.NeighborType;
+import cellsociety.model.logic.Logic;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the cost of one tick of every simulation, {@link Logic#update()}, as the time per tick
+ * and, through the {@code cellUpdates} counter of the throughput mode, as cell updates per second.
+ * <p>
+ * The benchmark runs over every combination of its parameters, which is a long sweep. Narrow it
+ * down on the command line, for example
+ * {@code -Djmh.args="LogicBenchmark -p simulation=Life,Wator -p size=512 -p radius=1"}.
+ * Every iteration starts again from the same generated grid, so simulations that die out or fill
+ * up keep being measured on representative cells.
+ *
+ * @author Billy McCune
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LogicBenchmark {
+
+  @Param({"Life", "Fire", "Percolation", "Segregation", "Wator", "Sugar", "Ant", "Bacteria",
+      "Falling", "Darwin"})
+  private String simulation;
+
+  @Param({"128", "512"})
+  private int size;
+
+  @Param
+  private GridShape shape;
+
+  @Param
+  private NeighborType neighborType;
+
+  @Param
+  private EdgeType edgeType;
+
+  @Param({"1", "2"})
+  private int radius;
+
+  private Logic<?> logic;
+  private int numCells;
+
+  /**
+   * Counts the cells updated, which the throughput mode reports as cell updates per time unit.
+   */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.OPERATIONS)
+  public static class CellCounter {
+
+    public long cellUpdates;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+      cellUpdates = 0;
+    }
+  }
+
+  /**
+   * Creates the simulation from its generated grid before every iteration.
+   *
+   * @throws ReflectiveOperationException if the logic of the simulation cannot be created
+   */
+  @Setup(Level.Iteration)
+  public void createSimulation() throws ReflectiveOperationException {
+    Simulation created = BenchmarkGrids.createSimulation(simulation, size, shape, neighborType,
+        edgeType, radius);
+    logic = created.logic();
+    numCells = created.grid().getNumRows() * created.grid().getNumCols();
+  }
+
+  /**
+   * Advances the simulation by one tick.
+   *
+   * @param counter the counter of updated cells
+   */
+  @Benchmark
+  public void update(CellCounter counter) {
+    logic.update();
+    counter.cellUpdates += numCells;
+  }
+}
@@ -0,0 +1,358 @@
+package cellsociety.benchmarks;
+
+import cellsociety.model.config.ConfigInfo;
+import cellsociety.model.config.ConfigReader;
+import cellsociety.model.modelAPI.ModelApi;
+import cellsociety.view.controller.SceneController;
+import cellsociety.view.scene.SimulationScene;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javafx.application.Platform;
+import javafx.stage.Stage;
+
+/**
+ * Measures what a user actually waits for, end to end: loading bundled configurations and running
+ * them through a real {@link SceneController} on a real {@link SimulationScene}, on the headless
+ * Monocle platform. Every configuration is broken down into the phases
+ * <ul>
+ *   <li>{@code parse}: reading the file with {@link ConfigReader},</li>
+ *   <li>{@code build}: creating the grid and logic in a {@link ModelApi},</li>
+ *   <li>{@code load}: {@link SceneController#loadConfig(String)}, which parses, builds and draws
+ *   the first grid,</li>
+ *   <li>{@code tick}: one {@link ModelApi#updateSimulation()},</li>
+ *   <li>{@code render}: handing the colors of every cell to the scene, as the controller does after
+ *   a tick,</li>
+ *   <li>{@code paint}: laying out and painting the scene once, as a pulse would,</li>
+ *   <li>{@code frame}: one {@link SceneController#update(double)} that ticks and renders.</li>
+ * </ul>
+ * The results are written as JSON with one phase per line, so two runs can be compared with a
+ * plain diff; given a baseline, the change of every phase is printed as well.
+ * <p>
+ * Run it with {@code mvn -P benchmarks test-compile exec:exec@run-macro-benchmark}, optionally
+ * with {@code -Dmacro.args="--ticks 500 --baseline baseline.json AntsLarge.xml"}. The options are
+ * {@code --ticks}, {@code --warmup}, {@code --repeats}, {@code --output} and {@code --baseline},
+ * followed by the names of the configuration files; without names, {@link #DEFAULT_CONFIGS} are
+ * used.
+ *
+ * @author Billy McCune
+ */
+public final class MacroBenchmark {
+
+  /**
+   * The configurations measured when none are given.
+   */
+  public static final List<String> DEFAULT_CONFIGS = List.of("AntsLarge.xml", "Darwin308.xml");
+
+  private static final int DEFAULT_TICKS = 200;
+  private static final int DEFAULT_WARMUP = 20;
+  private static final int DEFAULT_REPEATS = 5;
+  private static final String DEFAULT_OUTPUT = "target/macro-benchmark.json";
+  private static final double NANOS_PER_MILLI = 1e6;
+  private static final Pattern CONFIG_LINE = Pattern.compile("^\\s*\"([^\"]+)\": \\{$");
+  private static final Pattern PHASE_LINE = Pattern.compile(
+      "^\\s*\"([a-z]+)\": \\{\"count\": \\d+, \"meanMs\": ([0-9.]+),.*");
+
+  private final int ticks;
+  private final int warmup;
+  private final int repeats;
+  private Stage stage;
+  private SimulationScene scene;
+  private SceneController controller;
+
+  private MacroBenchmark(int ticks, int warmup, int repeats) {
+    this.ticks = ticks;
+    this.warmup = warmup;
+    this.repeats = repeats;
+  }
+
+  /**
+   * Runs the benchmark over the given configurations and writes the results.
+   *
+   * @param args the options and configuration file names, see the class documentation
+   * @throws Exception if the platform cannot start or a configuration cannot be run
+   */
+  public static void main(String[] args) throws Exception {
+    Map<String, String> options = new LinkedHashMap<>();
+    List<String> configs = new ArrayList<>();
+    for (int i = 0; i < args.length; i++) {
+      if (args[i].startsWith("--") && i + 1 < args.length) {
+        options.put(args[i].substring(2), args[++i]);
+      } else {
+        configs.add(args[i]);
+      }
+    }
+    if (configs.isEmpty()) {
+      configs.addAll(DEFAULT_CONFIGS);
+    }
+    MacroBenchmark benchmark = new MacroBenchmark(
+        Integer.parseInt(options.getOrDefault("ticks", String.valueOf(DEFAULT_TICKS))),
+        Integer.parseInt(options.getOrDefault("warmup", String.valueOf(DEFAULT_WARMUP))),
+        Integer.parseInt(options.getOrDefault("repeats", String.valueOf(DEFAULT_REPEATS))));
+
+    useHeadlessPlatform();
+    CountDownLatch started = new CountDownLatch(1);
+    Platform.startup(started::countDown);
+    started.await();
+    try {
+      Map<String, Map<String, Phase>> results = new LinkedHashMap<>();
+      for (String config : configs) {
+        results.put(config, onFxThread(() -> benchmark.run(config)));
+        System.out.println(config + ":");
+        results.get(config).forEach((name, phase) -> System.out.printf(Locale.ROOT,
+            "  %-6s mean %10.3f ms  p50 %10.3f ms  p95 %10.3f ms  (%d)%n", name, phase.mean(),
+            phase.percentile(50), phase.percentile(95), phase.count()));
+      }
+      String json = benchmark.toJson(results);
+      Path output = Path.of(options.getOrDefault("output", DEFAULT_OUTPUT));
+      if (output.getParent() != null) {
+        Files.createDirectories(output.getParent());
+      }
+      Files.writeString(output, json, StandardCharsets.UTF_8);
+      System.out.println("Results written to " + output);
+      if (options.containsKey("baseline")) {
+        compare(json, Files.readString(Path.of(options.get("baseline")), StandardCharsets.UTF_8));
+      }
+    } finally {
+      Platform.exit();
+    }
+  }
+
+  /* MEASURING METHODS */
+
+  private Map<String, Phase> run(String config) throws Exception {
+    if (scene == null) {
+      stage = new Stage();
+      scene = new SimulationScene(stage);
+      stage.show();
+      controller = new SceneController(scene);
+    }
+    Map<String, Phase> phases = new LinkedHashMap<>();
+
+    // Parsing first also reports a broken file as an exception instead of an error dialog
+    Phase parse = new Phase(repeats);
+    ConfigInfo configInfo = null;
+    for (int i = 0; i < repeats; i++) {
+      long start = System.nanoTime();
+      configInfo = new ConfigReader().readConfig(config);
+      parse.add(System.nanoTime() - start);
+    }
+    phases.put("parse", parse);
+
+    Phase build = new Phase(repeats);
+    ModelApi model = null;
+    for (int i = 0; i < repeats; i++) {
+      long start = System.nanoTime();
+      model = new ModelApi();
+      model.setHistoryBudget(SceneController.HISTORY_MEMORY_BUDGET);
+      model.setConfigInfo(configInfo);
+      model.resetModel();
+      model.resetParameters();
+      build.add(System.nanoTime() - start);
+    }
+    phases.put("build", build);
+
+    Phase load = new Phase(repeats);
+    for (int i = 0; i < repeats; i++) {
+      long start = System.nanoTime();
+      controller.loadConfig(config);
+      load.add(System.nanoTime() - start);
+    }
+    if (!controller.isLoaded()) {
+      throw new IllegalStateException("Could not load " + config);
+    }
+    phases.put("load", load);
+
+    int numRows = configInfo.myGridHeight();
+    int numCols = configInfo.myGridWidth();
+    Phase tick = new Phase(ticks);
+    Phase render = new Phase(ticks);
+    Phase paint = new Phase(ticks);
+    for (int i = 0; i < warmup + ticks; i++) {
+      long start = System.nanoTime();
+      model.updateSimulation();
+      long ticked = System.nanoTime();
+      for (int row = 0; row < numRows; row++) {
+        for (int col = 0; col < numCols; col++) {
+          scene.setCell(numCols, row, col, model.getCellColor(row, col, false));
+        }
+      }
+      long rendered = System.nanoTime();
+      stage.getScene().snapshot(null);
+      long painted = System.nanoTime();
+      if (i >= warmup) {
+        tick.add(ticked - start);
+        render.add(rendered - ticked);
+        paint.add(painted - rendered);
+      }
+    }
+    phases.put("tick", tick);
+    phases.put("render", render);
+    phases.put("paint", paint);
+
+    // Each update is long enough for exactly one tick at the default speed
+    Phase frame = new Phase(ticks);
+    controller.setStartPause(false);
+    for (int i = 0; i < warmup + ticks; i++) {
+      long start = System.nanoTime();
+      controller.update(1.0);
+      if (i >= warmup) {
+        frame.add(System.nanoTime() - start);
+      }
+    }
+    controller.setStartPause(true);
+    phases.put("frame", frame);
+    return phases;
+  }
+
+  /* REPORTING METHODS */
+
+  private String toJson(Map<String, Map<String, Phase>> results) {
+    StringBuilder json = new StringBuilder();
+    json.append("{\n");
+    json.append("  \"ticks\": ").append(ticks).append(",\n");
+    json.append("  \"warmup\": ").append(warmup).append(",\n");
+    json.append("  \"repeats\": ").append(repeats).append(",\n");
+    json.append("  \"javaVersion\": \"").append(System.getProperty("java.version"))
+        .append("\",\n");
+    json.append("  \"configs\": {\n");
+    int configIndex = 0;
+    for (Map.Entry<String, Map<String, Phase>> config : results.entrySet()) {
+      json.append("    \"").append(config.getKey()).append("\": {\n");
+      int phaseIndex = 0;
+      for (Map.Entry<String, Phase> phase : config.getValue().entrySet()) {
+        Phase value = phase.getValue();
+        json.append(String.format(Locale.ROOT, "      \"%s\": {\"count\": %d, "
+                + "\"meanMs\": %.4f, \"p50Ms\": %.4f, \"p95Ms\": %.4f, \"maxMs\": %.4f}",
+            phase.getKey(), value.count(), value.mean(), value.percentile(50), value.percentile(95),
+            value.percentile(100)));
+        json.append(++phaseIndex < config.getValue().size() ? ",\n" : "\n");
+      }
+      json.append(++configIndex < results.size() ? "    },\n" : "    }\n");
+    }
+    json.append("  }\n");
+    json.append("}\n");
+    return json.toString();
+  }
+
+  /**
+   * Prints the change of the mean time of every phase measured in both results.
+   */
+  private static void compare(String current, String baseline) {
+    Map<String, Double> baselineMeans = readMeans(baseline);
+    System.out.println("Change of the mean time against the baseline:");
+    readMeans(current).forEach((phase, mean) -> {
+      Double baselineMean = baselineMeans.get(phase);
+      if (baselineMean != null && baselineMean > 0) {
+        System.out.printf(Locale.ROOT, "  %-24s %10.3f ms -> %10.3f ms  %+7.1f%%%n", phase,
+            baselineMean, mean, (mean - baselineMean) / baselineMean * 100);
+      }
+    });
+  }
+
+  /**
+   * Reads the mean times of a result written by {@link #toJson(Map)}, keyed by configuration and
+   * phase.
+   */
+  private static Map<String, Double> readMeans(String json) {
+    Map<String, Double> means = new LinkedHashMap<>();
+    String config = null;
+    for (String line : json.split("\n")) {
+      Matcher configMatcher = CONFIG_LINE.matcher(line);
+      Matcher phaseMatcher = PHASE_LINE.matcher(line);
+      if (configMatcher.matches()) {
+        config = configMatcher.group(1);
+      } else if (phaseMatcher.matches() && config != null) {
+        means.put(config + " " + phaseMatcher.group(1), Double.parseDouble(phaseMatcher.group(2)));
+      }
+    }
+    return means;
+  }
+
+  /* PLATFORM METHODS */
+
+  /**
+   * Selects the headless Monocle platform with software rendering, unless the command line chose
+   * a platform already. This has to happen before the platform starts.
+   */
+  private static void useHeadlessPlatform() {
+    setDefaultProperty("glass.platform", "Monocle");
+    setDefaultProperty("monocle.platform", "Headless");
+    setDefaultProperty("prism.order", "sw");
+    setDefaultProperty("java.awt.headless", "true");
+    setDefaultProperty("headless.geometry", "1600x1200");
+  }
+
+  private static void setDefaultProperty(String key, String value) {
+    if (System.getProperty(key) == null) {
+      System.setProperty(key, value);
+    }
+  }
+
+  private static <T> T onFxThread(Callable<T> task) throws Exception {
+    FutureTask<T> future = new FutureTask<>(task);
+    Platform.runLater(future);
+    try {
+      return future.get();
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof Exception cause) {
+        throw cause;
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * The wall times of the runs of one phase.
+   */
+  private static final class Phase {
+
+    private long[] nanos;
+    private int count;
+
+    Phase(int capacity) {
+      nanos = new long[Math.max(1, capacity)];
+    }
+
+    void add(long elapsedNanos) {
+      if (count == nanos.length) {
+        nanos = Arrays.copyOf(nanos, count * 2);
+      }
+      nanos[count++] = elapsedNanos;
+    }
+
+    int count() {
+      return count;
+    }
+
+    double mean() {
+      long total = 0;
+      for (int i = 0; i < count; i++) {
+        total += nanos[i];
+      }
+      return count == 0 ? 0 : total / NANOS_PER_MILLI / count;
+    }
+
+    double percentile(double percent) {
+      if (count == 0) {
+        return 0;
+      }
+      long[] sorted = Arrays.copyOf(nanos, count);
+      Arrays.sort(sorted);
+      int index = (int) Math.ceil(percent / 100 * count) - 1;
+      return sorted[Math.max(0, Math.min(count - 1, index))] / NANOS_PER_MILLI;
+    }
+  }
+}
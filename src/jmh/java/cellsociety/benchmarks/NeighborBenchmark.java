@@ -0,0 +1,107 @@
+package cellsociety.benchmarks;
+
+import cellsociety.model.data.Grid;
+import cellsociety.model.data.constants.EdgeType;
+import cellsociety.model.data.constants.GridShape;
+import cellsociety.model.data.constants.NeighborType;
+import cellsociety.model.data.neighbors.NeighborCalculator;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the setup cost of neighbors, which is paid whenever a configuration is loaded or its
+ * shape, arrangement, edges or radius change: creating a {@link NeighborCalculator}, computing the
+ * neighbors of every cell with it, and {@link Grid#assignNeighbors()}, which also stores them in
+ * the cells.
+ * <p>
+ * The neighbors do not depend on the states of the cells, so a single Life grid is used.
+ *
+ * @author Billy McCune
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NeighborBenchmark {
+
+  @Param({"128", "512"})
+  private int size;
+
+  @Param
+  private GridShape shape;
+
+  @Param
+  private NeighborType neighborType;
+
+  @Param
+  private EdgeType edgeType;
+
+  @Param({"1", "2", "3"})
+  private int radius;
+
+  private Grid<?> grid;
+
+  /**
+   * Creates the grid once per trial.
+   *
+   * @throws ReflectiveOperationException if the state class cannot be found
+   */
+  @Setup(Level.Trial)
+  public void createGrid() throws ReflectiveOperationException {
+    grid = BenchmarkGrids.createGrid("Life", size, shape, neighborType, edgeType);
+    grid.setSteps(radius);
+  }
+
+  /**
+   * Creates a neighbor calculator for the current settings.
+   *
+   * @return the calculator
+   */
+  @Benchmark
+  @OutputTimeUnit(TimeUnit.NANOSECONDS)
+  public NeighborCalculator<?> createCalculator() {
+    return new NeighborCalculator<>(shape, neighborType, edgeType, radius);
+  }
+
+  /**
+   * Computes the neighbors of every cell without storing them.
+   *
+   * @param blackhole consumes the neighbors so that they are not optimized away
+   */
+  @Benchmark
+  public void calculateNeighbors(Blackhole blackhole) {
+    calculateNeighbors(grid, blackhole);
+  }
+
+  /**
+   * Computes and stores the neighbors of every cell.
+   */
+  @Benchmark
+  public void assignNeighbors() {
+    grid.assignNeighbors();
+  }
+
+  private static <T extends Enum<T> & cellsociety.model.data.states.State>
+      void calculateNeighbors(Grid<T> grid, Blackhole blackhole) {
+    NeighborCalculator<T> calculator = grid.getNeighborCalculator();
+    for (int row = 0; row < grid.getNumRows(); row++) {
+      for (int col = 0; col < grid.getNumCols(); col++) {
+        blackhole.consume(calculator.getNeighbors(grid, row, col));
+      }
+    }
+  }
+}
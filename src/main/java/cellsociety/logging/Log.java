@@ -1,16 +1,38 @@
 package cellsociety.logging;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
  * This the class for console logging.
+ * <p>
+ * Messages below the {@link #setLevel(LogLevel) minimum level} are discarded before anything is
+ * formatted, so a disabled call only costs a comparison; use the {@link Supplier} variants to also
+ * skip building the message. Enabled messages are handed to a background writer thread through a
+ * lock-free queue, so logging is safe from any thread and never waits for the console. The writer
+ * formats and prints the messages, stores them in a ring of the most recent ones and notifies the
+ * listeners. A repeat of the message still waiting at the end of the queue is only counted on
+ * that entry, so a flood of the same message takes a single entry. Repeats are printed once,
+ * followed by their count at most once per {@value #REPEAT_WINDOW_MILLIS} ms. When TRACE and INFO
+ * messages arrive faster than they can be written the excess is dropped and counted; warnings and
+ * errors have a larger bound, so they are only dropped when the writer is far behind. Call
+ * {@link #flush()} to wait until everything logged so far is written.
  *
  * @author Hsuan-Kai Liao
  */
@@ -22,40 +44,259 @@ public class Log {
   public static final String INFO_COLOR = "\u001B[32m";
   public static final String WARN_COLOR = "\u001B[33m";
   public static final String ERROR_COLOR = "\u001B[31m";
+  // Level configuration
+  public static final String LEVEL_PROPERTY = "cellsociety.log.level";
   // Indentation values
   private static final int TIME_STRING_LENGTH = 10;
   private static final int LEVEL_STRING_LENGTH = 8;
   private static final int MAX_LINE_WIDTH = 150;
   // Time format
   private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm:ss");
-  // List to store the log messages
+  // Ring to store the log messages
   private static final int MAX_LOG_SIZE = 1000;
-  private static final List<String> LOG_MESSAGES = new ArrayList<>();
-  private static final List<Consumer<String>> LOG_CONSUMERS = new ArrayList<>();
+  private static final LogRingBuffer LOG_MESSAGES = new LogRingBuffer(MAX_LOG_SIZE);
+  private static final List<Consumer<String>> LOG_CONSUMERS = new CopyOnWriteArrayList<>();
+  // Queue of the messages waiting for the writer
+  private static final int MAX_PENDING_MESSAGES = 10_000;
+  private static final int MAX_PENDING_SEVERE_MESSAGES = 100_000;
+  private static final long FLUSH_TIMEOUT_MILLIS = 5_000;
+  private static final long REPEAT_WINDOW_MILLIS = 1_000;
+  private static final Queue<LogEntry> PENDING = new ConcurrentLinkedQueue<>();
+  private static final AtomicInteger PENDING_COUNT = new AtomicInteger();
+  private static final AtomicLong DROPPED_COUNT = new AtomicLong();
+  private static final Thread WRITER = createWriter();
+  private static volatile boolean isWriterParked;
+  private static volatile LogEntry lastEnqueued;
+  private static volatile int minimumLevel = readLevelProperty().ordinal();
+  // Writer state, only used by the writer thread
+  private static LogEntry lastEntry;
+  private static long repeatCount;
+  private static long repeatWindowStart;
+
+  /* LEVEL CONFIGURATION */
 
-  private static void log(LogLevel level, String msg) {
-    String formattedMessage = formatMessage(level, msg);
-    printFormattedMessage(level, formattedMessage);
-    storeLogMessage(formattedMessage);
+  /**
+   * Sets the minimum level of the messages that are logged. The initial level is read from the
+   * {@value #LEVEL_PROPERTY} system property and defaults to TRACE, which logs everything.
+   *
+   * @param level the lowest level that is still logged
+   */
+  public static void setLevel(LogLevel level) {
+    minimumLevel = level.ordinal();
+  }
+
+  /**
+   * Returns the minimum level of the messages that are logged.
+   *
+   * @return the lowest level that is still logged
+   */
+  public static LogLevel getLevel() {
+    return LogLevel.values()[minimumLevel];
+  }
+
+  /**
+   * Indicates whether messages of the given level are logged, for guarding expensive work that
+   * only feeds a log message.
+   *
+   * @param level the level to check
+   * @return true if messages of the level are logged
+   */
+  public static boolean isEnabled(LogLevel level) {
+    return level.ordinal() >= minimumLevel;
+  }
+
+  /**
+   * Waits until every message logged so far is printed, stored and passed to the listeners. Does
+   * nothing when called by a listener.
+   */
+  public static void flush() {
+    if (Thread.currentThread() == WRITER) {
+      return;
+    }
+    CountDownLatch flushed = new CountDownLatch(1);
+    enqueue(new LogEntry(null, 0, null, null, flushed));
+    try {
+      flushed.await(FLUSH_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Returns the number of messages dropped so far because they were logged faster than they could
+   * be written.
+   *
+   * @return the number of dropped messages that were not reported yet
+   */
+  public static long getDroppedMessages() {
+    return DROPPED_COUNT.get();
+  }
+
+  /**
+   * Returns the number of entries waiting for the writer. Repeats collapsed into a waiting entry
+   * are not counted.
+   *
+   * @return the number of queued entries
+   */
+  public static int getPendingMessages() {
+    return PENDING_COUNT.get();
   }
 
   /* MAIN LOG METHOD */
 
+  private static void log(LogLevel level, String msg) {
+    log(level, msg, null);
+  }
+
   private static void log(LogLevel level, String msg, Throwable e) {
-    if (e == null) {
-      log(level, msg);
+    enqueue(new LogEntry(level, System.currentTimeMillis(), msg, e, null));
+  }
+
+  /**
+   * Hands an entry to the writer. A repeat of the last queued entry is counted on it if the writer
+   * has not taken it yet. Past the bound of pending entries of its level, a message is dropped and
+   * counted, while flush requests are always queued.
+   */
+  private static void enqueue(LogEntry entry) {
+    if (entry.flushed() == null) {
+      LogEntry last = lastEnqueued;
+      if (entry.isRepeatOf(last) && last.addRepeat()) {
+        return;
+      }
+      int bound = entry.isDroppable() ? MAX_PENDING_MESSAGES : MAX_PENDING_SEVERE_MESSAGES;
+      if (PENDING_COUNT.incrementAndGet() > bound) {
+        PENDING_COUNT.decrementAndGet();
+        DROPPED_COUNT.incrementAndGet();
+        return;
+      }
+      lastEnqueued = entry;
+    } else {
+      PENDING_COUNT.incrementAndGet();
+    }
+    PENDING.offer(entry);
+    if (isWriterParked) {
+      LockSupport.unpark(WRITER);
+    }
+  }
+
+  /* LOG WRITER */
+
+  private static Thread createWriter() {
+    Thread writer = new Thread(Log::runWriter, "cellsociety-log-writer");
+    writer.setDaemon(true);
+    writer.start();
+    Runtime.getRuntime().addShutdownHook(new Thread(Log::flush, "cellsociety-log-flush"));
+    return writer;
+  }
+
+  private static void runWriter() {
+    while (true) {
+      LogEntry entry = PENDING.poll();
+      if (entry == null) {
+        // Report the dropped messages, and the repeats once their window is over, then wait
+        writeDropped();
+        long repeatWait = REPEAT_WINDOW_MILLIS
+            - (System.currentTimeMillis() - repeatWindowStart);
+        if (repeatCount > 0 && repeatWait <= 0) {
+          writeRepeats();
+        }
+        isWriterParked = true;
+        if (PENDING.isEmpty()) {
+          if (repeatCount > 0) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(repeatWait));
+          } else {
+            LockSupport.park();
+          }
+        }
+        isWriterParked = false;
+        continue;
+      }
+      PENDING_COUNT.decrementAndGet();
+      int repeats = entry.take();
+      try {
+        if (entry.flushed() != null) {
+          writeRepeats();
+          writeDropped();
+          entry.flushed().countDown();
+        } else {
+          writeEntry(entry, repeats);
+        }
+      } catch (RuntimeException e) {
+        // A failing listener must not stop the writer
+        e.printStackTrace();
+      }
+    }
+  }
+
+  /**
+   * Writes an entry, or counts it if it repeats the last written message, then counts the repeats
+   * that were collapsed into it while it was queued.
+   */
+  private static void writeEntry(LogEntry entry, int repeats) {
+    if (entry.isRepeatOf(lastEntry)) {
+      repeats++;
+    } else {
+      writeRepeats();
+      writeDropped();
+      lastEntry = entry;
+      write(entry);
+    }
+    if (repeats == 0) {
       return;
     }
+    if (repeatCount > 0 && entry.time() - repeatWindowStart >= REPEAT_WINDOW_MILLIS) {
+      writeRepeats();
+    }
+    if (repeatCount == 0) {
+      repeatWindowStart = entry.time();
+    }
+    repeatCount += repeats;
+  }
 
-    // Aggregate messages and exceptions
-    String stackTraceString = Arrays.stream(e.getStackTrace()).map(StackTraceElement::toString)
-        .collect(Collectors.joining("\n"));
-    String splitLine = "=".repeat(MAX_LINE_WIDTH - TIME_STRING_LENGTH - LEVEL_STRING_LENGTH - 3);
-    String formattedMessage = formatMessage(level,
-        msg + "\n" + splitLine + "\n" + stackTraceString + "\n" + splitLine);
+  /**
+   * Writes the number of repeats of the last message held back so far. The last message is kept,
+   * so that later repeats are still counted instead of printed.
+   */
+  private static void writeRepeats() {
+    if (repeatCount > 0) {
+      write(new LogEntry(lastEntry.level(), System.currentTimeMillis(),
+          "Previous message repeated " + repeatCount + " more times", null, null));
+      repeatCount = 0;
+    }
+  }
 
-    printFormattedMessage(level, formattedMessage);
-    storeLogMessage(formattedMessage);
+  private static void writeDropped() {
+    long dropped = DROPPED_COUNT.getAndSet(0);
+    if (dropped > 0) {
+      write(new LogEntry(LogLevel.WARN, System.currentTimeMillis(),
+          dropped + " log messages were dropped because they were logged too fast", null, null));
+    }
+  }
+
+  private static void write(LogEntry entry) {
+    String msg = entry.message();
+    if (entry.error() != null) {
+      // Aggregate messages and exceptions
+      String stackTraceString = Arrays.stream(entry.error().getStackTrace())
+          .map(StackTraceElement::toString).collect(Collectors.joining("\n"));
+      String splitLine = "=".repeat(MAX_LINE_WIDTH - TIME_STRING_LENGTH - LEVEL_STRING_LENGTH - 3);
+      msg = msg + "\n" + splitLine + "\n" + stackTraceString + "\n" + splitLine;
+    }
+    String formattedMessage = formatMessage(entry.level(), entry.time(), msg);
+    printFormattedMessage(entry.level(), formattedMessage);
+    LOG_MESSAGES.add(formattedMessage);
+  }
+
+  private static LogLevel readLevelProperty() {
+    String level = System.getProperty(LEVEL_PROPERTY);
+    if (level == null) {
+      return LogLevel.TRACE;
+    }
+    try {
+      return LogLevel.valueOf(level.trim().toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException e) {
+      return LogLevel.TRACE;
+    }
   }
 
   private static void printFormattedMessage(LogLevel level, String formattedMessage) {
@@ -80,8 +321,9 @@ public class Log {
     notifyLogListeners(formattedMessage);
   }
 
-  private static String formatMessage(LogLevel level, String msg) {
-    String timestamp = LocalDateTime.now().format(TIME_FORMATTER);
+  private static String formatMessage(LogLevel level, long time, String msg) {
+    String timestamp = LocalDateTime.ofInstant(Instant.ofEpochMilli(time), ZoneId.systemDefault())
+        .format(TIME_FORMATTER);
 
     // Ensure the level is padded to the right with spaces to match levelStringLength
     String levelString = String.format("%-" + LEVEL_STRING_LENGTH + "s",
@@ -135,20 +377,15 @@ public class Log {
     return wrappedMessage.toString();
   }
 
-  private static void storeLogMessage(String message) {
-    if (LOG_MESSAGES.size() >= MAX_LOG_SIZE) {
-      LOG_MESSAGES.removeFirst();
-    }
-    LOG_MESSAGES.add(message);
-  }
-
   /**
    * Log a TRACE level message.
    *
    * @param msg The message to log.
    */
   public static void trace(String msg) {
-    log(LogLevel.TRACE, msg);
+    if (isEnabled(LogLevel.TRACE)) {
+      log(LogLevel.TRACE, msg);
+    }
   }
 
   /* LOG APIS */
@@ -160,7 +397,20 @@ public class Log {
    * @param args   The arguments
    */
   public static void trace(String format, Object... args) {
-    log(LogLevel.TRACE, String.format(format, args));
+    if (isEnabled(LogLevel.TRACE)) {
+      log(LogLevel.TRACE, String.format(format, args));
+    }
+  }
+
+  /**
+   * Log a TRACE level message that is only built if the level is enabled.
+   *
+   * @param msg The supplier of the message to log.
+   */
+  public static void trace(Supplier<String> msg) {
+    if (isEnabled(LogLevel.TRACE)) {
+      log(LogLevel.TRACE, msg.get());
+    }
   }
 
   /**
@@ -169,7 +419,9 @@ public class Log {
    * @param msg The message to log.
    */
   public static void info(String msg) {
-    log(LogLevel.INFO, msg);
+    if (isEnabled(LogLevel.INFO)) {
+      log(LogLevel.INFO, msg);
+    }
   }
 
   /**
@@ -179,7 +431,20 @@ public class Log {
    * @param args   The arguments
    */
   public static void info(String format, Object... args) {
-    log(LogLevel.INFO, String.format(format, args));
+    if (isEnabled(LogLevel.INFO)) {
+      log(LogLevel.INFO, String.format(format, args));
+    }
+  }
+
+  /**
+   * Log an INFO level message that is only built if the level is enabled.
+   *
+   * @param msg The supplier of the message to log.
+   */
+  public static void info(Supplier<String> msg) {
+    if (isEnabled(LogLevel.INFO)) {
+      log(LogLevel.INFO, msg.get());
+    }
   }
 
   /**
@@ -188,7 +453,9 @@ public class Log {
    * @param msg The message to log.
    */
   public static void warn(String msg) {
-    log(LogLevel.WARN, msg);
+    if (isEnabled(LogLevel.WARN)) {
+      log(LogLevel.WARN, msg);
+    }
   }
 
   /**
@@ -198,7 +465,20 @@ public class Log {
    * @param args   The arguments
    */
   public static void warn(String format, Object... args) {
-    log(LogLevel.WARN, String.format(format, args));
+    if (isEnabled(LogLevel.WARN)) {
+      log(LogLevel.WARN, String.format(format, args));
+    }
+  }
+
+  /**
+   * Log a WARN level message that is only built if the level is enabled.
+   *
+   * @param msg The supplier of the message to log.
+   */
+  public static void warn(Supplier<String> msg) {
+    if (isEnabled(LogLevel.WARN)) {
+      log(LogLevel.WARN, msg.get());
+    }
   }
 
   /**
@@ -207,7 +487,9 @@ public class Log {
    * @param msg The message to log.
    */
   public static void error(String msg) {
-    log(LogLevel.ERROR, msg);
+    if (isEnabled(LogLevel.ERROR)) {
+      log(LogLevel.ERROR, msg);
+    }
   }
 
   /**
@@ -217,7 +499,20 @@ public class Log {
    * @param args   The arguments
    */
   public static void error(String format, Object... args) {
-    log(LogLevel.ERROR, String.format(format, args));
+    if (isEnabled(LogLevel.ERROR)) {
+      log(LogLevel.ERROR, String.format(format, args));
+    }
+  }
+
+  /**
+   * Log an ERROR level message that is only built if the level is enabled.
+   *
+   * @param msg The supplier of the message to log.
+   */
+  public static void error(Supplier<String> msg) {
+    if (isEnabled(LogLevel.ERROR)) {
+      log(LogLevel.ERROR, msg.get());
+    }
   }
 
   /**
@@ -227,7 +522,9 @@ public class Log {
    * @param msg The message to log.
    */
   public static void trace(Throwable e, String msg) {
-    log(LogLevel.TRACE, msg, e);
+    if (isEnabled(LogLevel.TRACE)) {
+      log(LogLevel.TRACE, msg, e);
+    }
   }
 
   /**
@@ -237,7 +534,9 @@ public class Log {
    * @param msg The message to log.
    */
   public static void info(Throwable e, String msg) {
-    log(LogLevel.INFO, msg, e);
+    if (isEnabled(LogLevel.INFO)) {
+      log(LogLevel.INFO, msg, e);
+    }
   }
 
   /**
@@ -247,7 +546,9 @@ public class Log {
    * @param msg The message to log.
    */
   public static void warn(Throwable e, String msg) {
-    log(LogLevel.WARN, msg, e);
+    if (isEnabled(LogLevel.WARN)) {
+      log(LogLevel.WARN, msg, e);
+    }
   }
 
   /**
@@ -257,7 +558,9 @@ public class Log {
    * @param msg The message to log.
    */
   public static void error(Throwable e, String msg) {
-    log(LogLevel.ERROR, msg, e);
+    if (isEnabled(LogLevel.ERROR)) {
+      log(LogLevel.ERROR, msg, e);
+    }
   }
 
   /**
@@ -268,7 +571,9 @@ public class Log {
    * @param args   The arguments.
    */
   public static void trace(Throwable e, String format, Object... args) {
-    log(LogLevel.TRACE, String.format(format, args), e);
+    if (isEnabled(LogLevel.TRACE)) {
+      log(LogLevel.TRACE, String.format(format, args), e);
+    }
   }
 
   /**
@@ -279,7 +584,9 @@ public class Log {
    * @param args   The arguments.
    */
   public static void info(Throwable e, String format, Object... args) {
-    log(LogLevel.INFO, String.format(format, args), e);
+    if (isEnabled(LogLevel.INFO)) {
+      log(LogLevel.INFO, String.format(format, args), e);
+    }
   }
 
   /**
@@ -290,7 +597,9 @@ public class Log {
    * @param args   The arguments.
    */
   public static void warn(Throwable e, String format, Object... args) {
-    log(LogLevel.WARN, String.format(format, args), e);
+    if (isEnabled(LogLevel.WARN)) {
+      log(LogLevel.WARN, String.format(format, args), e);
+    }
   }
 
   /**
@@ -301,11 +610,13 @@ public class Log {
    * @param args   The arguments.
    */
   public static void error(Throwable e, String format, Object... args) {
-    log(LogLevel.ERROR, String.format(format, args), e);
+    if (isEnabled(LogLevel.ERROR)) {
+      log(LogLevel.ERROR, String.format(format, args), e);
+    }
   }
 
   /**
-   * Add a log listener to receive log messages.
+   * Add a log listener to receive log messages. Listeners are called on the log writer thread.
    *
    * @param consumer The consumer to receive log messages.
    */
@@ -339,18 +650,63 @@ public class Log {
   }
 
   /**
-   * Return an unmodifiable view of the logMessages list
+   * Return a snapshot of the most recent log messages, oldest first
    *
    * @return The unmodifiable list of log messages
    */
   public static List<String> getLogMessages() {
-    return Collections.unmodifiableList(LOG_MESSAGES);
+    return LOG_MESSAGES.snapshot();
   }
 
   /* LOG OUTPUT */
 
-  // Enum for log level
-  private enum LogLevel {
+  /**
+   * The levels of log messages, from the least to the most severe.
+   */
+  public enum LogLevel {
     TRACE, INFO, WARN, ERROR
   }
+
+  /**
+   * A message waiting for the writer, or a request to signal once everything before it is written.
+   * The repeats of the message logged while it waits are counted on it, until the writer takes it.
+   */
+  private record LogEntry(LogLevel level, long time, String message, Throwable error,
+                          CountDownLatch flushed, AtomicInteger repeats) {
+
+    private LogEntry(LogLevel level, long time, String message, Throwable error,
+        CountDownLatch flushed) {
+      this(level, time, message, error, flushed, new AtomicInteger());
+    }
+
+    /**
+     * Counts one more repeat, unless the writer already took this entry.
+     */
+    private boolean addRepeat() {
+      int count = repeats.get();
+      while (count >= 0 && count < Integer.MAX_VALUE) {
+        if (repeats.compareAndSet(count, count + 1)) {
+          return true;
+        }
+        count = repeats.get();
+      }
+      return false;
+    }
+
+    /**
+     * Marks this entry as taken by the writer and returns the number of repeats counted on it.
+     */
+    private int take() {
+      return repeats.getAndSet(-1);
+    }
+
+    private boolean isDroppable() {
+      return flushed == null && level.compareTo(LogLevel.WARN) < 0;
+    }
+
+    private boolean isRepeatOf(LogEntry other) {
+      return other != null && error == null && other.error == null && level == other.level
+          && message.equals(other.message);
+    }
+  }
 }
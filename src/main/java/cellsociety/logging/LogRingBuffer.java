@@ -0,0 +1,62 @@
+package cellsociety.logging;
+
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A fixed size ring of the most recent log messages. The log writer thread adds the messages
+ * without locks, overwriting the oldest once the ring is full, and any thread can take a snapshot.
+ *
+ * @author Hsuan-Kai Liao
+ */
+class LogRingBuffer {
+
+  private final AtomicReferenceArray<String> messages;
+  private final AtomicLong count = new AtomicLong();
+
+  /**
+   * Creates an empty ring.
+   *
+   * @param capacity the number of messages to keep
+   */
+  LogRingBuffer(int capacity) {
+    messages = new AtomicReferenceArray<>(capacity);
+  }
+
+  /**
+   * Adds a message. Only one thread may add messages.
+   *
+   * @param message the message to add
+   */
+  void add(String message) {
+    long next = count.get();
+    messages.set((int) (next % messages.length()), message);
+    count.lazySet(next + 1);
+  }
+
+  /**
+   * Returns the messages in the ring, oldest first. Messages overwritten while the snapshot was
+   * taken are left out.
+   *
+   * @return an unmodifiable snapshot of the messages
+   */
+  List<String> snapshot() {
+    int capacity = messages.length();
+    long end = count.get();
+    long start = Math.max(0, end - capacity);
+    List<String> snapshot = new ArrayList<>((int) (end - start));
+    for (long i = start; i < end; i++) {
+      snapshot.add(messages.get((int) (i % capacity)));
+    }
+
+    // The message being added now may already have overwritten the oldest ones
+    VarHandle.loadLoadFence();
+    long firstIntact = count.get() - capacity + 1;
+    int skipped = (int) Math.max(0, Math.min(snapshot.size(), firstIntact - start));
+    return Collections.unmodifiableList(snapshot.subList(skipped, snapshot.size()));
+  }
+}
@@ -0,0 +1,44 @@
+package cellsociety.logging.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A Flight Recorder event for reading a configuration file, emitted by
+ * {@link cellsociety.model.config.ConfigReader#readConfig(String)}.
+ *
+ * @author Billy McCune
+ */
+@Name("cellsociety.ConfigLoad")
+@Label("Config Load")
+@Category({"Cell Society", "Config"})
+@Description("Reading a configuration file")
+@Enabled(false)
+@StackTrace(false)
+public class ConfigLoadEvent extends Event {
+
+  @Label("File Name")
+  public String fileName;
+
+  @Label("File Size")
+  @DataAmount
+  public long fileSize;
+
+  @Label("Simulation")
+  public String simulation;
+
+  @Label("Rows")
+  public int numRows;
+
+  @Label("Columns")
+  public int numCols;
+
+  @Label("Succeeded")
+  public boolean succeeded;
+}
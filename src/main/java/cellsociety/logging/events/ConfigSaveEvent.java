@@ -0,0 +1,45 @@
+package cellsociety.logging.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A Flight Recorder event for writing a configuration file, emitted by
+ * {@link cellsociety.model.config.ConfigWriter#saveCurrentConfig}.
+ *
+ * @author Billy McCune
+ */
+@Name("cellsociety.ConfigSave")
+@Label("Config Save")
+@Category({"Cell Society", "Config"})
+@Description("Writing the current simulation to a configuration file")
+@Enabled(false)
+@StackTrace(false)
+public class ConfigSaveEvent extends Event {
+
+  @Label("Directory")
+  public String directory;
+
+  @Label("File Name")
+  public String fileName;
+
+  @Label("Simulation")
+  public String simulation;
+
+  @Label("Rows")
+  public int numRows;
+
+  @Label("Columns")
+  public int numCols;
+
+  @Label("Compressed")
+  public boolean compressed;
+
+  @Label("Succeeded")
+  public boolean succeeded;
+}
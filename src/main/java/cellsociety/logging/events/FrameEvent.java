@@ -0,0 +1,41 @@
+package cellsociety.logging.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A Flight Recorder event for one frame of a running simulation, emitted by
+ * {@link cellsociety.view.controller.SceneController#update(double)}. A frame holds the ticks
+ * computed in it, if any, and the refresh of the view.
+ *
+ * @author Hsuan-Kai Liao
+ */
+@Name("cellsociety.Frame")
+@Label("Simulation Frame")
+@Category({"Cell Society", "View"})
+@Description("One frame of a running simulation, with its ticks and the refresh of the view")
+@Enabled(false)
+@StackTrace(false)
+public class FrameEvent extends Event {
+
+  @Label("Simulation")
+  public String simulation;
+
+  @Label("Rows")
+  public int numRows;
+
+  @Label("Columns")
+  public int numCols;
+
+  @Label("Ticks")
+  @Description("The number of ticks computed in the frame")
+  public int ticks;
+
+  @Label("Turbo")
+  public boolean turbo;
+}
@@ -0,0 +1,41 @@
+package cellsociety.logging.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A Flight Recorder event for computing and storing the neighbors of every cell, emitted by
+ * {@link cellsociety.model.data.Grid#assignNeighbors()}. The stack trace shows what triggered the
+ * rebuild, such as a change of the cell shape, edge type or radius.
+ *
+ * @author Jacob You
+ */
+@Name("cellsociety.NeighborRebuild")
+@Label("Neighbor Rebuild")
+@Category({"Cell Society", "Model"})
+@Description("Computing the neighbors of every cell of a grid")
+@Enabled(false)
+public class NeighborRebuildEvent extends Event {
+
+  @Label("Shape")
+  public String shape;
+
+  @Label("Neighbor Type")
+  public String neighborType;
+
+  @Label("Edge Type")
+  public String edgeType;
+
+  @Label("Radius")
+  public int steps;
+
+  @Label("Rows")
+  public int numRows;
+
+  @Label("Columns")
+  public int numCols;
+}
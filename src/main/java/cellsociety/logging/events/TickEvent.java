@@ -0,0 +1,37 @@
+package cellsociety.logging.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A Flight Recorder event for one tick of a game logic, emitted by
+ * {@link cellsociety.model.logic.Logic#update()}.
+ *
+ * @author Jacob You
+ */
+@Name("cellsociety.Tick")
+@Label("Simulation Tick")
+@Category({"Cell Society", "Model"})
+@Description("One update of the game logic of a simulation")
+@Enabled(false)
+@StackTrace(false)
+public class TickEvent extends Event {
+
+  @Label("Simulation")
+  public String simulation;
+
+  @Label("Rows")
+  public int numRows;
+
+  @Label("Columns")
+  public int numCols;
+
+  @Label("Changed Cells")
+  @Description("The number of cells whose state changed in the tick")
+  public int changedCells;
+}
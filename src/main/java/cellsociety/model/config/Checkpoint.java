@@ -0,0 +1,120 @@
+package cellsociety.model.config;
+
+import static cellsociety.model.config.SnapshotFormat.BUFFER_SIZE;
+
+import cellsociety.logging.Log;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The Checkpoint record holds everything needed to resume a simulation exactly: the configuration
+ * with the grid of the checkpointed tick, and the private state of the game logic as written by
+ * {@code Logic.writeCheckpoint}. A checkpoint file is laid out as follows (all fixed-width values
+ * are big-endian):
+ * <ul>
+ *   <li><b>Preamble</b>: the magic number and the format version</li>
+ *   <li><b>Grid</b>: a complete binary grid snapshot, see {@link SnapshotFormat}</li>
+ *   <li><b>Logic state</b>: the length of the logic state followed by its bytes</li>
+ * </ul>
+ *
+ * @param configInfo the configuration with the grid of the checkpointed tick
+ * @param logicState the private state of the game logic
+ * @author Billy McCune
+ */
+public record Checkpoint(ConfigInfo configInfo, byte[] logicState) {
+
+  /**
+   * The file extension of checkpoints.
+   */
+  public static final String CHECKPOINT_EXTENSION = ".checkpoint";
+
+  static final int MAGIC = 0x4353434B; // "CSCK"
+  static final short VERSION = 1;
+
+  /**
+   * Indicates whether the given file is a checkpoint.
+   *
+   * @param file the file
+   * @return true if the file has the checkpoint extension, false otherwise
+   */
+  public static boolean isCheckpoint(File file) {
+    return file != null && file.getName().endsWith(CHECKPOINT_EXTENSION);
+  }
+
+  /**
+   * Writes this checkpoint, replacing the file if it already exists. A partially written file is
+   * deleted if an error occurs.
+   *
+   * @param outputFile the file to write the checkpoint to
+   * @throws NullPointerException if the configuration, its grid, parameters or accepted states are
+   *                              null
+   * @throws IOException          if an I/O error occurs while writing the file
+   */
+  public void write(File outputFile) throws IOException {
+    FileChannel channel = FileChannel.open(outputFile.toPath(), StandardOpenOption.CREATE,
+        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+    try (DataOutputStream out = new DataOutputStream(
+        new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE))) {
+      out.writeInt(MAGIC);
+      out.writeShort(VERSION);
+      SnapshotWriter.write(configInfo, out);
+      out.writeInt(logicState.length);
+      out.write(logicState);
+      Log.trace("Checkpoint saved to file: " + outputFile.getAbsolutePath());
+    } catch (IOException | RuntimeException e) {
+      Files.deleteIfExists(outputFile.toPath());
+      if (e instanceof IOException) {
+        throw new IOException("error-writingCheckpoint", e);
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * Reads a checkpoint file.
+   *
+   * @param checkpointFile the checkpoint file to read
+   * @return the checkpoint stored in the file
+   * @throws IOException              if an I/O error occurs or the file is not a valid checkpoint
+   * @throws IllegalArgumentException if the grid of the checkpoint contains invalid information
+   */
+  public static Checkpoint read(File checkpointFile) throws IOException {
+    String fileName = checkpointFile.getName();
+    ByteBuffer buffer;
+    try (FileChannel channel = FileChannel.open(checkpointFile.toPath(),
+        StandardOpenOption.READ)) {
+      if (channel.size() > Integer.MAX_VALUE) {
+        throw new IOException("error-checkpointTooLarge," + fileName);
+      }
+      buffer = ByteBuffer.allocate((int) channel.size());
+      while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+        // Keep reading until the whole file is in the buffer
+      }
+      buffer.flip();
+    }
+    try {
+      if (buffer.remaining() < Integer.BYTES + Short.BYTES || buffer.getInt() != MAGIC) {
+        throw new IOException("error-invalidCheckpoint," + fileName);
+      }
+      short version = buffer.getShort();
+      if (version != VERSION) {
+        throw new IOException("error-unsupportedCheckpointVersion," + version);
+      }
+      ConfigInfo configInfo = SnapshotReader.read(buffer, fileName);
+      byte[] logicState = new byte[buffer.getInt()];
+      buffer.get(logicState);
+      return new Checkpoint(configInfo, logicState);
+    } catch (BufferUnderflowException | IndexOutOfBoundsException
+             | NegativeArraySizeException e) {
+      throw new IOException("error-truncatedCheckpoint," + fileName);
+    }
+  }
+}
@@ -0,0 +1,248 @@
+package cellsociety.model.config;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+import cellsociety.logging.Log;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The ConfigCatalog class indexes the configuration files of a folder once and keeps the index up
+ * to date while the program runs. The header of a file (see {@link ConfigHeader}) is only read when
+ * it is first asked for, without parsing the grid, and is cached until the modification time or
+ * size of the file changes.
+ * <p>
+ * Changes to the folder are picked up incrementally by a {@link WatchService} on a daemon thread.
+ * Where the folder cannot be watched, the catalog rescans it whenever its file names are listed,
+ * and a file that is not in the index yet always triggers a rescan before it is reported missing.
+ *
+ * @author Billy McCune
+ */
+public class ConfigCatalog implements Closeable {
+
+  private static final Map<Path, ConfigCatalog> CATALOGS = new ConcurrentHashMap<>();
+
+  private final Path folder;
+  private final Map<String, File> files = new ConcurrentHashMap<>();
+  private final Map<String, CachedHeader> headers = new ConcurrentHashMap<>();
+  private WatchService watchService;
+  private volatile boolean isWatching;
+
+  /**
+   * Creates a catalog of the given folder, indexes it and starts watching it for changes.
+   *
+   * @param folder the folder holding the configuration files
+   * @throws IllegalStateException if the folder does not exist
+   */
+  public ConfigCatalog(Path folder) {
+    this.folder = folder;
+    scan();
+    startWatching();
+  }
+
+  /**
+   * Returns the catalog shared by all readers of the given folder, creating it on first use.
+   *
+   * @param folder the folder holding the configuration files
+   * @return the catalog of the folder
+   * @throws IllegalStateException if the folder does not exist
+   */
+  public static ConfigCatalog forFolder(Path folder) {
+    return CATALOGS.computeIfAbsent(folder.toAbsolutePath().normalize(), ConfigCatalog::new);
+  }
+
+  /**
+   * Returns the names of all files in the folder, in alphabetical order.
+   *
+   * @return a list of file names
+   */
+  public List<String> getFileNames() {
+    if (!isWatching) {
+      scan();
+    }
+    List<String> fileNames = new ArrayList<>(files.keySet());
+    fileNames.sort(null);
+    return fileNames;
+  }
+
+  /**
+   * Returns the file with the given name.
+   *
+   * @param fileName the name of the file
+   * @return the file, or null if the folder holds no file with that name
+   */
+  public File getFile(String fileName) {
+    File file = files.get(fileName);
+    if (file == null) {
+      // The watcher may not have reported a file that was just added
+      scan();
+      file = files.get(fileName);
+    }
+    return file;
+  }
+
+  /**
+   * Returns the header of a configuration file, reading it if it is not cached or the file has
+   * changed since it was read. Files that cannot be read get a header without any fields.
+   *
+   * @param fileName the name of the file
+   * @return the header of the file, or null if the folder holds no file with that name
+   */
+  public ConfigHeader getHeader(String fileName) {
+    File file = getFile(fileName);
+    if (file == null) {
+      return null;
+    }
+    long lastModified = file.lastModified();
+    long size = file.length();
+    CachedHeader cached = headers.get(fileName);
+    if (cached != null && cached.lastModified() == lastModified && cached.size() == size) {
+      return cached.header();
+    }
+    ConfigHeader header = readHeader(file, fileName);
+    headers.put(fileName, new CachedHeader(lastModified, size, header));
+    return header;
+  }
+
+  /**
+   * Returns the headers of all configuration files, in alphabetical order of their names.
+   *
+   * @return a list of headers
+   */
+  public List<ConfigHeader> getHeaders() {
+    List<ConfigHeader> allHeaders = new ArrayList<>();
+    for (String fileName : getFileNames()) {
+      ConfigHeader header = getHeader(fileName);
+      if (header != null) {
+        allHeaders.add(header);
+      }
+    }
+    return allHeaders;
+  }
+
+  /**
+   * Indicates whether changes to the folder are picked up by the watcher.
+   *
+   * @return true if the folder is being watched, false if it is rescanned instead
+   */
+  public boolean isWatching() {
+    return isWatching;
+  }
+
+  /**
+   * Stops watching the folder. The catalog keeps working by rescanning the folder.
+   *
+   * @throws IOException if the watcher cannot be closed
+   */
+  @Override
+  public void close() throws IOException {
+    CATALOGS.remove(folder.toAbsolutePath().normalize(), this);
+    isWatching = false;
+    if (watchService != null) {
+      watchService.close();
+    }
+  }
+
+  /* INDEXING METHODS */
+
+  private void scan() {
+    File[] fileList = folder.toFile().listFiles(File::isFile);
+    if (fileList == null) {
+      throw new IllegalStateException(
+          "error-configDirectoryNotFound," + folder.getParent() + "," + folder.getFileName());
+    }
+    Map<String, File> scanned = new HashMap<>();
+    for (File file : fileList) {
+      scanned.put(file.getName(), file);
+    }
+    files.keySet().retainAll(scanned.keySet());
+    headers.keySet().retainAll(scanned.keySet());
+    files.putAll(scanned);
+  }
+
+  private void update(String fileName) {
+    File file = folder.resolve(fileName).toFile();
+    headers.remove(fileName);
+    if (file.isFile()) {
+      files.put(fileName, file);
+    } else {
+      files.remove(fileName);
+    }
+  }
+
+  private static ConfigHeader readHeader(File file, String fileName) {
+    try {
+      if (SnapshotFormat.isSnapshot(file)) {
+        return SnapshotReader.readConfigHeader(file, fileName);
+      }
+      if (LifePatternReader.isPattern(file)) {
+        return LifePatternReader.readHeader(file, fileName);
+      }
+      return StreamingConfigReader.readHeader(file, fileName);
+    } catch (IOException | IllegalArgumentException e) {
+      Log.trace("Could not read header of config file: " + fileName);
+      return ConfigHeader.parse(fileName, null, null, null, null, null, null);
+    }
+  }
+
+  /* WATCHING METHODS */
+
+  private void startWatching() {
+    try {
+      watchService = folder.getFileSystem().newWatchService();
+      folder.register(watchService, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY);
+    } catch (IOException | UnsupportedOperationException e) {
+      Log.warn("Config folder cannot be watched, rescanning it instead: " + folder);
+      return;
+    }
+    isWatching = true;
+    Thread watcher = new Thread(this::watch, "config-catalog-watcher");
+    watcher.setDaemon(true);
+    watcher.start();
+  }
+
+  private void watch() {
+    try {
+      while (isWatching) {
+        WatchKey key = watchService.take();
+        for (WatchEvent<?> event : key.pollEvents()) {
+          if (event.kind() == OVERFLOW) {
+            scan();
+          } else {
+            update(event.context().toString());
+          }
+        }
+        if (!key.reset()) {
+          // The folder itself is gone
+          isWatching = false;
+        }
+      }
+    } catch (InterruptedException e) {
+      isWatching = false;
+      Thread.currentThread().interrupt();
+    } catch (IllegalStateException e) {
+      // The watcher was closed, or the folder disappeared during a rescan
+      isWatching = false;
+    }
+  }
+
+  /**
+   * A header together with the modification time and size of the file it was read from.
+   */
+  private record CachedHeader(long lastModified, long size, ConfigHeader header) {
+
+  }
+}
@@ -0,0 +1,63 @@
+package cellsociety.model.config;
+
+import cellsociety.model.config.ConfigInfo.SimulationType;
+import cellsociety.model.config.ConfigInfo.cellShapeType;
+
+/**
+ * The ConfigHeader record holds the fields that describe a configuration file in a listing, read
+ * without parsing its grid. Fields that are missing or invalid in the file are null, and a missing
+ * or invalid grid size is -1; such a file still fails when it is actually loaded.
+ *
+ * @param fileName  the name of the configuration file
+ * @param type      the simulation type
+ * @param title     the title of the simulation
+ * @param author    the author of the simulation
+ * @param width     the number of columns of the grid
+ * @param height    the number of rows of the grid
+ * @param cellShape the shape of the cells
+ * @author Billy McCune
+ */
+public record ConfigHeader(String fileName, SimulationType type, String title, String author,
+                           int width, int height, cellShapeType cellShape) {
+
+  /**
+   * Creates a header from the raw text of its fields, leniently: text that cannot be parsed
+   * becomes null or -1.
+   *
+   * @param fileName  the name of the configuration file
+   * @param type      the text of the simulation type, or null
+   * @param title     the title, or null
+   * @param author    the author, or null
+   * @param width     the text of the grid width, or null
+   * @param height    the text of the grid height, or null
+   * @param cellShape the text of the cell shape, or null
+   * @return the header of the configuration file
+   */
+  static ConfigHeader parse(String fileName, String type, String title, String author,
+      String width, String height, String cellShape) {
+    return new ConfigHeader(fileName, parseEnum(SimulationType.class, type), title, author,
+        parseSize(width), parseSize(height), parseEnum(cellShapeType.class, cellShape));
+  }
+
+  private static <E extends Enum<E>> E parseEnum(Class<E> enumType, String text) {
+    if (text == null) {
+      return null;
+    }
+    try {
+      return Enum.valueOf(enumType, text.trim().toUpperCase());
+    } catch (IllegalArgumentException e) {
+      return null;
+    }
+  }
+
+  private static int parseSize(String text) {
+    if (text == null) {
+      return -1;
+    }
+    try {
+      return Math.max(-1, Integer.parseInt(text.trim()));
+    } catch (NumberFormatException e) {
+      return -1;
+    }
+  }
+}
@@ -1,14 +1,14 @@
 package cellsociety.model.config;
 
 import cellsociety.logging.Log;
+import cellsociety.logging.events.ConfigLoadEvent;
 import cellsociety.model.config.ConfigInfo.SimulationType;
 import cellsociety.model.config.ConfigInfo.cellShapeType;
 import cellsociety.model.config.ConfigInfo.gridEdgeType;
 import cellsociety.model.config.ConfigInfo.neighborArrangementType;
 import java.io.File;
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.Arrays;
+import java.io.InputStream;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -36,10 +36,10 @@ public class ConfigReader {
   private static final String DATA_FILE_EXTENSION = "*.xml";
   private static final String DATA_FILE_FOLDER = "/src/main/resources/cellsociety/data";
   private static final String INTERNAL_CONFIGURATION = "cellsociety.Version";
-  private final Map<String, File> fileMap = new HashMap<>();
 
   /**
-   * Loads and parses the configuration file data.
+   * Loads and parses the configuration file data. The load is recorded as a
+   * {@link ConfigLoadEvent} when Flight Recorder has the event enabled.
    *
    * @param fileName the name of the configuration file to be read.
    * @return a {@code ConfigInfo} object representing the parsed configuration.
@@ -49,21 +49,43 @@ public class ConfigReader {
    */
   public ConfigInfo readConfig(String fileName)
       throws ParserConfigurationException, IOException, SAXException, IllegalArgumentException {
-    if (!fileMap.containsKey(fileName)) {
-      createListOfConfigFiles();
-    }
+    ConfigLoadEvent event = new ConfigLoadEvent();
+    event.begin();
+    File dataFile = getCatalog().getFile(fileName);
+    ConfigInfo configInfo = null;
     try {
-      File dataFile = fileMap.get(fileName);
       Log.trace("Looking for file at: " + System.getProperty("user.dir") + DATA_FILE_FOLDER);
-      return getConfigInformation(dataFile, fileName);
+      configInfo = getConfigInformation(dataFile, fileName);
+      return configInfo;
     } catch (ParserConfigurationException | SAXException | IOException |
              IllegalArgumentException e) {
       throw new ParserConfigurationException(e.getMessage());
+    } finally {
+      commitLoadEvent(event, fileName, dataFile, configInfo);
     }
   }
 
+  private static void commitLoadEvent(ConfigLoadEvent event, String fileName, File dataFile,
+      ConfigInfo configInfo) {
+    event.end();
+    if (!event.shouldCommit()) {
+      return;
+    }
+    event.fileName = fileName;
+    event.fileSize = dataFile == null ? 0 : dataFile.length();
+    event.succeeded = configInfo != null;
+    if (configInfo != null) {
+      event.simulation = configInfo.myType() == null ? null : configInfo.myType().name();
+      event.numRows = configInfo.myGridHeight();
+      event.numCols = configInfo.myGridWidth();
+    }
+    event.commit();
+  }
+
   /**
-   * Parses the XML file and creates a new {@code ConfigInfo} record.
+   * Parses the XML file and creates a new {@code ConfigInfo} record. Files with the binary
+   * snapshot extension are read with {@link SnapshotReader} instead, and Life pattern files are
+   * imported with {@link LifePatternReader}.
    *
    * @param xmlFile  the XML file containing configuration information.
    * @param fileName the name of the configuration file.
@@ -79,8 +101,22 @@ public class ConfigReader {
       throw new IOException("error-xmlFile-isEmpty");
     }
     try {
-      Document xmlDocument =
-          DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(xmlFile);
+      if (SnapshotFormat.isSnapshot(xmlFile)) {
+        return readSnapshot(xmlFile, fileName);
+      }
+      if (LifePatternReader.isPattern(xmlFile)) {
+        return LifePatternReader.read(xmlFile, fileName);
+      }
+      // Stream initialCells grids into packed storage and only build a DOM for random grids
+      ConfigInfo streamedInfo = StreamingConfigReader.readConfig(xmlFile, fileName);
+      if (streamedInfo != null) {
+        return streamedInfo;
+      }
+
+      Document xmlDocument;
+      try (InputStream in = StreamingConfigReader.openConfigStream(xmlFile)) {
+        xmlDocument = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(in);
+      }
       Element root = xmlDocument.getDocumentElement();
 
       String simType = getTextValue(root, "type");
@@ -130,6 +166,21 @@ public class ConfigReader {
     }
   }
 
+  /**
+   * Reads a binary grid snapshot, decoding its states into the heap. Snapshots are not read through
+   * {@link MappedSnapshot}, as the model copies every cell into its own grid anyway, so mapping the
+   * state plane would not make loading any cheaper.
+   *
+   * @param snapshotFile the snapshot file
+   * @param fileName     the name of the configuration file
+   * @return a {@code ConfigInfo} object with all data of the snapshot
+   * @throws IOException if an I/O error occurs or the file is not a valid snapshot
+   */
+  private ConfigInfo readSnapshot(File snapshotFile, String fileName)
+      throws IOException, IllegalArgumentException {
+    return SnapshotReader.read(snapshotFile, fileName);
+  }
+
   /**
    * Parses the parameters from the XML file. Expected XML format:
    * <pre>
@@ -239,20 +290,19 @@ public class ConfigReader {
   }
 
   /**
-   * Creates a mapping from file names to configuration files found in the designated folder.
+   * Returns the catalog of the designated configuration folder, which is shared by all readers.
+   *
+   * @return the catalog of the configuration folder
+   * @throws IllegalStateException if the configuration folder does not exist
    */
-  private void createListOfConfigFiles() throws IllegalArgumentException, IllegalStateException {
-    try {
-      File folder = new File(System.getProperty("user.dir") + DATA_FILE_FOLDER);
-      File[] fileList = folder.listFiles();
-      Arrays.stream(fileList)
-          .filter(File::isFile)
-          .forEach(file -> fileMap.put(file.getName(), file));
-    } catch (NullPointerException e) {
+  private ConfigCatalog getCatalog() throws IllegalStateException {
+    File folder = new File(System.getProperty("user.dir") + DATA_FILE_FOLDER);
+    if (!folder.isDirectory()) {
       throw new IllegalStateException(
           "error-configDirectoryNotFound," + System.getProperty("user.dir") + ","
               + DATA_FILE_FOLDER);
     }
+    return ConfigCatalog.forFolder(folder.toPath());
   }
 
   /**
@@ -261,10 +311,18 @@ public class ConfigReader {
    * @return a list of file name strings.
    */
   public List<String> getFileNames() {
-    if (fileMap.isEmpty()) {
-      createListOfConfigFiles();
-    }
-    return new ArrayList<>(fileMap.keySet());
+    return getCatalog().getFileNames();
+  }
+
+  /**
+   * Returns the header fields of a configuration file without parsing its grid. Headers are cached
+   * until the file changes.
+   *
+   * @param fileName the name of the configuration file.
+   * @return the header of the file, or null if there is no such file.
+   */
+  public ConfigHeader getConfigHeader(String fileName) {
+    return getCatalog().getHeader(fileName);
   }
 
   /**
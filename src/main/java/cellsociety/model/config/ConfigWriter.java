@@ -1,22 +1,23 @@
 package cellsociety.model.config;
 
 import cellsociety.logging.Log;
+import cellsociety.logging.events.ConfigSaveEvent;
+import java.io.BufferedOutputStream;
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
+import java.util.zip.GZIPOutputStream;
 import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.transform.Transformer;
-import javax.xml.transform.TransformerException;
-import javax.xml.transform.TransformerFactory;
-import javax.xml.transform.dom.DOMSource;
-import javax.xml.transform.stream.StreamResult;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
 
 /**
  * A config writer class to create xml files The format includes:
@@ -29,6 +30,8 @@ import org.w3c.dom.Element;
  *   <li><code>&lt;initialCells&gt;</code> containing rows of <code>&lt;cell&gt;</code> elements with attributes</li>
  *   <li><code>&lt;acceptedStates&gt;</code> as a space–separated list</li>
  * </ul>
+ * The document is streamed to the output file one row at a time, so saving never holds more than
+ * a single row of the grid in memory. The output can optionally be gzip compressed.
  *
  * @author Billy McCune
  */
@@ -36,8 +39,11 @@ public class ConfigWriter {
 
   private static final String DEFAULT_CONFIG_FOLDER = System.getProperty("user.dir")
       + "/src/main/resources/cellsociety/SimulationConfigurationData";
+  private static final String FILE_EXTENSION = ".xml";
+  private static final String COMPRESSED_FILE_EXTENSION = ".xml.gz";
+  private static final String INDENT = "    ";
+  private static final int BUFFER_SIZE = 1 << 16;
   private ConfigInfo myConfigInfo;
-  private Document myCurrentXmlDocument;
   private String LastFileSaved;
 
   public ConfigWriter() {
@@ -49,24 +55,58 @@ public class ConfigWriter {
    * @param myNewConfigInfo the configuration information to save
    * @param path            the directory where the XML file will be saved
    * @throws NullPointerException         if the configuration info or path is null
-   * @throws ParserConfigurationException if an error occurs creating the XML document or output
-   *                                      file
+   * @throws ParserConfigurationException if an error occurs creating the output file
    * @throws IOException                  if an I/O error occurs during file writing
-   * @throws TransformerException         if an error occurs during XML transformation
    */
   public void saveCurrentConfig(ConfigInfo myNewConfigInfo, String path)
-      throws NullPointerException, ParserConfigurationException, IOException, TransformerException {
+      throws NullPointerException, ParserConfigurationException, IOException {
+    saveCurrentConfig(myNewConfigInfo, path, false);
+  }
+
+  /**
+   * Saves the current configuration to an XML file at the given directory path, optionally gzip
+   * compressed. Compressed files are saved with the ".xml.gz" extension. The save is recorded as a
+   * {@link ConfigSaveEvent} when Flight Recorder has the event enabled.
+   *
+   * @param myNewConfigInfo the configuration information to save
+   * @param path            the directory where the XML file will be saved
+   * @param compress        true to gzip compress the output file
+   * @throws NullPointerException         if the configuration info or path is null
+   * @throws ParserConfigurationException if an error occurs creating the output file
+   * @throws IOException                  if an I/O error occurs during file writing
+   */
+  public void saveCurrentConfig(ConfigInfo myNewConfigInfo, String path, boolean compress)
+      throws NullPointerException, ParserConfigurationException, IOException {
     if (myNewConfigInfo == null) {
       throw new NullPointerException("error-nullConfigInfo");
     }
     if (path == null) {
       throw new NullPointerException("error-nullPath");
     }
-    myConfigInfo = myNewConfigInfo;
-    Document xmlDocument = createXMLDocument();
-    File outputFile = createOutputFile(path);
-    populateXMLDocument(xmlDocument);
-    writeXMLDocument(xmlDocument, outputFile);
+    ConfigSaveEvent event = new ConfigSaveEvent();
+    event.begin();
+    File outputFile = null;
+    boolean succeeded = false;
+    try {
+      myConfigInfo = myNewConfigInfo;
+      validateConfigInfo();
+      outputFile = createOutputFile(path, compress ? COMPRESSED_FILE_EXTENSION : FILE_EXTENSION);
+      writeXMLFile(outputFile, compress);
+      succeeded = true;
+    } finally {
+      event.end();
+      if (event.shouldCommit()) {
+        event.directory = path;
+        event.fileName = outputFile == null ? null : outputFile.getName();
+        event.simulation = myNewConfigInfo.myType() == null ? null
+            : myNewConfigInfo.myType().name();
+        event.numRows = myNewConfigInfo.myGridHeight();
+        event.numCols = myNewConfigInfo.myGridWidth();
+        event.compressed = compress;
+        event.succeeded = succeeded;
+        event.commit();
+      }
+    }
   }
 
 
@@ -84,170 +124,156 @@ public class ConfigWriter {
   }
 
   /**
-   * Creates a new XML Document instance.
+   * Checks that every part of the configuration that is written is present, so that no partial
+   * file is created for an incomplete configuration.
    *
-   * @return a new Document
-   * @throws ParserConfigurationException if a DocumentBuilder cannot be created
+   * @throws NullPointerException if the parameters, grid or accepted states are missing
    */
-  private Document createXMLDocument() throws ParserConfigurationException {
-    try {
-      DocumentBuilderFactory docFactory = DocumentBuilderFactory.newInstance();
-      DocumentBuilder docBuilder = docFactory.newDocumentBuilder();
-      return docBuilder.newDocument();
-    } catch (ParserConfigurationException e) {
-      throw new ParserConfigurationException("error-creatingXMLDocument");
+  private void validateConfigInfo() throws NullPointerException {
+    if (myConfigInfo.myParameters() == null) {
+      throw new NullPointerException("error-nullParameters");
+    }
+    if (myConfigInfo.myGrid() == null) {
+      throw new NullPointerException("error-nullGrid");
+    }
+    if (myConfigInfo.acceptedStates() == null) {
+      throw new NullPointerException("error-nullAcceptedStates");
     }
   }
 
   /**
-   * Populates the XML document with the configuration data.
+   * Streams the configuration data as an XML document.
    *
-   * @param xmlDocument the XML document to populate
+   * @param xml the writer to stream the document to
+   * @throws XMLStreamException if an error occurs while writing the document
    */
-  private void populateXMLDocument(Document xmlDocument) {
-    Element rootElement = xmlDocument.createElement("simulation");
-    xmlDocument.appendChild(rootElement);
-
-    Element typeElement = xmlDocument.createElement("type");
-    typeElement.appendChild(xmlDocument.createTextNode(myConfigInfo.myType().toString()));
-    rootElement.appendChild(typeElement);
-
-    Element cellShapeElement = xmlDocument.createElement("cellShapeType");
-    cellShapeElement.appendChild(
-        xmlDocument.createTextNode(myConfigInfo.myCellShapeType().toString()));
-    rootElement.appendChild(cellShapeElement);
-
-    Element gridEdgeElement = xmlDocument.createElement("gridEdgeType");
-    gridEdgeElement.appendChild(
-        xmlDocument.createTextNode(myConfigInfo.myGridEdgeType().toString()));
-    rootElement.appendChild(gridEdgeElement);
-
-    Element neighborArrangementElement = xmlDocument.createElement("neighborArrangementType");
-    neighborArrangementElement.appendChild(
-        xmlDocument.createTextNode(myConfigInfo.myneighborArrangementType().toString()));
-    rootElement.appendChild(neighborArrangementElement);
-
-    Element neighborRadiusElement = xmlDocument.createElement("neighborRadius");
-    neighborRadiusElement.appendChild(
-        xmlDocument.createTextNode(myConfigInfo.neighborRadius().toString()));
-    rootElement.appendChild(neighborRadiusElement);
-
-    Element titleElement = xmlDocument.createElement("title");
-    titleElement.appendChild(xmlDocument.createTextNode(myConfigInfo.myTitle()));
-    rootElement.appendChild(titleElement);
-
-    Element authorElement = xmlDocument.createElement("author");
-    authorElement.appendChild(xmlDocument.createTextNode(myConfigInfo.myAuthor()));
-    rootElement.appendChild(authorElement);
-
-    Element descriptionElement = xmlDocument.createElement("description");
-    descriptionElement.appendChild(xmlDocument.createTextNode(myConfigInfo.myDescription()));
-    rootElement.appendChild(descriptionElement);
-
-    Element parametersElement = xmlDocument.createElement("parameters");
-    addParametersElements(parametersElement, myConfigInfo.myParameters(), xmlDocument);
-    rootElement.appendChild(parametersElement);
+  private void writeXMLDocument(XMLStreamWriter xml) throws XMLStreamException {
+    xml.writeStartDocument("UTF-8", "1.0");
+    newLine(xml, 0);
+    xml.writeStartElement("simulation");
+
+    writeTextElement(xml, "type", myConfigInfo.myType().toString());
+    writeTextElement(xml, "cellShapeType", myConfigInfo.myCellShapeType().toString());
+    writeTextElement(xml, "gridEdgeType", myConfigInfo.myGridEdgeType().toString());
+    writeTextElement(xml, "neighborArrangementType",
+        myConfigInfo.myneighborArrangementType().toString());
+    writeTextElement(xml, "neighborRadius", myConfigInfo.neighborRadius().toString());
+    writeTextElement(xml, "title", myConfigInfo.myTitle());
+    writeTextElement(xml, "author", myConfigInfo.myAuthor());
+    writeTextElement(xml, "description", myConfigInfo.myDescription());
+
+    newLine(xml, 1);
+    xml.writeStartElement("parameters");
+    writeParametersElements(xml, myConfigInfo.myParameters());
+    newLine(xml, 1);
+    xml.writeEndElement();
+
+    writeTextElement(xml, "width", String.valueOf(myConfigInfo.myGridWidth()));
+    writeTextElement(xml, "height", String.valueOf(myConfigInfo.myGridHeight()));
+    writeTextElement(xml, "defaultSpeed", String.valueOf(myConfigInfo.myTickSpeed()));
+
+    newLine(xml, 1);
+    xml.writeStartElement("initialCells");
+    writeInitialCellsElements(xml, myConfigInfo.myGrid());
+    newLine(xml, 1);
+    xml.writeEndElement();
 
-    Element widthElement = xmlDocument.createElement("width");
-    widthElement.appendChild(
-        xmlDocument.createTextNode(String.valueOf(myConfigInfo.myGridWidth())));
-    rootElement.appendChild(widthElement);
-
-    Element heightElement = xmlDocument.createElement("height");
-    heightElement.appendChild(
-        xmlDocument.createTextNode(String.valueOf(myConfigInfo.myGridHeight())));
-    rootElement.appendChild(heightElement);
-
-    Element defaultSpeedElement = xmlDocument.createElement("defaultSpeed");
-    defaultSpeedElement.appendChild(
-        xmlDocument.createTextNode(String.valueOf(myConfigInfo.myTickSpeed())));
-    rootElement.appendChild(defaultSpeedElement);
-
-    Element initialCellsElement = xmlDocument.createElement("initialCells");
-    addInitialCellsElements(initialCellsElement, myConfigInfo.myGrid(), xmlDocument);
-    rootElement.appendChild(initialCellsElement);
-
-    Element acceptedStatesElement = xmlDocument.createElement("acceptedStates");
     String acceptedStatesText = myConfigInfo.acceptedStates().stream()
         .map(String::valueOf)
         .collect(Collectors.joining(" "));
-    acceptedStatesElement.appendChild(xmlDocument.createTextNode(acceptedStatesText));
-    rootElement.appendChild(acceptedStatesElement);
+    writeTextElement(xml, "acceptedStates", acceptedStatesText);
+
+    newLine(xml, 0);
+    xml.writeEndElement();
+    newLine(xml, 0);
+    xml.writeEndDocument();
   }
 
   /**
-   * Adds parameter elements as children of the provided parameters element.
+   * Writes the parameter elements of the provided parameter record.
    * <p>
-   * For each double parameter, creates a <code>&lt;doubleParameter
-   * name="...">value&lt;/doubleParameter&gt;</code> element; for each string parameter, creates a
+   * For each double parameter, writes a <code>&lt;doubleParameter
+   * name="...">value&lt;/doubleParameter&gt;</code> element; for each string parameter, writes a
    * <code>&lt;stringParameter name="...">value&lt;/stringParameter&gt;</code> element.
    *
-   * @param parametersElement the XML element to which parameter elements are added
-   * @param params            the ParameterRecord holding the parameters
-   * @param xmlDocument       the XML document being built
+   * @param xml    the writer to stream the elements to
+   * @param params the ParameterRecord holding the parameters
+   * @throws XMLStreamException if an error occurs while writing the elements
    */
-  private void addParametersElements(Element parametersElement,
-      ParameterRecord params, Document xmlDocument) {
-    Map<String, Double> doubleParams = params.myDoubleParameters();
-    Map<String, String> stringParams = params.myStringParameters();
-
-    for (Map.Entry<String, Double> entry : doubleParams.entrySet()) {
-      Element doubleParamElement = xmlDocument.createElement("doubleParameter");
-      doubleParamElement.setAttribute("name", entry.getKey());
-      doubleParamElement.appendChild(xmlDocument.createTextNode(String.valueOf(entry.getValue())));
-      parametersElement.appendChild(doubleParamElement);
+  private void writeParametersElements(XMLStreamWriter xml, ParameterRecord params)
+      throws XMLStreamException {
+    for (Map.Entry<String, Double> entry : params.myDoubleParameters().entrySet()) {
+      newLine(xml, 2);
+      xml.writeStartElement("doubleParameter");
+      xml.writeAttribute("name", entry.getKey());
+      xml.writeCharacters(String.valueOf(entry.getValue()));
+      xml.writeEndElement();
     }
-    for (Map.Entry<String, String> entry : stringParams.entrySet()) {
-      Element stringParamElement = xmlDocument.createElement("stringParameter");
-      stringParamElement.setAttribute("name", entry.getKey());
-      stringParamElement.appendChild(xmlDocument.createTextNode(entry.getValue()));
-      parametersElement.appendChild(stringParamElement);
+    for (Map.Entry<String, String> entry : params.myStringParameters().entrySet()) {
+      newLine(xml, 2);
+      xml.writeStartElement("stringParameter");
+      xml.writeAttribute("name", entry.getKey());
+      xml.writeCharacters(entry.getValue());
+      xml.writeEndElement();
     }
   }
 
   /**
-   * Adds initial cell (grid) elements to the XML document.
+   * Writes the initial cell (grid) elements one row at a time.
    * <p>
    * Each row in the grid becomes a <code>&lt;row&gt;</code> element containing one or more
    * <code>&lt;cell&gt;</code> elements. Each <code>&lt;cell&gt;</code> element has a required
    * "state" attribute and may have additional properties.
    *
-   * @param initialCellsElement the XML element to which row elements are added
-   * @param grid                the grid of cells represented as a List of List of CellRecord
-   * @param xmlDocument         the XML document being built
+   * @param xml  the writer to stream the elements to
+   * @param grid the grid of cells represented as a List of List of CellRecord
+   * @throws XMLStreamException if an error occurs while writing the elements
    */
-  private void addInitialCellsElements(Element initialCellsElement,
-      List<List<CellRecord>> grid, Document xmlDocument) {
+  private void writeInitialCellsElements(XMLStreamWriter xml, List<List<CellRecord>> grid)
+      throws XMLStreamException {
     for (List<CellRecord> row : grid) {
-      Element rowElement = xmlDocument.createElement("row");
+      newLine(xml, 2);
+      xml.writeStartElement("row");
       for (CellRecord cell : row) {
-        Element cellElement = xmlDocument.createElement("cell");
-        cellElement.setAttribute("state", String.valueOf(cell.state()));
-
+        newLine(xml, 3);
+        xml.writeEmptyElement("cell");
+        xml.writeAttribute("state", String.valueOf(cell.state()));
         for (Map.Entry<String, Double> property : cell.properties().entrySet()) {
-          cellElement.setAttribute(property.getKey(), String.valueOf(property.getValue()));
+          xml.writeAttribute(property.getKey(), String.valueOf(property.getValue()));
         }
-        rowElement.appendChild(cellElement);
       }
-      initialCellsElement.appendChild(rowElement);
+      newLine(xml, 2);
+      xml.writeEndElement();
     }
   }
 
+  private void writeTextElement(XMLStreamWriter xml, String tagName, String text)
+      throws XMLStreamException {
+    newLine(xml, 1);
+    xml.writeStartElement(tagName);
+    xml.writeCharacters(text);
+    xml.writeEndElement();
+  }
+
+  private void newLine(XMLStreamWriter xml, int depth) throws XMLStreamException {
+    xml.writeCharacters("\n" + INDENT.repeat(depth));
+  }
+
   /**
    * Creates an output file for saving the XML document.
    * <p>
    * The file name is based on the configuration title (with spaces removed) appended with "Save"
-   * and ".xml". If a file with the same name exists, a duplicate number is appended.
+   * and the file extension. If a file with the same name exists, a duplicate number is appended.
    *
-   * @param path the directory path where the file should be saved
+   * @param path          the directory path where the file should be saved
+   * @param fileExtension the file extension (e.g., ".xml")
    * @return a File object representing the output file
    * @throws ParserConfigurationException if the output file cannot be created
    */
-  private File createOutputFile(String path)
+  private File createOutputFile(String path, String fileExtension)
       throws ParserConfigurationException, IllegalArgumentException {
     try {
       String baseFilename = generateBaseFilename();
-      String fileExtension = ".xml";
       File configDirectory = new File(path);
       LastFileSaved = baseFilename + fileExtension;
 
@@ -307,30 +333,40 @@ public class ConfigWriter {
 
 
   /**
-   * Writes the XML Document to the specified output file.
+   * Streams the XML document to the specified output file through a buffered file channel. A
+   * partially written file is deleted if an error occurs.
    *
-   * @param xmlDocument the XML document to write
-   * @param outputFile  the file to which the document will be written
-   * @throws IOException          if an error occurs during file writing
-   * @throws TransformerException if an error occurs during XML transformation
+   * @param outputFile the file to which the document will be written
+   * @param compress   true to gzip compress the output
+   * @throws IOException if an error occurs during file writing
    */
-  private void writeXMLDocument(Document xmlDocument, File outputFile)
-      throws IOException, TransformerException {
+  private void writeXMLFile(File outputFile, boolean compress) throws IOException {
     validateOutputFile(outputFile);
-    Transformer transformer = createConfiguredTransformer();
-    DOMSource source = new DOMSource(xmlDocument);
-
-    try (FileOutputStream fos = new FileOutputStream(outputFile)) {
-      StreamResult result = new StreamResult(fos);
-      transformer.transform(source, result);
+    try (OutputStream out = openOutputStream(outputFile, compress)) {
+      XMLStreamWriter xml = XMLOutputFactory.newInstance().createXMLStreamWriter(out, "UTF-8");
+      try {
+        writeXMLDocument(xml);
+        xml.flush();
+      } finally {
+        xml.close();
+      }
       Log.trace("Config saved to file: " + outputFile.getAbsolutePath());
-    } catch (IOException e) {
+    } catch (IOException | XMLStreamException e) {
+      Files.deleteIfExists(outputFile.toPath());
       throw new IOException("error-writingXMLFile", e);
-    } catch (TransformerException e) {
-      throw new TransformerException("error-transformingXMLDocument", e);
     }
   }
 
+  private OutputStream openOutputStream(File outputFile, boolean compress) throws IOException {
+    FileChannel channel = FileChannel.open(outputFile.toPath(), StandardOpenOption.CREATE_NEW,
+        StandardOpenOption.WRITE);
+    OutputStream out = Channels.newOutputStream(channel);
+    if (compress) {
+      out = new GZIPOutputStream(out, BUFFER_SIZE);
+    }
+    return new BufferedOutputStream(out, BUFFER_SIZE);
+  }
+
   /**
    * Validates that the output file is not null.
    *
@@ -343,19 +379,4 @@ public class ConfigWriter {
       throw new IllegalArgumentException("error-outputFileNull");
     }
   }
-
-  /**
-   * Creates and configures a Transformer for converting the XML Document to a file.
-   *
-   * @return a configured Transformer instance
-   * @throws TransformerException if an error occurs while creating or configuring the Transformer
-   */
-  private Transformer createConfiguredTransformer() throws TransformerException {
-    TransformerFactory transformerFactory = TransformerFactory.newInstance();
-    Transformer transformer = transformerFactory.newTransformer();
-    transformer.setOutputProperty(javax.xml.transform.OutputKeys.INDENT, "yes");
-    transformer.setOutputProperty("{http://xml.apache.org/xslt}indent-amount", "4");
-    return transformer;
-  }
 }
-
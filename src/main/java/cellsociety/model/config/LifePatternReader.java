@@ -0,0 +1,637 @@
+package cellsociety.model.config;
+
+import cellsociety.model.config.ConfigInfo.SimulationType;
+import cellsociety.model.config.ConfigInfo.cellShapeType;
+import cellsociety.model.config.ConfigInfo.gridEdgeType;
+import cellsociety.model.config.ConfigInfo.neighborArrangementType;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The LifePatternReader class imports the standard Game of Life pattern formats as a Life
+ * configuration with a packed grid:
+ * <ul>
+ *   <li><b>RLE</b> ({@code .rle}): the run-length encoded format with an {@code x = , y = } header
+ *   and an optional rule</li>
+ *   <li><b>Plaintext</b> ({@code .cells}): one line per row, with {@code .} for dead and
+ *   {@code O} for live cells</li>
+ *   <li><b>Macrocell</b> ({@code .mc}): the quadtree format used for very large patterns, in
+ *   which identical subtrees are only stored once</li>
+ * </ul>
+ * The file is read into memory once and decoded straight into the state array, so no cell record
+ * or map is created per cell. The rule of the pattern becomes the {@code rulestring} parameter of
+ * {@code LifeLogic}, and its name, author and comments become the title, author and description.
+ * A pattern can either fill a grid of its own size or be placed at an offset inside a larger grid.
+ *
+ * @author Billy McCune
+ */
+public class LifePatternReader {
+
+  /**
+   * The file extension of RLE patterns.
+   */
+  public static final String RLE_EXTENSION = ".rle";
+
+  /**
+   * The file extension of plaintext patterns.
+   */
+  public static final String PLAINTEXT_EXTENSION = ".cells";
+
+  /**
+   * The file extension of macrocell patterns.
+   */
+  public static final String MACROCELL_EXTENSION = ".mc";
+
+  private static final String RULE_PARAMETER = "rulestring";
+  private static final String DEFAULT_RULE = "B3/S23";
+  private static final int DEFAULT_SPEED = 10;
+  private static final int DEAD = 0;
+  private static final int ALIVE = 1;
+  private static final int MAX_MACROCELL_LEVEL = 62;
+  private static final Pattern BS_RULE = Pattern.compile("B(\\d*)/S(\\d*)");
+  private static final Pattern SB_RULE = Pattern.compile("S(\\d*)/B(\\d*)");
+  private static final Pattern NUMERIC_RULE = Pattern.compile("(\\d*)/(\\d*)");
+
+  private LifePatternReader() {
+  }
+
+  /**
+   * Indicates whether the given file is a Life pattern this reader can import.
+   *
+   * @param file the file
+   * @return true if the file has an RLE, plaintext or macrocell extension, false otherwise
+   */
+  public static boolean isPattern(File file) {
+    if (file == null) {
+      return false;
+    }
+    String name = file.getName().toLowerCase(Locale.ROOT);
+    return name.endsWith(RLE_EXTENSION) || name.endsWith(PLAINTEXT_EXTENSION)
+        || name.endsWith(MACROCELL_EXTENSION);
+  }
+
+  /**
+   * Imports a pattern into a grid of the pattern's own size.
+   *
+   * @param patternFile the pattern file to import
+   * @param fileName    the name of the configuration file
+   * @return a Life {@code ConfigInfo} object holding the pattern
+   * @throws IOException              if the file cannot be read or is not a valid pattern
+   * @throws IllegalArgumentException if the rule of the pattern is not supported, or the pattern is
+   *                                  empty or too large
+   */
+  public static ConfigInfo read(File patternFile, String fileName) throws IOException {
+    LifePattern pattern = parse(patternFile, fileName);
+    if (pattern.width() == 0 || pattern.height() == 0) {
+      throw new IllegalArgumentException("error-emptyPattern," + fileName);
+    }
+    return toConfigInfo(pattern, pattern.width(), pattern.height(), 0, 0, fileName);
+  }
+
+  /**
+   * Imports a pattern and places it at an offset inside a larger grid of dead cells.
+   *
+   * @param patternFile the pattern file to import
+   * @param fileName    the name of the configuration file
+   * @param width       the number of columns of the grid
+   * @param height      the number of rows of the grid
+   * @param rowOffset   the row of the grid the top of the pattern is placed at
+   * @param colOffset   the column of the grid the left of the pattern is placed at
+   * @return a Life {@code ConfigInfo} object holding the grid with the pattern
+   * @throws IOException              if the file cannot be read or is not a valid pattern
+   * @throws IllegalArgumentException if the rule of the pattern is not supported or the pattern
+   *                                  does not fit the grid at the given offset
+   */
+  public static ConfigInfo read(File patternFile, String fileName, int width, int height,
+      int rowOffset, int colOffset) throws IOException {
+    LifePattern pattern = parse(patternFile, fileName);
+    return toConfigInfo(pattern, width, height, rowOffset, colOffset, fileName);
+  }
+
+  /**
+   * Reads only the metadata and size of a pattern, without painting its cells.
+   *
+   * @param patternFile the pattern file to read
+   * @param fileName    the name of the configuration file
+   * @return the header of the Life configuration the pattern would be imported as
+   * @throws IOException if the file cannot be read or is not a valid pattern
+   */
+  static ConfigHeader readHeader(File patternFile, String fileName) throws IOException {
+    LifePattern pattern = parse(patternFile, fileName);
+    return new ConfigHeader(fileName, SimulationType.LIFE, getTitle(pattern, fileName),
+        getAuthor(pattern), pattern.width(), pattern.height(), cellShapeType.SQUARE);
+  }
+
+  /* PARSING METHODS */
+
+  private static LifePattern parse(File patternFile, String fileName) throws IOException {
+    byte[] data = Files.readAllBytes(patternFile.toPath());
+    String name = patternFile.getName().toLowerCase(Locale.ROOT);
+    try {
+      if (name.endsWith(RLE_EXTENSION)) {
+        return parseRle(data, fileName);
+      }
+      if (name.endsWith(MACROCELL_EXTENSION)) {
+        return parseMacrocell(data, fileName);
+      }
+      return parsePlaintext(data, fileName);
+    } catch (NumberFormatException e) {
+      throw new IOException("error-invalidPattern," + fileName);
+    }
+  }
+
+  private static LifePattern parseRle(byte[] data, String fileName) throws IOException {
+    PatternInfo info = new PatternInfo();
+    int position = 0;
+    String header = null;
+    while (position < data.length && header == null) {
+      int end = lineEnd(data, position);
+      String line = new String(data, position, end - position, StandardCharsets.US_ASCII).trim();
+      position = nextLine(data, end);
+      if (line.startsWith("#")) {
+        readHashLine(line, info);
+      } else if (!line.isEmpty()) {
+        header = line;
+      }
+    }
+    if (header == null) {
+      throw new IOException("error-invalidPattern," + fileName);
+    }
+
+    int width = -1;
+    int height = -1;
+    // The rule is the last field and may itself contain commas, e.g. "B3/S23:T10,10"
+    int ruleStart = header.toLowerCase(Locale.ROOT).indexOf("rule");
+    if (ruleStart >= 0) {
+      String[] keyValue = header.substring(ruleStart).split("=", 2);
+      if (keyValue.length != 2) {
+        throw new IOException("error-invalidPattern," + fileName);
+      }
+      info.rule = keyValue[1].trim();
+      header = header.substring(0, ruleStart);
+    }
+    for (String field : header.split(",")) {
+      if (field.isBlank()) {
+        continue;
+      }
+      String[] keyValue = field.split("=", 2);
+      if (keyValue.length != 2) {
+        throw new IOException("error-invalidPattern," + fileName);
+      }
+      String value = keyValue[1].trim();
+      switch (keyValue[0].trim().toLowerCase(Locale.ROOT)) {
+        case "x" -> width = Integer.parseInt(value);
+        case "y" -> height = Integer.parseInt(value);
+        default -> {
+          // Other header fields do not affect the grid
+        }
+      }
+    }
+    if (width < 0 || height < 0) {
+      throw new IOException("error-invalidPattern," + fileName);
+    }
+
+    int bodyStart = position;
+    int patternWidth = width;
+    int patternHeight = height;
+    return info.toPattern(width, height, (states, gridWidth, rowOffset, colOffset) -> {
+      int row = 0;
+      int col = 0;
+      int count = 0;
+      for (int i = bodyStart; i < data.length; i++) {
+        byte b = data[i];
+        if (b >= '0' && b <= '9') {
+          count = 10 * count + (b - '0');
+          continue;
+        }
+        if (b == ' ' || b == '\t' || b == '\r' || b == '\n') {
+          continue;
+        }
+        int run = Math.max(1, count);
+        count = 0;
+        if (b == '!') {
+          break;
+        } else if (b == '$') {
+          row += run;
+          col = 0;
+        } else if (b == 'b' || b == '.') {
+          col += run;
+        } else if (Character.isLetter(b)) {
+          if (row >= patternHeight || col + run > patternWidth) {
+            throw new IllegalArgumentException("error-patternOutOfBounds," + fileName);
+          }
+          int start = (row + rowOffset) * gridWidth + col + colOffset;
+          Arrays.fill(states, start, start + run, ALIVE);
+          col += run;
+        } else if (b == '#') {
+          // A comment after the body runs until the end of its line
+          i = lineEnd(data, i);
+        }
+      }
+    });
+  }
+
+  private static LifePattern parsePlaintext(byte[] data, String fileName) {
+    PatternInfo info = new PatternInfo();
+    int width = 0;
+    int height = 0;
+    int position = 0;
+    while (position < data.length) {
+      int end = lineEnd(data, position);
+      if (data[position] == '!') {
+        readPlaintextComment(new String(data, position + 1, end - position - 1,
+            StandardCharsets.UTF_8), info);
+      } else {
+        width = Math.max(width, end - position);
+        height++;
+      }
+      position = nextLine(data, end);
+    }
+
+    return info.toPattern(width, height, (states, gridWidth, rowOffset, colOffset) -> {
+      int row = 0;
+      int start = 0;
+      while (start < data.length) {
+        int end = lineEnd(data, start);
+        if (data[start] != '!') {
+          int base = (row + rowOffset) * gridWidth + colOffset - start;
+          for (int i = start; i < end; i++) {
+            if (data[i] == 'O' || data[i] == '*') {
+              states[base + i] = ALIVE;
+            }
+          }
+          row++;
+        }
+        start = nextLine(data, end);
+      }
+    });
+  }
+
+  private static LifePattern parseMacrocell(byte[] data, String fileName) throws IOException {
+    PatternInfo info = new PatternInfo();
+    MacrocellTree tree = new MacrocellTree();
+    int position = 0;
+    boolean hasHeader = false;
+    while (position < data.length) {
+      int end = lineEnd(data, position);
+      if (end > position) {
+        byte first = data[position];
+        if (!hasHeader) {
+          if (first != '[' || !new String(data, position, end - position,
+              StandardCharsets.US_ASCII).startsWith("[M2]")) {
+            throw new IOException("error-invalidPattern," + fileName);
+          }
+          hasHeader = true;
+        } else if (first == '#') {
+          readHashLine(new String(data, position, end - position, StandardCharsets.UTF_8).trim(),
+              info);
+        } else if (first >= '0' && first <= '9') {
+          tree.addNode(data, position, end, fileName);
+        } else if (first == '.' || first == '*' || first == '$') {
+          tree.addLeaf(data, position, end);
+        } else {
+          throw new IOException("error-invalidPattern," + fileName);
+        }
+      }
+      position = nextLine(data, end);
+    }
+    if (!hasHeader) {
+      throw new IOException("error-invalidPattern," + fileName);
+    }
+
+    int root = tree.size();
+    if (tree.isEmpty(root)) {
+      return info.toPattern(0, 0, (states, gridWidth, rowOffset, colOffset) -> {
+      });
+    }
+    long width = tree.maxCol[root] - tree.minCol[root] + 1;
+    long height = tree.maxRow[root] - tree.minRow[root] + 1;
+    if (width > Integer.MAX_VALUE || height > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("error-patternTooLarge," + fileName);
+    }
+    return info.toPattern((int) width, (int) height, (states, gridWidth, rowOffset, colOffset) ->
+        tree.paint(root, rowOffset - tree.minRow[root], colOffset - tree.minCol[root], states,
+            gridWidth));
+  }
+
+  private static void readHashLine(String line, PatternInfo info) {
+    if (line.length() < 2) {
+      return;
+    }
+    String value = line.substring(2).trim();
+    switch (line.charAt(1)) {
+      case 'N' -> info.title = value;
+      case 'O' -> info.author = value;
+      case 'C', 'c' -> info.addComment(value);
+      case 'R', 'r' -> info.rule = value;
+      default -> {
+        // Other lines, such as the position or generation, do not affect the grid
+      }
+    }
+  }
+
+  private static void readPlaintextComment(String comment, PatternInfo info) {
+    String trimmed = comment.trim();
+    if (trimmed.startsWith("Name:")) {
+      info.title = trimmed.substring(5).trim();
+    } else if (trimmed.startsWith("Author:")) {
+      info.author = trimmed.substring(7).trim();
+    } else if (!trimmed.isEmpty()) {
+      info.addComment(trimmed);
+    }
+  }
+
+  /* CONVERSION METHODS */
+
+  private static ConfigInfo toConfigInfo(LifePattern pattern, int width, int height,
+      int rowOffset, int colOffset, String fileName) {
+    if (width < 0 || height < 0 || rowOffset < 0 || colOffset < 0
+        || (long) rowOffset + pattern.height() > height
+        || (long) colOffset + pattern.width() > width) {
+      throw new IllegalArgumentException(
+          "error-patternOutOfBounds," + fileName + "," + width + "," + height);
+    }
+    if ((long) width * height > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("error-patternTooLarge," + fileName);
+    }
+    int[] states = new int[width * height];
+    pattern.painter().paint(states, width, rowOffset, colOffset);
+
+    Map<String, String> stringParameters = new HashMap<>();
+    stringParameters.put(RULE_PARAMETER, toRulestring(pattern.rule(), fileName));
+    return new ConfigInfo(
+        SimulationType.LIFE,
+        cellShapeType.SQUARE,
+        gridEdgeType.BASE,
+        neighborArrangementType.MOORE,
+        1,
+        getTitle(pattern, fileName),
+        getAuthor(pattern),
+        pattern.description(),
+        width,
+        height,
+        DEFAULT_SPEED,
+        new PackedCellGrid(height, width, states, new HashMap<>()),
+        new ParameterRecord(new HashMap<>(), stringParameters),
+        Set.of(DEAD, ALIVE),
+        fileName
+    );
+  }
+
+  private static String getTitle(LifePattern pattern, String fileName) {
+    return pattern.title() != null ? pattern.title() : getBaseName(fileName);
+  }
+
+  private static String getAuthor(LifePattern pattern) {
+    return pattern.author() != null ? pattern.author() : "";
+  }
+
+  /**
+   * Converts the rule of a pattern into a rulestring that {@code LifeLogic} accepts. Rules may be
+   * written in B/S or S/B notation, in either case, and may carry a bounded grid suffix after a
+   * colon, which is dropped because the grid size is set separately.
+   */
+  private static String toRulestring(String rule, String fileName) {
+    if (rule == null || rule.isBlank()) {
+      return DEFAULT_RULE;
+    }
+    String normalized = rule.split(":", 2)[0].trim().toUpperCase(Locale.ROOT);
+    Matcher matcher = BS_RULE.matcher(normalized);
+    if (matcher.matches()) {
+      return normalized;
+    }
+    matcher = SB_RULE.matcher(normalized);
+    if (matcher.matches()) {
+      return "B" + matcher.group(2) + "/S" + matcher.group(1);
+    }
+    if (NUMERIC_RULE.matcher(normalized).matches()) {
+      return normalized;
+    }
+    throw new IllegalArgumentException("error-unsupportedPatternRule," + rule + "," + fileName);
+  }
+
+  private static String getBaseName(String fileName) {
+    int dot = fileName.lastIndexOf('.');
+    return dot > 0 ? fileName.substring(0, dot) : fileName;
+  }
+
+  private static int lineEnd(byte[] data, int position) {
+    int end = position;
+    while (end < data.length && data[end] != '\n') {
+      end++;
+    }
+    return end > position && data[end - 1] == '\r' ? end - 1 : end;
+  }
+
+  private static int nextLine(byte[] data, int lineEnd) {
+    int next = lineEnd;
+    while (next < data.length && data[next] != '\n') {
+      next++;
+    }
+    return next + 1;
+  }
+
+  /**
+   * Paints the live cells of a pattern into a row-major state array.
+   */
+  @FunctionalInterface
+  private interface Painter {
+
+    void paint(int[] states, int gridWidth, int rowOffset, int colOffset);
+  }
+
+  /**
+   * A parsed pattern: its metadata, its size and how to paint it.
+   */
+  private record LifePattern(String title, String author, String description, String rule,
+                             int width, int height, Painter painter) {
+
+  }
+
+  /**
+   * The metadata collected from the comment lines of a pattern.
+   */
+  private static class PatternInfo {
+
+    private String title;
+    private String author;
+    private String rule;
+    private final StringBuilder description = new StringBuilder();
+
+    void addComment(String comment) {
+      if (!description.isEmpty()) {
+        description.append('\n');
+      }
+      description.append(comment);
+    }
+
+    LifePattern toPattern(int width, int height, Painter painter) {
+      return new LifePattern(title, author, description.toString(), rule, width, height,
+          painter);
+    }
+  }
+
+  /**
+   * The nodes of a macrocell quadtree, numbered from 1 in file order; node 0 is the empty node.
+   * Leaves hold up to 8x8 cells as a bit mask, with bit {@code 8 * row + col} set for a live cell.
+   * For every node the bounding box of its live cells is kept relative to the node's top-left
+   * corner, which gives the size of the pattern and lets painting skip empty subtrees.
+   */
+  private static class MacrocellTree {
+
+    private int count;
+    private int[] levels = new int[64];
+    private boolean[] isLeaf = new boolean[64];
+    private long[] leaves = new long[64];
+    private int[] children = new int[4 * 64];
+    private long[] minRow = new long[64];
+    private long[] minCol = new long[64];
+    private long[] maxRow = new long[64];
+    private long[] maxCol = new long[64];
+
+    MacrocellTree() {
+      // Node 0 is the empty node
+      minRow[0] = -1;
+      count = 1;
+    }
+
+    int size() {
+      return count - 1;
+    }
+
+    boolean isEmpty(int node) {
+      return node <= 0 || minRow[node] < 0;
+    }
+
+    void addLeaf(byte[] data, int start, int end) {
+      long mask = 0;
+      int row = 0;
+      int col = 0;
+      for (int i = start; i < end && row < 8; i++) {
+        if (data[i] == '$') {
+          row++;
+          col = 0;
+        } else {
+          if (data[i] == '*' && col < 8) {
+            mask |= 1L << (8 * row + col);
+          }
+          col++;
+        }
+      }
+      int node = newNode(3);
+      isLeaf[node] = true;
+      leaves[node] = mask;
+      updateLeafBounds(node);
+    }
+
+    void addNode(byte[] data, int start, int end, String fileName) throws IOException {
+      String[] fields = new String(data, start, end - start, StandardCharsets.US_ASCII).trim()
+          .split("\\s+");
+      if (fields.length != 5) {
+        throw new IOException("error-invalidPattern," + fileName);
+      }
+      int level = Integer.parseInt(fields[0]);
+      if (level < 1 || level > MAX_MACROCELL_LEVEL) {
+        throw new IOException("error-invalidPattern," + fileName);
+      }
+      int node = newNode(level);
+      if (level == 1) {
+        // A 2x2 node of a multistate pattern holds the states of its cells; any state is alive
+        long mask = 0;
+        for (int q = 0; q < 4; q++) {
+          if (Integer.parseInt(fields[q + 1]) != 0) {
+            mask |= 1L << (8 * (q / 2) + q % 2);
+          }
+        }
+        isLeaf[node] = true;
+        leaves[node] = mask;
+        updateLeafBounds(node);
+        return;
+      }
+      long half = 1L << (level - 1);
+      minRow[node] = -1;
+      for (int q = 0; q < 4; q++) {
+        int child = Integer.parseInt(fields[q + 1]);
+        if (child < 0 || child >= node || (child != 0 && levels[child] != level - 1)) {
+          throw new IOException("error-invalidPattern," + fileName);
+        }
+        children[4 * node + q] = child;
+        if (!isEmpty(child)) {
+          long rowOffset = q >= 2 ? half : 0;
+          long colOffset = q % 2 == 1 ? half : 0;
+          includeBounds(node, minRow[child] + rowOffset, minCol[child] + colOffset,
+              maxRow[child] + rowOffset, maxCol[child] + colOffset);
+        }
+      }
+    }
+
+    void paint(int node, long row, long col, int[] states, int gridWidth) {
+      if (isEmpty(node)) {
+        return;
+      }
+      if (isLeaf[node]) {
+        long mask = leaves[node];
+        while (mask != 0) {
+          int bit = Long.numberOfTrailingZeros(mask);
+          states[(int) ((row + bit / 8) * gridWidth + col + bit % 8)] = ALIVE;
+          mask &= mask - 1;
+        }
+        return;
+      }
+      long half = 1L << (levels[node] - 1);
+      for (int q = 0; q < 4; q++) {
+        paint(children[4 * node + q], row + (q >= 2 ? half : 0), col + (q % 2 == 1 ? half : 0),
+            states, gridWidth);
+      }
+    }
+
+    private int newNode(int level) {
+      if (count == levels.length) {
+        int capacity = 2 * count;
+        levels = Arrays.copyOf(levels, capacity);
+        isLeaf = Arrays.copyOf(isLeaf, capacity);
+        leaves = Arrays.copyOf(leaves, capacity);
+        children = Arrays.copyOf(children, 4 * capacity);
+        minRow = Arrays.copyOf(minRow, capacity);
+        minCol = Arrays.copyOf(minCol, capacity);
+        maxRow = Arrays.copyOf(maxRow, capacity);
+        maxCol = Arrays.copyOf(maxCol, capacity);
+      }
+      levels[count] = level;
+      return count++;
+    }
+
+    private void updateLeafBounds(int node) {
+      minRow[node] = -1;
+      long mask = leaves[node];
+      while (mask != 0) {
+        int bit = Long.numberOfTrailingZeros(mask);
+        includeBounds(node, bit / 8, bit % 8, bit / 8, bit % 8);
+        mask &= mask - 1;
+      }
+    }
+
+    private void includeBounds(int node, long top, long left, long bottom, long right) {
+      if (minRow[node] < 0) {
+        minRow[node] = top;
+        minCol[node] = left;
+        maxRow[node] = bottom;
+        maxCol[node] = right;
+        return;
+      }
+      minRow[node] = Math.min(minRow[node], top);
+      minCol[node] = Math.min(minCol[node], left);
+      maxRow[node] = Math.max(maxRow[node], bottom);
+      maxCol[node] = Math.max(maxCol[node], right);
+    }
+  }
+}
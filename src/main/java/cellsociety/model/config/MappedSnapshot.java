@@ -0,0 +1,413 @@
+package cellsociety.model.config;
+
+import static cellsociety.model.config.SnapshotFormat.ENCODING_BIT_PACKED;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * The MappedSnapshot class opens the bit-packed state plane of a binary grid snapshot with
+ * {@link FileChannel#map} instead of copying it into the heap. Cells are decoded on access, so
+ * the operating system pages the plane in lazily and opening a snapshot takes the same time
+ * regardless of the size of the world. Planes larger than 2 GB are mapped in several chunks.
+ * <p>
+ * It is meant for inspecting and editing a snapshot file in place, such as reading its header
+ * and a few cells or saving a changed world over it, not for loading a world into the model: the
+ * model copies every cell into a grid of its own, so {@link ConfigReader} decodes snapshots into
+ * the heap instead.
+ * <p>
+ * A snapshot opened for writing can change the state of any cell to a state of its palette. The
+ * pages touched by such changes are tracked and only those are written back when the snapshot is
+ * flushed or closed. Only the state plane is mapped; the header and the sparse properties are
+ * read into the heap.
+ *
+ * @author Billy McCune
+ * @see SnapshotFormat
+ */
+public class MappedSnapshot implements Closeable {
+
+  private static final long CHUNK_SIZE = 1L << 30;
+  private static final int PAGE_SIZE = 4096;
+
+  private final FileChannel channel;
+  private final String fileName;
+  private final boolean isWritable;
+  private final SnapshotReader.Header header;
+  private final Map<Integer, Map<String, Double>> properties;
+
+  // State plane
+  private final int[] palette;
+  private final Map<Integer, Integer> paletteIndices = new HashMap<>();
+  private final int bitsPerCell;
+  private final int cellsPerWord;
+  private final long mask;
+  private final MappedByteBuffer[] chunks;
+  private final long planeSize;
+  private final BitSet dirtyPages = new BitSet();
+
+  private MappedSnapshot(File file, boolean isWritable) throws IOException {
+    this.fileName = file.getName();
+    this.isWritable = isWritable;
+    this.channel = isWritable
+        ? FileChannel.open(file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE)
+        : FileChannel.open(file.toPath(), StandardOpenOption.READ);
+    try {
+      ByteBuffer prefix = channel.map(MapMode.READ_ONLY, 0,
+          Math.min(channel.size(), Integer.MAX_VALUE));
+      header = SnapshotReader.readHeader(prefix, fileName);
+      palette = SnapshotReader.readPalette(prefix);
+      if (prefix.get() != ENCODING_BIT_PACKED) {
+        throw new IOException("error-snapshotNotMappable," + fileName);
+      }
+      bitsPerCell = prefix.get();
+      if (bitsPerCell <= 0 || bitsPerCell > Integer.SIZE) {
+        throw new IOException("error-invalidSnapshotBitWidth," + bitsPerCell);
+      }
+      cellsPerWord = Long.SIZE / bitsPerCell;
+      mask = (1L << bitsPerCell) - 1;
+      long numWords = Integer.toUnsignedLong(prefix.getInt());
+      long numCells = (long) header.width() * header.height();
+      if (numWords * cellsPerWord < numCells) {
+        throw new IOException("error-truncatedSnapshot," + fileName);
+      }
+      for (int i = 0; i < palette.length; i++) {
+        paletteIndices.put(palette[i], i);
+      }
+
+      long planeOffset = prefix.position();
+      planeSize = Long.BYTES * numWords;
+      chunks = mapPlane(planeOffset);
+      properties = readProperties(planeOffset + planeSize, (int) numCells);
+    } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+      channel.close();
+      throw new IOException("error-truncatedSnapshot," + fileName);
+    } catch (IOException | RuntimeException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Opens a binary grid snapshot with a memory-mapped state plane.
+   *
+   * @param snapshotFile the snapshot file to open
+   * @param writable     true to allow changing the states of the mapped cells
+   * @return the mapped snapshot
+   * @throws IOException              if an I/O error occurs, the file is not a valid snapshot or
+   *                                  its state plane is not bit-packed
+   * @throws IllegalArgumentException if the snapshot contains invalid information
+   */
+  public static MappedSnapshot open(File snapshotFile, boolean writable)
+      throws IOException, IllegalArgumentException {
+    return new MappedSnapshot(snapshotFile, writable);
+  }
+
+  /**
+   * Reads a binary grid snapshot into a {@code ConfigInfo} whose grid is backed by the read-only
+   * mapped state plane, for inspection without decoding the whole plane. The mapping stays valid
+   * after the file is closed.
+   *
+   * @param snapshotFile the snapshot file to read
+   * @param fileName     the name of the configuration file
+   * @return a {@code ConfigInfo} object with all data of the snapshot
+   * @throws IOException              if an I/O error occurs, the file is not a valid snapshot or
+   *                                  its state plane is not bit-packed
+   * @throws IllegalArgumentException if the snapshot contains invalid information
+   */
+  public static ConfigInfo readConfig(File snapshotFile, String fileName)
+      throws IOException, IllegalArgumentException {
+    try (MappedSnapshot snapshot = open(snapshotFile, false)) {
+      return snapshot.getConfigInfo(fileName);
+    }
+  }
+
+  /**
+   * Returns the configuration of the snapshot. Its grid reads the mapped state plane on access, so
+   * walking it decodes every cell again; a model built from it copies the whole grid.
+   *
+   * @param configFileName the name of the configuration file
+   * @return a {@code ConfigInfo} object backed by this snapshot
+   */
+  public ConfigInfo getConfigInfo(String configFileName) {
+    return header.toConfigInfo(new MappedCellGrid(), configFileName);
+  }
+
+  /**
+   * Returns the number of rows of the mapped grid.
+   *
+   * @return the number of rows
+   */
+  public int getNumRows() {
+    return header.height();
+  }
+
+  /**
+   * Returns the number of columns of the mapped grid.
+   *
+   * @return the number of columns
+   */
+  public int getNumCols() {
+    return header.width();
+  }
+
+  /**
+   * Returns the state of a cell, reading it from the mapped state plane.
+   *
+   * @param row the row index of the cell
+   * @param col the column index of the cell
+   * @return the state of the cell
+   * @throws IndexOutOfBoundsException if the cell is outside the grid
+   */
+  public int getState(int row, int col) {
+    return palette[(int) ((readWord(getWordOffset(row, col)) >>> getShift(row, col)) & mask)];
+  }
+
+  /**
+   * Changes the state of a cell in the mapped state plane and marks its page as dirty.
+   *
+   * @param row   the row index of the cell
+   * @param col   the column index of the cell
+   * @param state the new state, which must be part of the snapshot's palette
+   * @throws IllegalStateException     if the snapshot was opened read-only
+   * @throws IllegalArgumentException  if the state is not part of the palette
+   * @throws IndexOutOfBoundsException if the cell is outside the grid
+   */
+  public void setState(int row, int col, int state) {
+    if (!isWritable) {
+      throw new IllegalStateException("error-snapshotReadOnly," + fileName);
+    }
+    Integer paletteIndex = paletteIndices.get(state);
+    if (paletteIndex == null) {
+      throw new IllegalArgumentException("error-stateNotInSnapshotPalette," + state);
+    }
+    long offset = getWordOffset(row, col);
+    int shift = getShift(row, col);
+    long word = readWord(offset);
+    long updated = (word & ~(mask << shift)) | ((long) paletteIndex << shift);
+    if (updated != word) {
+      chunks[(int) (offset / CHUNK_SIZE)].putLong((int) (offset % CHUNK_SIZE), updated);
+      dirtyPages.set((int) (offset / PAGE_SIZE));
+    }
+  }
+
+  /**
+   * Copies the row-major states of a whole grid into the mapped state plane. Only the cells whose
+   * state differs are written, so only the pages that actually changed become dirty.
+   *
+   * @param states the row-major states of the grid, starting at the buffer's position
+   * @return the number of cells that changed
+   * @throws IllegalArgumentException if the buffer holds fewer states than the grid has cells, or
+   *                                  a state is not part of the palette
+   */
+  public int writeStates(IntBuffer states) {
+    int numCols = getNumCols();
+    if (states.remaining() < getNumRows() * numCols) {
+      throw new IllegalArgumentException("error-destinationTooSmall");
+    }
+    int start = states.position();
+    int numChanged = 0;
+    for (int row = 0; row < getNumRows(); row++) {
+      for (int col = 0; col < numCols; col++) {
+        int state = states.get(start + row * numCols + col);
+        if (getState(row, col) != state) {
+          setState(row, col, state);
+          numChanged++;
+        }
+      }
+    }
+    return numChanged;
+  }
+
+  /**
+   * Writes a configuration back into the mapped snapshot in place. This is only possible when the
+   * configuration has the same header and cell properties as the snapshot and all its states are
+   * part of the palette, in which case only the pages whose cells changed are written. Nothing is
+   * written otherwise.
+   *
+   * @param configInfo the configuration to write back
+   * @return true if the configuration was written back, false if the snapshot must be rewritten
+   */
+  public boolean writeBack(ConfigInfo configInfo) {
+    if (!isWritable || !header.equals(SnapshotReader.Header.from(configInfo))) {
+      return false;
+    }
+    List<List<CellRecord>> grid = configInfo.myGrid();
+    if (grid.size() != getNumRows() || !canWriteBack(grid)) {
+      return false;
+    }
+    for (int row = 0; row < getNumRows(); row++) {
+      List<CellRecord> rowRecords = grid.get(row);
+      for (int col = 0; col < getNumCols(); col++) {
+        int state = rowRecords.get(col).state();
+        if (getState(row, col) != state) {
+          setState(row, col, state);
+        }
+      }
+    }
+    flush();
+    return true;
+  }
+
+  /**
+   * Indicates whether any page of the state plane was changed since the last flush.
+   *
+   * @return true if there are changes that have not been written back
+   */
+  public boolean isDirty() {
+    return !dirtyPages.isEmpty();
+  }
+
+  /**
+   * Writes the dirty pages of the state plane back to the file.
+   */
+  public void flush() {
+    int page = dirtyPages.nextSetBit(0);
+    while (page >= 0) {
+      int end = dirtyPages.nextClearBit(page);
+      forceRange((long) page * PAGE_SIZE, (long) end * PAGE_SIZE);
+      page = dirtyPages.nextSetBit(end);
+    }
+    dirtyPages.clear();
+  }
+
+  /**
+   * Writes the dirty pages back and closes the file. The mapped grid of
+   * {@link #getConfigInfo(String)} stays readable after closing.
+   *
+   * @throws IOException if an I/O error occurs while closing the file
+   */
+  @Override
+  public void close() throws IOException {
+    if (isWritable) {
+      flush();
+    }
+    channel.close();
+  }
+
+  /* PRIVATE HELPER METHODS */
+
+  private MappedByteBuffer[] mapPlane(long planeOffset) throws IOException {
+    if (planeOffset + planeSize > channel.size()) {
+      throw new IOException("error-truncatedSnapshot," + fileName);
+    }
+    MapMode mode = isWritable ? MapMode.READ_WRITE : MapMode.READ_ONLY;
+    MappedByteBuffer[] mapped = new MappedByteBuffer[(int) ((planeSize + CHUNK_SIZE - 1)
+        / CHUNK_SIZE)];
+    for (int i = 0; i < mapped.length; i++) {
+      long start = i * CHUNK_SIZE;
+      mapped[i] = channel.map(mode, planeOffset + start, Math.min(CHUNK_SIZE, planeSize - start));
+    }
+    return mapped;
+  }
+
+  private Map<Integer, Map<String, Double>> readProperties(long offset, int numCells)
+      throws IOException {
+    long size = channel.size() - offset;
+    if (size > Integer.MAX_VALUE) {
+      throw new IOException("error-snapshotTooLarge," + fileName);
+    }
+    ByteBuffer buffer = channel.map(MapMode.READ_ONLY, offset, size);
+    return SnapshotReader.readProperties(buffer, numCells);
+  }
+
+  private boolean canWriteBack(List<List<CellRecord>> grid) {
+    for (int row = 0; row < getNumRows(); row++) {
+      List<CellRecord> rowRecords = grid.get(row);
+      if (rowRecords.size() != getNumCols()) {
+        return false;
+      }
+      for (int col = 0; col < getNumCols(); col++) {
+        CellRecord cell = rowRecords.get(col);
+        Map<String, Double> cellProperties =
+            properties.getOrDefault(row * getNumCols() + col, Map.of());
+        if (!paletteIndices.containsKey(cell.state())
+            || !cellProperties.equals(cell.properties())) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  private long getWordOffset(int row, int col) {
+    if (row < 0 || row >= getNumRows() || col < 0 || col >= getNumCols()) {
+      throw new IndexOutOfBoundsException(row + "," + col);
+    }
+    long index = (long) row * getNumCols() + col;
+    return Long.BYTES * (index / cellsPerWord);
+  }
+
+  private int getShift(int row, int col) {
+    long index = (long) row * getNumCols() + col;
+    return (int) (index % cellsPerWord) * bitsPerCell;
+  }
+
+  private long readWord(long offset) {
+    return chunks[(int) (offset / CHUNK_SIZE)].getLong((int) (offset % CHUNK_SIZE));
+  }
+
+  private void forceRange(long start, long end) {
+    long limit = Math.min(end, planeSize);
+    long position = start;
+    while (position < limit) {
+      int chunk = (int) (position / CHUNK_SIZE);
+      int chunkStart = (int) (position % CHUNK_SIZE);
+      int length = (int) Math.min(limit - position, chunks[chunk].capacity() - chunkStart);
+      chunks[chunk].force(chunkStart, length);
+      position += length;
+    }
+  }
+
+  /**
+   * A read-only row view of the mapped grid that decodes the cells of a row on access.
+   */
+  private class MappedCellGrid extends AbstractList<List<CellRecord>> implements RandomAccess {
+
+    @Override
+    public List<CellRecord> get(int row) {
+      if (row < 0 || row >= getNumRows()) {
+        throw new IndexOutOfBoundsException(row);
+      }
+      return new MappedRow(row);
+    }
+
+    @Override
+    public int size() {
+      return getNumRows();
+    }
+  }
+
+  private class MappedRow extends AbstractList<CellRecord> implements RandomAccess {
+
+    private final int row;
+
+    MappedRow(int row) {
+      this.row = row;
+    }
+
+    @Override
+    public CellRecord get(int col) {
+      int index = row * getNumCols() + col;
+      return new CellRecord(getState(row, col), properties.getOrDefault(index, Map.of()));
+    }
+
+    @Override
+    public int size() {
+      return getNumCols();
+    }
+  }
+}
@@ -0,0 +1,103 @@
+package cellsociety.model.config;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * A read-only two-dimensional list of {@link CellRecord} backed by a packed row-major state array
+ * and a sparse map of per-cell properties. Cell records are created on demand, so a large grid
+ * costs one int per cell plus the cells that actually carry properties.
+ *
+ * @author Billy McCune
+ */
+public class PackedCellGrid extends AbstractList<List<CellRecord>> implements RandomAccess {
+
+  private final int numRows;
+  private final int numCols;
+  private final int[] states;
+  private final Map<Integer, Map<String, Double>> properties;
+
+  /**
+   * Creates a packed grid over the given arrays. The arrays are not copied.
+   *
+   * @param numRows    the number of rows in the grid
+   * @param numCols    the number of columns in the grid
+   * @param states     the row-major states of the cells, at least numRows * numCols long
+   * @param properties the properties of the cells that have any, keyed by row-major cell index
+   */
+  public PackedCellGrid(int numRows, int numCols, int[] states,
+      Map<Integer, Map<String, Double>> properties) {
+    if (numRows < 0 || numCols < 0 || states.length < numRows * numCols) {
+      throw new IllegalArgumentException("error-invalidPackedGrid");
+    }
+    this.numRows = numRows;
+    this.numCols = numCols;
+    this.states = states;
+    this.properties = properties;
+  }
+
+  @Override
+  public List<CellRecord> get(int row) {
+    if (row < 0 || row >= numRows) {
+      throw new IndexOutOfBoundsException(row);
+    }
+    return new PackedRow(row * numCols);
+  }
+
+  @Override
+  public int size() {
+    return numRows;
+  }
+
+  /**
+   * Returns the number of columns in the grid.
+   *
+   * @return the number of columns
+   */
+  public int getNumCols() {
+    return numCols;
+  }
+
+  /**
+   * Returns the packed row-major state array backing this grid.
+   *
+   * @return the state array
+   */
+  public int[] getStates() {
+    return states;
+  }
+
+  /**
+   * Returns the sparse per-cell properties keyed by row-major cell index.
+   *
+   * @return the properties of the cells that have any
+   */
+  public Map<Integer, Map<String, Double>> getProperties() {
+    return properties;
+  }
+
+  private class PackedRow extends AbstractList<CellRecord> implements RandomAccess {
+
+    private final int offset;
+
+    PackedRow(int offset) {
+      this.offset = offset;
+    }
+
+    @Override
+    public CellRecord get(int col) {
+      if (col < 0 || col >= numCols) {
+        throw new IndexOutOfBoundsException(col);
+      }
+      int index = offset + col;
+      return new CellRecord(states[index], properties.getOrDefault(index, Map.of()));
+    }
+
+    @Override
+    public int size() {
+      return numCols;
+    }
+  }
+}
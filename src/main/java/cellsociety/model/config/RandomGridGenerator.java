@@ -0,0 +1,201 @@
+package cellsociety.model.config;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * The RandomGridGenerator class fills a packed row-major state array with an exact number of cells
+ * of each state in uniformly random order.
+ * <p>
+ * The array is split in halves recursively. The number of cells of each state that land in the
+ * left half is drawn from the multivariate hypergeometric distribution, so that every arrangement
+ * stays equally likely. Once a range is small enough, it is filled with its states and shuffled
+ * with Fisher–Yates. Both halves are generated in parallel, each with its own generator split off
+ * the parent's before forking, so the result depends only on the seed and never on how the work
+ * was scheduled.
+ *
+ * @author Billy McCune
+ */
+public final class RandomGridGenerator {
+
+  // Ranges of at most this many cells are shuffled directly instead of split further
+  static final int CHUNK_SIZE = 1 << 16;
+
+  private static final int LOG_FACTORIAL_TABLE_SIZE = 256;
+  private static final double[] LOG_FACTORIALS = new double[LOG_FACTORIAL_TABLE_SIZE];
+
+  static {
+    for (int i = 1; i < LOG_FACTORIAL_TABLE_SIZE; i++) {
+      LOG_FACTORIALS[i] = LOG_FACTORIALS[i - 1] + Math.log(i);
+    }
+  }
+
+  private RandomGridGenerator() {
+  }
+
+  /**
+   * Generates a packed state array holding exactly the given number of cells of each state in
+   * random order. The same counts and seed always produce the same array.
+   *
+   * @param stateCounts a map where each state is mapped to its cell count
+   * @param totalCells  the total number of cells in the grid
+   * @param seed        the seed of the random generator
+   * @return the row-major states of all cells
+   * @throws IllegalStateException if a count is negative or the counts do not add up to the total
+   *                               number of cells
+   */
+  public static int[] generate(Map<Integer, Integer> stateCounts, int totalCells, long seed) {
+    // Sort the states so that the draws do not depend on the iteration order of the map
+    Map<Integer, Integer> sortedCounts = new TreeMap<>(stateCounts);
+    int[] states = new int[sortedCounts.size()];
+    int[] counts = new int[sortedCounts.size()];
+    long sum = 0;
+    int i = 0;
+    for (Map.Entry<Integer, Integer> entry : sortedCounts.entrySet()) {
+      states[i] = entry.getKey();
+      counts[i] = entry.getValue();
+      if (counts[i] < 0) {
+        throw new IllegalStateException("error-totalCellsDoesntEqualTotalStates");
+      }
+      sum += counts[i];
+      i++;
+    }
+    if (sum != totalCells) {
+      throw new IllegalStateException("error-totalCellsDoesntEqualTotalStates");
+    }
+
+    int[] cells = new int[totalCells];
+    ForkJoinPool.commonPool().invoke(
+        new FillTask(cells, 0, totalCells, states, counts, new SplittableRandom(seed)));
+    return cells;
+  }
+
+  /**
+   * Fills a range of the cells with the given number of cells of each state in random order.
+   */
+  private static class FillTask extends RecursiveAction {
+
+    // Tasks are never serialized, but RecursiveAction is Serializable
+    private static final long serialVersionUID = 1L;
+
+    private final int[] cells;
+    private final int start;
+    private final int end;
+    private final int[] states;
+    private final int[] counts;
+    private final transient SplittableRandom random;
+
+    FillTask(int[] cells, int start, int end, int[] states, int[] counts,
+        SplittableRandom random) {
+      this.cells = cells;
+      this.start = start;
+      this.end = end;
+      this.states = states;
+      this.counts = counts;
+      this.random = random;
+    }
+
+    @Override
+    protected void compute() {
+      if (end - start <= CHUNK_SIZE) {
+        fillAndShuffle();
+        return;
+      }
+      int mid = start + (end - start) / 2;
+      int[] leftCounts = new int[counts.length];
+      int[] rightCounts = new int[counts.length];
+      long population = end - start;
+      long draws = mid - start;
+      for (int i = 0; i < counts.length; i++) {
+        leftCounts[i] = (int) hypergeometric(random, population, counts[i], draws);
+        rightCounts[i] = counts[i] - leftCounts[i];
+        population -= counts[i];
+        draws -= leftCounts[i];
+      }
+      SplittableRandom leftRandom = random.split();
+      invokeAll(new FillTask(cells, start, mid, states, leftCounts, leftRandom),
+          new FillTask(cells, mid, end, states, rightCounts, random));
+    }
+
+    private void fillAndShuffle() {
+      int position = start;
+      for (int i = 0; i < states.length; i++) {
+        Arrays.fill(cells, position, position + counts[i], states[i]);
+        position += counts[i];
+      }
+      for (int i = end - 1; i > start; i--) {
+        int j = start + random.nextInt(i - start + 1);
+        int swap = cells[i];
+        cells[i] = cells[j];
+        cells[j] = swap;
+      }
+    }
+  }
+
+  /**
+   * Draws the number of successes among the given number of draws without replacement from a
+   * population, by inverting the distribution outwards from its mode. This takes a number of steps
+   * in the order of the standard deviation.
+   */
+  static long hypergeometric(SplittableRandom random, long population, long successes,
+      long draws) {
+    long failures = population - successes;
+    long min = Math.max(0, draws - failures);
+    long max = Math.min(draws, successes);
+    if (min == max) {
+      return min;
+    }
+    long mode = Math.min(max, Math.max(min,
+        (long) ((draws + 1.0) * (successes + 1.0) / (population + 2.0))));
+    double modeProbability = Math.exp(logChoose(successes, mode)
+        + logChoose(failures, draws - mode) - logChoose(population, draws));
+
+    double u = random.nextDouble() - modeProbability;
+    long up = mode;
+    long down = mode;
+    double upProbability = modeProbability;
+    double downProbability = modeProbability;
+    while (u > 0 && (up < max || down > min)) {
+      if (up < max) {
+        upProbability *= (double) (successes - up) * (draws - up)
+            / ((up + 1.0) * (failures - draws + up + 1.0));
+        up++;
+        u -= upProbability;
+        if (u <= 0) {
+          return up;
+        }
+      }
+      if (down > min) {
+        downProbability *= (double) down * (failures - draws + down)
+            / ((successes - down + 1.0) * (draws - down + 1.0));
+        down--;
+        u -= downProbability;
+        if (u <= 0) {
+          return down;
+        }
+      }
+    }
+    // Only reached if rounding left a sliver of probability unaccounted for
+    return mode;
+  }
+
+  private static double logChoose(long n, long k) {
+    return logFactorial(n) - logFactorial(k) - logFactorial(n - k);
+  }
+
+  private static double logFactorial(long n) {
+    if (n < LOG_FACTORIAL_TABLE_SIZE) {
+      return LOG_FACTORIALS[(int) n];
+    }
+    // Stirling's series, accurate to double precision for n of at least the table size
+    double x = n;
+    double inverse = 1.0 / x;
+    double inverseSquared = inverse * inverse;
+    return x * Math.log(x) - x + 0.5 * Math.log(2 * Math.PI * x)
+        + inverse * (1.0 / 12 - inverseSquared * (1.0 / 360 - inverseSquared / 1260));
+  }
+}
@@ -2,12 +2,11 @@ package cellsociety.model.config;
 
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
@@ -17,7 +16,9 @@ import org.w3c.dom.NodeList;
  * state counts or proportions defined in an XML document.
  * <p>
  * It provides methods to generate a grid (as a 2D list of CellRecord) using either total state
- * counts or state proportions.
+ * counts or state proportions. The grid is packed, see {@link PackedCellGrid}, and its states are
+ * generated by {@link RandomGridGenerator}. An optional <code>&lt;randomSeed&gt;</code> element
+ * makes the generated grid reproducible; without it a new seed is drawn on every load.
  *
  * @author Billy McCune
  */
@@ -40,8 +41,8 @@ public class RandomStatesAndProportionsGridReader {
       // Reuse GridReader's method to read accepted states.
       Set<Integer> acceptedStates = GridReader.readAcceptedStates(root);
       Map<Integer, Integer> stateCounts = parseInitialStates(root, acceptedStates, totalCells);
-      List<Integer> randomizedStates = generateRandomizedStateList(stateCounts, totalCells);
-      return createGrid(randomizedStates, width, height);
+      int[] states = RandomGridGenerator.generate(stateCounts, totalCells, readRandomSeed(root));
+      return new PackedCellGrid(height, width, states, new HashMap<>());
     } catch (IllegalArgumentException e) {
       throw new IllegalArgumentException(e.getMessage());
     }
@@ -63,8 +64,8 @@ public class RandomStatesAndProportionsGridReader {
 
       Set<Integer> acceptedStates = GridReader.readAcceptedStates(root);
       Map<Integer, Integer> stateCounts = parseInitialProportions(root, acceptedStates, totalCells);
-      List<Integer> randomizedStates = generateRandomizedStateList(stateCounts, totalCells);
-      return createGrid(randomizedStates, width, height);
+      int[] states = RandomGridGenerator.generate(stateCounts, totalCells, readRandomSeed(root));
+      return new PackedCellGrid(height, width, states, new HashMap<>());
     } catch (IllegalArgumentException e) {
       throw new IllegalArgumentException(e.getMessage());
     }
@@ -363,53 +364,23 @@ public class RandomStatesAndProportionsGridReader {
   }
 
   /**
-   * Generates a randomized list of cell state integers based on the provided state counts.
+   * Reads the seed of the random grid from the optional <code>&lt;randomSeed&gt;</code> element.
    *
-   * @param stateCounts a map where each state is mapped to its cell count
-   * @param totalCells  the total number of cells in the grid
-   * @return a shuffled list of cell state integers
-   * @throws IllegalStateException if the generated list size does not match the total number of
-   *                               cells
+   * @param root the root XML element
+   * @return the seed from the XML, or a random seed if the element is missing
+   * @throws IllegalArgumentException if the seed cannot be parsed
    */
-  private static List<Integer> generateRandomizedStateList(Map<Integer, Integer> stateCounts,
-      int totalCells) throws IllegalArgumentException {
-    List<Integer> statesList = new ArrayList<>();
-    for (Map.Entry<Integer, Integer> entry : stateCounts.entrySet()) {
-      int state = entry.getKey();
-      int count = entry.getValue();
-      for (int i = 0; i < count; i++) {
-        statesList.add(state);
-      }
+  private static long readRandomSeed(Element root) {
+    NodeList nodeList = root.getElementsByTagName("randomSeed");
+    if (nodeList.getLength() == 0) {
+      return ThreadLocalRandom.current().nextLong();
     }
-    if (statesList.size() != totalCells) {
-      throw new IllegalStateException("error-totalCellsDoesntEqualTotalStates");
-    }
-    Collections.shuffle(statesList, new Random());
-    return statesList;
-  }
-
-  /**
-   * Creates a 2D grid (list of lists) of {@code CellRecord} objects from a flat list of cell state
-   * integers.
-   *
-   * @param statesList a list of cell state integers
-   * @param width      the number of columns in the grid
-   * @param height     the number of rows in the grid
-   * @return a 2D list of {@code CellRecord} representing the grid
-   */
-  private static List<List<CellRecord>> createGrid(List<Integer> statesList, int width,
-      int height) {
-    List<List<CellRecord>> grid = new ArrayList<>();
-    int index = 0;
-    for (int r = 0; r < height; r++) {
-      List<CellRecord> row = new ArrayList<>();
-      for (int c = 0; c < width; c++) {
-        int state = statesList.get(index++);
-        row.add(new CellRecord(state, new HashMap<>()));
-      }
-      grid.add(row);
+    String seedText = nodeList.item(0).getTextContent().trim();
+    try {
+      return Long.parseLong(seedText);
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("error-invalidRandomSeed," + seedText);
     }
-    return grid;
   }
 
   /**
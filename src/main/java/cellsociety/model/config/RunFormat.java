@@ -0,0 +1,52 @@
+package cellsociety.model.config;
+
+import java.io.File;
+
+/**
+ * The RunFormat class holds the constants of the recorded run format. A run is laid out as follows
+ * (all fixed-width values are big-endian):
+ * <ul>
+ *   <li><b>Preamble</b>: the magic number, the format version and the keyframe interval</li>
+ *   <li><b>Header</b>: the header of a binary grid snapshot, see {@link SnapshotFormat}</li>
+ *   <li><b>Frames</b>: one frame per tick, starting with a keyframe for tick 0. Every frame starts
+ *   with its type, its tick and the length of its payload, so that a reader can skip frames
+ *   without decoding them</li>
+ * </ul>
+ * A keyframe holds the state of every cell followed by the properties of every cell that has any.
+ * A delta frame holds the delta-encoded indices and new states of the cells whose state changed,
+ * followed by the full properties of the cells whose properties changed. Indices and states are
+ * written as variable-length integers.
+ *
+ * @author Billy McCune
+ */
+public final class RunFormat {
+
+  /**
+   * The file extension of recorded runs.
+   */
+  public static final String RUN_EXTENSION = ".run";
+
+  /**
+   * The number of ticks between two keyframes unless another interval is requested.
+   */
+  public static final int DEFAULT_KEYFRAME_INTERVAL = 100;
+
+  static final int MAGIC = 0x4353524E; // "CSRN"
+  static final short VERSION = 1;
+  static final byte FRAME_KEYFRAME = 0;
+  static final byte FRAME_DELTA = 1;
+  static final int FRAME_HEADER_SIZE = Byte.BYTES + 2 * Integer.BYTES;
+
+  private RunFormat() {
+  }
+
+  /**
+   * Indicates whether the given file is a recorded run.
+   *
+   * @param file the file
+   * @return true if the file has the run extension, false otherwise
+   */
+  public static boolean isRun(File file) {
+    return file != null && file.getName().endsWith(RUN_EXTENSION);
+  }
+}
@@ -0,0 +1,306 @@
+package cellsociety.model.config;
+
+import static cellsociety.model.config.RunFormat.FRAME_DELTA;
+import static cellsociety.model.config.RunFormat.FRAME_HEADER_SIZE;
+import static cellsociety.model.config.RunFormat.FRAME_KEYFRAME;
+import static cellsociety.model.config.RunFormat.MAGIC;
+import static cellsociety.model.config.RunFormat.VERSION;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The RunPlayer class plays back a run written by a {@link RunRecorder} without recomputing it.
+ * Opening a run only reads the frame headers to build an index of the keyframes, so a player can
+ * step forward one tick at a time or seek to any tick by decoding the nearest keyframe before it
+ * and the deltas that follow. A run whose last frame was only partially written is played up to
+ * the last complete frame.
+ *
+ * @author Billy McCune
+ * @see RunFormat
+ */
+public class RunPlayer implements Closeable {
+
+  private final FileChannel channel;
+  private final String fileName;
+  private final SnapshotReader.Header header;
+  private final int keyframeInterval;
+  private final int numCells;
+
+  // Frame index
+  private final int[] keyframeTicks;
+  private final long[] keyframePositions;
+  private final int lastTick;
+  private final long endPosition;
+
+  // Current frame
+  private final int[] states;
+  private final Map<Integer, Map<String, Double>> properties = new HashMap<>();
+  private final ByteBuffer frameHeader = ByteBuffer.allocate(FRAME_HEADER_SIZE);
+  private ByteBuffer payload = ByteBuffer.allocate(0);
+  private long nextFramePosition;
+  private int tick = -1;
+
+  private RunPlayer(File runFile) throws IOException {
+    this.fileName = runFile.getName();
+    this.channel = FileChannel.open(runFile.toPath(), StandardOpenOption.READ);
+    try {
+      ByteBuffer prefix = channel.map(MapMode.READ_ONLY, 0,
+          Math.min(channel.size(), Integer.MAX_VALUE));
+      if (prefix.remaining() < Integer.BYTES + Short.BYTES || prefix.getInt() != MAGIC) {
+        throw new IOException("error-invalidRun," + fileName);
+      }
+      short version = prefix.getShort();
+      if (version != VERSION) {
+        throw new IOException("error-unsupportedRunVersion," + version);
+      }
+      keyframeInterval = prefix.getInt();
+      header = SnapshotReader.readHeader(prefix, fileName);
+      numCells = header.width() * header.height();
+      states = new int[numCells];
+
+      // Index the keyframes by skipping over the payload of every frame
+      int numKeyframes = 0;
+      int[] ticks = new int[16];
+      long[] positions = new long[16];
+      int last = -1;
+      long framePosition = prefix.position();
+      while (readFrameHeader(framePosition)) {
+        long next = framePosition + FRAME_HEADER_SIZE + frameHeader.getInt(5);
+        if (next > channel.size()) {
+          break;
+        }
+        if (frameHeader.get(0) == FRAME_KEYFRAME) {
+          if (numKeyframes == ticks.length) {
+            ticks = Arrays.copyOf(ticks, 2 * numKeyframes);
+            positions = Arrays.copyOf(positions, 2 * numKeyframes);
+          }
+          ticks[numKeyframes] = frameHeader.getInt(1);
+          positions[numKeyframes++] = framePosition;
+        }
+        last = frameHeader.getInt(1);
+        framePosition = next;
+      }
+      if (numKeyframes == 0 || ticks[0] != 0) {
+        throw new IOException("error-emptyRun," + fileName);
+      }
+      keyframeTicks = Arrays.copyOf(ticks, numKeyframes);
+      keyframePositions = Arrays.copyOf(positions, numKeyframes);
+      lastTick = last;
+      endPosition = framePosition;
+      seek(0);
+    } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+      channel.close();
+      throw new IOException("error-truncatedRun," + fileName);
+    } catch (IOException | RuntimeException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Opens a recorded run, positioned at tick 0.
+   *
+   * @param runFile the run file to play back
+   * @return the opened player, which must be closed by the caller
+   * @throws IOException              if the file cannot be read or is not a valid run
+   * @throws IllegalArgumentException if the header of the run contains invalid information
+   */
+  public static RunPlayer open(File runFile) throws IOException {
+    return new RunPlayer(runFile);
+  }
+
+  /**
+   * Advances the player by one tick.
+   *
+   * @return true if the player advanced, false if it was already at the last tick
+   * @throws IOException if the next frame cannot be read
+   */
+  public boolean next() throws IOException {
+    if (nextFramePosition >= endPosition) {
+      return false;
+    }
+    readFrame(nextFramePosition);
+    return true;
+  }
+
+  /**
+   * Moves the player to the given tick. The player decodes the nearest keyframe at or before the
+   * tick, unless the tick is ahead of the current one and no keyframe lies between them, and then
+   * applies the deltas up to the tick.
+   *
+   * @param targetTick the tick to move to, clamped to the recorded range
+   * @throws IOException if a frame cannot be read
+   */
+  public void seek(int targetTick) throws IOException {
+    int clampedTick = Math.max(0, Math.min(lastTick, targetTick));
+    int keyframe = Arrays.binarySearch(keyframeTicks, clampedTick);
+    if (keyframe < 0) {
+      keyframe = -keyframe - 2;
+    }
+    if (clampedTick < tick || keyframeTicks[keyframe] > tick) {
+      readFrame(keyframePositions[keyframe]);
+    }
+    while (tick < clampedTick && next()) {
+      // Apply the deltas up to the requested tick
+    }
+  }
+
+  /**
+   * Returns the tick the player is positioned at.
+   *
+   * @return the current tick
+   */
+  public int getTick() {
+    return tick;
+  }
+
+  /**
+   * Returns the last tick of the run.
+   *
+   * @return the last recorded tick
+   */
+  public int getLastTick() {
+    return lastTick;
+  }
+
+  /**
+   * Returns the number of ticks between two keyframes of the run.
+   *
+   * @return the keyframe interval
+   */
+  public int getKeyframeInterval() {
+    return keyframeInterval;
+  }
+
+  /**
+   * Returns a read-only view of the row-major states of the current tick. The view is backed by
+   * the player and changes when the player moves.
+   *
+   * @return a read-only buffer over the states of all cells
+   */
+  public IntBuffer getStates() {
+    return IntBuffer.wrap(states).asReadOnlyBuffer();
+  }
+
+  /**
+   * Returns the properties of a cell at the current tick.
+   *
+   * @param index the row-major index of the cell
+   * @return the properties of the cell, or an empty map if it has none
+   */
+  public Map<String, Double> getProperties(int index) {
+    return properties.getOrDefault(index, Map.of());
+  }
+
+  /**
+   * Returns the recorded configuration with the grid of the current tick.
+   *
+   * @return a {@code ConfigInfo} object holding a copy of the current grid
+   */
+  public ConfigInfo getConfigInfo() {
+    Map<Integer, Map<String, Double>> propertiesCopy = new HashMap<>();
+    properties.forEach((index, cellProperties) ->
+        propertiesCopy.put(index, new HashMap<>(cellProperties)));
+    return header.toConfigInfo(new PackedCellGrid(header.height(), header.width(),
+        states.clone(), propertiesCopy), fileName);
+  }
+
+  @Override
+  public void close() throws IOException {
+    channel.close();
+  }
+
+  /* READING METHODS */
+
+  private boolean readFrameHeader(long framePosition) throws IOException {
+    frameHeader.clear();
+    while (frameHeader.hasRemaining()) {
+      if (channel.read(frameHeader, framePosition + frameHeader.position()) < 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private void readFrame(long framePosition) throws IOException {
+    if (!readFrameHeader(framePosition)) {
+      throw new EOFException("error-truncatedRun," + fileName);
+    }
+    byte type = frameHeader.get(0);
+    int frameTick = frameHeader.getInt(1);
+    int length = frameHeader.getInt(5);
+    if (payload.capacity() < length) {
+      payload = ByteBuffer.allocate(length);
+    }
+    payload.clear().limit(length);
+    long payloadPosition = framePosition + FRAME_HEADER_SIZE;
+    while (payload.hasRemaining()) {
+      if (channel.read(payload, payloadPosition + payload.position()) < 0) {
+        throw new EOFException("error-truncatedRun," + fileName);
+      }
+    }
+    payload.flip();
+
+    try {
+      if (type == FRAME_KEYFRAME) {
+        applyKeyframe(payload);
+      } else if (type == FRAME_DELTA) {
+        applyDelta(payload);
+      } else {
+        throw new IOException("error-unknownRunFrame," + type);
+      }
+    } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+      throw new IOException("error-truncatedRun," + fileName);
+    }
+    tick = frameTick;
+    nextFramePosition = payloadPosition + length;
+  }
+
+  private void applyKeyframe(ByteBuffer buffer) {
+    for (int i = 0; i < numCells; i++) {
+      states[i] = SnapshotReader.readVarInt(buffer);
+    }
+    properties.clear();
+    applyProperties(buffer);
+  }
+
+  private void applyDelta(ByteBuffer buffer) {
+    int numChangedStates = SnapshotReader.readVarInt(buffer);
+    int index = 0;
+    for (int k = 0; k < numChangedStates; k++) {
+      index += SnapshotReader.readVarInt(buffer);
+      states[index] = SnapshotReader.readVarInt(buffer);
+    }
+    applyProperties(buffer);
+  }
+
+  private void applyProperties(ByteBuffer buffer) {
+    int numChangedProperties = SnapshotReader.readVarInt(buffer);
+    int index = 0;
+    for (int k = 0; k < numChangedProperties; k++) {
+      index += SnapshotReader.readVarInt(buffer);
+      int numProperties = SnapshotReader.readVarInt(buffer);
+      if (numProperties == 0) {
+        properties.remove(index);
+        continue;
+      }
+      Map<String, Double> cellProperties = new HashMap<>();
+      for (int p = 0; p < numProperties; p++) {
+        cellProperties.put(SnapshotReader.readString(buffer), buffer.getDouble());
+      }
+      properties.put(index, cellProperties);
+    }
+  }
+}
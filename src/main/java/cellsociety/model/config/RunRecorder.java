@@ -0,0 +1,354 @@
+package cellsociety.model.config;
+
+import static cellsociety.model.config.RunFormat.FRAME_DELTA;
+import static cellsociety.model.config.RunFormat.FRAME_HEADER_SIZE;
+import static cellsociety.model.config.RunFormat.FRAME_KEYFRAME;
+import static cellsociety.model.config.RunFormat.MAGIC;
+import static cellsociety.model.config.RunFormat.VERSION;
+
+import cellsociety.logging.Log;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.CompletionHandler;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntFunction;
+
+/**
+ * The RunRecorder class records a simulation run tick by tick. Every tick is diffed against the
+ * previous one and only the cells whose state or properties changed are written, with a full
+ * keyframe every few ticks so that a {@link RunPlayer} can seek without replaying the whole run.
+ * <p>
+ * Frames are encoded on the calling thread and written through an {@link AsynchronousFileChannel},
+ * so the simulation never waits for the disk unless too many frames are still pending. A failed
+ * write is reported by the next call to {@link #record} or {@link #close()}.
+ *
+ * @author Billy McCune
+ * @see RunFormat
+ */
+public class RunRecorder implements Closeable {
+
+  private static final int MAX_PENDING_WRITES = 64;
+
+  private final AsynchronousFileChannel channel;
+  private final File outputFile;
+  private final int numCells;
+  private final int keyframeInterval;
+  private final Semaphore pendingWrites = new Semaphore(MAX_PENDING_WRITES);
+  private final AtomicReference<Throwable> writeFailure = new AtomicReference<>();
+  private final FrameBuffer frameBuffer = new FrameBuffer();
+  private final DataOutputStream frameOut = new DataOutputStream(frameBuffer);
+
+  // The last recorded tick
+  private final int[] previousStates;
+  private final List<Map<String, Double>> previousProperties;
+  private final int[] changedStates;
+  private final int[] changedProperties;
+
+  private long position;
+  private int tick;
+  private boolean isClosed;
+
+  /**
+   * Creates a recorder that writes a new run to the given file, replacing the file if it already
+   * exists. The metadata of the configuration is written as the header of the run; its grid is not
+   * written until the first tick is recorded.
+   *
+   * @param outputFile       the file to write the run to
+   * @param configInfo       the configuration of the recorded simulation
+   * @param keyframeInterval the number of ticks between two keyframes
+   * @throws NullPointerException     if the configuration, its parameters or accepted states are
+   *                                  null
+   * @throws IllegalArgumentException if the keyframe interval is not positive
+   * @throws IOException              if the file cannot be opened
+   */
+  public RunRecorder(File outputFile, ConfigInfo configInfo, int keyframeInterval)
+      throws IOException {
+    if (configInfo == null) {
+      throw new NullPointerException("error-nullConfigInfo");
+    }
+    if (configInfo.myParameters() == null || configInfo.acceptedStates() == null) {
+      throw new NullPointerException("error-incompleteConfigInfo");
+    }
+    if (keyframeInterval <= 0) {
+      throw new IllegalArgumentException("error-invalidKeyframeInterval," + keyframeInterval);
+    }
+    this.outputFile = outputFile;
+    this.keyframeInterval = keyframeInterval;
+    this.numCells = configInfo.myGridWidth() * configInfo.myGridHeight();
+    this.previousStates = new int[numCells];
+    this.previousProperties = new ArrayList<>(numCells);
+    this.changedStates = new int[numCells];
+    this.changedProperties = new int[numCells];
+    for (int i = 0; i < numCells; i++) {
+      previousProperties.add(Map.of());
+    }
+
+    channel = AsynchronousFileChannel.open(outputFile.toPath(), StandardOpenOption.CREATE,
+        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+    try {
+      frameOut.writeInt(MAGIC);
+      frameOut.writeShort(VERSION);
+      frameOut.writeInt(keyframeInterval);
+      SnapshotWriter.writeHeader(frameOut, configInfo);
+      submit(frameBuffer.toByteBuffer());
+    } catch (IOException | RuntimeException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Records the next tick of the run. The first tick and every keyframe interval after it are
+   * written as keyframes, all other ticks as deltas against the previous tick.
+   *
+   * @param states     the row-major states of all cells, starting at the buffer's position
+   * @param properties a function returning the properties of the cell with the given row-major
+   *                   index, which may be null if the cell has none
+   * @throws IllegalStateException    if the recorder is closed
+   * @throws IllegalArgumentException if the buffer does not hold the state of every cell
+   * @throws IOException              if a previous frame could not be written
+   */
+  public void record(IntBuffer states, IntFunction<Map<String, Double>> properties)
+      throws IOException {
+    if (isClosed) {
+      throw new IllegalStateException("error-recorderClosed");
+    }
+    if (states.remaining() < numCells) {
+      throw new IllegalArgumentException("error-invalidRunFrame," + states.remaining());
+    }
+    checkWriteFailure();
+
+    frameBuffer.reset();
+    boolean isKeyframe = tick % keyframeInterval == 0;
+    if (isKeyframe) {
+      encodeKeyframe(states, properties);
+    } else {
+      encodeDelta(states, properties);
+    }
+    frameBuffer.setFrameHeader(isKeyframe ? FRAME_KEYFRAME : FRAME_DELTA, tick);
+    submit(frameBuffer.toByteBuffer());
+    tick++;
+  }
+
+  /**
+   * Returns the number of ticks recorded so far.
+   *
+   * @return the number of recorded ticks
+   */
+  public int getTickCount() {
+    return tick;
+  }
+
+  /**
+   * Returns the file the run is written to.
+   *
+   * @return the output file
+   */
+  public File getOutputFile() {
+    return outputFile;
+  }
+
+  /**
+   * Waits for all pending frames to be written and closes the file.
+   *
+   * @throws IOException if a frame could not be written
+   */
+  @Override
+  public void close() throws IOException {
+    if (isClosed) {
+      return;
+    }
+    isClosed = true;
+    try {
+      pendingWrites.acquire(MAX_PENDING_WRITES);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("error-writingRun");
+    } finally {
+      channel.close();
+    }
+    checkWriteFailure();
+    Log.trace("Run of " + tick + " ticks recorded to file: " + outputFile.getAbsolutePath());
+  }
+
+  /* ENCODING METHODS */
+
+  private void encodeKeyframe(IntBuffer states, IntFunction<Map<String, Double>> properties)
+      throws IOException {
+    int base = states.position();
+    int numWithProperties = 0;
+    for (int i = 0; i < numCells; i++) {
+      previousStates[i] = states.get(base + i);
+      SnapshotWriter.writeVarInt(frameOut, previousStates[i]);
+      Map<String, Double> cellProperties = copyProperties(properties.apply(i));
+      previousProperties.set(i, cellProperties);
+      if (!cellProperties.isEmpty()) {
+        changedProperties[numWithProperties++] = i;
+      }
+    }
+    writeChangedProperties(changedProperties, numWithProperties);
+  }
+
+  private void encodeDelta(IntBuffer states, IntFunction<Map<String, Double>> properties)
+      throws IOException {
+    int base = states.position();
+    int numChangedStates = 0;
+    int numChangedProperties = 0;
+    for (int i = 0; i < numCells; i++) {
+      int state = states.get(base + i);
+      if (state != previousStates[i]) {
+        previousStates[i] = state;
+        changedStates[numChangedStates++] = i;
+      }
+      Map<String, Double> cellProperties = properties.apply(i);
+      if (!hasSameProperties(cellProperties, previousProperties.get(i))) {
+        previousProperties.set(i, copyProperties(cellProperties));
+        changedProperties[numChangedProperties++] = i;
+      }
+    }
+
+    SnapshotWriter.writeVarInt(frameOut, numChangedStates);
+    int previousIndex = 0;
+    for (int k = 0; k < numChangedStates; k++) {
+      int index = changedStates[k];
+      SnapshotWriter.writeVarInt(frameOut, index - previousIndex);
+      SnapshotWriter.writeVarInt(frameOut, previousStates[index]);
+      previousIndex = index;
+    }
+    writeChangedProperties(changedProperties, numChangedProperties);
+  }
+
+  private void writeChangedProperties(int[] indices, int count) throws IOException {
+    SnapshotWriter.writeVarInt(frameOut, count);
+    int previousIndex = 0;
+    for (int k = 0; k < count; k++) {
+      int index = indices[k];
+      SnapshotWriter.writeVarInt(frameOut, index - previousIndex);
+      previousIndex = index;
+      Map<String, Double> cellProperties = previousProperties.get(index);
+      SnapshotWriter.writeVarInt(frameOut, cellProperties.size());
+      for (Map.Entry<String, Double> property : cellProperties.entrySet()) {
+        SnapshotWriter.writeString(frameOut, property.getKey());
+        frameOut.writeDouble(property.getValue());
+      }
+    }
+  }
+
+  /* WRITING METHODS */
+
+  private void submit(ByteBuffer buffer) throws IOException {
+    try {
+      pendingWrites.acquire();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("error-writingRun");
+    }
+    PendingWrite write = new PendingWrite(buffer, position);
+    position += buffer.remaining();
+    write.start();
+  }
+
+  private void checkWriteFailure() throws IOException {
+    Throwable failure = writeFailure.get();
+    if (failure != null) {
+      throw new IOException("error-writingRun", failure);
+    }
+  }
+
+  /* PRIVATE HELPER METHODS */
+
+  private static boolean hasSameProperties(Map<String, Double> current,
+      Map<String, Double> previous) {
+    if (current == null || current.isEmpty()) {
+      return previous.isEmpty();
+    }
+    return current.equals(previous);
+  }
+
+  private static Map<String, Double> copyProperties(Map<String, Double> properties) {
+    if (properties == null || properties.isEmpty()) {
+      return Map.of();
+    }
+    return new HashMap<>(properties);
+  }
+
+  /**
+   * An output buffer that reserves room for the frame header in front of the payload so that a
+   * frame can be handed to the channel without copying it twice.
+   */
+  private static class FrameBuffer extends ByteArrayOutputStream {
+
+    private byte frameType = -1;
+    private int frameTick;
+
+    @Override
+    public synchronized void reset() {
+      super.reset();
+      frameType = -1;
+    }
+
+    void setFrameHeader(byte type, int tick) {
+      frameType = type;
+      frameTick = tick;
+    }
+
+    ByteBuffer toByteBuffer() {
+      ByteBuffer buffer;
+      if (frameType < 0) {
+        buffer = ByteBuffer.allocate(count);
+      } else {
+        buffer = ByteBuffer.allocate(FRAME_HEADER_SIZE + count);
+        buffer.put(frameType).putInt(frameTick).putInt(count);
+      }
+      buffer.put(buf, 0, count).flip();
+      return buffer;
+    }
+  }
+
+  /**
+   * A frame that is being written, re-submitted until all of its bytes are on disk.
+   */
+  private class PendingWrite implements CompletionHandler<Integer, Void> {
+
+    private final ByteBuffer buffer;
+    private long writePosition;
+
+    PendingWrite(ByteBuffer buffer, long writePosition) {
+      this.buffer = buffer;
+      this.writePosition = writePosition;
+    }
+
+    void start() {
+      channel.write(buffer, writePosition, null, this);
+    }
+
+    @Override
+    public void completed(Integer written, Void attachment) {
+      writePosition += written;
+      if (buffer.hasRemaining()) {
+        start();
+      } else {
+        pendingWrites.release();
+      }
+    }
+
+    @Override
+    public void failed(Throwable e, Void attachment) {
+      writeFailure.compareAndSet(null, e);
+      pendingWrites.release();
+    }
+  }
+}
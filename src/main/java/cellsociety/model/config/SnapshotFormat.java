@@ -0,0 +1,70 @@
+package cellsociety.model.config;
+
+import java.io.File;
+
+/**
+ * The SnapshotFormat class holds the constants of the versioned binary grid snapshot format. A
+ * snapshot is laid out as follows (all values are big-endian):
+ * <ul>
+ *   <li><b>Header</b>: the magic number, the format version, the {@code ConfigInfo} metadata,
+ *   the accepted states and the double and string parameters</li>
+ *   <li><b>State plane</b>: the palette of distinct states followed by the state of every cell in
+ *   row-major order, either run-length encoded or bit-packed, whichever is smaller. Bit-packed
+ *   planes store a power-of-two number of bits per cell so that every cell can be read in place,
+ *   and planes above the mapping threshold are always bit-packed</li>
+ *   <li><b>Properties</b>: one sparse column per property name, holding the delta-encoded indices
+ *   of the cells that have the property followed by their values</li>
+ * </ul>
+ * Strings are written as their UTF-8 length followed by the bytes, with a length of -1 for null.
+ *
+ * @author Billy McCune
+ */
+public final class SnapshotFormat {
+
+  /**
+   * The file extension of grid snapshots.
+   */
+  public static final String SNAPSHOT_EXTENSION = ".snapshot";
+
+  static final int MAGIC = 0x43534E50; // "CSNP"
+  static final short VERSION = 1;
+  static final byte ENCODING_RUN_LENGTH = 0;
+  static final byte ENCODING_BIT_PACKED = 1;
+  static final int BUFFER_SIZE = 1 << 16;
+  static final long MAPPED_PLANE_THRESHOLD = 64L << 20;
+
+  private SnapshotFormat() {
+  }
+
+  /**
+   * Indicates whether the given file name refers to a grid snapshot.
+   *
+   * @param fileName the name or path of the file
+   * @return true if the file has the snapshot extension, false otherwise
+   */
+  public static boolean isSnapshot(String fileName) {
+    return fileName != null && fileName.endsWith(SNAPSHOT_EXTENSION);
+  }
+
+  /**
+   * Indicates whether the given file is a grid snapshot.
+   *
+   * @param file the file
+   * @return true if the file has the snapshot extension, false otherwise
+   */
+  public static boolean isSnapshot(File file) {
+    return file != null && isSnapshot(file.getName());
+  }
+
+  /**
+   * Returns the number of bits used to store a palette index in a bit-packed state plane. The
+   * width is rounded up to a power of two so that no index spans two words.
+   *
+   * @param paletteSize the number of distinct states
+   * @return the number of bits per cell, one of 1, 2, 4, 8, 16 or 32
+   */
+  static int getBitsPerCell(int paletteSize) {
+    int bits = Math.max(1, 32 - Integer.numberOfLeadingZeros(Math.max(0, paletteSize - 1)));
+    return Integer.highestOneBit(bits) == bits ? bits : Integer.highestOneBit(bits) << 1;
+  }
+}
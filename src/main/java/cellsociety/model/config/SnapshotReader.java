@@ -0,0 +1,322 @@
+package cellsociety.model.config;
+
+import static cellsociety.model.config.SnapshotFormat.ENCODING_BIT_PACKED;
+import static cellsociety.model.config.SnapshotFormat.ENCODING_RUN_LENGTH;
+import static cellsociety.model.config.SnapshotFormat.MAGIC;
+import static cellsociety.model.config.SnapshotFormat.VERSION;
+
+import cellsociety.model.config.ConfigInfo.SimulationType;
+import cellsociety.model.config.ConfigInfo.cellShapeType;
+import cellsociety.model.config.ConfigInfo.gridEdgeType;
+import cellsociety.model.config.ConfigInfo.neighborArrangementType;
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The SnapshotReader class reads a binary grid snapshot back into a {@code ConfigInfo}. The whole
+ * file is read with a single channel transfer and the state plane is decoded straight into the
+ * packed state array of a {@link PackedCellGrid}.
+ *
+ * @author Billy McCune
+ * @see SnapshotFormat
+ */
+public class SnapshotReader {
+
+  private SnapshotReader() {
+  }
+
+  /**
+   * Reads a binary grid snapshot.
+   *
+   * @param snapshotFile the snapshot file to read
+   * @param fileName     the name of the configuration file
+   * @return a {@code ConfigInfo} object with all data of the snapshot
+   * @throws IOException              if an I/O error occurs or the file is not a valid snapshot
+   * @throws IllegalArgumentException if the snapshot contains invalid information
+   */
+  public static ConfigInfo read(File snapshotFile, String fileName)
+      throws IOException, IllegalArgumentException {
+    ByteBuffer buffer;
+    try (FileChannel channel = FileChannel.open(snapshotFile.toPath(), StandardOpenOption.READ)) {
+      if (channel.size() > Integer.MAX_VALUE) {
+        throw new IOException("error-snapshotTooLarge," + snapshotFile.getName());
+      }
+      buffer = ByteBuffer.allocate((int) channel.size());
+      while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+        // Keep reading until the whole file is in the buffer
+      }
+      buffer.flip();
+    }
+    try {
+      return read(buffer, fileName);
+    } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+      throw new IOException("error-truncatedSnapshot," + fileName);
+    }
+  }
+
+  /**
+   * Reads only the header of a binary grid snapshot. The file is mapped rather than read, so only
+   * the pages holding the header are loaded.
+   *
+   * @param snapshotFile the snapshot file to read
+   * @param fileName     the name of the configuration file
+   * @return the header of the configuration stored in the snapshot
+   * @throws IOException              if an I/O error occurs or the file is not a valid snapshot
+   * @throws IllegalArgumentException if the header contains invalid information
+   */
+  static ConfigHeader readConfigHeader(File snapshotFile, String fileName)
+      throws IOException, IllegalArgumentException {
+    Header header;
+    try (FileChannel channel = FileChannel.open(snapshotFile.toPath(), StandardOpenOption.READ)) {
+      ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0,
+          Math.min(channel.size(), Integer.MAX_VALUE));
+      header = readHeader(buffer, fileName);
+    } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+      throw new IOException("error-truncatedSnapshot," + fileName);
+    }
+    return new ConfigHeader(fileName, header.type(), header.title(), header.author(),
+        header.width(), header.height(), header.cellShape());
+  }
+
+  /**
+   * Reads a binary grid snapshot from the given buffer, starting at its current position.
+   *
+   * @param buffer   the buffer holding the snapshot
+   * @param fileName the name of the configuration file
+   * @return a {@code ConfigInfo} object with all data of the snapshot
+   * @throws IOException              if the buffer does not hold a valid snapshot
+   * @throws IllegalArgumentException if the snapshot contains invalid information
+   */
+  static ConfigInfo read(ByteBuffer buffer, String fileName)
+      throws IOException, IllegalArgumentException {
+    Header header = readHeader(buffer, fileName);
+    int numCells = header.width() * header.height();
+    int[] states = readStatePlane(buffer, numCells);
+    Map<Integer, Map<String, Double>> properties = readProperties(buffer, numCells);
+    return header.toConfigInfo(
+        new PackedCellGrid(header.height(), header.width(), states, properties), fileName);
+  }
+
+  /**
+   * Reads the header of a binary grid snapshot, leaving the buffer positioned at the start of the
+   * state plane.
+   *
+   * @param buffer   the buffer holding the snapshot
+   * @param fileName the name of the configuration file
+   * @return the header of the snapshot
+   * @throws IOException              if the buffer does not hold a valid snapshot
+   * @throws IllegalArgumentException if the header contains invalid information
+   */
+  static Header readHeader(ByteBuffer buffer, String fileName)
+      throws IOException, IllegalArgumentException {
+    readPreamble(buffer, fileName);
+
+    SimulationType type = SimulationType.valueOf(readString(buffer));
+    cellShapeType cellShape = cellShapeType.valueOf(readString(buffer));
+    gridEdgeType gridEdge = gridEdgeType.valueOf(readString(buffer));
+    neighborArrangementType neighborArrangement =
+        neighborArrangementType.valueOf(readString(buffer));
+    int neighborRadius = buffer.getInt();
+    String title = readString(buffer);
+    String author = readString(buffer);
+    String description = readString(buffer);
+    int width = buffer.getInt();
+    int height = buffer.getInt();
+    int defaultSpeed = buffer.getInt();
+    if (width < 0 || height < 0 || (long) width * height > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("error-invalidSnapshotSize," + width + "," + height);
+    }
+
+    Set<Integer> acceptedStates = new HashSet<>();
+    int numAcceptedStates = buffer.getInt();
+    for (int i = 0; i < numAcceptedStates; i++) {
+      acceptedStates.add(buffer.getInt());
+    }
+    ParameterRecord parameters = readParameters(buffer);
+
+    return new Header(type, cellShape, gridEdge, neighborArrangement, neighborRadius, title,
+        author, description, width, height, defaultSpeed, parameters, acceptedStates);
+  }
+
+  /**
+   * Reads the palette of distinct states that precedes the encoded state plane.
+   *
+   * @param buffer the buffer positioned at the start of the state plane
+   * @return the palette, indexed by the encoded palette index
+   */
+  static int[] readPalette(ByteBuffer buffer) {
+    int[] palette = new int[buffer.getInt()];
+    for (int i = 0; i < palette.length; i++) {
+      palette[i] = buffer.getInt();
+    }
+    return palette;
+  }
+
+  /* READING METHODS */
+
+  private static void readPreamble(ByteBuffer buffer, String fileName) throws IOException {
+    if (buffer.remaining() < Integer.BYTES + Short.BYTES || buffer.getInt() != MAGIC) {
+      throw new IOException("error-invalidSnapshot," + fileName);
+    }
+    short version = buffer.getShort();
+    if (version != VERSION) {
+      throw new IOException("error-unsupportedSnapshotVersion," + version);
+    }
+  }
+
+  private static ParameterRecord readParameters(ByteBuffer buffer) {
+    Map<String, Double> doubleParams = new HashMap<>();
+    int numDoubleParams = buffer.getInt();
+    for (int i = 0; i < numDoubleParams; i++) {
+      doubleParams.put(readString(buffer), buffer.getDouble());
+    }
+    Map<String, String> stringParams = new HashMap<>();
+    int numStringParams = buffer.getInt();
+    for (int i = 0; i < numStringParams; i++) {
+      stringParams.put(readString(buffer), readString(buffer));
+    }
+    return new ParameterRecord(doubleParams, stringParams);
+  }
+
+  private static int[] readStatePlane(ByteBuffer buffer, int numCells) throws IOException {
+    int[] palette = readPalette(buffer);
+    int[] states = new int[numCells];
+    byte encoding = buffer.get();
+    if (encoding == ENCODING_RUN_LENGTH) {
+      readRuns(buffer, palette, states);
+    } else if (encoding == ENCODING_BIT_PACKED) {
+      readBitPacked(buffer, palette, states);
+    } else {
+      throw new IOException("error-unknownSnapshotEncoding," + encoding);
+    }
+    return states;
+  }
+
+  private static void readRuns(ByteBuffer buffer, int[] palette, int[] states) {
+    int numRuns = buffer.getInt();
+    int position = 0;
+    for (int run = 0; run < numRuns; run++) {
+      int state = palette[readVarInt(buffer)];
+      int end = position + readVarInt(buffer);
+      Arrays.fill(states, position, end, state);
+      position = end;
+    }
+  }
+
+  private static void readBitPacked(ByteBuffer buffer, int[] palette, int[] states)
+      throws IOException {
+    int bitsPerCell = buffer.get();
+    if (bitsPerCell <= 0 || bitsPerCell > Integer.SIZE) {
+      throw new IOException("error-invalidSnapshotBitWidth," + bitsPerCell);
+    }
+    int numWords = buffer.getInt();
+    int cellsPerWord = Long.SIZE / bitsPerCell;
+    long mask = (1L << bitsPerCell) - 1;
+    int cell = 0;
+    for (int word = 0; word < numWords; word++) {
+      long value = buffer.getLong();
+      int end = Math.min(states.length, cell + cellsPerWord);
+      for (; cell < end; cell++) {
+        states[cell] = palette[(int) (value & mask)];
+        value >>>= bitsPerCell;
+      }
+    }
+  }
+
+  static Map<Integer, Map<String, Double>> readProperties(ByteBuffer buffer,
+      int numCells) {
+    Map<Integer, Map<String, Double>> properties = new HashMap<>();
+    int numColumns = buffer.getInt();
+    for (int column = 0; column < numColumns; column++) {
+      String name = readString(buffer);
+      int[] indices = new int[buffer.getInt()];
+      int index = 0;
+      for (int i = 0; i < indices.length; i++) {
+        index += readVarInt(buffer);
+        if (index >= numCells) {
+          throw new IllegalArgumentException("error-invalidSnapshotProperty," + name + "," + index);
+        }
+        indices[i] = index;
+      }
+      for (int cellIndex : indices) {
+        properties.computeIfAbsent(cellIndex, k -> new HashMap<>()).put(name, buffer.getDouble());
+      }
+    }
+    return properties;
+  }
+
+  /* PRIVATE HELPER METHODS */
+
+  static int readVarInt(ByteBuffer buffer) {
+    int value = 0;
+    int shift = 0;
+    byte b;
+    do {
+      b = buffer.get();
+      value |= (b & 0x7F) << shift;
+      shift += 7;
+    } while ((b & 0x80) != 0);
+    return value;
+  }
+
+  static String readString(ByteBuffer buffer) {
+    int length = buffer.getInt();
+    if (length < 0) {
+      return null;
+    }
+    if (length > buffer.remaining()) {
+      throw new BufferUnderflowException();
+    }
+    byte[] bytes = new byte[length];
+    buffer.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * The metadata, parameters and accepted states stored in the header of a snapshot.
+   */
+  record Header(SimulationType type, cellShapeType cellShape, gridEdgeType gridEdge,
+                neighborArrangementType neighborArrangement, int neighborRadius, String title,
+                String author, String description, int width, int height, int defaultSpeed,
+                ParameterRecord parameters, Set<Integer> acceptedStates) {
+
+    static Header from(ConfigInfo configInfo) {
+      return new Header(configInfo.myType(), configInfo.myCellShapeType(),
+          configInfo.myGridEdgeType(), configInfo.myneighborArrangementType(),
+          configInfo.neighborRadius(), configInfo.myTitle(), configInfo.myAuthor(),
+          configInfo.myDescription(), configInfo.myGridWidth(), configInfo.myGridHeight(),
+          configInfo.myTickSpeed(), configInfo.myParameters(), configInfo.acceptedStates());
+    }
+
+    ConfigInfo toConfigInfo(List<List<CellRecord>> grid, String fileName) {
+      return new ConfigInfo(
+          type,
+          cellShape,
+          gridEdge,
+          neighborArrangement,
+          neighborRadius,
+          title,
+          author,
+          description,
+          width,
+          height,
+          defaultSpeed,
+          grid,
+          parameters,
+          acceptedStates,
+          fileName
+      );
+    }
+  }
+}
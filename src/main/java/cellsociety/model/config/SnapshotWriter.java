@@ -0,0 +1,383 @@
+package cellsociety.model.config;
+
+import static cellsociety.model.config.SnapshotFormat.BUFFER_SIZE;
+import static cellsociety.model.config.SnapshotFormat.ENCODING_BIT_PACKED;
+import static cellsociety.model.config.SnapshotFormat.ENCODING_RUN_LENGTH;
+import static cellsociety.model.config.SnapshotFormat.MAGIC;
+import static cellsociety.model.config.SnapshotFormat.MAPPED_PLANE_THRESHOLD;
+import static cellsociety.model.config.SnapshotFormat.VERSION;
+
+import cellsociety.logging.Log;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * The SnapshotWriter class writes a configuration as a binary grid snapshot. The grid is walked
+ * once to collect the states and the property columns, then the state plane is written with
+ * whichever of run-length encoding and bit-packing is smaller. Planes above the mapping threshold
+ * are always bit-packed so that {@link MappedSnapshot} can open them in place.
+ *
+ * @author Billy McCune
+ * @see SnapshotFormat
+ */
+public class SnapshotWriter {
+
+  // States spread wider than this are sorted instead of marked in a bit set
+  private static final long MAX_BITSET_RANGE = 1 << 20;
+
+  private SnapshotWriter() {
+  }
+
+  /**
+   * Writes the configuration as a binary snapshot. An existing file is never overwritten: like
+   * {@link ConfigWriter}, a duplicate number is appended to the file name until it is unused. A
+   * partially written file is deleted if an error occurs.
+   *
+   * @param configInfo the configuration to save
+   * @param outputFile the file to write the snapshot to
+   * @return the file the snapshot was written to
+   * @throws NullPointerException if the configuration, its grid, parameters or accepted states are
+   *                              null
+   * @throws IOException          if an I/O error occurs while writing the file
+   */
+  public static File write(ConfigInfo configInfo, File outputFile) throws IOException {
+    checkConfigInfo(configInfo);
+    int[] states = new int[configInfo.myGridHeight() * configInfo.myGridWidth()];
+    Map<String, PropertyColumn> columns = collectGrid(configInfo.myGrid(),
+        configInfo.myGridWidth(), states);
+
+    String name = outputFile.getName();
+    int extensionStart = name.indexOf('.') > 0 ? name.indexOf('.') : name.length();
+    FileChannel channel = null;
+    for (int duplicateNumber = 1; channel == null; duplicateNumber++) {
+      try {
+        channel = FileChannel.open(outputFile.toPath(), StandardOpenOption.CREATE_NEW,
+            StandardOpenOption.WRITE);
+      } catch (FileAlreadyExistsException e) {
+        outputFile = new File(outputFile.getParentFile(), name.substring(0, extensionStart) + "_"
+            + duplicateNumber + name.substring(extensionStart));
+      }
+    }
+    try (DataOutputStream out = new DataOutputStream(
+        new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE))) {
+      writeSnapshot(out, configInfo, states, columns);
+      Log.trace("Snapshot saved to file: " + outputFile.getAbsolutePath());
+    } catch (IOException e) {
+      Files.deleteIfExists(outputFile.toPath());
+      throw new IOException("error-writingSnapshot", e);
+    }
+    return outputFile;
+  }
+
+  /**
+   * Writes the configuration as a binary snapshot to the given stream, so that it can be embedded
+   * in another file.
+   *
+   * @param configInfo the configuration to save
+   * @param out        the stream to write the snapshot to
+   * @throws NullPointerException if the configuration, its grid, parameters or accepted states are
+   *                              null
+   * @throws IOException          if an I/O error occurs while writing the stream
+   */
+  static void write(ConfigInfo configInfo, DataOutputStream out) throws IOException {
+    checkConfigInfo(configInfo);
+    int[] states = new int[configInfo.myGridHeight() * configInfo.myGridWidth()];
+    Map<String, PropertyColumn> columns = collectGrid(configInfo.myGrid(),
+        configInfo.myGridWidth(), states);
+    writeSnapshot(out, configInfo, states, columns);
+  }
+
+  private static void checkConfigInfo(ConfigInfo configInfo) {
+    if (configInfo == null) {
+      throw new NullPointerException("error-nullConfigInfo");
+    }
+    if (configInfo.myGrid() == null || configInfo.myParameters() == null
+        || configInfo.acceptedStates() == null) {
+      throw new NullPointerException("error-incompleteConfigInfo");
+    }
+  }
+
+  /* GRID METHODS */
+
+  private static Map<String, PropertyColumn> collectGrid(List<List<CellRecord>> grid,
+      int numCols, int[] states) {
+    if (grid instanceof PackedCellGrid packedGrid && packedGrid.getNumCols() == numCols) {
+      return collectPackedGrid(packedGrid, states);
+    }
+
+    Map<String, PropertyColumn> columns = new TreeMap<>();
+    int numRows = Math.min(grid.size(), states.length / Math.max(1, numCols));
+    for (int row = 0; row < numRows; row++) {
+      List<CellRecord> rowRecords = grid.get(row);
+      if (rowRecords.size() != numCols) {
+        throw new IllegalArgumentException(
+            "error-wrongNumberOfColumns" + "," + numCols + "," + rowRecords.size());
+      }
+      for (int col = 0; col < numCols; col++) {
+        int index = row * numCols + col;
+        CellRecord cell = rowRecords.get(col);
+        states[index] = cell.state();
+        addProperties(columns, index, cell.properties());
+      }
+    }
+    return columns;
+  }
+
+  private static Map<String, PropertyColumn> collectPackedGrid(PackedCellGrid grid,
+      int[] states) {
+    System.arraycopy(grid.getStates(), 0, states, 0, states.length);
+    Map<String, PropertyColumn> columns = new TreeMap<>();
+    grid.getProperties().entrySet().stream()
+        .sorted(Map.Entry.comparingByKey())
+        .forEach(entry -> addProperties(columns, entry.getKey(), entry.getValue()));
+    return columns;
+  }
+
+  private static void addProperties(Map<String, PropertyColumn> columns, int index,
+      Map<String, Double> properties) {
+    for (Map.Entry<String, Double> property : properties.entrySet()) {
+      columns.computeIfAbsent(property.getKey(), k -> new PropertyColumn())
+          .add(index, property.getValue());
+    }
+  }
+
+  /* WRITING METHODS */
+
+  private static void writeSnapshot(DataOutputStream out, ConfigInfo configInfo, int[] states,
+      Map<String, PropertyColumn> columns) throws IOException {
+    writeHeader(out, configInfo);
+    writeStatePlane(out, states, configInfo.acceptedStates());
+    writeProperties(out, columns);
+  }
+
+  static void writeHeader(DataOutputStream out, ConfigInfo configInfo)
+      throws IOException {
+    out.writeInt(MAGIC);
+    out.writeShort(VERSION);
+    writeString(out, configInfo.myType().name());
+    writeString(out, configInfo.myCellShapeType().name());
+    writeString(out, configInfo.myGridEdgeType().name());
+    writeString(out, configInfo.myneighborArrangementType().name());
+    out.writeInt(configInfo.neighborRadius());
+    writeString(out, configInfo.myTitle());
+    writeString(out, configInfo.myAuthor());
+    writeString(out, configInfo.myDescription());
+    out.writeInt(configInfo.myGridWidth());
+    out.writeInt(configInfo.myGridHeight());
+    out.writeInt(configInfo.myTickSpeed());
+
+    int[] acceptedStates = configInfo.acceptedStates().stream()
+        .mapToInt(Integer::intValue).sorted().toArray();
+    out.writeInt(acceptedStates.length);
+    for (int state : acceptedStates) {
+      out.writeInt(state);
+    }
+
+    Map<String, Double> doubleParams = new TreeMap<>(configInfo.myParameters()
+        .myDoubleParameters());
+    out.writeInt(doubleParams.size());
+    for (Map.Entry<String, Double> entry : doubleParams.entrySet()) {
+      writeString(out, entry.getKey());
+      out.writeDouble(entry.getValue());
+    }
+    Map<String, String> stringParams = new TreeMap<>(configInfo.myParameters()
+        .myStringParameters());
+    out.writeInt(stringParams.size());
+    for (Map.Entry<String, String> entry : stringParams.entrySet()) {
+      writeString(out, entry.getKey());
+      writeString(out, entry.getValue());
+    }
+  }
+
+  private static void writeStatePlane(DataOutputStream out, int[] states,
+      Set<Integer> acceptedStates) throws IOException {
+    int[] palette = getPalette(states, acceptedStates);
+    int[] indices = new int[states.length];
+    for (int i = 0; i < states.length; i++) {
+      indices[i] = palette.length == 1 ? 0 : Arrays.binarySearch(palette, states[i]);
+    }
+    long runLengthSize = 0;
+    for (int i = 0; i < indices.length; i += getRunLength(indices, i)) {
+      runLengthSize += getVarIntSize(indices[i]) + getVarIntSize(getRunLength(indices, i));
+    }
+    int bitsPerCell = SnapshotFormat.getBitsPerCell(palette.length);
+    long bitPackedSize = 8L * getNumWords(states.length, bitsPerCell);
+
+    out.writeInt(palette.length);
+    for (int state : palette) {
+      out.writeInt(state);
+    }
+    // Large planes are always bit-packed so that they can be memory-mapped
+    if (runLengthSize < bitPackedSize && bitPackedSize < MAPPED_PLANE_THRESHOLD) {
+      out.writeByte(ENCODING_RUN_LENGTH);
+      writeRuns(out, indices);
+    } else {
+      out.writeByte(ENCODING_BIT_PACKED);
+      writeBitPacked(out, indices, bitsPerCell);
+    }
+  }
+
+  private static void writeRuns(DataOutputStream out, int[] indices) throws IOException {
+    int numRuns = 0;
+    for (int i = 0; i < indices.length; i += getRunLength(indices, i)) {
+      numRuns++;
+    }
+    out.writeInt(numRuns);
+    int i = 0;
+    while (i < indices.length) {
+      int runLength = getRunLength(indices, i);
+      writeVarInt(out, indices[i]);
+      writeVarInt(out, runLength);
+      i += runLength;
+    }
+  }
+
+  private static void writeBitPacked(DataOutputStream out, int[] indices, int bitsPerCell)
+      throws IOException {
+    int cellsPerWord = Long.SIZE / bitsPerCell;
+    int numWords = getNumWords(indices.length, bitsPerCell);
+    out.writeByte(bitsPerCell);
+    out.writeInt(numWords);
+    for (int word = 0; word < numWords; word++) {
+      long value = 0;
+      int start = word * cellsPerWord;
+      int end = Math.min(indices.length, start + cellsPerWord);
+      for (int i = start; i < end; i++) {
+        value |= (indices[i] & 0xFFFFFFFFL) << ((i - start) * bitsPerCell);
+      }
+      out.writeLong(value);
+    }
+  }
+
+  private static void writeProperties(DataOutputStream out, Map<String, PropertyColumn> columns)
+      throws IOException {
+    out.writeInt(columns.size());
+    for (Map.Entry<String, PropertyColumn> entry : columns.entrySet()) {
+      PropertyColumn column = entry.getValue();
+      writeString(out, entry.getKey());
+      out.writeInt(column.size);
+      int previousIndex = 0;
+      for (int i = 0; i < column.size; i++) {
+        writeVarInt(out, column.indices[i] - previousIndex);
+        previousIndex = column.indices[i];
+      }
+      for (int i = 0; i < column.size; i++) {
+        out.writeDouble(column.values[i]);
+      }
+    }
+  }
+
+  /* PRIVATE HELPER METHODS */
+
+  /**
+   * Returns the sorted distinct states of the plane. Accepted states are always in the palette so
+   * that a mapped plane can take any of them.
+   */
+  private static int[] getPalette(int[] states, Set<Integer> acceptedStates) {
+    int min = Integer.MAX_VALUE;
+    int max = Integer.MIN_VALUE;
+    for (int state : states) {
+      min = Math.min(min, state);
+      max = Math.max(max, state);
+    }
+    for (int state : acceptedStates) {
+      min = Math.min(min, state);
+      max = Math.max(max, state);
+    }
+    if ((long) max - min >= MAX_BITSET_RANGE) {
+      int[] sorted = Arrays.copyOf(states, states.length + acceptedStates.size());
+      int size = states.length;
+      for (int state : acceptedStates) {
+        sorted[size++] = state;
+      }
+      Arrays.sort(sorted);
+      int numDistinct = 0;
+      for (int state : sorted) {
+        if (numDistinct == 0 || sorted[numDistinct - 1] != state) {
+          sorted[numDistinct++] = state;
+        }
+      }
+      return Arrays.copyOf(sorted, numDistinct);
+    }
+    BitSet used = new BitSet();
+    for (int state : states) {
+      used.set(state - min);
+    }
+    for (int state : acceptedStates) {
+      used.set(state - min);
+    }
+    int[] palette = new int[used.cardinality()];
+    for (int bit = used.nextSetBit(0), i = 0; bit >= 0; bit = used.nextSetBit(bit + 1)) {
+      palette[i++] = bit + min;
+    }
+    return palette;
+  }
+
+  private static int getRunLength(int[] indices, int start) {
+    int end = start + 1;
+    while (end < indices.length && indices[end] == indices[start]) {
+      end++;
+    }
+    return end - start;
+  }
+
+  private static int getNumWords(int numCells, int bitsPerCell) {
+    int cellsPerWord = Long.SIZE / bitsPerCell;
+    return (numCells + cellsPerWord - 1) / cellsPerWord;
+  }
+
+  private static int getVarIntSize(int value) {
+    return (32 - Integer.numberOfLeadingZeros(value | 1) + 6) / 7;
+  }
+
+  static void writeVarInt(DataOutputStream out, int value) throws IOException {
+    while ((value & ~0x7F) != 0) {
+      out.writeByte((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    out.writeByte(value);
+  }
+
+  static void writeString(DataOutputStream out, String value) throws IOException {
+    if (value == null) {
+      out.writeInt(-1);
+      return;
+    }
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  /**
+   * A growable column of the cells that have a property and their values.
+   */
+  private static class PropertyColumn {
+
+    private int[] indices = new int[16];
+    private double[] values = new double[16];
+    private int size;
+
+    void add(int index, double value) {
+      if (size == indices.length) {
+        indices = Arrays.copyOf(indices, 2 * size);
+        values = Arrays.copyOf(values, 2 * size);
+      }
+      indices[size] = index;
+      values[size++] = value;
+    }
+  }
+}
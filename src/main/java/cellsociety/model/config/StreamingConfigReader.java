@@ -0,0 +1,538 @@
+package cellsociety.model.config;
+
+import cellsociety.model.config.ConfigInfo.SimulationType;
+import cellsociety.model.config.ConfigInfo.cellShapeType;
+import cellsociety.model.config.ConfigInfo.gridEdgeType;
+import cellsociety.model.config.ConfigInfo.neighborArrangementType;
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.zip.GZIPInputStream;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * The StreamingConfigReader class reads a configuration file whose grid is given as
+ * <code>initialCells</code> in a single StAX pass. Rows are decoded straight into a packed state
+ * array with sparse per-cell properties, so no DOM is built and no record or map is allocated for
+ * plain cells. The grid bounds are enforced while streaming: once the expected size is known, cells
+ * outside of it are only counted, so memory stays bounded by the configured grid.
+ * <p>
+ * The reader reports the same error keys, in the same order, as the DOM path of
+ * {@link ConfigReader}. Files that describe a random grid (<code>initialStates</code> or
+ * <code>initialProportions</code>) or that are not well-formed are left to the DOM path. Gzip
+ * compressed files are read transparently.
+ *
+ * @author Billy McCune
+ */
+public class StreamingConfigReader {
+
+  private static final List<String> TEXT_TAGS = List.of("type", "cellShapeType", "gridEdgeType",
+      "neighborArrangementType", "title", "author", "description");
+  private static final List<String> NUMBER_TAGS = List.of("width", "height", "defaultSpeed",
+      "neighborRadius");
+  private static final List<String> HEADER_TAGS = List.of("type", "title", "author", "width",
+      "height", "cellShapeType");
+  private static final String ACCEPTED_STATES_TAG = "acceptedStates";
+  private static final String STATE_ATTRIBUTE = "state";
+  private static final String COMPRESSED_FILE_EXTENSION = ".gz";
+  private static final int INITIAL_CAPACITY = 1024;
+  private static final int BUFFER_SIZE = 1 << 16;
+
+  private final Map<String, String> headerValues = new HashMap<>();
+  private final Set<String> capturedTags = new HashSet<>();
+  private final List<TextCapture> activeCaptures = new ArrayList<>();
+
+  // Grid configuration counters
+  private int initialCellsCount;
+  private int initialStatesCount;
+  private int initialProportionsCount;
+
+  // Packed grid
+  private int expectedRows = -1;
+  private int expectedCols = -1;
+  private int[] states = new int[0];
+  private int numStored;
+  private int[] rowLengths = new int[INITIAL_CAPACITY];
+  private int numRows;
+  private final Map<Integer, Map<String, Double>> properties = new HashMap<>();
+  private final Set<Integer> seenStates = new LinkedHashSet<>();
+  private boolean isInsideInitialCells;
+  private boolean isInsideRow;
+  private boolean isGridTruncated;
+  private String gridError;
+
+  // Parameters
+  private final Map<String, Double> doubleParams = new HashMap<>();
+  private final Map<String, String> stringParams = new HashMap<>();
+  private boolean hasParameters;
+  private boolean isInsideParameters;
+  private int parameterDepth;
+  private String parameterError;
+  private String parameterTag;
+  private String parameterName;
+
+  private StreamingConfigReader() {
+  }
+
+  /**
+   * Reads the configuration file in a single streaming pass.
+   *
+   * @param xmlFile  the XML file containing configuration information
+   * @param fileName the name of the configuration file
+   * @return the parsed configuration, or null if the file must be read through the DOM path
+   * @throws ParserConfigurationException if the grid configuration is missing or duplicated
+   * @throws IOException                  if an I/O error occurs
+   * @throws IllegalArgumentException     if the configuration contains invalid information
+   */
+  public static ConfigInfo readConfig(File xmlFile, String fileName)
+      throws ParserConfigurationException, IOException, IllegalArgumentException {
+    StreamingConfigReader reader = new StreamingConfigReader();
+    try (InputStream in = openConfigStream(xmlFile)) {
+      if (!reader.stream(in)) {
+        return null;
+      }
+    } catch (XMLStreamException e) {
+      // Leave malformed documents to the DOM parser so that its error message is reported
+      return null;
+    }
+    return reader.buildConfigInfo(fileName);
+  }
+
+  /**
+   * Opens a buffered stream over the contents of a configuration file. Files saved with the
+   * ".gz" extension are decompressed on the fly.
+   *
+   * @param xmlFile the configuration file
+   * @return a stream over the XML document of the file
+   * @throws IOException if the file cannot be opened
+   */
+  static InputStream openConfigStream(File xmlFile) throws IOException {
+    InputStream in = Files.newInputStream(xmlFile.toPath());
+    if (xmlFile.getName().endsWith(COMPRESSED_FILE_EXTENSION)) {
+      in = new GZIPInputStream(in, BUFFER_SIZE);
+    }
+    return new BufferedInputStream(in, BUFFER_SIZE);
+  }
+
+  /**
+   * Reads only the header fields of a configuration file. Reading stops as soon as all of them
+   * have been found, which in a typical file is before the grid, so the grid is never parsed.
+   *
+   * @param xmlFile  the XML file containing configuration information
+   * @param fileName the name of the configuration file
+   * @return the header of the configuration, with the fields that could be read
+   * @throws IOException if the file cannot be read
+   */
+  static ConfigHeader readHeader(File xmlFile, String fileName) throws IOException {
+    Map<String, String> values = new HashMap<>();
+    try (InputStream in = openConfigStream(xmlFile)) {
+      XMLStreamReader xml = createStreamReader(in);
+      try {
+        while (xml.hasNext() && values.size() < HEADER_TAGS.size()) {
+          if (xml.next() == XMLStreamConstants.START_ELEMENT
+              && HEADER_TAGS.contains(xml.getLocalName())
+              && !values.containsKey(xml.getLocalName())) {
+            String tag = xml.getLocalName();
+            values.put(tag, xml.getElementText().trim());
+          }
+        }
+      } finally {
+        xml.close();
+      }
+    } catch (XMLStreamException e) {
+      // Keep the fields read before the document turned out to be malformed
+    }
+    return ConfigHeader.parse(fileName, values.get("type"), values.get("title"),
+        values.get("author"), values.get("width"), values.get("height"),
+        values.get("cellShapeType"));
+  }
+
+  /* STREAMING METHODS */
+
+  private static XMLStreamReader createStreamReader(InputStream in) throws XMLStreamException {
+    XMLInputFactory factory = XMLInputFactory.newInstance();
+    factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+    factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    return factory.createXMLStreamReader(in);
+  }
+
+
+  private boolean stream(InputStream in) throws XMLStreamException {
+    XMLStreamReader xml = createStreamReader(in);
+    try {
+      int depth = 0;
+      while (xml.hasNext()) {
+        switch (xml.next()) {
+          case XMLStreamConstants.START_ELEMENT -> {
+            depth++;
+            if (!startElement(xml, depth)) {
+              return false;
+            }
+          }
+          case XMLStreamConstants.END_ELEMENT -> {
+            endElement(xml.getLocalName(), depth);
+            depth--;
+          }
+          case XMLStreamConstants.CHARACTERS, XMLStreamConstants.CDATA,
+               XMLStreamConstants.SPACE -> appendText(xml);
+          default -> {
+          }
+        }
+      }
+      return true;
+    } finally {
+      xml.close();
+    }
+  }
+
+  private boolean startElement(XMLStreamReader xml, int depth) {
+    String tag = xml.getLocalName();
+    if (depth == 1) {
+      // The root element is never matched by the DOM tag lookups
+      return true;
+    }
+    if (TEXT_TAGS.contains(tag) || NUMBER_TAGS.contains(tag) || tag.equals(ACCEPTED_STATES_TAG)) {
+      startCapture(tag, depth);
+    }
+    if (isInsideParameters && depth == parameterDepth + 1) {
+      startParameter(xml, depth);
+    }
+
+    switch (tag) {
+      case "initialStates" -> initialStatesCount++;
+      case "initialProportions" -> initialProportionsCount++;
+      case "initialCells" -> {
+        initialCellsCount++;
+        if (initialCellsCount == 1) {
+          startInitialCells();
+        }
+      }
+      case "parameters" -> {
+        if (!hasParameters) {
+          hasParameters = true;
+          isInsideParameters = true;
+          parameterDepth = depth;
+        }
+      }
+      case "row" -> {
+        if (isInsideInitialCells) {
+          startRow();
+        }
+      }
+      case "cell" -> {
+        if (isInsideRow) {
+          readCell(xml);
+        }
+      }
+      default -> {
+      }
+    }
+    // Random grids are generated by the DOM path
+    return initialStatesCount == 0 && initialProportionsCount == 0;
+  }
+
+  private void endElement(String tag, int depth) {
+    for (int i = activeCaptures.size() - 1; i >= 0; i--) {
+      TextCapture capture = activeCaptures.get(i);
+      if (capture.depth == depth) {
+        if (capture.isParameter) {
+          endParameter(capture.text.toString());
+        } else {
+          headerValues.put(capture.tag, capture.text.toString());
+        }
+        activeCaptures.remove(i);
+      }
+    }
+    if (isInsideParameters && depth == parameterDepth) {
+      isInsideParameters = false;
+    }
+    if (tag.equals("row") && isInsideRow) {
+      endRow();
+    }
+    if (tag.equals("initialCells") && isInsideInitialCells) {
+      isInsideInitialCells = false;
+    }
+  }
+
+  private void appendText(XMLStreamReader xml) {
+    for (TextCapture capture : activeCaptures) {
+      capture.text.append(xml.getTextCharacters(), xml.getTextStart(), xml.getTextLength());
+    }
+  }
+
+  private void startCapture(String tag, int depth) {
+    if (capturedTags.add(tag)) {
+      activeCaptures.add(new TextCapture(tag, depth, false));
+    }
+  }
+
+  /* GRID METHODS */
+
+  private void startInitialCells() {
+    isInsideInitialCells = true;
+    expectedRows = parseDimension("height");
+    expectedCols = parseDimension("width");
+    if (expectedRows > 0 && expectedCols > 0
+        && (long) expectedRows * expectedCols <= Integer.MAX_VALUE - 8) {
+      states = new int[expectedRows * expectedCols];
+    } else {
+      states = new int[INITIAL_CAPACITY];
+    }
+  }
+
+  private void startRow() {
+    isInsideRow = true;
+    if (numRows == rowLengths.length) {
+      rowLengths = Arrays.copyOf(rowLengths, 2 * rowLengths.length);
+    }
+    numRows++;
+  }
+
+  private void endRow() {
+    isInsideRow = false;
+    int rowIndex = numRows - 1;
+    if (rowLengths[rowIndex] == 0) {
+      recordGridError("error-EmptyRow," + rowIndex);
+    }
+  }
+
+  private void readCell(XMLStreamReader xml) {
+    int rowIndex = numRows - 1;
+    int colIndex = rowLengths[rowIndex]++;
+    if (gridError != null) {
+      return;
+    }
+
+    String stateStr = xml.getAttributeValue(null, STATE_ATTRIBUTE);
+    if (stateStr == null || stateStr.isEmpty()) {
+      recordGridError("error-missingCellState," + rowIndex + "," + colIndex);
+      return;
+    }
+    int state;
+    try {
+      state = Integer.parseInt(stateStr);
+    } catch (NumberFormatException e) {
+      recordGridError("error-invalidCellState," + rowIndex + "," + colIndex + "," + stateStr);
+      return;
+    }
+    Map<String, Double> cellProperties = readCellProperties(xml, rowIndex, colIndex);
+    if (cellProperties == null) {
+      return;
+    }
+    seenStates.add(state);
+
+    // Cells outside of the expected bounds are only counted for the bounds check
+    isGridTruncated |= (expectedRows >= 0 && rowIndex >= expectedRows)
+        || (expectedCols >= 0 && colIndex >= expectedCols);
+    if (isGridTruncated) {
+      return;
+    }
+    if (numStored == states.length) {
+      states = Arrays.copyOf(states, Math.max(INITIAL_CAPACITY, 2 * states.length));
+    }
+    if (!cellProperties.isEmpty()) {
+      properties.put(numStored, cellProperties);
+    }
+    states[numStored++] = state;
+  }
+
+  private Map<String, Double> readCellProperties(XMLStreamReader xml, int rowIndex,
+      int colIndex) {
+    // Attributes are visited in name order to report the same attribute as the DOM path
+    Map<String, String> attributes = new TreeMap<>();
+    for (int k = 0; k < xml.getAttributeCount(); k++) {
+      String prefix = xml.getAttributePrefix(k);
+      String attrName = xml.getAttributeLocalName(k);
+      if (prefix != null && !prefix.isEmpty()) {
+        attrName = prefix + ":" + attrName;
+      }
+      if (!attrName.equals(STATE_ATTRIBUTE)) {
+        attributes.put(attrName, xml.getAttributeValue(k));
+      }
+    }
+    if (attributes.isEmpty()) {
+      return Map.of();
+    }
+
+    Map<String, Double> cellProperties = new HashMap<>();
+    for (Map.Entry<String, String> attribute : attributes.entrySet()) {
+      try {
+        cellProperties.put(attribute.getKey(), Double.parseDouble(attribute.getValue()));
+      } catch (NumberFormatException e) {
+        recordGridError(
+            "error-InvalidCellState," + rowIndex + "," + colIndex + "," + attribute.getKey());
+        return null;
+      }
+    }
+    return cellProperties;
+  }
+
+  private void recordGridError(String message) {
+    if (gridError == null) {
+      gridError = message;
+    }
+  }
+
+  private int parseDimension(String tag) {
+    try {
+      return Integer.parseInt(headerValues.get(tag));
+    } catch (NumberFormatException e) {
+      return -1;
+    }
+  }
+
+  /* PARAMETER METHODS */
+
+  private void startParameter(XMLStreamReader xml, int depth) {
+    parameterTag = xml.getLocalName();
+    parameterName = xml.getAttributeValue(null, "name");
+    activeCaptures.add(new TextCapture(parameterTag, depth, true));
+  }
+
+  private void endParameter(String text) {
+    if (parameterError != null) {
+      return;
+    }
+    String textContent = text.trim();
+    if (parameterName == null || parameterName.isEmpty()) {
+      parameterError = "error-missingParameterName";
+    } else if (parameterTag.equals("doubleParameter")) {
+      try {
+        doubleParams.put(parameterName, Double.parseDouble(textContent));
+      } catch (NumberFormatException e) {
+        parameterError = "error-InvalidParameterValue," + parameterName + "," + textContent;
+      }
+    } else if (parameterTag.equals("stringParameter")) {
+      stringParams.put(parameterName, textContent);
+    }
+  }
+
+  /* VALIDATION METHODS */
+
+  private ConfigInfo buildConfigInfo(String fileName)
+      throws ParserConfigurationException, IllegalArgumentException {
+    for (String tag : TEXT_TAGS) {
+      getTextValue(tag);
+    }
+    int width = Integer.parseInt(getTextValue("width"));
+    int height = Integer.parseInt(getTextValue("height"));
+    int defaultSpeed = Integer.parseInt(getTextValue("defaultSpeed"));
+    int neighborRadius = Integer.parseInt(getTextValue("neighborRadius"));
+
+    checkGridConfig();
+    Set<Integer> acceptedStates = readAcceptedStates();
+    checkGridBounds(width, height);
+    checkInvalidStates(acceptedStates);
+    if (parameterError != null) {
+      throw new IllegalArgumentException(parameterError);
+    }
+
+    return new ConfigInfo(
+        SimulationType.valueOf(getTextValue("type").toUpperCase()),
+        cellShapeType.valueOf(getTextValue("cellShapeType").toUpperCase()),
+        gridEdgeType.valueOf(getTextValue("gridEdgeType").toUpperCase()),
+        neighborArrangementType.valueOf(getTextValue("neighborArrangementType").toUpperCase()),
+        neighborRadius,
+        getTextValue("title"),
+        getTextValue("author"),
+        getTextValue("description"),
+        width,
+        height,
+        defaultSpeed,
+        new PackedCellGrid(height, width, states, properties),
+        new ParameterRecord(doubleParams, stringParams),
+        acceptedStates,
+        fileName
+    );
+  }
+
+  private void checkGridConfig() throws ParserConfigurationException {
+    if (initialCellsCount == 0) {
+      throw new ParserConfigurationException("error-missingGridConfig");
+    }
+    if (numRows == 0) {
+      throw new IllegalArgumentException("error-noRowsInInitialCells");
+    }
+    if (gridError != null) {
+      throw new IllegalArgumentException(gridError);
+    }
+  }
+
+  private Set<Integer> readAcceptedStates() {
+    String statesText = headerValues.get(ACCEPTED_STATES_TAG);
+    if (statesText == null) {
+      throw new IllegalArgumentException("error-MissingAcceptedState");
+    }
+    statesText = statesText.trim();
+    if (statesText.isEmpty()) {
+      throw new IllegalArgumentException("error-acceptedStatesEmpty");
+    }
+    Set<Integer> acceptedStates = new HashSet<>();
+    for (String token : statesText.split("\\s+")) {
+      try {
+        acceptedStates.add(Integer.parseInt(token));
+      } catch (NumberFormatException e) {
+        throw new IllegalArgumentException("error-invalidAcceptedState," + token);
+      }
+    }
+    return acceptedStates;
+  }
+
+  private void checkGridBounds(int width, int height) {
+    if (numRows != height) {
+      throw new IllegalArgumentException("error-wrongNumberOfRows" + "," + height + "," + numRows);
+    }
+    for (int i = 0; i < numRows; i++) {
+      if (rowLengths[i] != width) {
+        throw new IllegalArgumentException(
+            "error-wrongNumberOfColumns" + "," + width + "," + rowLengths[i]);
+      }
+    }
+  }
+
+  private void checkInvalidStates(Set<Integer> acceptedStates) {
+    // Distinct states are kept in order of first appearance, so the first failure is reported
+    for (int state : seenStates) {
+      if (!acceptedStates.contains(state)) {
+        throw new IllegalArgumentException("error-GridHasInvalidState" + "," + state);
+      }
+    }
+  }
+
+  private String getTextValue(String tag) {
+    String value = headerValues.get(tag);
+    if (value == null) {
+      throw new IllegalArgumentException("error-parameterDoesNotExist," + tag);
+    }
+    return value;
+  }
+
+  private static class TextCapture {
+
+    private final String tag;
+    private final int depth;
+    private final boolean isParameter;
+    private final StringBuilder text = new StringBuilder();
+
+    TextCapture(String tag, int depth, boolean isParameter) {
+      this.tag = tag;
+      this.depth = depth;
+      this.isParameter = isParameter;
+    }
+  }
+}
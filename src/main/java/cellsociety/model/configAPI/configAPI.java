@@ -1,19 +1,23 @@
 package cellsociety.model.configAPI;
 
 import cellsociety.model.config.CellRecord;
+import cellsociety.model.config.ConfigHeader;
 import cellsociety.model.config.ConfigInfo;
 import cellsociety.model.config.ConfigReader;
 import cellsociety.model.config.ConfigWriter;
+import cellsociety.model.config.MappedSnapshot;
 import cellsociety.model.config.ParameterRecord;
+import cellsociety.model.config.RunFormat;
+import cellsociety.model.config.SnapshotFormat;
+import cellsociety.model.config.SnapshotWriter;
 import cellsociety.model.modelAPI.ModelApi;
+import java.io.File;
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.transform.TransformerException;
 import org.xml.sax.SAXException;
 
 /**
@@ -30,8 +34,6 @@ public class configAPI {
   private ParameterRecord parameterRecord;
   private boolean isLoaded;
   private ModelApi myModelApi;
-  private List<List<Integer>> myGridStates;
-  private List<List<Map<String, Double>>> myGridProperties;
 
 
   public configAPI() {
@@ -47,6 +49,20 @@ public class configAPI {
     return configReader.getFileNames();
   }
 
+  /**
+   * Retrieves the header fields (type, title, author, grid size and cell shape) of a configuration
+   * file without loading it, so that the files can be described before one is chosen.
+   *
+   * @param fileName the name of the configuration file
+   * @return the header of the file, or null if there is no such file
+   */
+  public ConfigHeader getConfigHeader(String fileName) {
+    if (configReader == null) {
+      configReader = new ConfigReader();
+    }
+    return configReader.getConfigHeader(fileName);
+  }
+
   /**
    * Sets the modelAPI instance used by this API.
    *
@@ -57,13 +73,16 @@ public class configAPI {
   }
 
   /**
-   * Loads a simulation configuration from the specified file.
+   * Loads a simulation configuration from the specified file. Files with the binary snapshot
+   * extension are detected and read as snapshots.
    *
    * @param fileName the name of the configuration file to load
    * @throws ParserConfigurationException if a parser configuration error occurs
    * @throws IOException                  if an I/O error occurs
    * @throws SAXException                 if a SAX parsing error occurs - check configReader for
    *                                      more information regarding load simulation errors
+   * @throws IllegalArgumentException     if the file is invalid or the simulation would not fit
+   *                                      in the free heap
    */
   public void loadSimulation(String fileName)
       throws ParserConfigurationException, IOException, SAXException, IllegalArgumentException {
@@ -71,10 +90,12 @@ public class configAPI {
       if (configReader == null) {
         configReader = new ConfigReader();
       }
-      configInfo = configReader.readConfig(fileName);
-      if (configInfo != null) {
+      ConfigInfo loadedConfigInfo = configReader.readConfig(fileName);
+      if (loadedConfigInfo != null) {
+        // The model may refuse a simulation too large for the heap, keeping the current one
+        myModelApi.setConfigInfo(loadedConfigInfo);
+        configInfo = loadedConfigInfo;
         isLoaded = true;
-        myModelApi.setConfigInfo(configInfo);
       }
     } catch (ParserConfigurationException e) {
       throw new ParserConfigurationException(e.getMessage());
@@ -87,35 +108,86 @@ public class configAPI {
     }
   }
 
+  /**
+   * Loads a recorded run for playback. The model is reset to the first recorded tick and each
+   * simulation update shows the next recorded tick instead of computing it.
+   *
+   * @param filePath the path of the run file to play back
+   * @throws IOException           if the file is not a valid run
+   * @throws NoSuchMethodException if the logic of the recorded simulation cannot be created
+   */
+  public void loadRun(String filePath) throws IOException, NoSuchMethodException {
+    configInfo = myModelApi.startPlayback(new File(filePath));
+    isLoaded = true;
+  }
+
+  /**
+   * Starts recording the current simulation to a new run file in the given directory. The file is
+   * named after the simulation title and the current time.
+   *
+   * @param directoryPath the directory to write the run file to
+   * @return the name of the run file
+   * @throws IOException          if the file cannot be written
+   * @throws NullPointerException if no simulation is loaded
+   */
+  public String startRecording(String directoryPath) throws IOException {
+    if (configInfo == null) {
+      throw new NullPointerException("error-configInfo-NULL");
+    }
+    String title = configInfo.myTitle() == null ? "Run" : configInfo.myTitle();
+    File runFile = new File(directoryPath,
+        title.replaceAll("[^A-Za-z0-9_-]", "") + "_" + System.currentTimeMillis()
+            + RunFormat.RUN_EXTENSION);
+    myModelApi.startRecording(runFile);
+    return runFile.getName();
+  }
+
+  /**
+   * Stops recording the current simulation and finishes writing the run file.
+   *
+   * @throws IOException if part of the run could not be written
+   */
+  public void stopRecording() throws IOException {
+    myModelApi.stopRecording();
+  }
+
   /**
    * Saves the current simulation configuration to the specified file path.
    *
    * <p>
-   * This method gathers grid states and properties from the modelAPI, constructs a new ConfigInfo,
-   * and then uses ConfigWriter to save the configuration.
+   * This method gathers a row-by-row view of the grid and the parameters from the modelAPI,
+   * constructs a new ConfigInfo, and then uses ConfigWriter to stream the configuration to a file.
    *
    * @param FilePath the file path where the configuration should be saved.
    * @return the file name of the simulation that was saved.
    * @throws ParserConfigurationException if a parser configuration error occurs.
    * @throws IOException                  if an I/O error occurs.
-   * @throws TransformerException         if an error occurs during XML transformation.
    */
   public String saveSimulation(String FilePath)
-      throws ParserConfigurationException, IOException, TransformerException {
+      throws ParserConfigurationException, IOException {
+    return saveSimulation(FilePath, false);
+  }
+
+  /**
+   * Saves the current simulation configuration to the specified file path, optionally gzip
+   * compressed. If the path ends with the binary snapshot extension, the configuration is written
+   * as a binary snapshot to that file instead. An existing mapped snapshot of the same world is
+   * updated in place, writing back only the pages whose cells changed; any other existing file is
+   * kept and the snapshot is saved under a numbered name next to it.
+   *
+   * @param FilePath the file path where the configuration should be saved.
+   * @param compress true to save the configuration as a gzip compressed ".xml.gz" file.
+   * @return the file name of the simulation that was saved.
+   * @throws ParserConfigurationException if a parser configuration error occurs.
+   * @throws IOException                  if an I/O error occurs.
+   */
+  public String saveSimulation(String FilePath, boolean compress)
+      throws ParserConfigurationException, IOException {
     if (configWriter == null) {
       configWriter = new ConfigWriter();
     }
-    //Save the grid dataGrid<?>
-    myGridStates = myModelApi.getCellStates();
-    myGridProperties = myModelApi.getCellProperties();
-    List<List<CellRecord>> gridData = new ArrayList<>();
-    for (int i = 0; i < myGridStates.size(); i++) {
-      List<CellRecord> row = new ArrayList<>();
-      for (int j = 0; j < myGridStates.get(i).size(); j++) {
-        row.add(new CellRecord(myGridStates.get(i).get(j), myGridProperties.get(i).get(j)));
-      }
-      gridData.add(row);
-    }
+    // The grid view builds one row at a time while the writer streams it to the file
+    List<List<CellRecord>> gridData = myModelApi.getCellRecords();
 
     Map<String, Double> doubleParams = myModelApi.getDoubleParameters();
     Map<String, String> stringParams = myModelApi.getStringParameters();
@@ -140,11 +212,40 @@ public class configAPI {
         configInfo.acceptedStates(),
         configInfo.myFileName()
     );
-    configWriter.saveCurrentConfig(savedConfigInfo, FilePath);
+    if (SnapshotFormat.isSnapshot(FilePath)) {
+      File snapshotFile = new File(FilePath);
+      if (!writeSnapshotInPlace(savedConfigInfo, snapshotFile)) {
+        snapshotFile = SnapshotWriter.write(savedConfigInfo, snapshotFile);
+      }
+      return snapshotFile.getName();
+    }
+    if (compress) {
+      configWriter.saveCurrentConfig(savedConfigInfo, FilePath, true);
+    } else {
+      configWriter.saveCurrentConfig(savedConfigInfo, FilePath);
+    }
     return configWriter.getLastFileSaved();
   }
 
 
+  /**
+   * Writes only the changed cells into an existing mapped snapshot of the same world.
+   *
+   * @param savedConfigInfo the configuration to save
+   * @param snapshotFile    the snapshot file to update
+   * @return true if the snapshot was updated in place, false if it must be rewritten
+   */
+  private boolean writeSnapshotInPlace(ConfigInfo savedConfigInfo, File snapshotFile) {
+    if (!snapshotFile.isFile()) {
+      return false;
+    }
+    try (MappedSnapshot snapshot = MappedSnapshot.open(snapshotFile, true)) {
+      return snapshot.writeBack(savedConfigInfo);
+    } catch (IOException | IllegalArgumentException e) {
+      return false;
+    }
+  }
+
   /**
    * Retrieves the accepted simulation states.
    *
@@ -1,5 +1,6 @@
 package cellsociety.model.data;
 
+import cellsociety.logging.events.NeighborRebuildEvent;
 import cellsociety.model.config.CellRecord;
 import cellsociety.model.data.cells.Cell;
 import cellsociety.model.data.cells.CellFactory;
@@ -9,10 +10,13 @@ import cellsociety.model.data.constants.NeighborType;
 import cellsociety.model.data.neighbors.Direction;
 import cellsociety.model.data.neighbors.NeighborCalculator;
 import cellsociety.model.data.states.State;
+import java.nio.IntBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.IntFunction;
 
 /**
  * Represents a grid of cells for cellular automata models.
@@ -30,6 +34,18 @@ public class Grid<T extends Enum<T> & State> {
    */
   private List<List<Cell<T>>> grid = new ArrayList<>();
 
+  /**
+   * The packed row-major state values of the cells, refreshed on every {@link #updateGrid()}.
+   */
+  private int[] stateBuffer = new int[0];
+  private volatile long epoch;
+
+  /**
+   * The number of cells in each state, indexed by state value, kept up to date with the buffer.
+   */
+  private int[] populations = new int[0];
+  private int changedCells;
+
   /**
    * Constructs a {@code Grid} from a two-dimensional list of states and a cell factory. Each state
    * in the list represents the initial state of a corresponding {@link Cell}.
@@ -59,6 +75,10 @@ public class Grid<T extends Enum<T> & State> {
    */
   public void setGrid(List<List<CellRecord>> rawGrid, CellFactory<T> factory) {
     grid.clear();
+    stateBuffer = new int[0];
+    populations = new int[0];
+    changedCells = 0;
+    epoch++;
     if (rawGrid != null && !rawGrid.isEmpty()) {
       initializeGrid(rawGrid, factory);
       assignNeighbors();
@@ -158,11 +178,170 @@ public class Grid<T extends Enum<T> & State> {
    * rules.
    */
   public void updateGrid() {
+    int index = 0;
+    int changed = 0;
     for (List<Cell<T>> row : grid) {
       for (Cell<T> cell : row) {
         cell.update();
+        if (storeState(index++, cell.getCurrentState().getValue())) {
+          changed++;
+        }
+      }
+    }
+    changedCells = changed;
+    epoch++;
+  }
+
+  /**
+   * Re-reads the current state of every cell into the packed state buffer. This only needs to be
+   * called after cell states were changed without going through {@link #updateGrid()}.
+   */
+  public void syncStates() {
+    int index = 0;
+    int changed = 0;
+    for (List<Cell<T>> row : grid) {
+      for (Cell<T> cell : row) {
+        if (storeState(index++, cell.getCurrentState().getValue())) {
+          changed++;
+        }
+      }
+    }
+    changedCells = changed;
+    epoch++;
+  }
+
+  /**
+   * Returns the number of cells whose state changed in the last {@link #updateGrid()}, or in the
+   * last {@link #syncStates()} or {@link #restoreStates(IntBuffer, IntFunction)}.
+   *
+   * @return the number of changed cells
+   */
+  public int getChangedCells() {
+    return changedCells;
+  }
+
+  /**
+   * Returns the number of cells in the given state. The counts are kept up to date while the grid
+   * is updated, so this does not scan the grid.
+   *
+   * @param state the state value
+   * @return the number of cells in that state
+   */
+  public int getPopulation(int state) {
+    return state >= 0 && state < populations.length ? populations[state] : 0;
+  }
+
+  /**
+   * Returns the number of cells in every state, indexed by state value. The counts are kept up to
+   * date while the grid is updated, so this does not scan the grid.
+   *
+   * @return a copy of the counts, as long as the largest state value that occurred plus one
+   */
+  public int[] getPopulations() {
+    return populations.clone();
+  }
+
+  /**
+   * Restores the state and properties of every cell from a previously captured tick. Only the
+   * cells whose state or properties differ are touched, and the next state of a restored cell is
+   * set to its restored state.
+   *
+   * @param states     the row-major state values of all cells, starting at the buffer's position
+   * @param properties a function returning the properties of the cell with the given row-major
+   *                   index
+   * @throws IllegalArgumentException if the buffer does not hold the state of every cell
+   */
+  public void restoreStates(IntBuffer states, IntFunction<Map<String, Double>> properties) {
+    if (states.remaining() < stateBuffer.length) {
+      throw new IllegalArgumentException("error-sourceTooSmall");
+    }
+    int base = states.position();
+    int index = 0;
+    for (List<Cell<T>> row : grid) {
+      for (Cell<T> cell : row) {
+        int state = states.get(base + index);
+        if (state != stateBuffer[index]) {
+          T restored = State.fromInt(cell.getCurrentState().getDeclaringClass(), state);
+          cell.setCurrentState(restored);
+          cell.setNextState(restored);
+        }
+        Map<String, Double> cellProperties = properties.apply(index);
+        if (!cellProperties.equals(cell.getAllProperties())) {
+          cell.setAllProperties(cellProperties);
+        }
+        index++;
       }
     }
+    syncStates();
+  }
+
+  /**
+   * Returns the read epoch of the packed state buffer. The epoch increases every time the buffer
+   * changes, so a reader can detect whether the states it read are still current.
+   *
+   * @return the current read epoch
+   */
+  public long getEpoch() {
+    return epoch;
+  }
+
+  /**
+   * Returns a read-only, zero-copy view of the packed row-major state values. The view is backed
+   * by the grid and is only consistent while {@link #getEpoch()} is unchanged.
+   *
+   * @return a read-only buffer over the state values of all cells
+   */
+  public IntBuffer getStateBuffer() {
+    return IntBuffer.wrap(stateBuffer).asReadOnlyBuffer();
+  }
+
+  /**
+   * Copies the state values of a rectangular region of the grid into the given array in row-major
+   * order.
+   *
+   * @param dest     the destination array
+   * @param offset   the index in the destination array to start writing at
+   * @param startRow the first row of the region
+   * @param startCol the first column of the region
+   * @param numRows  the number of rows in the region
+   * @param numCols  the number of columns in the region
+   * @throws IllegalArgumentException if the region is outside the grid or does not fit in dest
+   */
+  public void copyStates(int[] dest, int offset, int startRow, int startCol, int numRows,
+      int numCols) {
+    checkRegion(dest.length - offset, startRow, startCol, numRows, numCols);
+    int gridCols = getNumCols();
+    if (startCol == 0 && numCols == gridCols) {
+      System.arraycopy(stateBuffer, startRow * gridCols, dest, offset, numRows * numCols);
+      return;
+    }
+    for (int row = 0; row < numRows; row++) {
+      System.arraycopy(stateBuffer, (startRow + row) * gridCols + startCol, dest,
+          offset + row * numCols, numCols);
+    }
+  }
+
+  /**
+   * Copies the state values of a rectangular region of the grid into the given buffer in row-major
+   * order, starting at the buffer's current position.
+   *
+   * @param dest     the destination buffer
+   * @param startRow the first row of the region
+   * @param startCol the first column of the region
+   * @param numRows  the number of rows in the region
+   * @param numCols  the number of columns in the region
+   * @throws IllegalArgumentException if the region is outside the grid or does not fit in dest
+   */
+  public void copyStates(IntBuffer dest, int startRow, int startCol, int numRows, int numCols) {
+    checkRegion(dest.remaining(), startRow, startCol, numRows, numCols);
+    int gridCols = getNumCols();
+    if (startCol == 0 && numCols == gridCols) {
+      dest.put(stateBuffer, startRow * gridCols, numRows * numCols);
+      return;
+    }
+    for (int row = 0; row < numRows; row++) {
+      dest.put(stateBuffer, (startRow + row) * gridCols + startCol, numCols);
+    }
   }
 
   /**
@@ -195,6 +374,16 @@ public class Grid<T extends Enum<T> & State> {
     return neighborCalculator;
   }
 
+  private void checkRegion(int capacity, int startRow, int startCol, int numRows, int numCols) {
+    if (startRow < 0 || startCol < 0 || numRows < 0 || numCols < 0
+        || startRow + numRows > getNumRows() || startCol + numCols > getNumCols()) {
+      throw new IllegalArgumentException("error-invalidGridRegion");
+    }
+    if (capacity < numRows * numCols) {
+      throw new IllegalArgumentException("error-destinationTooSmall");
+    }
+  }
+
   private void initializeGrid(List<List<CellRecord>> rawGrid, CellFactory<T> factory) {
     for (List<CellRecord> rowStates : rawGrid) {
       List<Cell<T>> newRow = new ArrayList<>();
@@ -208,18 +397,67 @@ public class Grid<T extends Enum<T> & State> {
       }
       grid.add(newRow);
     }
+    stateBuffer = new int[getNumRows() * getNumCols()];
+    int index = 0;
+    for (List<Cell<T>> row : grid) {
+      for (Cell<T> cell : row) {
+        int state = cell.getCurrentState().getValue();
+        stateBuffer[index++] = state;
+        countPopulation(state, 1);
+      }
+    }
+    epoch++;
+  }
+
+  /**
+   * Stores the state of the cell with the given row-major index, moving it between populations.
+   *
+   * @return true if the state changed
+   */
+  private boolean storeState(int index, int state) {
+    int previous = stateBuffer[index];
+    if (previous == state) {
+      return false;
+    }
+    stateBuffer[index] = state;
+    countPopulation(previous, -1);
+    countPopulation(state, 1);
+    return true;
+  }
+
+  private void countPopulation(int state, int delta) {
+    if (state < 0) {
+      return;
+    }
+    if (state >= populations.length) {
+      populations = Arrays.copyOf(populations, state + 1);
+    }
+    populations[state] += delta;
   }
 
   /**
    * Assigns neighbors for each {@link Cell} in the grid using the current
-   * {@link NeighborCalculator}.
+   * {@link NeighborCalculator}. The rebuild is recorded as a {@link NeighborRebuildEvent} when
+   * Flight Recorder has the event enabled.
    */
   public void assignNeighbors() {
+    NeighborRebuildEvent event = new NeighborRebuildEvent();
+    event.begin();
     for (int row = 0; row < getNumRows(); row++) {
       for (int col = 0; col < getNumCols(); col++) {
         getCell(row, col).setNeighbors(neighborCalculator.getNeighbors(this, row, col));
       }
     }
+    event.end();
+    if (event.shouldCommit()) {
+      event.shape = getShape().name();
+      event.neighborType = getNeighborType().name();
+      event.edgeType = getEdgeType().name();
+      event.steps = getSteps();
+      event.numRows = getNumRows();
+      event.numCols = getNumCols();
+      event.commit();
+    }
   }
 
   /**
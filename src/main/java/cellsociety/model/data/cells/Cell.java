@@ -19,6 +19,7 @@ public class Cell<T extends Enum<T> & State> {
   private T currState;
   private T nextState;
   private Map<String, Double> properties;
+  private int propertyVersion;
   private Deque<CellQueueRecord> queue = new ArrayDeque<>();
 
   /**
@@ -104,6 +105,7 @@ public class Cell<T extends Enum<T> & State> {
       properties = new HashMap<>();
     }
     properties.put(property, value);
+    propertyVersion++;
   }
 
   /**
@@ -131,6 +133,7 @@ public class Cell<T extends Enum<T> & State> {
     } else {
       properties = new HashMap<>(props);
     }
+    propertyVersion++;
   }
 
   /**
@@ -156,6 +159,16 @@ public class Cell<T extends Enum<T> & State> {
    */
   public void clearAllProperties() {
     properties = new HashMap<>();
+    propertyVersion++;
+  }
+
+  /**
+   * Returns a number that changes every time the properties of this cell are set or cleared.
+   *
+   * @return the version of the properties of this cell
+   */
+  public int getPropertyVersion() {
+    return propertyVersion;
   }
 
   /**
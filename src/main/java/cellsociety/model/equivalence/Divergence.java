@@ -0,0 +1,73 @@
+package cellsociety.model.equivalence;
+
+import java.util.List;
+
+/**
+ * The Divergence record describes the first tick at which two engines disagreed: the bounding box
+ * of the cells that differ, the first few differences, and the states of both engines around the
+ * box so that the difference can be read without rerunning the simulation.
+ *
+ * @param tick            the first tick at which the engines differ, 0 being the initial grid
+ * @param startRow        the first row of the differing region
+ * @param startCol        the first column of the differing region
+ * @param endRow          the last row of the differing region
+ * @param endCol          the last column of the differing region
+ * @param numDifferences  the number of differing states and properties
+ * @param differences     the first differences in row-major order
+ * @param windowRow       the first row of the state windows
+ * @param windowCol       the first column of the state windows
+ * @param referenceStates the states of the reference engine around the region
+ * @param candidateStates the states of the candidate engine around the region
+ * @author Jacob You
+ */
+public record Divergence(int tick, int startRow, int startCol, int endRow, int endCol,
+                         int numDifferences, List<CellDifference> differences, int windowRow,
+                         int windowCol, int[][] referenceStates, int[][] candidateStates) {
+
+  /**
+   * Returns a readable report of the divergence, with the differences followed by the states of
+   * both engines side by side.
+   *
+   * @return the report
+   */
+  public String dump() {
+    StringBuilder builder = new StringBuilder();
+    builder.append(String.format("Engines diverged at tick %d in rows %d-%d, columns %d-%d "
+        + "(%d differences)%n", tick, startRow, endRow, startCol, endCol, numDifferences));
+    for (CellDifference difference : differences) {
+      builder.append(String.format("  (%d, %d) %s: reference %s, candidate %s%n",
+          difference.row(), difference.col(), difference.name(), difference.reference(),
+          difference.candidate()));
+    }
+    builder.append(String.format("States from (%d, %d), reference | candidate:%n", windowRow,
+        windowCol));
+    for (int row = 0; row < referenceStates.length; row++) {
+      builder.append("  ");
+      appendStates(builder, referenceStates[row]);
+      builder.append("| ");
+      appendStates(builder, candidateStates[row]);
+      builder.append(System.lineSeparator());
+    }
+    return builder.toString();
+  }
+
+  private static void appendStates(StringBuilder builder, int[] states) {
+    for (int state : states) {
+      builder.append(state).append(' ');
+    }
+  }
+
+  /**
+   * A state or property of a cell on which the engines disagree.
+   *
+   * @param row       the row of the cell
+   * @param col       the column of the cell
+   * @param name      "state" or the name of the property
+   * @param reference the value of the reference engine
+   * @param candidate the value of the candidate engine
+   */
+  public record CellDifference(int row, int col, String name, double reference,
+                               double candidate) {
+
+  }
+}
@@ -0,0 +1,23 @@
+package cellsociety.model.equivalence;
+
+import cellsociety.model.config.ConfigInfo;
+
+/**
+ * The EngineFactory interface creates a {@link SimulationEngine} from a configuration, so that the
+ * {@link EquivalenceHarness} can start the engines it compares from the same cells and seed.
+ *
+ * @author Jacob You
+ */
+@FunctionalInterface
+public interface EngineFactory {
+
+  /**
+   * Creates an engine at the first tick of the given configuration.
+   *
+   * @param configInfo the configuration to start from
+   * @param seed       the seed of the random choices of the engine
+   * @return the new engine
+   * @throws IllegalStateException if the engine cannot be created
+   */
+  SimulationEngine create(ConfigInfo configInfo, long seed);
+}
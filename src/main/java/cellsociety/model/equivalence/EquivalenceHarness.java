@@ -0,0 +1,229 @@
+package cellsociety.model.equivalence;
+
+import cellsociety.logging.Log;
+import cellsociety.model.config.ConfigInfo;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The EquivalenceHarness class runs a reference engine and a candidate engine in lockstep from the
+ * same configuration and seed, and checks after every tick that they agree on the state of every
+ * cell and on the selected properties. By default the reference is the {@link LogicEngine} of the
+ * simulation, so a faster engine can be trusted once it has run alongside it for long enough.
+ * <p>
+ * Each tick of each engine is reduced to a 64-bit hash that is rolled into the hash of the ticks
+ * before it. The grids themselves are only compared cell by cell once the hashes of a tick
+ * differ, to report the first differing tick and the region where the engines disagree.
+ *
+ * @author Jacob You
+ */
+public class EquivalenceHarness {
+
+  /**
+   * The number of ticks between two progress messages unless another interval is set.
+   */
+  public static final int DEFAULT_PROGRESS_INTERVAL = 10_000;
+
+  private static final String STATE_NAME = "state";
+  private static final int MAX_DIFFERENCES = 16;
+  private static final int WINDOW_MARGIN = 2;
+  private static final int MAX_WINDOW_SIZE = 16;
+  private static final long PRIME_1 = 0x9E3779B185EBCA87L;
+  private static final long PRIME_2 = 0xC2B2AE3D27D4EB4FL;
+
+  private final EngineFactory reference;
+  private final EngineFactory candidate;
+  private List<String> comparedProperties = List.of();
+  private int progressInterval = DEFAULT_PROGRESS_INTERVAL;
+
+  /**
+   * Creates a harness comparing the given engine to the {@link LogicEngine} of the simulation.
+   *
+   * @param candidate the factory of the engine under test
+   */
+  public EquivalenceHarness(EngineFactory candidate) {
+    this(LogicEngine::create, candidate);
+  }
+
+  /**
+   * Creates a harness comparing two engines.
+   *
+   * @param reference the factory of the engine trusted to be correct
+   * @param candidate the factory of the engine under test
+   */
+  public EquivalenceHarness(EngineFactory reference, EngineFactory candidate) {
+    this.reference = reference;
+    this.candidate = candidate;
+  }
+
+  /**
+   * Sets the cell properties compared on every tick besides the states. No properties are
+   * compared unless they are set.
+   *
+   * @param properties the names of the properties to compare
+   */
+  public void setComparedProperties(List<String> properties) {
+    comparedProperties = List.copyOf(properties);
+  }
+
+  /**
+   * Sets how often the progress of a run is logged.
+   *
+   * @param ticks the number of ticks between two progress messages, or 0 to log none
+   */
+  public void setProgressInterval(int ticks) {
+    progressInterval = Math.max(0, ticks);
+  }
+
+  /**
+   * Creates both engines from the configuration and seed and runs them for the given number of
+   * ticks, comparing the initial grid and every tick. The run stops at the first tick on which
+   * the engines differ.
+   *
+   * @param configInfo the configuration both engines start from
+   * @param seed       the seed both engines are created with
+   * @param numTicks   the number of ticks to run
+   * @return the report of the run, holding the first divergence if there is one
+   * @throws IllegalStateException if an engine cannot be created or the engines have grids of
+   *                               different sizes
+   */
+  public EquivalenceReport run(ConfigInfo configInfo, long seed, int numTicks) {
+    SimulationEngine referenceEngine = reference.create(configInfo, seed);
+    SimulationEngine candidateEngine = candidate.create(configInfo, seed);
+    int numRows = referenceEngine.getNumRows();
+    int numCols = referenceEngine.getNumCols();
+    if (candidateEngine.getNumRows() != numRows || candidateEngine.getNumCols() != numCols) {
+      throw new IllegalStateException("error-engineGridMismatch," + numRows + "x" + numCols);
+    }
+
+    Snapshot referenceTick = new Snapshot(numRows, numCols, comparedProperties.size());
+    Snapshot candidateTick = new Snapshot(numRows, numCols, comparedProperties.size());
+    long referenceHash = 0;
+    long candidateHash = 0;
+    for (int tick = 0; tick <= numTicks; tick++) {
+      if (tick > 0) {
+        referenceEngine.step();
+        candidateEngine.step();
+      }
+      long referenceDigest = referenceTick.capture(referenceEngine);
+      long candidateDigest = candidateTick.capture(candidateEngine);
+      referenceHash = mix(referenceHash, referenceDigest);
+      candidateHash = mix(candidateHash, candidateDigest);
+      if (referenceDigest != candidateDigest) {
+        return new EquivalenceReport(tick, referenceHash, candidateHash,
+            findDivergence(tick, referenceTick, candidateTick));
+      }
+      if (progressInterval > 0 && tick > 0 && tick % progressInterval == 0) {
+        Log.info("Engines agree on %d of %d ticks, hash %016x", tick, numTicks, referenceHash);
+      }
+    }
+    return new EquivalenceReport(numTicks, referenceHash, candidateHash, null);
+  }
+
+  /* PRIVATE HELPER METHODS */
+
+  private Divergence findDivergence(int tick, Snapshot referenceTick, Snapshot candidateTick) {
+    int numCols = referenceTick.numCols;
+    int numProperties = comparedProperties.size();
+    List<Divergence.CellDifference> differences = new ArrayList<>();
+    int numDifferences = 0;
+    int startRow = Integer.MAX_VALUE;
+    int startCol = Integer.MAX_VALUE;
+    int endRow = -1;
+    int endCol = -1;
+    for (int index = 0; index < referenceTick.states.length; index++) {
+      int row = index / numCols;
+      int col = index % numCols;
+      int found = numDifferences;
+      if (referenceTick.states[index] != candidateTick.states[index]) {
+        numDifferences++;
+        addDifference(differences, row, col, STATE_NAME, referenceTick.states[index],
+            candidateTick.states[index]);
+      }
+      for (int p = 0; p < numProperties; p++) {
+        double referenceValue = referenceTick.properties[index * numProperties + p];
+        double candidateValue = candidateTick.properties[index * numProperties + p];
+        if (Double.doubleToLongBits(referenceValue) != Double.doubleToLongBits(candidateValue)) {
+          numDifferences++;
+          addDifference(differences, row, col, comparedProperties.get(p), referenceValue,
+              candidateValue);
+        }
+      }
+      if (numDifferences > found) {
+        startRow = Math.min(startRow, row);
+        startCol = Math.min(startCol, col);
+        endRow = Math.max(endRow, row);
+        endCol = Math.max(endCol, col);
+      }
+    }
+
+    int windowRow = Math.max(0, startRow - WINDOW_MARGIN);
+    int windowCol = Math.max(0, startCol - WINDOW_MARGIN);
+    int windowRows = Math.min(Math.min(referenceTick.numRows, endRow + WINDOW_MARGIN + 1)
+        - windowRow, MAX_WINDOW_SIZE);
+    int windowCols = Math.min(Math.min(numCols, endCol + WINDOW_MARGIN + 1) - windowCol,
+        MAX_WINDOW_SIZE);
+    return new Divergence(tick, startRow, startCol, endRow, endCol, numDifferences,
+        List.copyOf(differences), windowRow, windowCol,
+        referenceTick.window(windowRow, windowCol, windowRows, windowCols),
+        candidateTick.window(windowRow, windowCol, windowRows, windowCols));
+  }
+
+  private static void addDifference(List<Divergence.CellDifference> differences, int row,
+      int col, String name, double referenceValue, double candidateValue) {
+    if (differences.size() < MAX_DIFFERENCES) {
+      differences.add(new Divergence.CellDifference(row, col, name, referenceValue,
+          candidateValue));
+    }
+  }
+
+  private static long mix(long hash, long value) {
+    return Long.rotateLeft(hash ^ value * PRIME_1, 31) * PRIME_2;
+  }
+
+  /**
+   * The states and compared properties of one engine at the current tick, reused every tick.
+   */
+  private class Snapshot {
+
+    private final int numRows;
+    private final int numCols;
+    private final int[] states;
+    private final double[] properties;
+
+    private Snapshot(int numRows, int numCols, int numProperties) {
+      this.numRows = numRows;
+      this.numCols = numCols;
+      this.states = new int[numRows * numCols];
+      this.properties = new double[numRows * numCols * numProperties];
+    }
+
+    /**
+     * Copies the current tick of the engine and returns its hash.
+     */
+    private long capture(SimulationEngine engine) {
+      engine.exportStates(states);
+      long hash = PRIME_2;
+      for (int state : states) {
+        hash = mix(hash, state);
+      }
+      int numProperties = comparedProperties.size();
+      for (int index = 0, i = 0; index < states.length && numProperties > 0; index++) {
+        for (String property : comparedProperties) {
+          properties[i] = engine.getProperty(index / numCols, index % numCols, property);
+          hash = mix(hash, Double.doubleToLongBits(properties[i++]));
+        }
+      }
+      return hash;
+    }
+
+    private int[][] window(int startRow, int startCol, int windowRows, int windowCols) {
+      int[][] window = new int[windowRows][windowCols];
+      for (int row = 0; row < windowRows; row++) {
+        System.arraycopy(states, (startRow + row) * numCols + startCol, window[row], 0,
+            windowCols);
+      }
+      return window;
+    }
+  }
+}
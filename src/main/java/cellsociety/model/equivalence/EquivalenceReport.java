@@ -0,0 +1,25 @@
+package cellsociety.model.equivalence;
+
+/**
+ * The EquivalenceReport record is the outcome of an {@link EquivalenceHarness} run. The rolling
+ * hashes fingerprint every tick compared so far, so two soak runs of the same configuration and
+ * seed can also be compared by their hashes alone.
+ *
+ * @param ticks         the number of ticks each engine computed before the run ended
+ * @param referenceHash the rolling hash of the reference engine up to the last compared tick
+ * @param candidateHash the rolling hash of the candidate engine up to the last compared tick
+ * @param divergence    the first divergence, or null if the engines agreed on every tick
+ * @author Jacob You
+ */
+public record EquivalenceReport(int ticks, long referenceHash, long candidateHash,
+                                Divergence divergence) {
+
+  /**
+   * Indicates whether the engines agreed on every compared tick.
+   *
+   * @return true if no divergence was found
+   */
+  public boolean isEquivalent() {
+    return divergence == null;
+  }
+}
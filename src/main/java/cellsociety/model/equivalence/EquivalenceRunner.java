@@ -0,0 +1,85 @@
+package cellsociety.model.equivalence;
+
+import cellsociety.logging.Log;
+import cellsociety.model.config.ConfigInfo;
+import cellsociety.model.config.ConfigReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs the {@link EquivalenceHarness} from the command line, for soak tests far longer than a unit
+ * test can afford. Every configuration given is run from the same seed with the reference
+ * {@link LogicEngine} and a candidate engine, and the first divergence of each is printed. The
+ * process exits with status 1 if any configuration diverged.
+ * <p>
+ * Run it with {@code java -cp target/classes cellsociety.model.equivalence.EquivalenceRunner
+ * --ticks 100000 --candidate com.example.FastLifeFactory GameOfLifeGlider.xml} from the project
+ * folder. The options are {@code --ticks}, {@code --seed}, {@code --progress}, {@code --properties}
+ * with a comma separated list of property names, and {@code --candidate} with the name of an
+ * {@link EngineFactory} class that has a public no-argument constructor. Without a candidate, the
+ * reference is run against itself, which checks that it is deterministic for the seed.
+ *
+ * @author Jacob You
+ */
+public final class EquivalenceRunner {
+
+  private static final int DEFAULT_TICKS = 10_000;
+  private static final long DEFAULT_SEED = 308;
+
+  private EquivalenceRunner() {
+  }
+
+  /**
+   * Runs the harness over the given configurations.
+   *
+   * @param args the options and configuration file names, see the class documentation
+   * @throws Exception if a configuration cannot be read or an engine cannot be created
+   */
+  public static void main(String[] args) throws Exception {
+    Map<String, String> options = new LinkedHashMap<>();
+    List<String> configs = new ArrayList<>();
+    for (int i = 0; i < args.length; i++) {
+      if (args[i].startsWith("--") && i + 1 < args.length) {
+        options.put(args[i].substring(2), args[++i]);
+      } else {
+        configs.add(args[i]);
+      }
+    }
+    int ticks = Integer.parseInt(options.getOrDefault("ticks", String.valueOf(DEFAULT_TICKS)));
+    long seed = Long.parseLong(options.getOrDefault("seed", String.valueOf(DEFAULT_SEED)));
+
+    EquivalenceHarness harness = new EquivalenceHarness(createCandidate(options.get("candidate")));
+    if (options.containsKey("properties")) {
+      harness.setComparedProperties(Arrays.asList(options.get("properties").split(",")));
+    }
+    if (options.containsKey("progress")) {
+      harness.setProgressInterval(Integer.parseInt(options.get("progress")));
+    }
+
+    boolean isEquivalent = true;
+    for (String config : configs) {
+      ConfigInfo configInfo = new ConfigReader().readConfig(config);
+      long start = System.nanoTime();
+      EquivalenceReport report = harness.run(configInfo, seed, ticks);
+      Log.flush();
+      System.out.printf("%s: %d ticks in %.1f s, hash %016x%n", config, report.ticks(),
+          (System.nanoTime() - start) / 1e9, report.referenceHash());
+      if (!report.isEquivalent()) {
+        System.out.print(report.divergence().dump());
+        isEquivalent = false;
+      }
+    }
+    System.exit(isEquivalent ? 0 : 1);
+  }
+
+  private static EngineFactory createCandidate(String className)
+      throws ReflectiveOperationException {
+    if (className == null) {
+      return LogicEngine::create;
+    }
+    return (EngineFactory) Class.forName(className).getDeclaredConstructor().newInstance();
+  }
+}
@@ -0,0 +1,118 @@
+package cellsociety.model.equivalence;
+
+import cellsociety.model.config.ConfigInfo;
+import cellsociety.model.config.ConfigInfo.SimulationType;
+import cellsociety.model.config.ParameterRecord;
+import cellsociety.model.data.Grid;
+import cellsociety.model.data.cells.CellFactory;
+import cellsociety.model.data.constants.EdgeType;
+import cellsociety.model.data.constants.GridShape;
+import cellsociety.model.data.constants.NeighborType;
+import cellsociety.model.logic.Logic;
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * The LogicEngine class runs a simulation with its {@link Logic}, the way the model does. It is the
+ * reference every alternate engine is compared against, and it can also wrap an alternate
+ * {@link Logic} subclass directly.
+ *
+ * @author Jacob You
+ */
+public class LogicEngine implements SimulationEngine {
+
+  private static final String LOGIC_PACKAGE = "cellsociety.model.logic";
+  private static final String STATE_PACKAGE = "cellsociety.model.data.states";
+
+  private final Grid<?> grid;
+  private final Logic<?> logic;
+
+  /**
+   * Creates an engine running the given logic on its grid.
+   *
+   * @param grid  the grid the logic updates
+   * @param logic the logic of the simulation
+   */
+  public LogicEngine(Grid<?> grid, Logic<?> logic) {
+    this.grid = grid;
+    this.logic = logic;
+  }
+
+  /**
+   * Creates the reference engine of a configuration: the grid and the logic the model would build
+   * for it, with the logic seeded with the given seed. Its signature matches
+   * {@link EngineFactory}, so {@code LogicEngine::create} is the reference factory.
+   *
+   * @param configInfo the configuration to start from
+   * @param seed       the seed of the random generator of the logic
+   * @return the new engine
+   * @throws IllegalStateException if the logic or state class of the simulation cannot be created
+   */
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  public static LogicEngine create(ConfigInfo configInfo, long seed) {
+    String name = getSimulationName(configInfo.myType());
+    try {
+      Class stateClass = Class.forName(STATE_PACKAGE + "." + name + "State");
+      Grid<?> grid = new Grid(configInfo.myGrid(), new CellFactory(stateClass),
+          GridShape.valueOf(configInfo.myCellShapeType().name()),
+          NeighborType.valueOf(configInfo.myneighborArrangementType().name()),
+          EdgeType.valueOf(configInfo.myGridEdgeType().name()));
+      grid.setSteps(configInfo.neighborRadius());
+      Logic<?> logic = (Logic<?>) Class.forName(LOGIC_PACKAGE + "." + name + "Logic")
+          .getDeclaredConstructor(Grid.class, ParameterRecord.class)
+          .newInstance(grid, configInfo.myParameters());
+      logic.seedRandom(seed);
+      return new LogicEngine(grid, logic);
+    } catch (InvocationTargetException e) {
+      throw new IllegalStateException(e.getCause().getMessage(), e.getCause());
+    } catch (ReflectiveOperationException e) {
+      throw new IllegalStateException(e.getMessage(), e);
+    }
+  }
+
+  @Override
+  public void step() {
+    logic.update();
+  }
+
+  @Override
+  public int getNumRows() {
+    return grid.getNumRows();
+  }
+
+  @Override
+  public int getNumCols() {
+    return grid.getNumCols();
+  }
+
+  @Override
+  public void exportStates(int[] dest) {
+    grid.copyStates(dest, 0, 0, 0, getNumRows(), getNumCols());
+  }
+
+  @Override
+  public double getProperty(int row, int col, String property) {
+    return grid.getCell(row, col).getProperty(property);
+  }
+
+  /**
+   * Returns the grid this engine updates.
+   *
+   * @return the grid of the simulation
+   */
+  public Grid<?> getGrid() {
+    return grid;
+  }
+
+  /**
+   * Returns the logic this engine runs.
+   *
+   * @return the logic of the simulation
+   */
+  public Logic<?> getLogic() {
+    return logic;
+  }
+
+  private static String getSimulationName(SimulationType type) {
+    return type.name().charAt(0) + type.name().substring(1).toLowerCase();
+  }
+}
@@ -0,0 +1,50 @@
+package cellsociety.model.equivalence;
+
+/**
+ * The SimulationEngine interface is the view the {@link EquivalenceHarness} has of an engine that
+ * computes the ticks of a simulation. The reference engine is the
+ * {@link cellsociety.model.logic.Logic} of the simulation wrapped in a {@link LogicEngine}; an
+ * alternate engine only has to expose its states and properties the same way, whatever it stores
+ * internally.
+ *
+ * @author Jacob You
+ */
+public interface SimulationEngine {
+
+  /**
+   * Computes the next tick of the simulation.
+   */
+  void step();
+
+  /**
+   * Returns the number of rows of the grid.
+   *
+   * @return the number of rows
+   */
+  int getNumRows();
+
+  /**
+   * Returns the number of columns of the grid.
+   *
+   * @return the number of columns
+   */
+  int getNumCols();
+
+  /**
+   * Copies the state values of every cell in row-major order.
+   *
+   * @param dest the array to fill, of at least {@code getNumRows() * getNumCols()} values
+   */
+  void exportStates(int[] dest);
+
+  /**
+   * Returns a property of a cell, or 0 if the cell does not have it, like
+   * {@link cellsociety.model.data.cells.Cell#getProperty(String)}.
+   *
+   * @param row      the row of the cell
+   * @param col      the column of the cell
+   * @param property the name of the property
+   * @return the value of the property
+   */
+  double getProperty(int row, int col, String property);
+}
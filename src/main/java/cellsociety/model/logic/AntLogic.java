@@ -5,8 +5,11 @@ import cellsociety.model.data.Grid;
 import cellsociety.model.data.cells.Cell;
 import cellsociety.model.data.states.AntState;
 import cellsociety.model.data.neighbors.Direction;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -25,6 +28,8 @@ import java.util.Map;
  */
 public class AntLogic extends Logic<AntState> {
 
+  private static final Direction NO_DIRECTION = new Direction(0, 0);
+
   private double maxAnts;
   private double evaporationRate;
   private double maxHomePheromone;
@@ -32,7 +37,7 @@ public class AntLogic extends Logic<AntState> {
   private double basePheromoneWeight;
   private double pheromoneSensitivity;
   private double pheromoneDiffusionDecay;
-  private final Map<Cell<AntState>, List<AntInfo>> cellAntsMap = new HashMap<>();
+  private final Map<Cell<AntState>, List<AntInfo>> cellAntsMap = new LinkedHashMap<>();
 
   /**
    * Immutable record representing an individual ant in the simulation. Each ant has an orientation
@@ -240,10 +245,10 @@ public class AntLogic extends Logic<AntState> {
         Direction chosenReturning = getPheromoneWeightedDirection(validDirections, cell,
             "homePheromone");
         if (chosenSearching == null) {
-          chosenSearching = new Direction(0, 0);
+          chosenSearching = NO_DIRECTION;
         }
         if (chosenReturning == null) {
-          chosenReturning = new Direction(0, 0);
+          chosenReturning = NO_DIRECTION;
         }
         for (int i = 0; i < searchingEntities; i++) {
           cellAntsMap.computeIfAbsent(cell, k -> new ArrayList<>())
@@ -263,7 +268,7 @@ public class AntLogic extends Logic<AntState> {
    * the grid to reflect the new states.
    */
   @Override
-  public void update() {
+  protected void tick() {
     int numRows = grid.getNumRows();
     int numCols = grid.getNumCols();
     for (int row = 0; row < numRows; row++) {
@@ -315,11 +320,53 @@ public class AntLogic extends Logic<AntState> {
     cellAntsMap.put(cell, newAnts);
   }
 
+  /**
+   * Writes the ants of every cell that holds any, in the order they are processed.
+   *
+   * @param out the output to write the ants to
+   * @throws IOException if the ants cannot be written
+   */
+  @Override
+  protected void writeState(DataOutput out) throws IOException {
+    out.writeInt(cellAntsMap.size());
+    for (Map.Entry<Cell<AntState>, List<AntInfo>> entry : cellAntsMap.entrySet()) {
+      writeCell(out, entry.getKey());
+      out.writeInt(entry.getValue().size());
+      for (AntInfo ant : entry.getValue()) {
+        out.writeInt(ant.orientation().dy());
+        out.writeInt(ant.orientation().dx());
+        out.writeBoolean(ant.hasFood());
+      }
+    }
+  }
+
+  /**
+   * Replaces the ants placed from the cell properties with the checkpointed ants.
+   *
+   * @param in the input to read the ants from
+   * @throws IOException if the ants cannot be read
+   */
+  @Override
+  protected void readState(DataInput in) throws IOException {
+    cellAntsMap.clear();
+    int numCells = in.readInt();
+    for (int i = 0; i < numCells; i++) {
+      Cell<AntState> cell = readCell(in);
+      int numAnts = in.readInt();
+      List<AntInfo> ants = new ArrayList<>(numAnts);
+      for (int k = 0; k < numAnts; k++) {
+        Direction orientation = new Direction(in.readInt(), in.readInt());
+        ants.add(new AntInfo(orientation, in.readBoolean()));
+      }
+      cellAntsMap.put(cell, ants);
+    }
+  }
+
   // STUFF TO DETERMINE WHETHER THE ANT IS COMING OR GOING
 
   private AntInfo antReturnToNest(Cell<AntState> cell, AntInfo ant) {
     if (cell.getCurrentState() == AntState.NEST) {
-      ant = new AntInfo(new Direction(0, 0), false);
+      ant = new AntInfo(NO_DIRECTION, false);
       cell.setProperty("searchingEntities", cell.getProperty("searchingEntities") + 1);
       cell.setProperty("returningEntities", cell.getProperty("returningEntities") - 1);
       return antFindFoodSource(cell, ant);
@@ -331,7 +378,7 @@ public class AntLogic extends Logic<AntState> {
   private AntInfo antFindFoodSource(Cell<AntState> cell, AntInfo ant) {
     if (cell.getCurrentState() == AntState.FOOD) {
       cell.setNextState(AntState.EMPTY);
-      ant = new AntInfo(new Direction(0, 0), true);
+      ant = new AntInfo(NO_DIRECTION, true);
       cell.setProperty("searchingEntities", cell.getProperty("searchingEntities") - 1);
       cell.setProperty("returningEntities", cell.getProperty("returningEntities") + 1);
       return antReturnToNest(cell, ant);
@@ -352,31 +399,37 @@ public class AntLogic extends Logic<AntState> {
     }
     validDirections = getValidDirections(grid.getDirections(cell), cell);
     chosen = getPheromoneWeightedDirection(validDirections, cell, pheromoneType);
-    return (chosen != null) ? chosen : new Direction(0, 0);
+    return (chosen != null) ? chosen : NO_DIRECTION;
   }
 
   private List<Direction> getPossibleDirections(Direction orientation, Cell<AntState> cell) {
-    List<Direction> allDirections = new ArrayList<>(grid.getDirections(cell));
-    if (orientation.toString().equals(new Direction(0, 0).toString())) {
+    List<Direction> allDirections = grid.getDirections(cell);
+    if (orientation.equals(NO_DIRECTION)) {
       return allDirections;
     }
     int dx = orientation.dx();
     int dy = orientation.dy();
-    int[][] candidates = {{dy - 1, dx}, {dy + 1, dx}, {dy, dx - 1}, {dy, dx + 1}};
     List<Direction> result = new ArrayList<>();
-    for (int[] candidate : candidates) {
-      int x = candidate[0];
-      int y = candidate[1];
-      if (x == 0 && y == 0) {
-        continue;
-      }
-      Direction direction = new Direction(x, y);
-      if (allDirections.contains(direction)) {
+    addDirection(result, allDirections, dy - 1, dx);
+    addDirection(result, allDirections, dy + 1, dx);
+    addDirection(result, allDirections, dy, dx - 1);
+    addDirection(result, allDirections, dy, dx + 1);
+    result.add(orientation);
+    return result;
+  }
+
+  private void addDirection(List<Direction> result, List<Direction> allDirections, int dy,
+      int dx) {
+    if (dy == 0 && dx == 0) {
+      return;
+    }
+    for (int i = 0; i < allDirections.size(); i++) {
+      Direction direction = allDirections.get(i);
+      if (direction.dy() == dy && direction.dx() == dx) {
         result.add(direction);
+        return;
       }
     }
-    result.add(orientation);
-    return result;
   }
 
   private List<Direction> getValidDirections(List<Direction> candidateDirs, Cell<AntState> cell) {
@@ -410,7 +463,7 @@ public class AntLogic extends Logic<AntState> {
       weights.add(weight);
       totalWeight += weight;
     }
-    double selection = Math.random() * totalWeight;
+    double selection = nextRandom() * totalWeight;
     double total = 0;
     for (int i = 0; i < validDirections.size(); i++) {
       total += weights.get(i);
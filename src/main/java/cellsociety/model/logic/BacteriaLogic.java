@@ -4,6 +4,9 @@ import cellsociety.model.config.ParameterRecord;
 import cellsociety.model.data.Grid;
 import cellsociety.model.data.cells.Cell;
 import cellsociety.model.data.states.BacteriaState;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -86,7 +89,7 @@ public class BacteriaLogic extends Logic<BacteriaState> {
    * to the grid.
    */
   @Override
-  public void update() {
+  protected void tick() {
     int numRows = grid.getNumRows();
     int numCols = grid.getNumCols();
 
@@ -115,6 +118,37 @@ public class BacteriaLogic extends Logic<BacteriaState> {
     }
   }
 
+  /**
+   * Writes the colors that are applied to the cells at the end of every tick.
+   *
+   * @param out the output to write the colors to
+   * @throws IOException if the colors cannot be written
+   */
+  @Override
+  protected void writeState(DataOutput out) throws IOException {
+    out.writeInt(nextStates.size());
+    for (Map.Entry<Cell<BacteriaState>, Double> entry : nextStates.entrySet()) {
+      writeCell(out, entry.getKey());
+      out.writeDouble(entry.getValue());
+    }
+  }
+
+  /**
+   * Replaces the colors that are applied to the cells at the end of every tick.
+   *
+   * @param in the input to read the colors from
+   * @throws IOException if the colors cannot be read
+   */
+  @Override
+  protected void readState(DataInput in) throws IOException {
+    nextStates.clear();
+    int numCells = in.readInt();
+    for (int i = 0; i < numCells; i++) {
+      Cell<BacteriaState> cell = readCell(in);
+      nextStates.put(cell, in.readDouble());
+    }
+  }
+
   private int getNumBeating(Cell<BacteriaState> cell, double beatingId) {
     int numBeating = 0;
     for (Cell<BacteriaState> neighbor : cell.getNeighbors().values()) {
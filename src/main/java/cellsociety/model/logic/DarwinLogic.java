@@ -3,14 +3,20 @@ package cellsociety.model.logic;
 import cellsociety.model.config.ParameterRecord;
 import cellsociety.model.data.Grid;
 import cellsociety.model.data.cells.Cell;
+import cellsociety.model.data.cells.CellQueueRecord;
 import cellsociety.model.data.neighbors.Direction;
 import cellsociety.model.data.states.DarwinState;
 import cellsociety.model.logic.helpers.DarwinHelper;
 import cellsociety.model.logic.helpers.DarwinHelper.InstructionResult;
 import cellsociety.model.logic.helpers.InfectionRecord;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Comparator;
-import java.util.HashMap;
+import java.util.Deque;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -26,7 +32,7 @@ public class DarwinLogic extends Logic<DarwinState> {
 
   private DarwinHelper darwinHelper;
   private double nearbyAhead;
-  private final Map<Cell<DarwinState>, Integer> movingCells = new HashMap<>();
+  private final Map<Cell<DarwinState>, Integer> movingCells = new LinkedHashMap<>();
   private final List<Cell<DarwinState>> infectedCells = new ArrayList<>();
   private final List<Cell<DarwinState>> stationaryCells = new ArrayList<>();
 
@@ -84,7 +90,7 @@ public class DarwinLogic extends Logic<DarwinState> {
    * to finalize state changes.
    */
   @Override
-  public void update() {
+  protected void tick() {
     int numRows = grid.getNumRows();
     int numCols = grid.getNumCols();
 
@@ -148,6 +154,62 @@ public class DarwinLogic extends Logic<DarwinState> {
     }
   }
 
+  /**
+   * Writes the infection records queued on the cells. The cells to move, infect or keep in place
+   * are only collected during a tick, so they are always empty between ticks.
+   *
+   * @param out the output to write the infection records to
+   * @throws IOException if the infection records cannot be written
+   */
+  @Override
+  protected void writeState(DataOutput out) throws IOException {
+    List<Cell<DarwinState>> queuedCells = new ArrayList<>();
+    for (int row = 0; row < grid.getNumRows(); row++) {
+      for (int col = 0; col < grid.getNumCols(); col++) {
+        Cell<DarwinState> cell = grid.getCell(row, col);
+        if (!cell.getQueueRecords().isEmpty()) {
+          queuedCells.add(cell);
+        }
+      }
+    }
+    out.writeInt(queuedCells.size());
+    for (Cell<DarwinState> cell : queuedCells) {
+      writeCell(out, cell);
+      out.writeInt(cell.getQueueRecords().size());
+      for (CellQueueRecord record : cell.getQueueRecords()) {
+        InfectionRecord infectionRecord = (InfectionRecord) record;
+        out.writeDouble(infectionRecord.getSpeciesID());
+        out.writeDouble(infectionRecord.getDuration());
+      }
+    }
+  }
+
+  /**
+   * Replaces the infection records queued when the species were initialized with the
+   * checkpointed ones.
+   *
+   * @param in the input to read the infection records from
+   * @throws IOException if the infection records cannot be read
+   */
+  @Override
+  protected void readState(DataInput in) throws IOException {
+    for (int row = 0; row < grid.getNumRows(); row++) {
+      for (int col = 0; col < grid.getNumCols(); col++) {
+        grid.getCell(row, col).clearQueueRecords();
+      }
+    }
+    int numCells = in.readInt();
+    for (int i = 0; i < numCells; i++) {
+      Cell<DarwinState> cell = readCell(in);
+      int numRecords = in.readInt();
+      Deque<CellQueueRecord> records = new ArrayDeque<>(numRecords);
+      for (int k = 0; k < numRecords; k++) {
+        records.addLast(new InfectionRecord(in.readDouble(), in.readDouble()));
+      }
+      cell.setQueueRecords(records);
+    }
+  }
+
   /**
    * Updates cell data for a given cell.
    * <p>
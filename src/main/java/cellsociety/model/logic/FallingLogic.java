@@ -5,6 +5,9 @@ import cellsociety.model.data.Grid;
 import cellsociety.model.data.cells.Cell;
 import cellsociety.model.data.neighbors.Direction;
 import cellsociety.model.data.states.FallingState;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -17,8 +20,13 @@ import java.util.List;
  */
 public class FallingLogic extends Logic<FallingState> {
 
+  private static final Direction BELOW = new Direction(1, 0);
+  private static final Direction BELOW_LEFT = new Direction(1, -1);
+  private static final Direction BELOW_RIGHT = new Direction(1, 1);
+
   private final List<Cell<FallingState>> sandCells = new ArrayList<>();
   private final List<Cell<FallingState>> waterCells = new ArrayList<>();
+  private final List<Cell<FallingState>> possibleTargets = new ArrayList<>();
 
   /**
    * Constructs a {@code FireLogic} instance with the specified grid and parameters.
@@ -51,13 +59,13 @@ public class FallingLogic extends Logic<FallingState> {
    * updated to finalize state changes.
    */
   @Override
-  public void update() {
+  protected void tick() {
     List<Cell<FallingState>> candidates = new ArrayList<>();
     candidates.addAll(sandCells);
     candidates.addAll(waterCells);
 
     if (!candidates.isEmpty()) {
-      int index = (int) (Math.random() * candidates.size());
+      int index = (int) (nextRandom() * candidates.size());
       Cell<FallingState> chosenCell = candidates.get(index);
       updateSingleCell(chosenCell);
     }
@@ -73,8 +81,32 @@ public class FallingLogic extends Logic<FallingState> {
     }
   }
 
+  /**
+   * Writes the sand and water particles in the order a random one is picked from.
+   *
+   * @param out the output to write the particles to
+   * @throws IOException if the particles cannot be written
+   */
+  @Override
+  protected void writeState(DataOutput out) throws IOException {
+    writeCells(out, sandCells);
+    writeCells(out, waterCells);
+  }
+
+  /**
+   * Replaces the sand and water particles found on the grid with the checkpointed ones.
+   *
+   * @param in the input to read the particles from
+   * @throws IOException if the particles cannot be read
+   */
+  @Override
+  protected void readState(DataInput in) throws IOException {
+    readCells(in, sandCells);
+    readCells(in, waterCells);
+  }
+
   private void moveSand(Cell<FallingState> cell) {
-    Cell<FallingState> below = cell.getNeighbors().get(new Direction(1, 0));
+    Cell<FallingState> below = cell.getNeighbors().get(BELOW);
     if (below != null) {
       if (below.getCurrentState() == FallingState.EMPTY) {
         below.setNextState(FallingState.SAND);
@@ -100,12 +132,12 @@ public class FallingLogic extends Logic<FallingState> {
 
   private void moveWater(Cell<FallingState> cell) {
     // Identify each "downward" neighbor
-    Cell<FallingState> below = cell.getNeighbors().get(new Direction(1, 0));
-    Cell<FallingState> belowLeft = cell.getNeighbors().get(new Direction(1, -1));
-    Cell<FallingState> belowRight = cell.getNeighbors().get(new Direction(1, 1));
+    Cell<FallingState> below = cell.getNeighbors().get(BELOW);
+    Cell<FallingState> belowLeft = cell.getNeighbors().get(BELOW_LEFT);
+    Cell<FallingState> belowRight = cell.getNeighbors().get(BELOW_RIGHT);
 
     // Collect all empty downward neighbors into a list
-    List<Cell<FallingState>> possibleTargets = new ArrayList<>();
+    possibleTargets.clear();
     if (below != null && below.getCurrentState() == FallingState.EMPTY) {
       possibleTargets.add(below);
     }
@@ -117,7 +149,7 @@ public class FallingLogic extends Logic<FallingState> {
     }
     if (!possibleTargets.isEmpty()) {
       Cell<FallingState> target = possibleTargets.get(
-          (int) (Math.random() * possibleTargets.size()));
+          (int) (nextRandom() * possibleTargets.size()));
       target.setNextState(FallingState.WATER);
       cell.setNextState(FallingState.EMPTY);
       waterCells.remove(cell);
@@ -4,8 +4,6 @@ import cellsociety.model.config.ParameterRecord;
 import cellsociety.model.data.Grid;
 import cellsociety.model.data.cells.Cell;
 import cellsociety.model.data.states.FireState;
-import java.util.ArrayList;
-import java.util.List;
 
 /**
  * Concrete implementation of {@link Logic} for the Fire Spread simulation.
@@ -105,33 +103,20 @@ public class FireLogic extends Logic<FireState> {
     FireState currentState = cell.getCurrentState();
 
     if (currentState == FireState.BURNING) {
-      List<Cell<FireState>> treeNeighbors = getTreeNeighbors(cell);
-      for (Cell<FireState> neighbor : treeNeighbors) {
-        if (Math.random() < probCatch) {
+      for (Cell<FireState> neighbor : cell.getNeighbors().values()) {
+        if (neighbor.getCurrentState() == FireState.TREE && nextRandom() < probCatch) {
           neighbor.setNextState(FireState.BURNING);
         }
       }
       cell.setNextState(FireState.EMPTY);
     } else if (currentState == FireState.TREE) {
-      if (Math.random() < probIgnite) {
+      if (nextRandom() < probIgnite) {
         cell.setNextState(FireState.BURNING);
       }
     } else if (currentState == FireState.EMPTY) {
-      if (Math.random() < probTree) {
+      if (nextRandom() < probTree) {
         cell.setNextState(FireState.TREE);
       }
     }
   }
-
-  private List<Cell<FireState>> getTreeNeighbors(Cell<FireState> cell) {
-    List<Cell<FireState>> openNeighbors = new ArrayList<>();
-
-    for (Cell<FireState> neighbor : cell.getNeighbors().values()) {
-      FireState neighborState = neighbor.getCurrentState();
-      if (neighborState == FireState.TREE) {
-        openNeighbors.add(neighbor);
-      }
-    }
-    return openNeighbors;
-  }
 }
@@ -1,19 +1,31 @@
 package cellsociety.model.logic;
 
 import cellsociety.logging.Log;
+import cellsociety.logging.events.TickEvent;
 import cellsociety.model.config.ParameterRecord;
 import cellsociety.model.data.Grid;
 import cellsociety.model.data.cells.Cell;
 import cellsociety.model.data.neighbors.Direction;
 import cellsociety.model.data.states.State;
+import java.io.DataInput;
+import java.io.DataOutput;
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.List;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Abstract superclass responsible for managing the logic of a cellular automaton. Subclasses should
  * implement specific rules.
+ * <p>
+ * A logic can be checkpointed and resumed. The checkpoint holds the state of the random generator
+ * used by {@link #nextRandom()} followed by whatever private state a subclass writes in
+ * {@link #writeState(DataOutput)}, such as the creatures it tracks, with cells referenced by their
+ * row-major index. The cell states and properties are not part of it; they are saved with the
+ * grid.
  *
  * @param <T> The enum type representing the cell state
  * @author Jacob You
@@ -25,6 +37,8 @@ public abstract class Logic<T extends Enum<T> & State> {
   private final String logicClassName;
   private static final Properties logicProps = new Properties();
   private static final String propertyFile = "/cellsociety/property/Parameters.properties";
+  private long randomState = ThreadLocalRandom.current().nextLong();
+  private Map<Cell<T>, Integer> cellIndices;
 
   static {
     try (InputStream is = Logic.class.getResourceAsStream(propertyFile)) {
@@ -141,10 +155,28 @@ public abstract class Logic<T extends Enum<T> & State> {
   }
 
   /**
-   * Updates the entire game state by one tick, applying the logic to each cell. The grid is updated
-   * after all cells have processed their next states.
+   * Updates the entire game state by one tick through {@link #tick()}, which is recorded as a
+   * {@link TickEvent} when Flight Recorder has the event enabled.
    */
-  public void update() {
+  public final void update() {
+    TickEvent event = new TickEvent();
+    event.begin();
+    tick();
+    event.end();
+    if (event.shouldCommit()) {
+      event.simulation = logicClassName.replace("Logic", "");
+      event.numRows = grid.getNumRows();
+      event.numCols = grid.getNumCols();
+      event.changedCells = grid.getChangedCells();
+      event.commit();
+    }
+  }
+
+  /**
+   * Computes one tick, applying the logic to each cell. The grid is updated after all cells have
+   * processed their next states. Subclasses whose rules do not work cell by cell override this.
+   */
+  protected void tick() {
     int numRows = grid.getNumRows();
     int numCols = grid.getNumCols();
 
@@ -158,4 +190,158 @@ public abstract class Logic<T extends Enum<T> & State> {
   }
 
   protected abstract void updateSingleCell(Cell<T> cell);
+
+  /**
+   * Seeds the random generator of this logic, so that two logics seeded alike make the same random
+   * choices.
+   *
+   * @param seed the seed
+   */
+  public void seedRandom(long seed) {
+    randomState = seed;
+  }
+
+  /**
+   * Returns the next pseudorandom value of this logic's generator. Subclasses use it instead of
+   * {@link Math#random()} so that a seeded or resumed run makes the same choices.
+   *
+   * @return a value greater than or equal to 0.0 and less than 1.0
+   */
+  public double nextRandom() {
+    // SplitMix64, whose whole state is a single long that can be checkpointed
+    long z = randomState += 0x9E3779B97F4A7C15L;
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    z ^= z >>> 31;
+    return (z >>> 11) * 0x1.0p-53;
+  }
+
+  /**
+   * Returns the number of elements held in the collections this logic keeps between ticks, such
+   * as lists of agent cells, so that the memory use of the simulation can be estimated without
+   * inspecting the logic. Subclasses that keep collections override this method.
+   *
+   * @return the number of elements held by this logic, 0 by default
+   */
+  public int getCollectionSize() {
+    return 0;
+  }
+
+  /**
+   * Writes a checkpoint of this logic: the state of its random generator followed by the private
+   * state of the subclass.
+   *
+   * @param out the output to write the checkpoint to
+   * @throws IOException if the checkpoint cannot be written
+   */
+  public final void writeCheckpoint(DataOutput out) throws IOException {
+    try {
+      out.writeLong(randomState);
+      writeState(out);
+    } finally {
+      cellIndices = null;
+    }
+  }
+
+  /**
+   * Resumes this logic from a checkpoint written by {@link #writeCheckpoint(DataOutput)}. The grid
+   * must already hold the cell states and properties saved with the checkpoint.
+   *
+   * @param in the input to read the checkpoint from
+   * @throws IOException if the checkpoint cannot be read or does not match the grid
+   */
+  public final void readCheckpoint(DataInput in) throws IOException {
+    randomState = in.readLong();
+    readState(in);
+  }
+
+  /**
+   * Writes the private state of the subclass that is not stored in the cells. Logics without such
+   * state do not need to override this method.
+   *
+   * @param out the output to write the state to
+   * @throws IOException if the state cannot be written
+   */
+  protected void writeState(DataOutput out) throws IOException {
+  }
+
+  /**
+   * Reads the private state written by {@link #writeState(DataOutput)}, replacing the state this
+   * logic built when it was created.
+   *
+   * @param in the input to read the state from
+   * @throws IOException if the state cannot be read
+   */
+  protected void readState(DataInput in) throws IOException {
+  }
+
+  /**
+   * Writes a reference to a cell of the grid as its row-major index.
+   *
+   * @param out  the output to write to
+   * @param cell the cell, which must belong to the grid
+   * @throws IOException if the cell does not belong to the grid or cannot be written
+   */
+  protected void writeCell(DataOutput out, Cell<T> cell) throws IOException {
+    if (cellIndices == null) {
+      // Only built once a cell is written, so logics without cell references stay cheap
+      cellIndices = new IdentityHashMap<>();
+      for (int row = 0; row < grid.getNumRows(); row++) {
+        for (int col = 0; col < grid.getNumCols(); col++) {
+          cellIndices.put(grid.getCell(row, col), row * grid.getNumCols() + col);
+        }
+      }
+    }
+    Integer index = cellIndices.get(cell);
+    if (index == null) {
+      throw new IOException("error-unknownCheckpointCell");
+    }
+    out.writeInt(index);
+  }
+
+  /**
+   * Reads a reference to a cell written by {@link #writeCell(DataOutput, Cell)}.
+   *
+   * @param in the input to read from
+   * @return the referenced cell of the grid
+   * @throws IOException if the index lies outside the grid or cannot be read
+   */
+  protected Cell<T> readCell(DataInput in) throws IOException {
+    int index = in.readInt();
+    int numCols = grid.getNumCols();
+    if (index < 0 || index >= grid.getNumRows() * numCols) {
+      throw new IOException("error-invalidCheckpointCell," + index);
+    }
+    return grid.getCell(index / numCols, index % numCols);
+  }
+
+  /**
+   * Writes the cells of a collection in iteration order.
+   *
+   * @param out   the output to write to
+   * @param cells the cells, which must belong to the grid
+   * @throws IOException if a cell does not belong to the grid or cannot be written
+   */
+  protected void writeCells(DataOutput out, Collection<Cell<T>> cells) throws IOException {
+    out.writeInt(cells.size());
+    for (Cell<T> cell : cells) {
+      writeCell(out, cell);
+    }
+  }
+
+  /**
+   * Replaces the contents of a collection with the cells written by
+   * {@link #writeCells(DataOutput, Collection)}.
+   *
+   * @param in    the input to read from
+   * @param cells the collection to fill
+   * @throws IOException if a cell lies outside the grid or cannot be read
+   */
+  protected void readCells(DataInput in, Collection<Cell<T>> cells) throws IOException {
+    cells.clear();
+    int numCells = in.readInt();
+    for (int i = 0; i < numCells; i++) {
+      cells.add(readCell(in));
+    }
+  }
 }
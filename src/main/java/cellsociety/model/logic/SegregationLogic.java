@@ -4,6 +4,9 @@ import cellsociety.model.config.ParameterRecord;
 import cellsociety.model.data.Grid;
 import cellsociety.model.data.cells.Cell;
 import cellsociety.model.data.states.SegregationState;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -79,7 +82,7 @@ public class SegregationLogic extends Logic<SegregationState> {
     }
     if ((cell.getCurrentState() != SegregationState.OPEN) && (getProportionSimilarNeighbors(cell)
         < satisfiedThreshold)) {
-      int randomEmptyIndex = (int) (Math.random() * empty.size());
+      int randomEmptyIndex = (int) (nextRandom() * empty.size());
       Cell<SegregationState> selectedCell = empty.get(randomEmptyIndex);
 
       selectedCell.setNextState(cell.getCurrentState());
@@ -90,6 +93,28 @@ public class SegregationLogic extends Logic<SegregationState> {
     }
   }
 
+  /**
+   * Writes the empty cells in the order an unsatisfied agent picks one from.
+   *
+   * @param out the output to write the empty cells to
+   * @throws IOException if the empty cells cannot be written
+   */
+  @Override
+  protected void writeState(DataOutput out) throws IOException {
+    writeCells(out, empty);
+  }
+
+  /**
+   * Replaces the empty cells found on the grid with the checkpointed ones.
+   *
+   * @param in the input to read the empty cells from
+   * @throws IOException if the empty cells cannot be read
+   */
+  @Override
+  protected void readState(DataInput in) throws IOException {
+    readCells(in, empty);
+  }
+
   /**
    * Calculates the proportion of similar neighbors surrounding a given cell.
    *
@@ -5,6 +5,9 @@ import cellsociety.model.data.Grid;
 import cellsociety.model.data.cells.Cell;
 import cellsociety.model.data.states.SugarState;
 import cellsociety.model.data.neighbors.Direction;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.List;
@@ -55,7 +58,7 @@ public class SugarLogic extends Logic<SugarState> {
    * Then, applies next states to the grid.
    */
   @Override
-  public void update() {
+  protected void tick() {
     tick++;
     if (tick % sugarGrowBackInterval == 0) {
       growSugar();
@@ -67,6 +70,16 @@ public class SugarLogic extends Logic<SugarState> {
     grid.updateGrid();
   }
 
+  /**
+   * Returns the number of agent and patch cells this logic keeps track of.
+   *
+   * @return the number of tracked cells
+   */
+  @Override
+  public int getCollectionSize() {
+    return agentCells.size() + patchCells.size();
+  }
+
   /**
    * Updates a single cell that contains an agent: the agent tries to find the best patch with the
    * most sugar, moves and consumes sugar, or else remains and loses sugar through metabolism.
@@ -183,6 +196,30 @@ public class SugarLogic extends Logic<SugarState> {
     this.sugarGrowBackInterval = sugarGrowBackInterval;
   }
 
+  /**
+   * Writes the tick count that times the sugar grow-back and the agents in the order they move.
+   *
+   * @param out the output to write the state to
+   * @throws IOException if the state cannot be written
+   */
+  @Override
+  protected void writeState(DataOutput out) throws IOException {
+    out.writeInt(tick);
+    writeCells(out, agentCells);
+  }
+
+  /**
+   * Replaces the tick count and the agents found on the grid with the checkpointed ones.
+   *
+   * @param in the input to read the state from
+   * @throws IOException if the state cannot be read
+   */
+  @Override
+  protected void readState(DataInput in) throws IOException {
+    tick = in.readInt();
+    readCells(in, agentCells);
+  }
+
   private void initializeCells() {
     int rows = grid.getNumRows();
     int cols = grid.getNumCols();
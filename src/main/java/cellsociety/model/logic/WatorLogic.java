@@ -4,6 +4,9 @@ import cellsociety.model.config.ParameterRecord;
 import cellsociety.model.data.Grid;
 import cellsociety.model.data.cells.Cell;
 import cellsociety.model.data.states.WatorState;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -24,6 +27,8 @@ public class WatorLogic extends Logic<WatorState> {
   private static double fishReproductionTime;
   private final List<Cell<WatorState>> sharkCells;
   private final List<Cell<WatorState>> fishCells;
+  private final List<Cell<WatorState>> fishNeighbors = new ArrayList<>();
+  private final List<Cell<WatorState>> openNeighbors = new ArrayList<>();
   private static Map<String, Double> baseSharkProperties;
   private static Map<String, Double> baseFishProperties;
 
@@ -143,7 +148,7 @@ public class WatorLogic extends Logic<WatorState> {
    * state transitions.
    */
   @Override
-  public void update() {
+  protected void tick() {
     List<Cell<WatorState>> currentSharks = new ArrayList<>(sharkCells);
     for (Cell<WatorState> sharkCell : currentSharks) {
       updateSingleCell(sharkCell);
@@ -157,6 +162,40 @@ public class WatorLogic extends Logic<WatorState> {
     grid.updateGrid();
   }
 
+  /**
+   * Returns the number of sharks and fish this logic keeps track of.
+   *
+   * @return the number of tracked creature cells
+   */
+  @Override
+  public int getCollectionSize() {
+    return sharkCells.size() + fishCells.size();
+  }
+
+  /**
+   * Writes the sharks and fish in the order they move.
+   *
+   * @param out the output to write the creatures to
+   * @throws IOException if the creatures cannot be written
+   */
+  @Override
+  protected void writeState(DataOutput out) throws IOException {
+    writeCells(out, sharkCells);
+    writeCells(out, fishCells);
+  }
+
+  /**
+   * Replaces the sharks and fish found on the grid with the checkpointed ones.
+   *
+   * @param in the input to read the creatures from
+   * @throws IOException if the creatures cannot be read
+   */
+  @Override
+  protected void readState(DataInput in) throws IOException {
+    readCells(in, sharkCells);
+    readCells(in, fishCells);
+  }
+
   private static void initializePropertyMaps() {
     if (baseSharkProperties == null) {
       baseSharkProperties = new HashMap<>();
@@ -181,8 +220,8 @@ public class WatorLogic extends Logic<WatorState> {
   }
 
   private Cell<WatorState> getNextSharkLocation(Cell<WatorState> sharkCell) {
-    List<Cell<WatorState>> fishNeighbors = new ArrayList<>();
-    List<Cell<WatorState>> openNeighbors = new ArrayList<>();
+    fishNeighbors.clear();
+    openNeighbors.clear();
     for (Cell<WatorState> neighbor : sharkCell.getNeighbors().values()) {
       if (neighbor.getNextState() == WatorState.FISH) {
         fishNeighbors.add(neighbor);
@@ -193,10 +232,10 @@ public class WatorLogic extends Logic<WatorState> {
     }
     Cell<WatorState> nextLocation = sharkCell;
     if (!fishNeighbors.isEmpty()) {
-      int index = (int) (Math.random() * fishNeighbors.size());
+      int index = (int) (nextRandom() * fishNeighbors.size());
       nextLocation = fishNeighbors.get(index);
     } else if (!openNeighbors.isEmpty()) {
-      int index = (int) (Math.random() * openNeighbors.size());
+      int index = (int) (nextRandom() * openNeighbors.size());
       nextLocation = openNeighbors.get(index);
     }
     return nextLocation;
@@ -249,7 +288,7 @@ public class WatorLogic extends Logic<WatorState> {
   }
 
   private Cell<WatorState> getNextFishLocation(Cell<WatorState> fishCell) {
-    List<Cell<WatorState>> openNeighbors = new ArrayList<>();
+    openNeighbors.clear();
     for (Cell<WatorState> neighbor : fishCell.getNeighbors().values()) {
       if (neighbor.getNextState() == WatorState.OPEN) {
         openNeighbors.add(neighbor);
@@ -257,7 +296,7 @@ public class WatorLogic extends Logic<WatorState> {
     }
     Cell<WatorState> nextLocation = fishCell;
     if (!openNeighbors.isEmpty()) {
-      int index = (int) (Math.random() * openNeighbors.size());
+      int index = (int) (nextRandom() * openNeighbors.size());
       nextLocation = openNeighbors.get(index);
     }
     return nextLocation;
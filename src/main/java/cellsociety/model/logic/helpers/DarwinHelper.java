@@ -343,7 +343,7 @@ public class DarwinHelper {
    * @return the result of executing the subsequent instruction
    */
   private InstructionResult executeIfrandom(Cell<DarwinState> cell, int argument) {
-    if (Math.random() < 0.5) {
+    if (darwinLogic.nextRandom() < 0.5) {
       return executeGo(cell, argument);
     }
     return executeGo(cell, (int) (cell.getProperty("instructionIndex") + 1));
@@ -2,6 +2,7 @@ package cellsociety.model.modelAPI;
 
 import cellsociety.model.data.Grid;
 import cellsociety.model.data.cells.Cell;
+import cellsociety.model.data.states.State;
 import java.awt.Color;
 import java.io.File;
 import java.io.FileOutputStream;
@@ -80,6 +81,33 @@ public class CellColorManager {
     return propertyColor != null ? propertyColor : stateColor;
   }
 
+  /**
+   * Returns the state colors of the current simulation as a palette indexed by state value. This
+   * lets callers resolve bulk-exported state values to colors without a lookup per cell. Property
+   * based colors are not part of the palette.
+   *
+   * @return an array where index i holds the color of the state with value i, or null if unused
+   */
+  public String[] getStatePalette() {
+    if (grid == null || grid.getNumRows() == 0 || grid.getNumCols() == 0) {
+      return new String[0];
+    }
+    Enum<?> sample = grid.getCell(0, 0).getCurrentState();
+    Enum<?>[] states = sample.getDeclaringClass().getEnumConstants();
+    int maxValue = 0;
+    for (Enum<?> state : states) {
+      maxValue = Math.max(maxValue, ((State) state).getValue());
+    }
+
+    String[] palette = new String[maxValue + 1];
+    String statePrefix = sample.getDeclaringClass().getSimpleName();
+    for (Enum<?> state : states) {
+      String key = statePrefix + "." + state.name();
+      palette[((State) state).getValue()] = USER_STYLE_PREFERENCES.getProperty(key, "WHITE");
+    }
+    return palette;
+  }
+
   /**
    * Determines the color from the cell's current state. It uses the cell's state (for example,
    * "AntState.EMPTY" or "FireState.BURNING") as a key in the properties file.
@@ -0,0 +1,118 @@
+package cellsociety.model.modelAPI;
+
+import java.util.Arrays;
+
+/**
+ * The LatencyHistogram class counts durations in a fixed set of buckets, so recording one costs a
+ * few instructions and no allocation no matter how many are recorded. Durations below 16
+ * nanoseconds get a bucket each; above that, every power of two is split into 16 buckets, so a
+ * reported percentile is at most 1/16 above the true value. The maximum is kept exactly.
+ * <p>
+ * A histogram is meant to be recorded by a single thread. Reading it from another thread gives
+ * values that may be slightly behind but never fails.
+ *
+ * @author Billy McCune
+ */
+public class LatencyHistogram {
+
+  private static final int SUB_BUCKET_BITS = 4;
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  private static final int NUM_BUCKETS = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+  private static final double NANOS_PER_MILLI = 1e6;
+
+  private final long[] counts = new long[NUM_BUCKETS];
+  private long count;
+  private long max;
+
+  /**
+   * Records a duration.
+   *
+   * @param nanos the duration in nanoseconds; negative durations count as 0
+   */
+  public void record(long nanos) {
+    long value = Math.max(0, nanos);
+    counts[bucketOf(value)]++;
+    count++;
+    if (value > max) {
+      max = value;
+    }
+  }
+
+  /**
+   * Returns the number of recorded durations.
+   *
+   * @return the number of durations
+   */
+  public long getCount() {
+    return count;
+  }
+
+  /**
+   * Returns the longest recorded duration.
+   *
+   * @return the maximum in nanoseconds, or 0 if nothing was recorded
+   */
+  public long getMax() {
+    return max;
+  }
+
+  /**
+   * Returns the duration that the given percentage of recorded durations do not exceed.
+   *
+   * @param percent the percentile, between 0 and 100
+   * @return the percentile in nanoseconds, or 0 if nothing was recorded
+   */
+  public long getPercentile(double percent) {
+    long total = count;
+    if (total == 0) {
+      return 0;
+    }
+    long rank = Math.max(1, (long) Math.ceil(percent / 100 * total));
+    long seen = 0;
+    for (int bucket = 0; bucket < NUM_BUCKETS; bucket++) {
+      seen += counts[bucket];
+      if (seen >= rank) {
+        return Math.min(max, upperBoundOf(bucket));
+      }
+    }
+    return max;
+  }
+
+  /**
+   * Returns the median, 99th percentile and maximum of the recorded durations.
+   *
+   * @return a summary of the histogram in milliseconds
+   */
+  public SimulationMetrics.Latency summarize() {
+    return new SimulationMetrics.Latency(count, getPercentile(50) / NANOS_PER_MILLI,
+        getPercentile(99) / NANOS_PER_MILLI, max / NANOS_PER_MILLI);
+  }
+
+  /**
+   * Discards all recorded durations.
+   */
+  public void reset() {
+    Arrays.fill(counts, 0);
+    count = 0;
+    max = 0;
+  }
+
+  private static int bucketOf(long value) {
+    if (value < SUB_BUCKETS) {
+      return (int) value;
+    }
+    int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+    int shift = exponent - SUB_BUCKET_BITS;
+    int subBucket = (int) (value >>> shift) & (SUB_BUCKETS - 1);
+    return (shift + 1) * SUB_BUCKETS + subBucket;
+  }
+
+  private static long upperBoundOf(int bucket) {
+    if (bucket < SUB_BUCKETS) {
+      return bucket;
+    }
+    int shift = bucket / SUB_BUCKETS - 1;
+    long lowerBound = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+    return lowerBound + (1L << shift) - 1;
+  }
+}
@@ -0,0 +1,244 @@
+package cellsociety.model.modelAPI;
+
+import cellsociety.model.config.CellRecord;
+import cellsociety.model.config.ConfigInfo;
+import cellsociety.model.data.Grid;
+import cellsociety.model.data.cells.Cell;
+import cellsociety.model.data.constants.EdgeType;
+import cellsociety.model.data.constants.GridShape;
+import cellsociety.model.data.constants.NeighborType;
+import cellsociety.model.data.neighbors.Direction;
+import cellsociety.model.data.neighbors.NeighborCalculator;
+import cellsociety.model.data.states.LifeState;
+import cellsociety.model.logic.Logic;
+import java.util.ArrayDeque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+
+/**
+ * The MemoryEstimator class estimates the retained size of a simulation without a heap dump. It
+ * either walks a loaded grid and counts the objects each cell holds, or extrapolates the same
+ * counts from the size, shape and neighbor radius of a grid that has not been loaded yet, so that
+ * a configuration too large for the heap can be refused before it is built.
+ * <p>
+ * The sizes follow the object layout of a 64-bit JVM with compressed references: a 12 byte object
+ * header, 4 byte references and 8 byte alignment. They are estimates, as the strings and states
+ * shared between cells are not counted and the JVM may lay out objects differently.
+ *
+ * @author Billy McCune
+ */
+public class MemoryEstimator {
+
+  // Object layout
+  private static final int OBJECT_HEADER = 12;
+  private static final int ARRAY_HEADER = 16;
+  private static final int REFERENCE = 4;
+  private static final int ALIGNMENT = 8;
+
+  // Sizes of the objects the model is made of
+  private static final long CELL_BYTES = align(OBJECT_HEADER + 5 * REFERENCE);
+  private static final long ARRAY_LIST_BYTES = align(OBJECT_HEADER + 2 * Integer.BYTES
+      + REFERENCE);
+  private static final long HASH_MAP_BYTES = align(OBJECT_HEADER + 4 * REFERENCE
+      + 3 * Integer.BYTES + Float.BYTES);
+  private static final long HASH_NODE_BYTES = align(OBJECT_HEADER + Integer.BYTES
+      + 3 * REFERENCE);
+  private static final long ARRAY_DEQUE_BYTES = align(OBJECT_HEADER + REFERENCE
+      + 2 * Integer.BYTES);
+  private static final int ARRAY_DEQUE_CAPACITY = 17;
+  private static final long DIRECTION_BYTES = align(OBJECT_HEADER + 2 * Integer.BYTES);
+  private static final long BOXED_BYTES = align(OBJECT_HEADER + Double.BYTES);
+  private static final long QUEUE_RECORD_BYTES = align(OBJECT_HEADER + 2 * REFERENCE);
+  private static final int HASH_MAP_CAPACITY = 16;
+  private static final double HASH_MAP_LOAD_FACTOR = 0.75;
+
+  // Estimated size of a cell polygon in the view, which holds its points as boxed doubles
+  private static final long VIEW_NODE_BYTES = 1024;
+
+  private MemoryEstimator() {
+  }
+
+  /**
+   * Measures the footprint of a loaded simulation by walking its grid. The view nodes are
+   * estimated from the number of cells, as the model does not know the view.
+   *
+   * @param grid         the grid of the simulation
+   * @param logic        the game logic of the simulation, or null if there is none
+   * @param historyBytes the bytes used by the rewind history
+   * @return the measured footprint
+   */
+  public static MemoryFootprint measure(Grid<?> grid, Logic<?> logic, long historyBytes) {
+    int numRows = grid.getNumRows();
+    int numCols = grid.getNumCols();
+    long numCells = (long) numRows * numCols;
+    long neighbors = 0;
+    long properties = 0;
+    long queues = 0;
+    for (int row = 0; row < numRows; row++) {
+      for (int col = 0; col < numCols; col++) {
+        Cell<?> cell = grid.getCell(row, col);
+        int numNeighbors = cell.getNeighbors() == null ? 0 : cell.getNeighbors().size();
+        neighbors += getNeighborBytes(numNeighbors);
+        properties += getPropertyBytes(cell.getAllProperties());
+        queues += getQueueBytes(cell.getQueueRecords().size());
+      }
+    }
+    return new MemoryFootprint(getCellBytes(numRows, numCols), neighbors, properties, queues,
+        getBufferBytes(numCells), getLogicBytes(logic), historyBytes,
+        getViewBytes(grid.getShape(), numCells));
+  }
+
+  /**
+   * Extrapolates the footprint of a configuration before it is loaded, from the size, shape,
+   * neighbors and properties of its grid. The logic and the rewind history are not known before
+   * the simulation runs and are left out.
+   *
+   * @param configInfo the configuration to estimate
+   * @return the extrapolated footprint
+   */
+  public static MemoryFootprint extrapolate(ConfigInfo configInfo) {
+    List<List<CellRecord>> cells = configInfo.myGrid();
+    int numRows = cells.size();
+    int numCols = numRows == 0 ? 0 : cells.getFirst().size();
+    long numProperties = 0;
+    for (List<CellRecord> row : cells) {
+      for (CellRecord record : row) {
+        numProperties += record.properties() == null ? 0 : record.properties().size();
+      }
+    }
+    int neighborRadius = configInfo.neighborRadius() == null ? 1 : configInfo.neighborRadius();
+    return extrapolate(numRows, numCols,
+        GridShape.valueOf(configInfo.myCellShapeType().name()),
+        NeighborType.valueOf(configInfo.myneighborArrangementType().name()), neighborRadius,
+        (double) numProperties / Math.max(1, (long) numRows * numCols));
+  }
+
+  /**
+   * Extrapolates the footprint of a grid of the given size before it is created. Every cell is
+   * assumed to have as many neighbors as a cell away from the edges, so the estimate is an upper
+   * bound for grids with bounded edges.
+   *
+   * @param numRows           the number of rows of the grid
+   * @param numCols           the number of columns of the grid
+   * @param shape             the shape of the cells
+   * @param neighborType      the neighbor arrangement
+   * @param neighborRadius    the number of steps neighbors are collected over
+   * @param propertiesPerCell the average number of properties of a cell
+   * @return the extrapolated footprint
+   */
+  public static MemoryFootprint extrapolate(int numRows, int numCols, GridShape shape,
+      NeighborType neighborType, int neighborRadius, double propertiesPerCell) {
+    long numCells = (long) numRows * numCols;
+    long numNeighbors = Math.min(countNeighbors(shape, neighborType, neighborRadius),
+        Math.max(0, numCells - 1));
+    long numProperties = Math.round(propertiesPerCell);
+    long properties = HASH_MAP_BYTES + (numProperties == 0 ? 0
+        : getTableBytes(numProperties) + numProperties * (HASH_NODE_BYTES + BOXED_BYTES));
+    return new MemoryFootprint(getCellBytes(numRows, numCols),
+        numCells * getNeighborBytes(numNeighbors), numCells * properties,
+        numCells * getQueueBytes(0), getBufferBytes(numCells), 0, 0,
+        getViewBytes(shape, numCells));
+  }
+
+  /* PRIVATE HELPER METHODS */
+
+  /**
+   * Counts the distinct cells within the neighbor radius of a cell away from the edges. Hexagonal
+   * and triangular cells flip their offsets with their parity, so the count is averaged over both.
+   */
+  private static long countNeighbors(GridShape shape, NeighborType neighborType,
+      int neighborRadius) {
+    NeighborCalculator<LifeState> calculator =
+        new NeighborCalculator<>(shape, neighborType, EdgeType.BASE);
+    return (countNeighbors(calculator, 0, 0, neighborRadius)
+        + countNeighbors(calculator, 0, 1, neighborRadius) + 1) / 2;
+  }
+
+  private static long countNeighbors(NeighborCalculator<?> calculator, int startRow,
+      int startCol, int neighborRadius) {
+    Set<Direction> visited = new HashSet<>();
+    Queue<Direction> frontier = new ArrayDeque<>();
+    visited.add(new Direction(startRow, startCol));
+    frontier.add(new Direction(startRow, startCol));
+    for (int step = 0; step < neighborRadius && !frontier.isEmpty(); step++) {
+      for (int i = frontier.size(); i > 0; i--) {
+        Direction position = frontier.poll();
+        for (Direction offset : calculator.getDirections(position.dy(), position.dx())) {
+          Direction next = new Direction(position.dy() + offset.dy(),
+              position.dx() + offset.dx());
+          if (visited.add(next)) {
+            frontier.add(next);
+          }
+        }
+      }
+    }
+    return visited.size() - 1;
+  }
+
+  private static long getCellBytes(long numRows, long numCols) {
+    long rows = ARRAY_LIST_BYTES + getArrayBytes(numRows, REFERENCE);
+    long row = ARRAY_LIST_BYTES + getArrayBytes(numCols, REFERENCE);
+    return rows + numRows * row + numRows * numCols * CELL_BYTES;
+  }
+
+  private static long getNeighborBytes(long numNeighbors) {
+    return HASH_MAP_BYTES + (numNeighbors == 0 ? 0 : getTableBytes(numNeighbors))
+        + numNeighbors * (HASH_NODE_BYTES + DIRECTION_BYTES);
+  }
+
+  private static long getPropertyBytes(Map<String, Double> properties) {
+    if (properties == null) {
+      return 0;
+    }
+    int size = properties.size();
+    return HASH_MAP_BYTES + (size == 0 ? 0 : getTableBytes(size))
+        + size * (HASH_NODE_BYTES + BOXED_BYTES);
+  }
+
+  private static long getQueueBytes(int size) {
+    return ARRAY_DEQUE_BYTES + getArrayBytes(Math.max(ARRAY_DEQUE_CAPACITY, size + 1), REFERENCE)
+        + size * QUEUE_RECORD_BYTES;
+  }
+
+  private static long getBufferBytes(long numCells) {
+    return getArrayBytes(numCells, Integer.BYTES);
+  }
+
+  private static long getViewBytes(GridShape shape, long numCells) {
+    // Every cell keeps its vertices in the cached vertex buffer of the drawer
+    int numVertices = switch (shape) {
+      case SQUARE -> 4;
+      case HEX -> 6;
+      case TRI -> 3;
+    };
+    return numCells * (VIEW_NODE_BYTES + 2L * numVertices * (BOXED_BYTES + REFERENCE))
+        + getArrayBytes(numCells * 2 * numVertices, Double.BYTES);
+  }
+
+  /**
+   * Counts the lists the logic reports. Their elements are cells already counted with the grid,
+   * so only the slots of the lists are counted.
+   */
+  private static long getLogicBytes(Logic<?> logic) {
+    return logic == null ? 0 : getArrayBytes(logic.getCollectionSize(), REFERENCE);
+  }
+
+  private static long getTableBytes(long numEntries) {
+    long capacity = HASH_MAP_CAPACITY;
+    while (numEntries > capacity * HASH_MAP_LOAD_FACTOR) {
+      capacity *= 2;
+    }
+    return getArrayBytes(capacity, REFERENCE);
+  }
+
+  private static long getArrayBytes(long length, int elementBytes) {
+    return align(ARRAY_HEADER + length * elementBytes);
+  }
+
+  private static long align(long bytes) {
+    return (bytes + ALIGNMENT - 1) / ALIGNMENT * ALIGNMENT;
+  }
+}
@@ -0,0 +1,62 @@
+package cellsociety.model.modelAPI;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The MemoryFootprint record is an estimate of the memory a simulation retains, broken down by
+ * component. It is either measured from a loaded model by {@link ModelApi#getMemoryFootprint()} or
+ * extrapolated from a configuration before it is loaded by
+ * {@link ModelApi#estimateMemoryFootprint(cellsociety.model.config.ConfigInfo)}. The sizes are
+ * estimated from the object layout of a 64-bit JVM with compressed references, see
+ * {@link MemoryEstimator}.
+ *
+ * @param cells       the bytes of the cell objects and the rows holding them
+ * @param neighbors   the bytes of the neighbor maps of the cells
+ * @param properties  the bytes of the property maps of the cells
+ * @param queues      the bytes of the per-cell queues of pending updates
+ * @param gridBuffers the bytes of the state and population buffers of the grid
+ * @param logic       the bytes of the collections the game logic reports holding
+ * @param history     the bytes of the rewind history
+ * @param viewNodes   the bytes of the nodes drawing the cells in the view
+ * @author Billy McCune
+ */
+public record MemoryFootprint(long cells, long neighbors, long properties, long queues,
+                              long gridBuffers, long logic, long history, long viewNodes) {
+
+  /**
+   * Returns the estimated bytes of all components together.
+   *
+   * @return the total estimate in bytes
+   */
+  public long total() {
+    return cells + neighbors + properties + queues + gridBuffers + logic + history + viewNodes;
+  }
+
+  /**
+   * Returns the estimated bytes of the model alone, without the rewind history and the view.
+   *
+   * @return the estimate of the model in bytes
+   */
+  public long model() {
+    return cells + neighbors + properties + queues + gridBuffers + logic;
+  }
+
+  /**
+   * Returns the components by name, in the order of the record, for reporting.
+   *
+   * @return the bytes of each component
+   */
+  public Map<String, Long> getComponents() {
+    Map<String, Long> components = new LinkedHashMap<>();
+    components.put("cells", cells);
+    components.put("neighbors", neighbors);
+    components.put("properties", properties);
+    components.put("queues", queues);
+    components.put("gridBuffers", gridBuffers);
+    components.put("logic", logic);
+    components.put("history", history);
+    components.put("viewNodes", viewNodes);
+    return components;
+  }
+}
@@ -1,9 +1,14 @@
 package cellsociety.model.modelAPI;
 
 import cellsociety.model.config.CellRecord;
+import cellsociety.model.config.Checkpoint;
 import cellsociety.model.config.ConfigInfo;
 import cellsociety.model.config.ConfigInfo.SimulationType;
+import cellsociety.model.config.PackedCellGrid;
 import cellsociety.model.config.ParameterRecord;
+import cellsociety.model.config.RunFormat;
+import cellsociety.model.config.RunPlayer;
+import cellsociety.model.config.RunRecorder;
 import cellsociety.model.data.Grid;
 import cellsociety.model.data.cells.Cell;
 import cellsociety.model.data.cells.CellFactory;
@@ -11,14 +16,34 @@ import cellsociety.model.data.constants.EdgeType;
 import cellsociety.model.data.constants.GridShape;
 import cellsociety.model.data.constants.NeighborType;
 import cellsociety.model.data.neighbors.NeighborCalculator;
+import cellsociety.model.data.states.State;
+import cellsociety.logging.Log;
 import cellsociety.model.logic.Logic;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
+import java.nio.IntBuffer;
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
 
 /**
  * The ModelApi is responsible for managing all interactions with the model and the SceneController.
@@ -30,6 +55,13 @@ public class ModelApi {
 
   private static final String LOGIC_PACKAGE = "cellsociety.model.logic";
   private static final String STATE_PACKAGE = "cellsociety.model.data.states";
+  private static final int TICK_RATE_WINDOW = 64;
+  private static final long TICK_RATE_TIMEOUT_NANOS = 1_000_000_000L;
+  private static final double NANOS_PER_SECOND = 1e9;
+  private static final String MBEAN_DOMAIN = "cellsociety";
+  private static final long BYTES_PER_MEGABYTE = 1L << 20;
+  private static final int HISTORY_HEAP_SHARE = 4;
+  private static final AtomicInteger MBEAN_COUNT = new AtomicInteger();
   private ParameterRecord myParameterRecord;
   private ConfigInfo configInfo;
 
@@ -43,29 +75,500 @@ public class ModelApi {
   private Logic<?> gameLogic;
   private NeighborCalculator<?> myNeighborCalculator;
 
+  // Recording and playback
+  private RunRecorder myRunRecorder;
+  private RunPlayer myRunPlayer;
+
+  // Rewind history
+  private TickHistory myTickHistory;
+  private long myHistoryBudget;
+
+  // Metrics
+  private final LatencyHistogram myTickLatency = new LatencyHistogram();
+  private final LatencyHistogram myRenderLatency = new LatencyHistogram();
+  private final long[] myTickTimes = new long[TICK_RATE_WINDOW];
+  private long myTickCount;
+  private final List<Consumer<SimulationMetrics>> myMetricsListeners =
+      new CopyOnWriteArrayList<>();
+  private ObjectName myMBeanName;
 
   public ModelApi() {
   }
 
+  /**
+   * Sets the configuration the next {@link #resetModel()} builds the simulation from. A
+   * configuration whose estimated footprint does not fit in the free heap is refused, leaving the
+   * current configuration in place.
+   *
+   * @param configInfo the configuration to load
+   * @throws IllegalArgumentException if the simulation would not fit in the free heap
+   */
   public void setConfigInfo(ConfigInfo configInfo) {
+    checkMemory(configInfo);
+    closeRunFiles();
     this.configInfo = configInfo;
     this.myParameterRecord = configInfo.myParameters();
   }
 
 
   /**
-   * Updates the simulation by invoking the game logic update method.
+   * Updates the simulation by invoking the game logic update method. While a run is being recorded
+   * the new tick is appended to the recording, and while a run is being played back the next
+   * recorded tick is shown instead of computing one.
+   *
+   * @throws IllegalStateException if the recording cannot be written or the played back run cannot
+   *                               be read
    */
   public void updateSimulation() {
     if (grid == null || gameLogic == null) {
       return;
     }
+    if (myRunPlayer != null) {
+      stepPlayback();
+      return;
+    }
     try {
+      long start = System.nanoTime();
       gameLogic.update();
+      recordTickTime(start, System.nanoTime());
       myCellColorManager.setGrid(grid);
     } catch (NullPointerException e) {
       throw new NoSuchElementException(e.getMessage(), e);
     }
+    recordTick();
+    recordHistory();
+    notifyMetricsListeners();
+  }
+
+  /* METRICS */
+
+  /**
+   * Returns a snapshot of the metrics of the running simulation. Nothing in the snapshot requires
+   * scanning the grid.
+   *
+   * @return the current metrics
+   */
+  public SimulationMetrics getMetrics() {
+    return new SimulationMetrics(myTickCount, getTicksPerSecond(), myTickLatency.summarize(),
+        myRenderLatency.summarize(), grid == null ? 0 : grid.getChangedCells(), getPopulations(),
+        getGridRows(), getGridCols());
+  }
+
+  /**
+   * Adds a listener that receives a snapshot of the metrics after every tick. Snapshots are only
+   * taken while there are listeners.
+   *
+   * @param listener the listener to add
+   */
+  public void addMetricsListener(Consumer<SimulationMetrics> listener) {
+    myMetricsListeners.add(listener);
+  }
+
+  /**
+   * Removes a listener added with {@link #addMetricsListener(Consumer)}.
+   *
+   * @param listener the listener to remove
+   */
+  public void removeMetricsListener(Consumer<SimulationMetrics> listener) {
+    myMetricsListeners.remove(listener);
+  }
+
+  /**
+   * Records how long the view took to refresh the grid after a tick, so that it is part of the
+   * metrics.
+   *
+   * @param nanos the duration of the refresh in nanoseconds
+   */
+  public void recordRenderTime(long nanos) {
+    myRenderLatency.record(nanos);
+  }
+
+  /**
+   * Discards the recorded tick and render times and restarts the tick count. This happens
+   * whenever the model or grid is reset.
+   */
+  public void resetMetrics() {
+    myTickLatency.reset();
+    myRenderLatency.reset();
+    myTickCount = 0;
+  }
+
+  /**
+   * Returns an estimate of the memory taken by the simulation, see {@link #getMemoryFootprint()}.
+   *
+   * @return the estimated memory use in bytes
+   */
+  public long getEstimatedMemoryUse() {
+    return getMemoryFootprint().total();
+  }
+
+  /**
+   * Measures the estimated memory retained by the loaded simulation, broken down into the cells,
+   * their neighbors, properties and queues, the grid buffers, the collections of the game logic,
+   * the rewind history and the nodes drawing the cells. The grid is walked cell by cell, so this
+   * must be called on the thread running the simulation and not on every tick of a large grid.
+   *
+   * @return the estimated footprint, which is empty if no simulation is loaded
+   */
+  public MemoryFootprint getMemoryFootprint() {
+    long history = myTickHistory == null ? 0 : myTickHistory.getUsedMemory();
+    if (grid == null) {
+      return new MemoryFootprint(0, 0, 0, 0, 0, 0, history, 0);
+    }
+    return MemoryEstimator.measure(grid, gameLogic, history);
+  }
+
+  /**
+   * Extrapolates the memory a configuration would take once loaded, from the size, shape and
+   * neighbor radius of its grid, without building it.
+   *
+   * @param configInfo the configuration to estimate
+   * @return the extrapolated footprint, without the logic and the rewind history
+   */
+  public MemoryFootprint estimateMemoryFootprint(ConfigInfo configInfo) {
+    return MemoryEstimator.extrapolate(configInfo);
+  }
+
+  /* MANAGEMENT */
+
+  /**
+   * Registers a {@link SimulationMXBean} for this model with the platform MBean server, so that
+   * the simulation can be watched and controlled with standard JVM tooling. Every model is
+   * registered under its own name in the cellsociety domain. Registering again replaces the
+   * previous registration. A failure to register is logged and otherwise ignored, as the
+   * simulation runs the same without it. The memory estimate is first measured here, so this must
+   * be called on the thread running the simulation.
+   *
+   * @param control the driver of the simulation loop, used to pause, resume and change the speed
+   * @return the name the model was registered under, or null if it could not be registered
+   */
+  public ObjectName registerMBean(SimulationControl control) {
+    Objects.requireNonNull(control);
+    unregisterMBean();
+    MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    try {
+      ObjectName name = new ObjectName(MBEAN_DOMAIN + ":type=Simulation,name=simulation-"
+          + MBEAN_COUNT.incrementAndGet());
+      server.registerMBean(new SimulationMonitor(this, control), name);
+      myMBeanName = name;
+    } catch (JMException e) {
+      Log.error(e, "Failed to register the simulation MBean");
+    }
+    return myMBeanName;
+  }
+
+  /**
+   * Removes the registration made by {@link #registerMBean(SimulationControl)}, if any.
+   */
+  public void unregisterMBean() {
+    if (myMBeanName == null) {
+      return;
+    }
+    try {
+      ManagementFactory.getPlatformMBeanServer().unregisterMBean(myMBeanName);
+    } catch (JMException e) {
+      Log.error(e, "Failed to unregister the simulation MBean");
+    }
+    myMBeanName = null;
+  }
+
+  /**
+   * Returns the name this model is registered under with the platform MBean server.
+   *
+   * @return the name of the registered MBean, or null if the model is not registered
+   */
+  public ObjectName getMBeanName() {
+    return myMBeanName;
+  }
+
+  /**
+   * Enables the rewind history with the given memory budget, or disables it. The current grid is
+   * the first tick of a new history and every following call to {@link #updateSimulation()} adds
+   * one more tick. When the budget is exceeded the oldest ticks are evicted first.
+   *
+   * The budget is lowered whenever the grid is rebuilt and the heap left by a large grid is too
+   * small for it.
+   *
+   * @param memoryBudget the number of bytes the history may take, or 0 to disable it
+   */
+  public void setHistoryBudget(long memoryBudget) {
+    myHistoryBudget = memoryBudget;
+    myTickHistory = memoryBudget > 0
+        ? new TickHistory(memoryBudget, TickHistory.DEFAULT_KEYFRAME_INTERVAL) : null;
+    recordHistory();
+  }
+
+  /**
+   * Steps the simulation back the given number of ticks without re-simulating them. While a run is
+   * played back this seeks the run instead. The ticks after the one stepped back to are discarded,
+   * so the next update continues from there. The grid and the game logic are restored from the
+   * nearest keyframe before the target tick, and the ticks from there to the target are
+   * re-simulated, so the private state of the logic is rewound as well.
+   *
+   * @param numTicks the number of ticks to step back
+   * @return the number of ticks actually stepped back, which is limited by the history length
+   * @throws IllegalStateException if the played back run or the logic checkpoint cannot be read
+   */
+  public int stepBack(int numTicks) {
+    if (grid == null) {
+      return 0;
+    }
+    if (myRunPlayer != null) {
+      int tick = myRunPlayer.getTick();
+      try {
+        seekPlayback(tick - numTicks);
+      } catch (IOException e) {
+        throw new IllegalStateException(e.getMessage(), e);
+      }
+      return tick - myRunPlayer.getTick();
+    }
+    if (myTickHistory == null) {
+      return 0;
+    }
+    int steppedBack = myTickHistory.stepBack(numTicks);
+    if (steppedBack == 0) {
+      return 0;
+    }
+    int ticksSinceKeyframe = myTickHistory.getTicksSinceKeyframe();
+    myTickHistory.stepBack(ticksSinceKeyframe);
+    grid.restoreStates(myTickHistory.getStates(), myTickHistory::getProperties);
+    try (DataInputStream in = new DataInputStream(
+        new ByteArrayInputStream(myTickHistory.getLogicState()))) {
+      gameLogic.readCheckpoint(in);
+    } catch (IOException e) {
+      throw new IllegalStateException(e.getMessage(), e);
+    }
+    for (int tick = 0; tick < ticksSinceKeyframe; tick++) {
+      gameLogic.update();
+      recordHistory();
+    }
+    myCellColorManager.setGrid(grid);
+    return steppedBack;
+  }
+
+  /**
+   * Returns the number of ticks the simulation can step back.
+   *
+   * @return the number of ticks in the rewind history, or the current tick of a played back run
+   */
+  public int getHistoryLength() {
+    if (myRunPlayer != null) {
+      return myRunPlayer.getTick();
+    }
+    return myTickHistory == null ? 0 : myTickHistory.getLength();
+  }
+
+  /**
+   * Starts recording the simulation to the given file with the default keyframe interval.
+   *
+   * @param runFile the file to record the run to
+   * @throws IOException          if the file cannot be written
+   * @throws NullPointerException if no grid is loaded
+   * @see #startRecording(File, int)
+   */
+  public void startRecording(File runFile) throws IOException {
+    startRecording(runFile, RunFormat.DEFAULT_KEYFRAME_INTERVAL);
+  }
+
+  /**
+   * Starts recording the simulation to the given file. The current grid is recorded as the first
+   * tick, and every following call to {@link #updateSimulation()} appends the cells that changed.
+   * A recording that is already running is stopped first.
+   *
+   * @param runFile          the file to record the run to
+   * @param keyframeInterval the number of ticks between two full keyframes
+   * @throws IOException          if the file cannot be written
+   * @throws NullPointerException if no grid is loaded
+   */
+  public void startRecording(File runFile, int keyframeInterval) throws IOException {
+    if (grid == null || configInfo == null) {
+      throw new NullPointerException("error-gridNotLoaded");
+    }
+    stopRecording();
+    RunRecorder recorder = new RunRecorder(runFile, getRecordedConfigInfo(List.of()),
+        keyframeInterval);
+    try {
+      recorder.record(grid.getStateBuffer(), this::getCellPropertiesAt);
+    } catch (IOException | RuntimeException e) {
+      recorder.close();
+      throw e;
+    }
+    myRunRecorder = recorder;
+  }
+
+  /**
+   * Stops recording and waits until the whole run is written.
+   *
+   * @throws IOException if part of the run could not be written
+   */
+  public void stopRecording() throws IOException {
+    if (myRunRecorder == null) {
+      return;
+    }
+    RunRecorder recorder = myRunRecorder;
+    myRunRecorder = null;
+    recorder.close();
+  }
+
+  /**
+   * Indicates whether the simulation is being recorded.
+   *
+   * @return true if a run is being recorded, false otherwise
+   */
+  public boolean isRecording() {
+    return myRunRecorder != null;
+  }
+
+  /**
+   * Starts playing back a recorded run. The model is reset to the first tick of the run and every
+   * following call to {@link #updateSimulation()} shows the next recorded tick. A running recording
+   * is stopped first.
+   *
+   * @param runFile the run file to play back
+   * @return the recorded configuration with the grid of the first tick
+   * @throws IOException           if the file is not a valid run
+   * @throws NoSuchMethodException if the logic of the recorded simulation cannot be created
+   */
+  public ConfigInfo startPlayback(File runFile) throws IOException, NoSuchMethodException {
+    closeRunFiles();
+    RunPlayer player = RunPlayer.open(runFile);
+    try {
+      configInfo = player.getConfigInfo();
+      myParameterRecord = configInfo.myParameters();
+      resetModel();
+    } catch (NoSuchMethodException | RuntimeException e) {
+      player.close();
+      throw e;
+    }
+    myRunPlayer = player;
+    return configInfo;
+  }
+
+  /**
+   * Moves the played back run to the given tick by decoding the nearest keyframe before it.
+   *
+   * @param tick the tick to show, clamped to the recorded range
+   * @throws IOException           if the run cannot be read
+   * @throws IllegalStateException if no run is being played back
+   */
+  public void seekPlayback(int tick) throws IOException {
+    if (myRunPlayer == null) {
+      throw new IllegalStateException("error-notPlayingBack");
+    }
+    myRunPlayer.seek(tick);
+    restorePlaybackFrame();
+  }
+
+  /**
+   * Stops playing back the run. The grid keeps the tick that was shown last, so the simulation can
+   * continue from there.
+   *
+   * @throws IOException if the run file cannot be closed
+   */
+  public void stopPlayback() throws IOException {
+    if (myRunPlayer == null) {
+      return;
+    }
+    RunPlayer player = myRunPlayer;
+    myRunPlayer = null;
+    player.close();
+  }
+
+  /**
+   * Indicates whether a recorded run is being played back.
+   *
+   * @return true if a run is being played back, false otherwise
+   */
+  public boolean isPlayingBack() {
+    return myRunPlayer != null;
+  }
+
+  /**
+   * Returns the tick of the played back run that is currently shown.
+   *
+   * @return the current tick, or -1 if no run is being played back
+   */
+  public int getPlaybackTick() {
+    return myRunPlayer == null ? -1 : myRunPlayer.getTick();
+  }
+
+  /**
+   * Returns the last tick of the played back run.
+   *
+   * @return the last recorded tick, or -1 if no run is being played back
+   */
+  public int getPlaybackLastTick() {
+    return myRunPlayer == null ? -1 : myRunPlayer.getLastTick();
+  }
+
+  /**
+   * Saves a checkpoint of the running simulation: the grid with the current parameters, and the
+   * private state of the game logic, including its random generator. Resuming the checkpoint with
+   * {@link #resumeCheckpoint(File)} continues with exactly the ticks this simulation would have
+   * computed next.
+   *
+   * @param checkpointFile the file to write the checkpoint to
+   * @throws IOException          if the checkpoint cannot be written
+   * @throws NullPointerException if no grid is loaded
+   */
+  public void saveCheckpoint(File checkpointFile) throws IOException {
+    if (grid == null || gameLogic == null || configInfo == null) {
+      throw new NullPointerException("error-gridNotLoaded");
+    }
+    try {
+      resetParameters();
+    } catch (ReflectiveOperationException e) {
+      throw new IOException("error-writingCheckpoint", e);
+    }
+    int numCells = grid.getNumRows() * grid.getNumCols();
+    int[] states = new int[numCells];
+    grid.getStateBuffer().get(states);
+    Map<Integer, Map<String, Double>> properties = new HashMap<>();
+    for (int i = 0; i < numCells; i++) {
+      Map<String, Double> cellProperties = getCellPropertiesAt(i);
+      if (cellProperties != null && !cellProperties.isEmpty()) {
+        properties.put(i, new HashMap<>(cellProperties));
+      }
+    }
+    ByteArrayOutputStream logicState = new ByteArrayOutputStream();
+    try (DataOutputStream out = new DataOutputStream(logicState)) {
+      gameLogic.writeCheckpoint(out);
+    }
+    new Checkpoint(getRecordedConfigInfo(new PackedCellGrid(grid.getNumRows(),
+        grid.getNumCols(), states, properties)), logicState.toByteArray()).write(checkpointFile);
+  }
+
+  /**
+   * Resumes a simulation from a checkpoint saved by {@link #saveCheckpoint(File)}. The model is
+   * rebuilt from the checkpointed configuration, then the grid and the private state of the game
+   * logic are restored. A running recording or playback is stopped first.
+   *
+   * @param checkpointFile the checkpoint file to resume
+   * @return the checkpointed configuration
+   * @throws IOException           if the file is not a valid checkpoint
+   * @throws NoSuchMethodException if the logic of the checkpointed simulation cannot be created
+   */
+  public ConfigInfo resumeCheckpoint(File checkpointFile)
+      throws IOException, NoSuchMethodException {
+    Checkpoint checkpoint = Checkpoint.read(checkpointFile);
+    closeRunFiles();
+    configInfo = checkpoint.configInfo();
+    myParameterRecord = configInfo.myParameters();
+    myParameterManager = null;
+    resetModel();
+
+    // The logic may have reinitialized the cells it was created with
+    PackedCellGrid cells = (PackedCellGrid) configInfo.myGrid();
+    Map<Integer, Map<String, Double>> properties = cells.getProperties();
+    grid.restoreStates(IntBuffer.wrap(cells.getStates()),
+        index -> properties.getOrDefault(index, Map.of()));
+    try (DataInputStream in = new DataInputStream(
+        new ByteArrayInputStream(checkpoint.logicState()))) {
+      gameLogic.readCheckpoint(in);
+    }
+    myCellColorManager.setGrid(grid);
+    restartHistory();
+    return configInfo;
   }
 
   /**
@@ -98,6 +601,9 @@ public class ModelApi {
       gameLogic = (Logic<?>) logicClass.getDeclaredConstructor(Grid.class, ParameterRecord.class)
           .newInstance(grid, myParameterRecord);
       myCellColorManager.setGrid(grid);
+      rewindPlayback();
+      restartHistory();
+      resetMetrics();
     } catch (ClassNotFoundException | NoSuchMethodException | InvocationTargetException |
              InstantiationException | IllegalAccessException e) {
       throw new ClassNotFoundException(e.getMessage());
@@ -213,6 +719,9 @@ public class ModelApi {
         myCellColorManager = new CellColorManager(grid);
       }
       myCellColorManager.setGrid(grid);
+      rewindPlayback();
+      restartHistory();
+      resetMetrics();
     } catch (ClassNotFoundException | InvocationTargetException | InstantiationException |
              IllegalAccessException e) {
       throw new RuntimeException(e.getMessage());
@@ -244,6 +753,94 @@ public class ModelApi {
     }
   }
 
+  /**
+   * Copies the state values of every cell into the given array in row-major order.
+   *
+   * @param dest the destination array, which must hold at least rows * columns values
+   * @throws IllegalArgumentException if the destination array is too small
+   * @throws NullPointerException     if no grid is loaded
+   */
+  public void exportStates(int[] dest) {
+    exportStates(dest, 0, 0, getGridRows(), getGridCols());
+  }
+
+  /**
+   * Copies the state values of a rectangular region of the grid into the given array in row-major
+   * order. The values can be resolved to colors with {@link #getStatePalette()}.
+   *
+   * @param dest     the destination array
+   * @param startRow the first row of the region
+   * @param startCol the first column of the region
+   * @param numRows  the number of rows in the region
+   * @param numCols  the number of columns in the region
+   * @throws IllegalArgumentException if the region is outside the grid or does not fit in dest
+   * @throws NullPointerException     if no grid is loaded
+   */
+  public void exportStates(int[] dest, int startRow, int startCol, int numRows, int numCols) {
+    if (grid == null) {
+      throw new NullPointerException("error-gridNotLoaded");
+    }
+    grid.copyStates(dest, 0, startRow, startCol, numRows, numCols);
+  }
+
+  /**
+   * Copies the state values of a rectangular region of the grid into the given buffer in row-major
+   * order, starting at the buffer's current position.
+   *
+   * @param dest     the destination buffer
+   * @param startRow the first row of the region
+   * @param startCol the first column of the region
+   * @param numRows  the number of rows in the region
+   * @param numCols  the number of columns in the region
+   * @throws IllegalArgumentException if the region is outside the grid or does not fit in dest
+   * @throws NullPointerException     if no grid is loaded
+   */
+  public void exportStates(IntBuffer dest, int startRow, int startCol, int numRows, int numCols) {
+    if (grid == null) {
+      throw new NullPointerException("error-gridNotLoaded");
+    }
+    grid.copyStates(dest, startRow, startCol, numRows, numCols);
+  }
+
+  /**
+   * Returns a read-only, zero-copy view of the row-major state values of the grid. The view is only
+   * consistent while {@link #getStateEpoch()} returns the same value it returned before reading, so
+   * a reader should compare the epoch before and after reading.
+   *
+   * @return a read-only buffer backed by the grid's state values, or an empty buffer if no grid is
+   * loaded
+   */
+  public IntBuffer getStateBuffer() {
+    if (grid == null) {
+      return IntBuffer.allocate(0).asReadOnlyBuffer();
+    }
+    return grid.getStateBuffer();
+  }
+
+  /**
+   * Returns the read epoch of the grid's state values, which increases every time they change.
+   *
+   * @return the current read epoch, or -1 if no grid is loaded
+   */
+  public long getStateEpoch() {
+    if (grid == null) {
+      return -1;
+    }
+    return grid.getEpoch();
+  }
+
+  /**
+   * Returns the state colors of the current simulation indexed by state value.
+   *
+   * @return an array where index i holds the color of the state with value i, or null if unused
+   */
+  public String[] getStatePalette() {
+    if (myCellColorManager == null) {
+      myCellColorManager = new CellColorManager(grid);
+    }
+    return myCellColorManager.getStatePalette();
+  }
+
   /**
    * Retrieves the properties of the cells in the grid.
    *
@@ -267,6 +864,20 @@ public class ModelApi {
     return cellProperties;
   }
 
+  /**
+   * Returns a read-only view of the live grid as cell records. A row is only built when it is
+   * requested, so the grid can be walked row by row without copying it as a whole.
+   *
+   * @return a 2D list of cell records backed by the current grid, or an empty list if no grid is
+   * loaded
+   */
+  public List<List<CellRecord>> getCellRecords() {
+    if (grid == null) {
+      return List.of();
+    }
+    return new LiveCellRecords(grid);
+  }
+
   /**
    * Returns a Consumer that will invoke the appropriate setter for a double parameter.
    *
@@ -500,6 +1111,250 @@ public class ModelApi {
     return configInfo.myCellShapeType().name();
   }
 
+  private void recordTickTime(long start, long end) {
+    myTickLatency.record(end - start);
+    myTickTimes[(int) (myTickCount % TICK_RATE_WINDOW)] = end;
+    myTickCount++;
+  }
+
+  long getTickCount() {
+    return myTickCount;
+  }
+
+  LatencyHistogram getTickLatency() {
+    return myTickLatency;
+  }
+
+  int getChangedCells() {
+    Grid<?> currentGrid = grid;
+    return currentGrid == null ? 0 : currentGrid.getChangedCells();
+  }
+
+  String getSimulationType() {
+    ConfigInfo currentConfig = configInfo;
+    return currentConfig == null ? "" : currentConfig.myType().name();
+  }
+
+  double getTicksPerSecond() {
+    int samples = (int) Math.min(myTickCount, TICK_RATE_WINDOW);
+    if (samples < 2) {
+      return 0;
+    }
+    long newest = myTickTimes[(int) ((myTickCount - 1) % TICK_RATE_WINDOW)];
+    long oldest = myTickTimes[(int) ((myTickCount - samples) % TICK_RATE_WINDOW)];
+    if (System.nanoTime() - newest > TICK_RATE_TIMEOUT_NANOS) {
+      // The simulation is paused
+      return 0;
+    }
+    return (samples - 1) * NANOS_PER_SECOND / Math.max(1, newest - oldest);
+  }
+
+  private Map<String, Integer> getPopulations() {
+    if (grid == null || grid.getNumRows() == 0 || grid.getNumCols() == 0) {
+      return Map.of();
+    }
+    return countPopulations(grid);
+  }
+
+  private static <T extends Enum<T> & State> Map<String, Integer> countPopulations(
+      Grid<T> grid) {
+    Map<String, Integer> populations = new LinkedHashMap<>();
+    for (T state : grid.getCell(0, 0).getCurrentState().getDeclaringClass().getEnumConstants()) {
+      populations.put(state.name(), grid.getPopulation(state.getValue()));
+    }
+    return populations;
+  }
+
+  private void notifyMetricsListeners() {
+    if (myMetricsListeners.isEmpty()) {
+      return;
+    }
+    SimulationMetrics metrics = getMetrics();
+    myMetricsListeners.forEach(listener -> listener.accept(metrics));
+  }
+
+  private void recordTick() {
+    if (myRunRecorder == null) {
+      return;
+    }
+    try {
+      myRunRecorder.record(grid.getStateBuffer(), this::getCellPropertiesAt);
+    } catch (IOException | IllegalArgumentException e) {
+      closeRunFiles();
+      throw new IllegalStateException(e.getMessage(), e);
+    }
+  }
+
+  private void recordHistory() {
+    if (myTickHistory == null || grid == null || gameLogic == null) {
+      return;
+    }
+    myTickHistory.record(grid.getStateBuffer(), this::getCellPropertyVersionAt,
+        this::getCellPropertiesAt, this::writeLogicState);
+    if (myTickHistory.isOverBudget()) {
+      Log.warn("Rewind history stopped: one tick of this grid exceeds %d MB",
+          myTickHistory.getMemoryBudget() / BYTES_PER_MEGABYTE);
+      myTickHistory = null;
+    }
+  }
+
+  private byte[] writeLogicState() {
+    ByteArrayOutputStream logicState = new ByteArrayOutputStream();
+    try (DataOutputStream out = new DataOutputStream(logicState)) {
+      gameLogic.writeCheckpoint(out);
+    } catch (IOException e) {
+      throw new IllegalStateException(e.getMessage(), e);
+    }
+    return logicState.toByteArray();
+  }
+
+  /**
+   * Refuses a configuration whose estimated footprint exceeds the free heap. The current model is
+   * counted as free, as loading the configuration replaces it.
+   */
+  private void checkMemory(ConfigInfo newConfigInfo) {
+    if (newConfigInfo == null || newConfigInfo.myGrid() == null) {
+      return;
+    }
+    long required = estimateMemoryFootprint(newConfigInfo).total();
+    long current = getMemoryFootprint().model();
+    long available = getAvailableHeap(required - current) + current;
+    if (required > available) {
+      throw new IllegalArgumentException("error-insufficientMemory,"
+          + (required + BYTES_PER_MEGABYTE - 1) / BYTES_PER_MEGABYTE);
+    }
+  }
+
+  /**
+   * Lowers the budget of the rewind history to a share of the heap left once the grid is built,
+   * and raises it back up to the requested budget when the heap allows.
+   */
+  private void fitHistoryBudget() {
+    if (myHistoryBudget <= 0) {
+      return;
+    }
+    long requested = Math.min(myHistoryBudget, Long.MAX_VALUE / HISTORY_HEAP_SHARE);
+    long budget = Math.min(myHistoryBudget,
+        getAvailableHeap(requested * HISTORY_HEAP_SHARE) / HISTORY_HEAP_SHARE);
+    if (myTickHistory != null && myTickHistory.getMemoryBudget() == budget) {
+      return;
+    }
+    if (budget < myHistoryBudget) {
+      Log.warn("Rewind history reduced to %d MB to fit the free heap",
+          budget / BYTES_PER_MEGABYTE);
+    }
+    myTickHistory = budget > 0
+        ? new TickHistory(budget, TickHistory.DEFAULT_KEYFRAME_INTERVAL) : null;
+  }
+
+  /**
+   * Returns the heap free for new objects. Garbage counts as used heap until it is collected, so
+   * when less than the requested amount is free a collection is requested before measuring again,
+   * and a request is only refused for the live objects.
+   */
+  private static long getAvailableHeap(long requested) {
+    long available = measureAvailableHeap();
+    if (available < requested) {
+      System.gc();
+      available = measureAvailableHeap();
+    }
+    return available;
+  }
+
+  private static long measureAvailableHeap() {
+    Runtime runtime = Runtime.getRuntime();
+    return runtime.maxMemory() - (runtime.totalMemory() - runtime.freeMemory());
+  }
+
+  private void restartHistory() {
+    fitHistoryBudget();
+    if (myTickHistory != null) {
+      myTickHistory.clear();
+      recordHistory();
+    }
+  }
+
+  private void stepPlayback() {
+    try {
+      if (myRunPlayer.next()) {
+        restorePlaybackFrame();
+      }
+    } catch (IOException e) {
+      throw new IllegalStateException(e.getMessage(), e);
+    }
+  }
+
+  private void rewindPlayback() {
+    if (myRunPlayer == null) {
+      return;
+    }
+    try {
+      myRunPlayer.seek(0);
+    } catch (IOException e) {
+      throw new IllegalStateException(e.getMessage(), e);
+    }
+  }
+
+  private void restorePlaybackFrame() {
+    grid.restoreStates(myRunPlayer.getStates(), myRunPlayer::getProperties);
+    myCellColorManager.setGrid(grid);
+  }
+
+  private void closeRunFiles() {
+    try {
+      stopRecording();
+    } catch (IOException e) {
+      Log.error(e, "Failed to finish the recorded run");
+    }
+    try {
+      stopPlayback();
+    } catch (IOException e) {
+      Log.error(e, "Failed to close the played back run");
+    }
+  }
+
+  private ConfigInfo getRecordedConfigInfo(List<List<CellRecord>> cells) {
+    ParameterRecord parameters = myParameterRecord != null ? myParameterRecord
+        : configInfo.myParameters();
+    return new ConfigInfo(
+        configInfo.myType(),
+        configInfo.myCellShapeType(),
+        configInfo.myGridEdgeType(),
+        configInfo.myneighborArrangementType(),
+        configInfo.neighborRadius(),
+        configInfo.myTitle(),
+        configInfo.myAuthor(),
+        configInfo.myDescription(),
+        grid.getNumCols(),
+        grid.getNumRows(),
+        configInfo.myTickSpeed(),
+        cells,
+        parameters,
+        configInfo.acceptedStates(),
+        configInfo.myFileName()
+    );
+  }
+
+  private Map<String, Double> getCellPropertiesAt(int index) {
+    int numCols = grid.getNumCols();
+    return grid.getCell(index / numCols, index % numCols).getAllProperties();
+  }
+
+  private int getCellPropertyVersionAt(int index) {
+    int numCols = grid.getNumCols();
+    return grid.getCell(index / numCols, index % numCols).getPropertyVersion();
+  }
+
+  int getGridRows() {
+    Grid<?> currentGrid = grid;
+    return currentGrid == null ? 0 : currentGrid.getNumRows();
+  }
+
+  int getGridCols() {
+    Grid<?> currentGrid = grid;
+    return currentGrid == null ? 0 : currentGrid.getNumCols();
+  }
+
   private GridShape getGridShape() {
     return GridShape.valueOf(configInfo.myCellShapeType().name());
   }
@@ -518,5 +1373,32 @@ public class ModelApi {
   }
 
 
-}
 
+  /**
+   * A read-only row view of a grid that creates the cell records of a row on demand.
+   */
+  private static class LiveCellRecords extends AbstractList<List<CellRecord>>
+      implements RandomAccess {
+
+    private final Grid<?> grid;
+
+    LiveCellRecords(Grid<?> grid) {
+      this.grid = grid;
+    }
+
+    @Override
+    public List<CellRecord> get(int row) {
+      List<CellRecord> rowRecords = new ArrayList<>(grid.getNumCols());
+      for (int col = 0; col < grid.getNumCols(); col++) {
+        Cell<?> cell = grid.getCell(row, col);
+        rowRecords.add(new CellRecord(cell.getCurrentState().getValue(), cell.getAllProperties()));
+      }
+      return rowRecords;
+    }
+
+    @Override
+    public int size() {
+      return grid.getNumRows();
+    }
+  }
+}
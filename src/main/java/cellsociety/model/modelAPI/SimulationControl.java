@@ -0,0 +1,48 @@
+package cellsociety.model.modelAPI;
+
+/**
+ * The SimulationControl interface is implemented by whatever drives the simulation loop, so that
+ * the simulation can be paused, resumed and sped up from outside the user interface, for example
+ * through the {@link SimulationMXBean} of a {@link ModelApi}. The methods may be called from any
+ * thread; an implementation hands the request over to the thread running the simulation.
+ *
+ * @author Billy McCune
+ */
+public interface SimulationControl {
+
+  /**
+   * Pauses or resumes the simulation.
+   *
+   * @param isPaused true to pause the simulation, false to resume it
+   */
+  void setPaused(boolean isPaused);
+
+  /**
+   * Indicates whether the simulation is paused.
+   *
+   * @return true if paused, false otherwise
+   */
+  boolean isPaused();
+
+  /**
+   * Sets the speed the simulation should run at, on the same scale as the speed of a
+   * configuration.
+   *
+   * @param speed the target speed
+   */
+  void setTargetSpeed(double speed);
+
+  /**
+   * Returns the speed the simulation is set to run at.
+   *
+   * @return the target speed
+   */
+  double getTargetSpeed();
+
+  /**
+   * Runs a task on the thread running the simulation, between two ticks.
+   *
+   * @param task the task to run
+   */
+  void execute(Runnable task);
+}
@@ -0,0 +1,137 @@
+package cellsociety.model.modelAPI;
+
+import java.io.IOException;
+
+/**
+ * The SimulationMXBean interface is the management interface registered for a {@link ModelApi}
+ * by {@link ModelApi#registerMBean(SimulationControl)}, so that a long running simulation can be
+ * watched and controlled with standard JVM tooling such as JConsole or VisualVM. The attributes
+ * are read from the counters the model maintains anyway, so nothing is added to a tick; values
+ * read while the simulation runs may lag slightly behind.
+ *
+ * @author Billy McCune
+ */
+public interface SimulationMXBean {
+
+  /**
+   * Returns the name of the simulation type that is loaded.
+   *
+   * @return the simulation type, or an empty string if nothing is loaded
+   */
+  String getSimulationType();
+
+  /**
+   * Returns the number of ticks computed since the model was reset.
+   *
+   * @return the number of ticks
+   */
+  long getTicks();
+
+  /**
+   * Returns the rate of the recent ticks.
+   *
+   * @return the ticks per second, or 0 if the simulation is not running
+   */
+  double getTicksPerSecond();
+
+  /**
+   * Returns the median time spent in the game logic per tick.
+   *
+   * @return the median tick latency in milliseconds
+   */
+  double getTickLatencyP50Millis();
+
+  /**
+   * Returns the 99th percentile of the time spent in the game logic per tick.
+   *
+   * @return the 99th percentile tick latency in milliseconds
+   */
+  double getTickLatencyP99Millis();
+
+  /**
+   * Returns the longest time spent in the game logic for one tick.
+   *
+   * @return the maximum tick latency in milliseconds
+   */
+  double getTickLatencyMaxMillis();
+
+  /**
+   * Returns the number of rows of the grid.
+   *
+   * @return the number of rows, or 0 if nothing is loaded
+   */
+  int getNumRows();
+
+  /**
+   * Returns the number of columns of the grid.
+   *
+   * @return the number of columns, or 0 if nothing is loaded
+   */
+  int getNumCols();
+
+  /**
+   * Returns the number of cells whose state changed in the last tick.
+   *
+   * @return the number of changed cells
+   */
+  int getChangedCells();
+
+  /**
+   * Returns an estimate of the memory taken by the grid and the rewind history. Reading it asks
+   * for a new measurement between two ticks and returns the latest finished one, which is 0 until
+   * the simulation has run the first.
+   *
+   * @return the estimated memory use in bytes
+   */
+  long getEstimatedMemoryBytes();
+
+  /**
+   * Indicates whether the simulation is paused.
+   *
+   * @return true if paused, false otherwise
+   */
+  boolean isPaused();
+
+  /**
+   * Returns the speed the simulation is set to run at.
+   *
+   * @return the target speed
+   */
+  double getTargetSpeed();
+
+  /**
+   * Sets the speed the simulation should run at, on the same scale as the speed of a
+   * configuration.
+   *
+   * @param speed the target speed
+   */
+  void setTargetSpeed(double speed);
+
+  /**
+   * Pauses the simulation.
+   */
+  void pause();
+
+  /**
+   * Resumes the simulation.
+   */
+  void resume();
+
+  /**
+   * Saves a checkpoint of the simulation between two ticks, see
+   * {@link ModelApi#saveCheckpoint(java.io.File)}.
+   *
+   * @param path the path of the checkpoint file to write
+   * @return the absolute path of the written checkpoint
+   * @throws IOException if the checkpoint cannot be written
+   */
+  String saveCheckpoint(String path) throws IOException;
+
+  /**
+   * Discards the recorded ticks and latencies between two ticks, see
+   * {@link ModelApi#resetMetrics()}.
+   *
+   * @throws IOException if the simulation does not respond
+   */
+  void resetMetrics() throws IOException;
+}
@@ -0,0 +1,37 @@
+package cellsociety.model.modelAPI;
+
+import java.util.Map;
+
+/**
+ * The SimulationMetrics record is a snapshot of how a running simulation performs, taken by
+ * {@link ModelApi#getMetrics()} or handed to the listeners registered with
+ * {@link ModelApi#addMetricsListener(java.util.function.Consumer)} after every tick. Every value is
+ * maintained while the simulation runs, so taking a snapshot does not scan the grid.
+ *
+ * @param ticks          the number of ticks computed since the model was reset
+ * @param ticksPerSecond the rate of the recent ticks, or 0 if the simulation is not running
+ * @param tickLatency    the time spent in the game logic per tick
+ * @param renderLatency  the time the view reported spending to refresh the grid, see
+ *                       {@link ModelApi#recordRenderTime(long)}
+ * @param changedCells   the number of cells whose state changed in the last tick
+ * @param populations    the number of cells in each state, by state name
+ * @param numRows        the number of rows of the grid
+ * @param numCols        the number of columns of the grid
+ * @author Billy McCune
+ */
+public record SimulationMetrics(long ticks, double ticksPerSecond, Latency tickLatency,
+                                Latency renderLatency, int changedCells,
+                                Map<String, Integer> populations, int numRows, int numCols) {
+
+  /**
+   * The distribution of a recorded duration, in milliseconds.
+   *
+   * @param count the number of recorded durations
+   * @param p50   the median
+   * @param p99   the 99th percentile
+   * @param max   the longest duration
+   */
+  public record Latency(long count, double p50, double p99, double max) {
+
+  }
+}
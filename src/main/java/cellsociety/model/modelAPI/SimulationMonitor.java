@@ -0,0 +1,171 @@
+package cellsociety.model.modelAPI;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The SimulationMonitor class implements the {@link SimulationMXBean} of a {@link ModelApi}. The
+ * attributes only read counters the model keeps up to date anyway, and every operation that
+ * changes the model is handed to the {@link SimulationControl}, so it runs between two ticks on
+ * the thread running the simulation. The memory estimate walks the grid, so it is measured there
+ * too and the attribute returns the latest measurement. The first one is taken when the monitor is
+ * created, so the first read does not return zero.
+ *
+ * @author Billy McCune
+ */
+class SimulationMonitor implements SimulationMXBean {
+
+  private static final double NANOS_PER_MILLI = 1e6;
+  private static final long OPERATION_TIMEOUT_SECONDS = 30;
+
+  private final ModelApi myModelApi;
+  private final SimulationControl myControl;
+  private final AtomicBoolean isMeasuringMemory = new AtomicBoolean();
+  private volatile long myEstimatedMemoryBytes;
+
+  /**
+   * Creates the monitor of a model and measures its memory estimate. It must be created on the
+   * thread running the simulation.
+   *
+   * @param modelApi the model to monitor
+   * @param control  the driver of the simulation loop of the model
+   */
+  SimulationMonitor(ModelApi modelApi, SimulationControl control) {
+    myModelApi = modelApi;
+    myControl = control;
+    myEstimatedMemoryBytes = modelApi.getEstimatedMemoryUse();
+  }
+
+  @Override
+  public String getSimulationType() {
+    return myModelApi.getSimulationType();
+  }
+
+  @Override
+  public long getTicks() {
+    return myModelApi.getTickCount();
+  }
+
+  @Override
+  public double getTicksPerSecond() {
+    return myModelApi.getTicksPerSecond();
+  }
+
+  @Override
+  public double getTickLatencyP50Millis() {
+    return myModelApi.getTickLatency().getPercentile(50) / NANOS_PER_MILLI;
+  }
+
+  @Override
+  public double getTickLatencyP99Millis() {
+    return myModelApi.getTickLatency().getPercentile(99) / NANOS_PER_MILLI;
+  }
+
+  @Override
+  public double getTickLatencyMaxMillis() {
+    return myModelApi.getTickLatency().getMax() / NANOS_PER_MILLI;
+  }
+
+  @Override
+  public int getNumRows() {
+    return myModelApi.getGridRows();
+  }
+
+  @Override
+  public int getNumCols() {
+    return myModelApi.getGridCols();
+  }
+
+  @Override
+  public int getChangedCells() {
+    return myModelApi.getChangedCells();
+  }
+
+  @Override
+  public long getEstimatedMemoryBytes() {
+    if (isMeasuringMemory.compareAndSet(false, true)) {
+      myControl.execute(() -> {
+        try {
+          myEstimatedMemoryBytes = myModelApi.getEstimatedMemoryUse();
+        } finally {
+          isMeasuringMemory.set(false);
+        }
+      });
+    }
+    return myEstimatedMemoryBytes;
+  }
+
+  @Override
+  public boolean isPaused() {
+    return myControl.isPaused();
+  }
+
+  @Override
+  public double getTargetSpeed() {
+    return myControl.getTargetSpeed();
+  }
+
+  @Override
+  public void setTargetSpeed(double speed) {
+    if (!Double.isFinite(speed) || speed < 0) {
+      throw new IllegalArgumentException("error-invalidSpeed," + speed);
+    }
+    myControl.setTargetSpeed(speed);
+  }
+
+  @Override
+  public void pause() {
+    myControl.setPaused(true);
+  }
+
+  @Override
+  public void resume() {
+    myControl.setPaused(false);
+  }
+
+  @Override
+  public String saveCheckpoint(String path) throws IOException {
+    File checkpointFile = new File(path).getAbsoluteFile();
+    runOnSimulationThread(() -> {
+      myModelApi.saveCheckpoint(checkpointFile);
+      return null;
+    });
+    return checkpointFile.getPath();
+  }
+
+  @Override
+  public void resetMetrics() throws IOException {
+    runOnSimulationThread(() -> {
+      myModelApi.resetMetrics();
+      return null;
+    });
+  }
+
+  /**
+   * Runs a task between two ticks and waits for it, so that its failure reaches the caller.
+   */
+  private void runOnSimulationThread(Callable<Void> task) throws IOException {
+    FutureTask<Void> future = new FutureTask<>(task);
+    myControl.execute(future);
+    try {
+      future.get(OPERATION_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof IOException ioException) {
+        throw ioException;
+      }
+      throw new IOException(e.getCause().getMessage(), e.getCause());
+    } catch (TimeoutException e) {
+      future.cancel(false);
+      throw new IOException("error-simulationNotResponding", e);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("error-simulationNotResponding", e);
+    }
+  }
+}
@@ -0,0 +1,466 @@
+package cellsociety.model.modelAPI;
+
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+import java.util.function.IntUnaryOperator;
+import java.util.function.Supplier;
+
+/**
+ * Keeps a bounded in-memory history of the ticks of a simulation so that it can step back without
+ * re-simulating. Every tick is stored as the XOR of its states with the previous tick, run-length
+ * encoded so that unchanged cells cost almost nothing, together with the properties of the cells
+ * whose properties changed. Every few ticks a full keyframe is stored instead, so that any tick
+ * can be rebuilt from the nearest keyframe before it. When the caller reports a version number
+ * for the properties of each cell, only the properties of cells whose version changed are
+ * compared and copied. Keyframes can also hold a checkpoint of the private state of the game
+ * logic, from which the ticks up to the next keyframe can be re-simulated exactly.
+ * <p>
+ * The history is bounded by a memory budget. When it is exceeded, the oldest keyframe is evicted
+ * together with the deltas that depend on it. A keyframe group that alone exceeds the budget is
+ * dropped, and the history stops recording if a single keyframe does. The latest tick is always
+ * kept in plain arrays for diffing, which is not counted against the budget.
+ *
+ * @author Billy McCune
+ */
+public class TickHistory {
+
+  /**
+   * The number of ticks between two keyframes unless another interval is requested.
+   */
+  public static final int DEFAULT_KEYFRAME_INTERVAL = 32;
+
+  // Estimated heap cost of a frame and of a stored property, used for the memory budget
+  private static final int FRAME_OVERHEAD = 64;
+  private static final int PROPERTY_ENTRY_SIZE = 64;
+
+  private final long memoryBudget;
+  private final int keyframeInterval;
+  private final List<Frame> frames = new ArrayList<>();
+  private long usedMemory;
+
+  // The latest tick
+  private int[] states = new int[0];
+  private List<Map<String, Double>> properties = new ArrayList<>();
+  private int[] propertyVersions = new int[0];
+  private int tick = -1;
+  private boolean isOverBudget;
+
+  /**
+   * Creates an empty history.
+   *
+   * @param memoryBudget     the number of bytes the stored ticks may take
+   * @param keyframeInterval the number of ticks between two keyframes
+   * @throws IllegalArgumentException if the budget or the keyframe interval is not positive
+   */
+  public TickHistory(long memoryBudget, int keyframeInterval) {
+    if (memoryBudget <= 0 || keyframeInterval <= 0) {
+      throw new IllegalArgumentException(
+          "error-invalidHistorySettings," + memoryBudget + "," + keyframeInterval);
+    }
+    this.memoryBudget = memoryBudget;
+    this.keyframeInterval = keyframeInterval;
+  }
+
+  /**
+   * Records the next tick, comparing the properties of every cell with the previous tick. The
+   * first tick of the history and every keyframe interval after it are stored as keyframes.
+   *
+   * @param tickStates     the row-major states of all cells, starting at the buffer's position
+   * @param tickProperties a function returning the properties of the cell with the given row-major
+   *                       index, which may be null if the cell has none
+   * @throws IllegalArgumentException if the number of cells differs from the previous tick
+   */
+  public void record(IntBuffer tickStates, IntFunction<Map<String, Double>> tickProperties) {
+    record(tickStates, null, tickProperties);
+  }
+
+  /**
+   * Records the next tick. The properties of a cell are only read when their version differs from
+   * the previous tick, so the version must change whenever the properties do. Nothing is recorded
+   * once the history is over its budget.
+   *
+   * @param tickStates       the row-major states of all cells, starting at the buffer's position
+   * @param propertyVersions a function returning the version of the properties of the cell with
+   *                         the given row-major index, or null to compare every cell
+   * @param tickProperties   a function returning the properties of the cell with the given
+   *                         row-major index, which may be null if the cell has none
+   * @throws IllegalArgumentException if the number of cells differs from the previous tick
+   */
+  public void record(IntBuffer tickStates, IntUnaryOperator propertyVersions,
+      IntFunction<Map<String, Double>> tickProperties) {
+    record(tickStates, propertyVersions, tickProperties, null);
+  }
+
+  /**
+   * Records the next tick together with a checkpoint of the game logic, which is only taken when
+   * the tick is stored as a keyframe.
+   *
+   * @param tickStates       the row-major states of all cells, starting at the buffer's position
+   * @param propertyVersions a function returning the version of the properties of the cell with
+   *                         the given row-major index, or null to compare every cell
+   * @param tickProperties   a function returning the properties of the cell with the given
+   *                         row-major index, which may be null if the cell has none
+   * @param logicState       a supplier of the checkpoint of the game logic, or null to store none
+   * @throws IllegalArgumentException if the number of cells differs from the previous tick
+   */
+  public void record(IntBuffer tickStates, IntUnaryOperator propertyVersions,
+      IntFunction<Map<String, Double>> tickProperties, Supplier<byte[]> logicState) {
+    if (isOverBudget) {
+      return;
+    }
+    int numCells = tickStates.remaining();
+    if (frames.isEmpty()) {
+      states = new int[numCells];
+      properties = new ArrayList<>(numCells);
+      for (int i = 0; i < numCells; i++) {
+        properties.add(Map.of());
+      }
+      this.propertyVersions = new int[numCells];
+      invalidatePropertyVersions();
+    } else if (numCells != states.length) {
+      throw new IllegalArgumentException("error-invalidHistoryTick," + numCells);
+    }
+
+    tick++;
+    Frame frame = frames.isEmpty() || tick % keyframeInterval == 0
+        ? createKeyframe(tickStates, propertyVersions, tickProperties,
+        logicState == null ? null : logicState.get())
+        : createDelta(tickStates, propertyVersions, tickProperties);
+    frames.add(frame);
+    usedMemory += frame.size();
+    evictOldest();
+  }
+
+  /**
+   * Steps back the given number of ticks, discarding the ticks after the one stepped back to. The
+   * history cannot step back further than its oldest stored tick.
+   *
+   * @param numTicks the number of ticks to step back
+   * @return the number of ticks actually stepped back
+   */
+  public int stepBack(int numTicks) {
+    if (frames.isEmpty() || numTicks <= 0) {
+      return 0;
+    }
+    int targetTick = Math.max(getOldestTick(), tick - numTicks);
+    int targetIndex = targetTick - getOldestTick();
+    int keyframeIndex = targetIndex;
+    while (!frames.get(keyframeIndex).isKeyframe()) {
+      keyframeIndex--;
+    }
+    for (int i = keyframeIndex; i <= targetIndex; i++) {
+      applyFrame(frames.get(i));
+    }
+
+    List<Frame> discarded = frames.subList(targetIndex + 1, frames.size());
+    for (Frame frame : discarded) {
+      usedMemory -= frame.size();
+    }
+    discarded.clear();
+    invalidatePropertyVersions();
+    int steppedBack = tick - targetTick;
+    tick = targetTick;
+    return steppedBack;
+  }
+
+  /**
+   * Discards all stored ticks.
+   */
+  public void clear() {
+    frames.clear();
+    usedMemory = 0;
+    tick = -1;
+    isOverBudget = false;
+  }
+
+  /**
+   * Returns a read-only view of the row-major states of the latest tick.
+   *
+   * @return a read-only buffer over the states of all cells
+   */
+  public IntBuffer getStates() {
+    return IntBuffer.wrap(states).asReadOnlyBuffer();
+  }
+
+  /**
+   * Returns the properties of a cell at the latest tick.
+   *
+   * @param index the row-major index of the cell
+   * @return the properties of the cell, or an empty map if it has none
+   */
+  public Map<String, Double> getProperties(int index) {
+    return properties.get(index);
+  }
+
+  /**
+   * Returns the number of ticks between the latest tick and the keyframe it is rebuilt from.
+   *
+   * @return 0 if the latest tick is a keyframe or nothing is stored
+   */
+  public int getTicksSinceKeyframe() {
+    if (frames.isEmpty()) {
+      return 0;
+    }
+    int index = frames.size() - 1;
+    while (!frames.get(index).isKeyframe()) {
+      index--;
+    }
+    return tick - frames.get(index).tick();
+  }
+
+  /**
+   * Returns the checkpoint of the game logic stored with the latest tick.
+   *
+   * @return the checkpoint, or null if the latest tick is not a keyframe or has none
+   */
+  public byte[] getLogicState() {
+    return frames.isEmpty() ? null : frames.getLast().logicState();
+  }
+
+  /**
+   * Returns the number of ticks the history can step back.
+   *
+   * @return the number of stored ticks before the latest one
+   */
+  public int getLength() {
+    return frames.isEmpty() ? 0 : tick - getOldestTick();
+  }
+
+  /**
+   * Returns the estimated number of bytes taken by the stored ticks.
+   *
+   * @return the estimated memory use in bytes
+   */
+  public long getUsedMemory() {
+    return usedMemory;
+  }
+
+  /**
+   * Returns the number of bytes the stored ticks may take.
+   *
+   * @return the memory budget in bytes
+   */
+  public long getMemoryBudget() {
+    return memoryBudget;
+  }
+
+  /**
+   * Returns whether the history stopped recording because a single keyframe exceeds the budget.
+   * Recording resumes once the history is cleared.
+   *
+   * @return true if the history no longer records ticks
+   */
+  public boolean isOverBudget() {
+    return isOverBudget;
+  }
+
+  /* ENCODING METHODS */
+
+  private Frame createKeyframe(IntBuffer tickStates, IntUnaryOperator tickVersions,
+      IntFunction<Map<String, Double>> tickProperties, byte[] logicState) {
+    int base = tickStates.position();
+    ByteWriter out = new ByteWriter();
+    Map<Integer, Map<String, Double>> frameProperties = new HashMap<>();
+    int runStart = 0;
+    for (int i = 0; i < states.length; i++) {
+      states[i] = tickStates.get(base + i);
+      if (i > runStart && states[i] != states[runStart]) {
+        out.writeVarInt(states[runStart]);
+        out.writeVarInt(i - runStart);
+        runStart = i;
+      }
+      Map<String, Double> cellProperties = properties.get(i);
+      if (!hasSameVersion(tickVersions, i)) {
+        cellProperties = copyProperties(tickProperties.apply(i));
+        properties.set(i, cellProperties);
+      }
+      if (!cellProperties.isEmpty()) {
+        frameProperties.put(i, cellProperties);
+      }
+    }
+    if (states.length > 0) {
+      out.writeVarInt(states[runStart]);
+      out.writeVarInt(states.length - runStart);
+    }
+    return new Frame(tick, true, out.toByteArray(), frameProperties, logicState);
+  }
+
+  private Frame createDelta(IntBuffer tickStates, IntUnaryOperator tickVersions,
+      IntFunction<Map<String, Double>> tickProperties) {
+    int base = tickStates.position();
+    ByteWriter out = new ByteWriter();
+    Map<Integer, Map<String, Double>> frameProperties = new HashMap<>();
+    int zeroRun = 0;
+    for (int i = 0; i < states.length; i++) {
+      int state = tickStates.get(base + i);
+      int xor = state ^ states[i];
+      if (xor == 0) {
+        zeroRun++;
+      } else {
+        out.writeVarInt(zeroRun);
+        out.writeVarInt(xor);
+        states[i] = state;
+        zeroRun = 0;
+      }
+      if (hasSameVersion(tickVersions, i)) {
+        continue;
+      }
+      Map<String, Double> cellProperties = tickProperties.apply(i);
+      if (!hasSameProperties(cellProperties, properties.get(i))) {
+        Map<String, Double> copy = copyProperties(cellProperties);
+        properties.set(i, copy);
+        frameProperties.put(i, copy);
+      }
+    }
+    return new Frame(tick, false, out.toByteArray(), frameProperties, null);
+  }
+
+  private void applyFrame(Frame frame) {
+    byte[] data = frame.states();
+    int[] position = {0};
+    if (frame.isKeyframe()) {
+      int cell = 0;
+      while (position[0] < data.length) {
+        int state = readVarInt(data, position);
+        int end = cell + readVarInt(data, position);
+        Arrays.fill(states, cell, end, state);
+        cell = end;
+      }
+      for (int i = 0; i < properties.size(); i++) {
+        properties.set(i, frame.properties().getOrDefault(i, Map.of()));
+      }
+    } else {
+      int cell = 0;
+      while (position[0] < data.length) {
+        cell += readVarInt(data, position);
+        states[cell++] ^= readVarInt(data, position);
+      }
+      frame.properties().forEach(properties::set);
+    }
+  }
+
+  private void evictOldest() {
+    while (usedMemory > memoryBudget) {
+      // Only evict whole keyframe groups so that every stored tick can still be rebuilt
+      int nextKeyframe = 1;
+      while (nextKeyframe < frames.size() && !frames.get(nextKeyframe).isKeyframe()) {
+        nextKeyframe++;
+      }
+      if (nextKeyframe >= frames.size()) {
+        // A single group is over the budget: drop it, and stop if it is a lone keyframe
+        isOverBudget = frames.size() == 1;
+        frames.clear();
+        usedMemory = 0;
+        return;
+      }
+      List<Frame> evicted = frames.subList(0, nextKeyframe);
+      for (Frame frame : evicted) {
+        usedMemory -= frame.size();
+      }
+      evicted.clear();
+    }
+  }
+
+  /* PRIVATE HELPER METHODS */
+
+  private int getOldestTick() {
+    return frames.getFirst().tick();
+  }
+
+  /**
+   * Stores the version of the properties of a cell and returns whether it is unchanged.
+   */
+  private boolean hasSameVersion(IntUnaryOperator tickVersions, int index) {
+    if (tickVersions == null) {
+      return false;
+    }
+    int version = tickVersions.applyAsInt(index);
+    if (version == propertyVersions[index]) {
+      return true;
+    }
+    propertyVersions[index] = version;
+    return false;
+  }
+
+  private void invalidatePropertyVersions() {
+    Arrays.fill(propertyVersions, -1);
+  }
+
+  private static boolean hasSameProperties(Map<String, Double> current,
+      Map<String, Double> previous) {
+    if (current == null || current.isEmpty()) {
+      return previous.isEmpty();
+    }
+    return current.equals(previous);
+  }
+
+  private static Map<String, Double> copyProperties(Map<String, Double> cellProperties) {
+    if (cellProperties == null || cellProperties.isEmpty()) {
+      return Map.of();
+    }
+    return Map.copyOf(cellProperties);
+  }
+
+  private static int readVarInt(byte[] data, int[] position) {
+    int value = 0;
+    int shift = 0;
+    byte b;
+    do {
+      b = data[position[0]++];
+      value |= (b & 0x7F) << shift;
+      shift += 7;
+    } while ((b & 0x80) != 0);
+    return value;
+  }
+
+  /**
+   * A stored tick: either a keyframe holding the run-length encoded states, the properties of
+   * every cell that has any and optionally a checkpoint of the game logic, or a delta holding the run-length encoded XOR with the previous tick
+   * and the new properties of the cells whose properties changed.
+   */
+  private record Frame(int tick, boolean isKeyframe, byte[] states,
+                       Map<Integer, Map<String, Double>> properties, byte[] logicState) {
+
+    long size() {
+      long propertyEntries = 0;
+      for (Map<String, Double> cellProperties : properties.values()) {
+        propertyEntries += 1 + cellProperties.size();
+      }
+      return FRAME_OVERHEAD + states.length + propertyEntries * PROPERTY_ENTRY_SIZE
+          + (logicState == null ? 0 : logicState.length);
+    }
+  }
+
+  /**
+   * A growable byte array that variable-length integers are written to.
+   */
+  private static class ByteWriter {
+
+    private byte[] bytes = new byte[64];
+    private int count;
+
+    void writeVarInt(int value) {
+      while ((value & ~0x7F) != 0) {
+        write((value & 0x7F) | 0x80);
+        value >>>= 7;
+      }
+      write(value);
+    }
+
+    byte[] toByteArray() {
+      return Arrays.copyOf(bytes, count);
+    }
+
+    private void write(int b) {
+      if (count == bytes.length) {
+        bytes = Arrays.copyOf(bytes, 2 * count);
+      }
+      bytes[count++] = (byte) b;
+    }
+  }
+}
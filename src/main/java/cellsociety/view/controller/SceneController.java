@@ -1,7 +1,10 @@
 package cellsociety.view.controller;
 
+import cellsociety.logging.events.FrameEvent;
 import cellsociety.model.configAPI.configAPI;
 import cellsociety.model.modelAPI.ModelApi;
+import cellsociety.model.modelAPI.SimulationControl;
+import cellsociety.view.renderer.FrameSampleBuffer;
 import cellsociety.view.renderer.drawer.GridDrawer;
 import cellsociety.view.renderer.drawer.SquareGridDrawer;
 import cellsociety.view.scene.SceneUIWidgetFactory;
@@ -12,6 +15,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import javafx.application.Platform;
 import javax.xml.parsers.ParserConfigurationException;
 import org.xml.sax.SAXException;
 
@@ -26,9 +30,18 @@ public class SceneController {
   public static final double MAX_SPEED = 100;
   public static final double MIN_SPEED = 0;
   public static final double SPEED_MULTIPLIER = 3;
+  public static final double MIN_FRAME_BUDGET = 1;
+  public static final double MAX_FRAME_BUDGET = 15;
+  public static final double DEFAULT_FRAME_BUDGET = 8;
+  public static final double TICK_COST_SMOOTHING = 0.2;
+  public static final double RATE_SAMPLE_INTERVAL = 0.5;
+  public static final long HISTORY_MEMORY_BUDGET = 64L << 20;
+  public static final double DROPPED_FRAME_FACTOR = 1.5;
   public static final String GRIDDRAWER_PACKAGE = "cellsociety.view.renderer.drawer.";
   // TODO: Change this to the default configuration file.
   public static final String DEFAULT_LOADED_SIMULATION_CONFIG = "GameOfLifeGlider.xml";
+  private static final double NANOS_PER_MILLI = 1e6;
+  private static final double NANOS_PER_SECOND = 1e9;
 
   // Controller instance variables
   private final ModelApi myModelApi;
@@ -37,18 +50,34 @@ public class SceneController {
 
   // Simulation state variables
   private boolean isLoaded;
-  private boolean isPaused;
+  private volatile boolean isPaused;
 
   // Grid variables
   private int numRows;
   private int numCols;
   private int numIterations;
   private Class<? extends GridDrawer> gridDrawerClass;
+  private int[] cellStates = new int[0];
+  private long drawnEpoch = -1;
 
   // Frame update variables
   private double updateInterval;
   private double timeSinceLastUpdate;
 
+  // Turbo mode variables
+  private boolean isTurbo;
+  private double frameBudgetMillis;
+  private double tickCostNanos;
+  private int ticksSinceRateSample;
+  private double timeSinceRateSample;
+  private double generationsPerSecond;
+
+  // Frame sample variables
+  private final FrameSampleBuffer frameSamples;
+  private long lastFrameTime;
+  private long frameTickNanos;
+  private long frameRenderNanos;
+
   /**
    * Constructor for the SceneController. Creates the model and configuration APIs and links them
    * together.
@@ -70,25 +99,58 @@ public class SceneController {
     this.timeSinceLastUpdate = 0.0;
     this.numIterations = 0;
     this.gridDrawerClass = SquareGridDrawer.class;
+    this.isTurbo = false;
+    this.frameBudgetMillis = DEFAULT_FRAME_BUDGET;
+    this.tickCostNanos = 0.0;
+    this.generationsPerSecond = 0.0;
+    this.frameSamples = new FrameSampleBuffer();
+    updateHistoryBudget();
   }
 
   /**
-   * Updates the simulation by delegating to the model API and then refreshing the scene.
+   * Updates the simulation by delegating to the model API and then refreshing the scene. In turbo
+   * mode, several generations may be advanced before the scene is refreshed once. Every frame of a
+   * running simulation is recorded as a {@link FrameEvent} when Flight Recorder has it enabled,
+   * and the timings of every frame are recorded in the {@link #getFrameSamples() frame samples}.
    *
    * @param elapsedTime the time elapsed since the last update
    */
   public void update(double elapsedTime) {
+    long frameStart = System.nanoTime();
+    frameTickNanos = 0;
+    frameRenderNanos = 0;
+    int iterationsBefore = numIterations;
     if (!isPaused) {
-      timeSinceLastUpdate += elapsedTime;
-      if (timeSinceLastUpdate >= updateInterval) {
-        myModelApi.updateSimulation();
-        updateViewGrid();
-        updateViewInfo();
-
-        timeSinceLastUpdate = 0.0;
-        numIterations++;
+      FrameEvent event = new FrameEvent();
+      event.begin();
+      if (isTurbo) {
+        updateTurbo();
+      } else {
+        timeSinceLastUpdate += elapsedTime;
+        if (timeSinceLastUpdate >= updateInterval) {
+          long tickStart = System.nanoTime();
+          myModelApi.updateSimulation();
+          frameTickNanos += System.nanoTime() - tickStart;
+          updateViewGrid();
+
+          timeSinceLastUpdate = 0.0;
+          numIterations++;
+          ticksSinceRateSample++;
+          updateViewInfo();
+        }
+      }
+      sampleGenerationRate(elapsedTime);
+      event.end();
+      if (event.shouldCommit()) {
+        event.simulation = isLoaded ? myConfigAPI.getSimulationInformation().get("type") : null;
+        event.numRows = numRows;
+        event.numCols = numCols;
+        event.ticks = numIterations - iterationsBefore;
+        event.turbo = isTurbo;
+        event.commit();
       }
     }
+    recordFrameSample(frameStart, elapsedTime, numIterations - iterationsBefore);
   }
 
   /* CONFIGURATION IO APIS */
@@ -109,11 +171,52 @@ public class SceneController {
       isLoaded = true;
       setCellShape(getSimulationCellShape());
     } catch (ParserConfigurationException | IOException | SAXException | NoSuchMethodException |
-             InvocationTargetException | IllegalAccessException | NullPointerException ex) {
+             InvocationTargetException | IllegalAccessException | NullPointerException |
+             IllegalArgumentException ex) {
       errorHandler("error-loadConfig", ex);
     }
   }
 
+  /**
+   * Loads a recorded run for playback. The recorded ticks are shown at the current speed instead of
+   * being computed, and the playback tick parameter seeks to any recorded tick.
+   *
+   * @param path the path of the run file to play back
+   */
+  public void loadRun(String path) {
+    try {
+      myConfigAPI.loadRun(path);
+      initViewGrid();
+      resetParameters();
+      resetColorParameters();
+      isLoaded = true;
+      numIterations = 0;
+      setCellShape(getSimulationCellShape());
+      updateViewInfo();
+    } catch (IOException | NoSuchMethodException | InvocationTargetException |
+             IllegalAccessException | IllegalArgumentException | NullPointerException ex) {
+      errorHandler("error-loadRun", ex);
+    }
+  }
+
+  /**
+   * Starts or stops recording the simulation to a new run file in the given directory.
+   *
+   * @param isRecording true to start recording, false to stop
+   * @param directory   the directory to write the run file to
+   */
+  public void setRecording(boolean isRecording, String directory) {
+    try {
+      if (isRecording) {
+        myConfigAPI.startRecording(directory);
+      } else {
+        myConfigAPI.stopRecording();
+      }
+    } catch (IOException | NullPointerException ex) {
+      errorHandler("error-recordRun", ex);
+    }
+  }
+
   /**
    * Saves the current simulation configuration using configAPI.
    *
@@ -183,11 +286,14 @@ public class SceneController {
   public String getConfigInformation() {
     try {
       Map<String, String> simulationInfo = myConfigAPI.getSimulationInformation();
-      return String.format("Author: %s\nTitle: %s\nType: %s\nIterations: %d\nDescription: %s",
+      return String.format(
+          "Author: %s\nTitle: %s\nType: %s\nIterations: %d\nGenerations/sec: %.1f\n"
+              + "Description: %s",
           simulationInfo.get("author"),
           simulationInfo.get("title"),
           simulationInfo.get("type"),
           numIterations,
+          generationsPerSecond,
           simulationInfo.get("description")
       );
     } catch (NullPointerException ex) {
@@ -248,6 +354,8 @@ public class SceneController {
       myModelApi.resetModel();
       resetParameters();
       resetColorParameters();
+      // The new grid restarts its epoch, so it must be drawn even if the epoch matches
+      drawnEpoch = -1;
       updateViewGrid();
 
       numIterations = 0;
@@ -288,10 +396,18 @@ public class SceneController {
 
     // Update the speed parameter.
     simulationScene.setParameter(MIN_SPEED, MAX_SPEED, myConfigAPI.getConfigSpeed(), "speed-label",
-        "speed-tooltip", speed -> {
-          // Change the speed of the simulation
-          updateInterval = 10 / (speed * SPEED_MULTIPLIER);
-        });
+        "speed-tooltip", this::setSpeed);
+
+    // Update the turbo frame budget parameter.
+    simulationScene.setParameter(MIN_FRAME_BUDGET, MAX_FRAME_BUDGET, frameBudgetMillis,
+        "frameBudget-label", "frameBudget-tooltip", this::setFrameBudget);
+
+    // Update the playback tick parameter.
+    if (myModelApi.isPlayingBack()) {
+      simulationScene.setParameter(0, myModelApi.getPlaybackLastTick(),
+          myModelApi.getPlaybackTick(), "playbackTick-label", "playbackTick-tooltip",
+          tick -> seekRun(tick.intValue()));
+    }
 
     // Update double parameters.
     Map<String, Double> doubleParams = myModelApi.getDoubleParameters();
@@ -362,6 +478,74 @@ public class SceneController {
    */
   public void setStartPause(boolean isPaused) {
     this.isPaused = isPaused;
+    this.ticksSinceRateSample = 0;
+    this.timeSinceRateSample = 0.0;
+    if (isPaused) {
+      generationsPerSecond = 0.0;
+    }
+  }
+
+  /**
+   * Registers the model with the platform MBean server, so that the simulation can be watched,
+   * paused, resumed, sped up and checkpointed from JVM tooling. Requests from the tooling are run
+   * on the JavaFX application thread, between two frames.
+   */
+  public void registerMBean() {
+    myModelApi.registerMBean(new SimulationControl() {
+      @Override
+      public void setPaused(boolean isPaused) {
+        Platform.runLater(() -> simulationScene.setStartPause(isPaused));
+      }
+
+      @Override
+      public boolean isPaused() {
+        return SceneController.this.isPaused();
+      }
+
+      @Override
+      public void setTargetSpeed(double speed) {
+        Platform.runLater(() -> setSpeed(speed));
+      }
+
+      @Override
+      public double getTargetSpeed() {
+        return getTickSpeed();
+      }
+
+      @Override
+      public void execute(Runnable task) {
+        Platform.runLater(task);
+      }
+    });
+  }
+
+  /**
+   * Removes the registration made by {@link #registerMBean()}.
+   */
+  public void unregisterMBean() {
+    myModelApi.unregisterMBean();
+  }
+
+  /**
+   * Enables or disables turbo mode. In turbo mode the speed slider is ignored and the simulation
+   * advances as many generations per frame as fit in the frame budget, rendering only once.
+   *
+   * @param isTurbo true to enable turbo mode, false to step once per update interval
+   */
+  public void setTurboMode(boolean isTurbo) {
+    this.isTurbo = isTurbo;
+    this.timeSinceLastUpdate = 0.0;
+    updateHistoryBudget();
+  }
+
+  /**
+   * Sets the per-frame time budget used by turbo mode.
+   *
+   * @param frameBudgetMillis the time in milliseconds that may be spent on ticks in a single frame
+   */
+  public void setFrameBudget(double frameBudgetMillis) {
+    this.frameBudgetMillis = Math.max(MIN_FRAME_BUDGET,
+        Math.min(MAX_FRAME_BUDGET, frameBudgetMillis));
   }
 
   /**
@@ -419,6 +603,48 @@ public class SceneController {
     }
   }
 
+  /**
+   * Steps the simulation back the given number of ticks without re-simulating them and refreshes
+   * the scene. The rewind history is recorded from the moment a simulation is loaded, except
+   * while turbo mode is on.
+   *
+   * @param numTicks the number of ticks to step back
+   */
+  public void stepBack(int numTicks) {
+    try {
+      numIterations = Math.max(0, numIterations - myModelApi.stepBack(numTicks));
+      drawViewGrid();
+      updateViewInfo();
+    } catch (IllegalStateException ex) {
+      errorHandler("error-stepBack", ex);
+    }
+  }
+
+  /**
+   * Moves the played back run to the given tick and refreshes the scene.
+   *
+   * @param tick the recorded tick to show
+   */
+  public void seekRun(int tick) {
+    try {
+      myModelApi.seekPlayback(tick);
+      numIterations = myModelApi.getPlaybackTick();
+      drawViewGrid();
+      updateViewInfo();
+    } catch (IOException | IllegalStateException ex) {
+      errorHandler("error-loadRun", ex);
+    }
+  }
+
+  /**
+   * Indicates whether the simulation is being recorded.
+   *
+   * @return true if a run is being recorded, false otherwise
+   */
+  public boolean isRecording() {
+    return myModelApi.isRecording();
+  }
+
   /**
    * Indicates whether the simulation is loaded.
    *
@@ -428,6 +654,35 @@ public class SceneController {
     return isLoaded;
   }
 
+  /**
+   * Indicates whether turbo mode is enabled.
+   *
+   * @return true if turbo mode is enabled, false otherwise
+   */
+  public boolean isTurbo() {
+    return isTurbo;
+  }
+
+  /**
+   * Retrieves the effective number of generations simulated per second, sampled over the last
+   * {@link #RATE_SAMPLE_INTERVAL} seconds.
+   *
+   * @return the effective generations per second
+   */
+  public double getGenerationsPerSecond() {
+    return generationsPerSecond;
+  }
+
+  /**
+   * Retrieves the timings of the most recent frames, for showing them without slowing the
+   * simulation loop down.
+   *
+   * @return the frame samples of this controller
+   */
+  public FrameSampleBuffer getFrameSamples() {
+    return frameSamples;
+  }
+
   /**
    * Indicates whether the simulation is paused.
    *
@@ -443,29 +698,100 @@ public class SceneController {
     numRows = myConfigAPI.getGridHeight();
     numCols = myConfigAPI.getGridWidth();
     simulationScene.setGrid(numRows, numCols, gridDrawerClass);
-
-    for (int i = 0; i < numRows; i++) {
-      for (int j = 0; j < numCols; j++) {
-        // NOTES: I'm not sure what wantDefaultColor is supposed to do.
-        //    BY: Hsuan-Kai Liao
-        simulationScene.setCell(numCols, i, j, myModelApi.getCellColor(i, j, false));
-      }
-    }
+    paintViewGrid();
   }
 
   private void updateViewGrid() {
     if (!isPaused) {
-      if (numRows == 0 || numCols == 0) {
-        initViewGrid();
-      }
-      for (int i = 0; i < numRows; i++) {
-        for (int j = 0; j < numCols; j++) {
+      drawViewGrid();
+    }
+  }
+
+  private void drawViewGrid() {
+    long drawStart = System.nanoTime();
+    if (numRows == 0 || numCols == 0) {
+      initViewGrid();
+    } else if (myModelApi.getStateEpoch() != drawnEpoch) {
+      paintViewGrid();
+    }
+    long drawTime = System.nanoTime() - drawStart;
+    frameRenderNanos += drawTime;
+    myModelApi.recordRenderTime(drawTime);
+  }
+
+  /**
+   * Keeps the rewind history within its memory budget, except in turbo mode where recording every
+   * tick would cost more than the ticks themselves.
+   */
+  private void updateHistoryBudget() {
+    myModelApi.setHistoryBudget(isTurbo ? 0 : HISTORY_MEMORY_BUDGET);
+  }
+
+  /**
+   * Colors every cell from a bulk export of the states and the state palette. Only the cells of
+   * white states are looked up one by one, as their properties may give them another color. The
+   * minimap is fed the exported states directly.
+   */
+  private void paintViewGrid() throws NullPointerException {
+    drawnEpoch = myModelApi.getStateEpoch();
+    if (cellStates.length != numRows * numCols) {
+      cellStates = new int[numRows * numCols];
+    }
+    myModelApi.exportStates(cellStates, 0, 0, numRows, numCols);
+    String[] palette = myModelApi.getStatePalette();
+    for (int i = 0; i < numRows; i++) {
+      for (int j = 0; j < numCols; j++) {
+        int state = cellStates[i * numCols + j];
+        String color = state >= 0 && state < palette.length ? palette[state] : null;
+        if (color == null || "WHITE".equalsIgnoreCase(color)) {
           // NOTES: I'm not sure what wantDefaultColor is supposed to do.
           //    BY: Hsuan-Kai Liao
-          simulationScene.setCell(numCols, i, j, myModelApi.getCellColor(i, j, false));
+          color = myModelApi.getCellColor(i, j, false);
         }
+        simulationScene.setCell(numCols, i, j, color);
       }
     }
+    simulationScene.setMiniMapStates(cellStates, palette);
+  }
+
+  private void updateTurbo() {
+    long frameStart = System.nanoTime();
+    double budgetNanos = frameBudgetMillis * NANOS_PER_MILLI;
+    int ticks = 0;
+
+    // Always advance at least one generation, then keep going while the estimated cost of the
+    // next tick still fits into what is left of the frame budget.
+    do {
+      long tickStart = System.nanoTime();
+      myModelApi.updateSimulation();
+      long tickCost = System.nanoTime() - tickStart;
+      frameTickNanos += tickCost;
+      tickCostNanos = tickCostNanos == 0.0 ? tickCost
+          : TICK_COST_SMOOTHING * tickCost + (1 - TICK_COST_SMOOTHING) * tickCostNanos;
+      ticks++;
+    } while (System.nanoTime() - frameStart + tickCostNanos <= budgetNanos);
+
+    updateViewGrid();
+    numIterations += ticks;
+    ticksSinceRateSample += ticks;
+    updateViewInfo();
+  }
+
+  private void sampleGenerationRate(double elapsedTime) {
+    timeSinceRateSample += elapsedTime;
+    if (timeSinceRateSample >= RATE_SAMPLE_INTERVAL) {
+      generationsPerSecond = ticksSinceRateSample / timeSinceRateSample;
+      ticksSinceRateSample = 0;
+      timeSinceRateSample = 0.0;
+    }
+  }
+
+  private void recordFrameSample(long frameStart, double elapsedTime, int ticks) {
+    // The first frame has no previous frame to be late to
+    long frameTime = lastFrameTime == 0 ? 0 : frameStart - lastFrameTime;
+    lastFrameTime = frameStart;
+    boolean isDropped = frameTime > elapsedTime * NANOS_PER_SECOND * DROPPED_FRAME_FACTOR;
+    frameSamples.record(frameTime, frameTickNanos, frameRenderNanos, ticks, isDropped);
   }
 
   private void updateViewInfo() {
@@ -474,6 +800,12 @@ public class SceneController {
     }
   }
 
+  private void setSpeed(double speed) {
+    // Change the speed of the simulation
+    double clampedSpeed = Math.max(MIN_SPEED, Math.min(MAX_SPEED, speed));
+    updateInterval = 10 / (clampedSpeed * SPEED_MULTIPLIER);
+  }
+
   private int getTickSpeed() {
     return (int) (10 / updateInterval / SPEED_MULTIPLIER);
   }
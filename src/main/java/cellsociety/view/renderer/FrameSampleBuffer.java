@@ -0,0 +1,227 @@
+package cellsociety.view.renderer;
+
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The FrameSampleBuffer class keeps the timings of the most recent frames of the simulation loop
+ * in a fixed ring of primitive arrays. Recording a frame writes a few array slots and publishes
+ * the new count, without locks or allocation, so the loop runs the same whether or not anything
+ * reads the samples. Readers copy the latest samples with {@link #copyTo(Samples)} and drop the
+ * ones the loop overwrote while they were copying.
+ * <p>
+ * One thread records the frames; any number of threads may copy them.
+ *
+ * @author Hsuan-Kai Liao
+ */
+public class FrameSampleBuffer {
+
+  // Constants
+  public static final int DEFAULT_CAPACITY = 256;
+
+  // Sample variables
+  private final int mask;
+  private final long[] frameNanos;
+  private final long[] tickNanos;
+  private final long[] renderNanos;
+  private final int[] ticks;
+  private final boolean[] dropped;
+  private final AtomicLong count = new AtomicLong();
+
+  /**
+   * Creates a buffer that keeps the {@link #DEFAULT_CAPACITY} most recent frames.
+   */
+  public FrameSampleBuffer() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Creates a buffer that keeps the given number of most recent frames.
+   *
+   * @param capacity the number of frames to keep, rounded up to a power of two
+   */
+  public FrameSampleBuffer(int capacity) {
+    int size = Integer.highestOneBit(Math.max(2, capacity) * 2 - 1);
+    this.mask = size - 1;
+    this.frameNanos = new long[size];
+    this.tickNanos = new long[size];
+    this.renderNanos = new long[size];
+    this.ticks = new int[size];
+    this.dropped = new boolean[size];
+  }
+
+  /**
+   * Records the timings of one frame, overwriting the oldest frame once the buffer is full.
+   *
+   * @param frameTime  the time since the previous frame in nanoseconds
+   * @param tickTime   the time spent computing ticks during the frame in nanoseconds
+   * @param renderTime the time spent refreshing the grid during the frame in nanoseconds
+   * @param numTicks   the number of ticks computed during the frame
+   * @param isDropped  true if the frame came later than the frame rate allows
+   */
+  public void record(long frameTime, long tickTime, long renderTime, int numTicks,
+      boolean isDropped) {
+    long next = count.get();
+    int slot = (int) (next & mask);
+    frameNanos[slot] = frameTime;
+    tickNanos[slot] = tickTime;
+    renderNanos[slot] = renderTime;
+    ticks[slot] = numTicks;
+    dropped[slot] = isDropped;
+    count.lazySet(next + 1);
+  }
+
+  /**
+   * Returns the number of frames the buffer can keep.
+   *
+   * @return the capacity of the buffer
+   */
+  public int getCapacity() {
+    return mask + 1;
+  }
+
+  /**
+   * Returns the number of frames recorded since the buffer was created, including the ones that
+   * were overwritten since.
+   *
+   * @return the total number of recorded frames
+   */
+  public long getCount() {
+    return count.get();
+  }
+
+  /**
+   * Copies the most recent frames into the given samples, oldest first. Frames overwritten while
+   * they were being copied are left out.
+   *
+   * @param samples the samples to fill, which should have the capacity of this buffer
+   * @return the number of copied frames
+   */
+  public int copyTo(Samples samples) {
+    long end = count.get();
+    int wanted = (int) Math.min(end, Math.min(getCapacity(), samples.capacity()));
+    long start = end - wanted;
+    for (long i = start; i < end; i++) {
+      int slot = (int) (i & mask);
+      int target = (int) (i - start);
+      samples.frameNanos[target] = frameNanos[slot];
+      samples.tickNanos[target] = tickNanos[slot];
+      samples.renderNanos[target] = renderNanos[slot];
+      samples.ticks[target] = ticks[slot];
+      samples.dropped[target] = dropped[slot];
+    }
+
+    // The frame being recorded now may already have overwritten the slot of an older frame
+    VarHandle.loadLoadFence();
+    long firstIntact = count.get() - getCapacity() + 1;
+    int skipped = (int) Math.max(0, Math.min(wanted, firstIntact - start));
+    samples.shift(skipped, wanted - skipped);
+    return samples.size;
+  }
+
+  /**
+   * The Samples class holds a copy of the recorded frames, so that a reader can reuse the same
+   * arrays for every copy.
+   */
+  public static class Samples {
+
+    private final long[] frameNanos;
+    private final long[] tickNanos;
+    private final long[] renderNanos;
+    private final int[] ticks;
+    private final boolean[] dropped;
+    private int size;
+
+    /**
+     * Creates empty samples that can hold the given number of frames.
+     *
+     * @param capacity the number of frames to hold
+     */
+    public Samples(int capacity) {
+      frameNanos = new long[capacity];
+      tickNanos = new long[capacity];
+      renderNanos = new long[capacity];
+      ticks = new int[capacity];
+      dropped = new boolean[capacity];
+    }
+
+    /**
+     * Returns the number of frames that can be held.
+     *
+     * @return the capacity of the samples
+     */
+    public int capacity() {
+      return frameNanos.length;
+    }
+
+    /**
+     * Returns the number of copied frames.
+     *
+     * @return the number of frames
+     */
+    public int size() {
+      return size;
+    }
+
+    /**
+     * Returns the time between a frame and the previous one.
+     *
+     * @param index the index of the frame, 0 being the oldest
+     * @return the frame time in nanoseconds
+     */
+    public long getFrameNanos(int index) {
+      return frameNanos[index];
+    }
+
+    /**
+     * Returns the time spent computing ticks during a frame.
+     *
+     * @param index the index of the frame, 0 being the oldest
+     * @return the tick time in nanoseconds
+     */
+    public long getTickNanos(int index) {
+      return tickNanos[index];
+    }
+
+    /**
+     * Returns the time spent refreshing the grid during a frame.
+     *
+     * @param index the index of the frame, 0 being the oldest
+     * @return the render time in nanoseconds
+     */
+    public long getRenderNanos(int index) {
+      return renderNanos[index];
+    }
+
+    /**
+     * Returns the number of ticks computed during a frame.
+     *
+     * @param index the index of the frame, 0 being the oldest
+     * @return the number of ticks
+     */
+    public int getTicks(int index) {
+      return ticks[index];
+    }
+
+    /**
+     * Indicates whether a frame came later than the frame rate allows.
+     *
+     * @param index the index of the frame, 0 being the oldest
+     * @return true if the frame was dropped
+     */
+    public boolean isDropped(int index) {
+      return dropped[index];
+    }
+
+    private void shift(int from, int length) {
+      if (from > 0) {
+        System.arraycopy(frameNanos, from, frameNanos, 0, length);
+        System.arraycopy(tickNanos, from, tickNanos, 0, length);
+        System.arraycopy(renderNanos, from, renderNanos, 0, length);
+        System.arraycopy(ticks, from, ticks, 0, length);
+        System.arraycopy(dropped, from, dropped, 0, length);
+      }
+      size = length;
+    }
+  }
+}
@@ -0,0 +1,301 @@
+package cellsociety.view.renderer;
+
+import cellsociety.view.renderer.drawer.GridDrawer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javafx.geometry.Bounds;
+import javafx.scene.Node;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Shape;
+
+/**
+ * The GridViewport class draws only the part of a grid that is visible. The cells are grouped into
+ * square tiles whose bounds are computed from the geometry of the grid, without creating any node.
+ * Nodes are only created for the tiles that intersect the visible rectangle. When a tile scrolls
+ * out of view its nodes are hidden and kept in a pool, from which they are moved to the tiles that
+ * scroll into view, so panning does not grow the scene graph. The color of every cell is kept so
+ * that a tile can be filled as soon as it becomes visible.
+ *
+ * @author Hsuan-Kai Liao
+ */
+public class GridViewport {
+
+  // Constants
+  public static final int TILE_SIZE = 32;
+
+  // Grid variables
+  private final Pane grid;
+  private GridDrawer drawer;
+  private double[] geometry = new double[0];
+  private int numRows;
+  private int numCols;
+  private int numTileRows;
+  private int numTileCols;
+  private boolean isBorderVisible = true;
+
+  // Tile variables
+  private double[] tileBounds = new double[0];
+  private Shape[][] tileCells = new Shape[0][];
+  private final Deque<Shape[]> freeTiles = new ArrayDeque<>();
+  private int numVisibleTiles;
+
+  // Color variables
+  private Color[] cellColors = new Color[0];
+  private final Map<String, Color> parsedColors = new HashMap<>();
+
+  /**
+   * Creates a new GridViewport for the given grid pane.
+   *
+   * @param grid the pane that the visible cells and the boundary of the grid are drawn on
+   */
+  public GridViewport(Pane grid) {
+    this.grid = grid;
+  }
+
+  /**
+   * Replaces the drawn grid with an empty grid of the given size and shape. No cell is drawn until
+   * the visible area is set with {@link #setViewport(Bounds)}. The nodes of the previous grid are
+   * kept for reuse if it had the same shape.
+   *
+   * @param numOfRows       the number of rows in the grid
+   * @param numOfCols       the number of columns in the grid
+   * @param gridDrawerClass the class of the GridDrawer to use
+   */
+  public <T extends GridDrawer> void setGrid(int numOfRows, int numOfCols,
+      Class<T> gridDrawerClass) {
+    GridDrawer newDrawer = GridDrawer.getInstance(gridDrawerClass);
+    if (newDrawer != drawer) {
+      // The nodes of another shape cannot be reused
+      grid.getChildren().clear();
+      freeTiles.clear();
+    } else {
+      grid.getChildren().removeLast();
+      for (int tile = 0; tile < tileCells.length; tile++) {
+        if (tileCells[tile] != null) {
+          hideTile(tile);
+        }
+      }
+    }
+    drawer = newDrawer;
+
+    numRows = Math.max(0, numOfRows);
+    numCols = Math.max(0, numOfCols);
+    numTileRows = (numRows + TILE_SIZE - 1) / TILE_SIZE;
+    numTileCols = (numCols + TILE_SIZE - 1) / TILE_SIZE;
+    geometry = drawer.getGeometry(numRows, numCols);
+    cellColors = new Color[numRows * numCols];
+
+    int numTiles = numTileRows * numTileCols;
+    tileBounds = new double[4 * numTiles];
+    tileCells = new Shape[numTiles][];
+    numVisibleTiles = 0;
+    for (int tile = 0; tile < numTiles; tile++) {
+      computeTileBounds(tile);
+    }
+    drawer.drawGridBound(grid, numRows, numCols);
+  }
+
+  /**
+   * Draws the tiles that intersect the visible area and hides all others. Only the tiles whose
+   * visibility changes are touched, and the pool of hidden nodes is trimmed to the number of
+   * visible tiles.
+   *
+   * @param visibleBounds the visible area in the local coordinates of the grid pane
+   */
+  public void setViewport(Bounds visibleBounds) {
+    List<Node> createdCells = new ArrayList<>();
+    for (int tile = 0; tile < tileCells.length; tile++) {
+      int offset = 4 * tile;
+      boolean isVisible = tileBounds[offset] <= visibleBounds.getMaxX()
+          && tileBounds[offset + 2] >= visibleBounds.getMinX()
+          && tileBounds[offset + 1] <= visibleBounds.getMaxY()
+          && tileBounds[offset + 3] >= visibleBounds.getMinY();
+      if (isVisible && tileCells[tile] == null) {
+        showTile(tile, createdCells);
+      } else if (!isVisible && tileCells[tile] != null) {
+        hideTile(tile);
+      }
+    }
+    if (!createdCells.isEmpty()) {
+      // Keep the boundary, which is the last child, on top of the cells
+      grid.getChildren().addAll(grid.getChildren().size() - 1, createdCells);
+    }
+    trimFreeTiles();
+  }
+
+  /**
+   * Draws a cell with the given color. The color is kept, so a cell of a hidden tile is drawn with
+   * it once the tile becomes visible.
+   *
+   * @param row       the row index of the cell
+   * @param col       the column index of the cell
+   * @param colorName the color of the cell as a string (e.g., "RED" or "#FF0000")
+   */
+  public void drawCell(int row, int col, String colorName) {
+    if (row < 0 || row >= numRows || col < 0 || col >= numCols) {
+      return;
+    }
+    Color color = parsedColors.computeIfAbsent(colorName, GridViewport::parseColor);
+    cellColors[row * numCols + col] = color;
+    Shape[] cells = tileCells[getTile(row, col)];
+    if (cells != null) {
+      cells[getSlot(row, col)].setFill(color);
+    }
+  }
+
+  /**
+   * Shows or hides the border of every cell, including the cells drawn later.
+   *
+   * @param isVisible true to show the borders, false to hide them
+   */
+  public void setBorderVisible(boolean isVisible) {
+    isBorderVisible = isVisible;
+    for (Shape[] cells : tileCells) {
+      setBorderWidth(cells);
+    }
+    for (Shape[] cells : freeTiles) {
+      setBorderWidth(cells);
+    }
+  }
+
+  /**
+   * Indicates whether the tile containing the given cell is currently visible.
+   *
+   * @param row the row index of the cell
+   * @param col the column index of the cell
+   * @return true if the cell is inside a visible tile, false otherwise
+   */
+  public boolean isCellVisible(int row, int col) {
+    if (row < 0 || row >= numRows || col < 0 || col >= numCols) {
+      return false;
+    }
+    return tileCells[getTile(row, col)] != null;
+  }
+
+  /* PRIVATE HELPER METHODS */
+
+  private void computeTileBounds(int tile) {
+    double minX = Double.POSITIVE_INFINITY;
+    double minY = Double.POSITIVE_INFINITY;
+    double maxX = Double.NEGATIVE_INFINITY;
+    double maxY = Double.NEGATIVE_INFINITY;
+
+    int coordinatesPerCell = geometry.length / (numRows * numCols);
+    int rowStart = (tile / numTileCols) * TILE_SIZE;
+    int colStart = (tile % numTileCols) * TILE_SIZE;
+    for (int row = rowStart; row < Math.min(numRows, rowStart + TILE_SIZE); row++) {
+      for (int col = colStart; col < Math.min(numCols, colStart + TILE_SIZE); col++) {
+        int cellStart = (row * numCols + col) * coordinatesPerCell;
+        for (int i = cellStart; i < cellStart + coordinatesPerCell; i += 2) {
+          minX = Math.min(minX, geometry[i]);
+          minY = Math.min(minY, geometry[i + 1]);
+          maxX = Math.max(maxX, geometry[i]);
+          maxY = Math.max(maxY, geometry[i + 1]);
+        }
+      }
+    }
+
+    int offset = 4 * tile;
+    tileBounds[offset] = minX;
+    tileBounds[offset + 1] = minY;
+    tileBounds[offset + 2] = maxX;
+    tileBounds[offset + 3] = maxY;
+  }
+
+  private void showTile(int tile, List<Node> createdCells) {
+    Shape[] cells = freeTiles.poll();
+    if (cells == null) {
+      cells = new Shape[TILE_SIZE * TILE_SIZE];
+    }
+    int rowStart = (tile / numTileCols) * TILE_SIZE;
+    int colStart = (tile % numTileCols) * TILE_SIZE;
+    for (int slot = 0; slot < cells.length; slot++) {
+      int row = rowStart + slot / TILE_SIZE;
+      int col = colStart + slot % TILE_SIZE;
+      if (row >= numRows || col >= numCols) {
+        // The tile is cut off by the edge of the grid
+        if (cells[slot] != null) {
+          cells[slot].setVisible(false);
+        }
+        continue;
+      }
+      if (cells[slot] == null) {
+        cells[slot] = drawer.createCell();
+        cells[slot].setStrokeWidth(getBorderWidth());
+        createdCells.add(cells[slot]);
+      }
+      int index = row * numCols + col;
+      drawer.placeCell(cells[slot], geometry, index);
+      cells[slot].setFill(cellColors[index] == null
+          ? GridDrawer.DEFAULT_BACKGROUND_COLOR : cellColors[index]);
+      cells[slot].setVisible(true);
+    }
+    tileCells[tile] = cells;
+    numVisibleTiles++;
+  }
+
+  private void hideTile(int tile) {
+    for (Shape cell : tileCells[tile]) {
+      if (cell != null) {
+        cell.setVisible(false);
+      }
+    }
+    freeTiles.push(tileCells[tile]);
+    tileCells[tile] = null;
+    numVisibleTiles--;
+  }
+
+  private void trimFreeTiles() {
+    if (freeTiles.size() <= numVisibleTiles) {
+      return;
+    }
+    Set<Node> trimmed = Collections.newSetFromMap(new IdentityHashMap<>());
+    while (freeTiles.size() > numVisibleTiles) {
+      for (Shape cell : freeTiles.removeLast()) {
+        if (cell != null) {
+          trimmed.add(cell);
+        }
+      }
+    }
+    grid.getChildren().removeAll(trimmed);
+  }
+
+  private void setBorderWidth(Shape[] cells) {
+    if (cells == null) {
+      return;
+    }
+    for (Shape cell : cells) {
+      if (cell != null) {
+        cell.setStrokeWidth(getBorderWidth());
+      }
+    }
+  }
+
+  private double getBorderWidth() {
+    return isBorderVisible ? GridDrawer.DEFAULT_BORDER_SIZE : 0;
+  }
+
+  private int getTile(int row, int col) {
+    return (row / TILE_SIZE) * numTileCols + col / TILE_SIZE;
+  }
+
+  private int getSlot(int row, int col) {
+    return (row % TILE_SIZE) * TILE_SIZE + col % TILE_SIZE;
+  }
+
+  private static Color parseColor(String colorName) {
+    try {
+      return Color.valueOf(colorName);
+    } catch (IllegalArgumentException e) {
+      return Color.WHITE;  // default to white if the provided colorName is invalid
+    }
+  }
+}
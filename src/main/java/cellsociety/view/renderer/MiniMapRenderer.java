@@ -0,0 +1,198 @@
+package cellsociety.view.renderer;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import javafx.scene.image.ImageView;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+
+/**
+ * The MiniMapRenderer class draws a level-of-detail overview of the grid into a single image. It
+ * reads the packed state array exported by the model together with the state palette, and each
+ * pixel of the image is the average color of every cell of a block, so that even a single cell of
+ * a sparse feature tints its pixel. The image is only rebuilt at a lower rate than the main view.
+ *
+ * @author Hsuan-Kai Liao
+ */
+public class MiniMapRenderer {
+
+  // Constants
+  public static final int MAX_MINIMAP_SIZE = 100;
+  public static final double DEFAULT_REFRESH_INTERVAL = 0.25;
+  private static final int DEFAULT_CELL_COLOR = 0xFFFFFFFF;
+
+  // Rendering variables
+  private final ImageView imageView;
+  private final Map<String, Integer> colorCache = new HashMap<>();
+  private int[] cellStates = new int[0];
+  private int[] paletteColors = new int[0];
+  private int[] pixels = new int[0];
+  private WritableImage image;
+  private int numRows;
+  private int numCols;
+  private int blockSize;
+  private int imageWidth;
+  private int imageHeight;
+
+  // Refresh variables
+  private double refreshInterval;
+  private double timeSinceLastRefresh;
+  private boolean isDirty;
+
+  /**
+   * Creates a new MiniMapRenderer with an empty overview image.
+   */
+  public MiniMapRenderer() {
+    this.imageView = new ImageView();
+    this.imageView.setSmooth(false);
+    this.imageView.setPreserveRatio(true);
+    this.refreshInterval = DEFAULT_REFRESH_INTERVAL;
+  }
+
+  /**
+   * Returns the node that displays the overview image.
+   *
+   * @return the image view of the minimap
+   */
+  public ImageView getView() {
+    return imageView;
+  }
+
+  /**
+   * Resizes the minimap for a grid with the given number of rows and columns. The overview stays
+   * blank until the states of the grid are set.
+   *
+   * @param numOfRows the number of rows in the grid
+   * @param numOfCols the number of columns in the grid
+   */
+  public void setGrid(int numOfRows, int numOfCols) {
+    numRows = Math.max(0, numOfRows);
+    numCols = Math.max(0, numOfCols);
+    cellStates = new int[0];
+
+    blockSize = Math.max(1,
+        (Math.max(numRows, numCols) + MAX_MINIMAP_SIZE - 1) / MAX_MINIMAP_SIZE);
+    imageWidth = Math.max(1, (numCols + blockSize - 1) / blockSize);
+    imageHeight = Math.max(1, (numRows + blockSize - 1) / blockSize);
+    pixels = new int[imageWidth * imageHeight];
+    image = new WritableImage(imageWidth, imageHeight);
+    imageView.setImage(image);
+
+    isDirty = true;
+    render();
+  }
+
+  /**
+   * Sets the states of every cell, as exported by the model, and the colors they are drawn with.
+   * The array is not copied but read on every refresh, so the caller may keep exporting into it.
+   * The image is rebuilt on the next refresh.
+   *
+   * @param states  the row-major states of all cells, holding at least rows * columns values
+   * @param palette the color of every state indexed by state value, or null if a state is unused
+   */
+  public void setStates(int[] states, String[] palette) {
+    cellStates = states.length < numRows * numCols ? new int[0] : states;
+    if (paletteColors.length != palette.length) {
+      paletteColors = new int[palette.length];
+    }
+    for (int state = 0; state < palette.length; state++) {
+      paletteColors[state] = toArgb(palette[state]);
+    }
+    isDirty = true;
+  }
+
+  /**
+   * Sets how often the overview image is rebuilt.
+   *
+   * @param refreshInterval the minimum time in seconds between two refreshes
+   */
+  public void setRefreshInterval(double refreshInterval) {
+    this.refreshInterval = Math.max(0, refreshInterval);
+  }
+
+  /**
+   * Advances the refresh timer and rebuilds the overview image once the refresh interval has passed
+   * and a cell has changed since the last refresh.
+   *
+   * @param elapsedTime the time elapsed since the last call in seconds
+   */
+  public void update(double elapsedTime) {
+    timeSinceLastRefresh += elapsedTime;
+    if (isDirty && timeSinceLastRefresh >= refreshInterval) {
+      render();
+    }
+  }
+
+  /* PRIVATE HELPER METHODS */
+
+  private void render() {
+    if (image == null) {
+      return;
+    }
+
+    if (cellStates.length == 0) {
+      Arrays.fill(pixels, DEFAULT_CELL_COLOR);
+    } else {
+      renderBlocks();
+    }
+    image.getPixelWriter().setPixels(0, 0, imageWidth, imageHeight,
+        PixelFormat.getIntArgbInstance(), pixels, 0, imageWidth);
+    timeSinceLastRefresh = 0.0;
+    isDirty = false;
+  }
+
+  private void renderBlocks() {
+    for (int y = 0; y < imageHeight; y++) {
+      int rowStart = y * blockSize;
+      int rowEnd = Math.min(numRows, rowStart + blockSize);
+      for (int x = 0; x < imageWidth; x++) {
+        int colStart = x * blockSize;
+        int colEnd = Math.min(numCols, colStart + blockSize);
+        pixels[y * imageWidth + x] = averageBlock(rowStart, rowEnd, colStart, colEnd);
+      }
+    }
+  }
+
+  private int averageBlock(int rowStart, int rowEnd, int colStart, int colEnd) {
+    long red = 0;
+    long green = 0;
+    long blue = 0;
+    int count = 0;
+    for (int row = rowStart; row < rowEnd; row++) {
+      int offset = row * numCols;
+      for (int col = colStart; col < colEnd; col++) {
+        int state = cellStates[offset + col];
+        int argb = state >= 0 && state < paletteColors.length
+            ? paletteColors[state] : DEFAULT_CELL_COLOR;
+        red += (argb >> 16) & 0xFF;
+        green += (argb >> 8) & 0xFF;
+        blue += argb & 0xFF;
+        count++;
+      }
+    }
+    if (count == 0) {
+      return DEFAULT_CELL_COLOR;
+    }
+    return 0xFF000000 | (int) (red / count) << 16 | (int) (green / count) << 8
+        | (int) (blue / count);
+  }
+
+  private int toArgb(String colorName) {
+    if (colorName == null) {
+      return DEFAULT_CELL_COLOR;
+    }
+    return colorCache.computeIfAbsent(colorName, name -> {
+      try {
+        Color color = Color.valueOf(name);
+        return 0xFF000000
+            | (int) Math.round(color.getRed() * 255) << 16
+            | (int) Math.round(color.getGreen() * 255) << 8
+            | (int) Math.round(color.getBlue() * 255);
+      } catch (IllegalArgumentException e) {
+        return DEFAULT_CELL_COLOR;  // default to white if the provided colorName is invalid
+      }
+    });
+  }
+}
@@ -0,0 +1,186 @@
+package cellsociety.view.renderer;
+
+import cellsociety.view.controller.LanguageController;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.util.List;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+
+/**
+ * The PerformanceRenderer class draws a sparkline of the tick and render time of the most recent
+ * frames onto a canvas, together with the tick rate, the dropped frames, the heap usage and the
+ * time spent in garbage collection. The frames are copied from a {@link FrameSampleBuffer} at a
+ * low rate, so showing them does not slow down the loop that records them.
+ *
+ * @author Hsuan-Kai Liao
+ */
+public class PerformanceRenderer {
+
+  // Constants
+  public static final double DEFAULT_WIDTH = 320;
+  public static final double DEFAULT_HEIGHT = 150;
+  public static final double DEFAULT_REFRESH_INTERVAL = 0.5;
+  public static final Color TICK_COLOR = Color.web("#19d25a");
+  public static final Color RENDER_COLOR = Color.web("#f57c00");
+  public static final Color TEXT_COLOR = Color.web("#808080");
+  private static final double TEXT_HEIGHT = 16;
+  private static final double PADDING = 4;
+  private static final double MIN_SCALE_MILLIS = 1.0;
+  private static final double NANOS_PER_MILLI = 1e6;
+  private static final double NANOS_PER_SECOND = 1e9;
+  private static final long BYTES_PER_MEGABYTE = 1L << 20;
+
+  // Rendering variables
+  private final Canvas canvas;
+  private final FrameSampleBuffer frameSamples;
+  private final FrameSampleBuffer.Samples samples;
+  private final double[] pointXs;
+  private final double[] tickPoints;
+  private final double[] renderPoints;
+
+  // Refresh variables
+  private double refreshInterval;
+  private double timeSinceLastRefresh;
+  private long lastGcMillis;
+  private long lastGcCount;
+
+  /**
+   * Creates a new PerformanceRenderer showing the frames recorded in the given buffer.
+   *
+   * @param frameSamples the buffer the simulation loop records its frames in
+   */
+  public PerformanceRenderer(FrameSampleBuffer frameSamples) {
+    this.canvas = new Canvas(DEFAULT_WIDTH, DEFAULT_HEIGHT);
+    this.frameSamples = frameSamples;
+    this.samples = new FrameSampleBuffer.Samples(frameSamples.getCapacity());
+    this.pointXs = new double[frameSamples.getCapacity()];
+    this.tickPoints = new double[frameSamples.getCapacity()];
+    this.renderPoints = new double[frameSamples.getCapacity()];
+    this.refreshInterval = DEFAULT_REFRESH_INTERVAL;
+    this.lastGcMillis = getGcMillis();
+    this.lastGcCount = getGcCount();
+  }
+
+  /**
+   * Returns the canvas the performance is drawn on.
+   *
+   * @return the canvas of the overlay
+   */
+  public Canvas getView() {
+    return canvas;
+  }
+
+  /**
+   * Sets how often the overlay is redrawn.
+   *
+   * @param refreshInterval the minimum time in seconds between two redraws
+   */
+  public void setRefreshInterval(double refreshInterval) {
+    this.refreshInterval = Math.max(0, refreshInterval);
+  }
+
+  /**
+   * Advances the refresh timer and redraws the overlay once the refresh interval has passed. The
+   * overlay is not redrawn while it is not part of a scene.
+   *
+   * @param elapsedTime the time elapsed since the last call in seconds
+   */
+  public void update(double elapsedTime) {
+    timeSinceLastRefresh += elapsedTime;
+    if (timeSinceLastRefresh >= refreshInterval && canvas.getScene() != null) {
+      render();
+    }
+  }
+
+  /* PRIVATE HELPER METHODS */
+
+  private void render() {
+    int size = frameSamples.copyTo(samples);
+    GraphicsContext gc = canvas.getGraphicsContext2D();
+    double width = canvas.getWidth();
+    double height = canvas.getHeight();
+    gc.clearRect(0, 0, width, height);
+
+    // Sparkline of the tick and render time of every frame, scaled to the slowest frame
+    double chartHeight = height - 3 * TEXT_HEIGHT - PADDING;
+    double scaleNanos = MIN_SCALE_MILLIS * NANOS_PER_MILLI;
+    long totalFrameNanos = 0;
+    long totalTickNanos = 0;
+    long totalRenderNanos = 0;
+    int totalTicks = 0;
+    int droppedFrames = 0;
+    for (int i = 0; i < size; i++) {
+      scaleNanos = Math.max(scaleNanos,
+          Math.max(samples.getTickNanos(i), samples.getRenderNanos(i)));
+      totalFrameNanos += samples.getFrameNanos(i);
+      totalTickNanos += samples.getTickNanos(i);
+      totalRenderNanos += samples.getRenderNanos(i);
+      totalTicks += samples.getTicks(i);
+      droppedFrames += samples.isDropped(i) ? 1 : 0;
+    }
+    double step = size > 1 ? width / (size - 1) : 0;
+    for (int i = 0; i < size; i++) {
+      pointXs[i] = i * step;
+      tickPoints[i] = chartHeight * (1 - samples.getTickNanos(i) / scaleNanos);
+      renderPoints[i] = chartHeight * (1 - samples.getRenderNanos(i) / scaleNanos);
+    }
+    gc.setLineWidth(1);
+    gc.setStroke(RENDER_COLOR);
+    gc.strokePolyline(pointXs, renderPoints, size);
+    gc.setStroke(TICK_COLOR);
+    gc.strokePolyline(pointXs, tickPoints, size);
+
+    // Legend and statistics below the sparkline
+    double averageTick = size == 0 ? 0 : totalTickNanos / NANOS_PER_MILLI / size;
+    double averageRender = size == 0 ? 0 : totalRenderNanos / NANOS_PER_MILLI / size;
+    double ticksPerSecond = totalFrameNanos == 0 ? 0 : totalTicks * NANOS_PER_SECOND
+        / totalFrameNanos;
+    MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+    long heapMax = heap.getMax() < 0 ? heap.getCommitted() : heap.getMax();
+    long gcMillis = getGcMillis();
+    long gcCount = getGcCount();
+
+    double textY = chartHeight + PADDING + TEXT_HEIGHT;
+    gc.setFill(TICK_COLOR);
+    gc.fillText(String.format(getText("performance-tick"), averageTick), 0, textY);
+    gc.setFill(RENDER_COLOR);
+    gc.fillText(String.format(getText("performance-render"), averageRender), width / 2, textY);
+    gc.setFill(TEXT_COLOR);
+    gc.fillText(String.format(getText("performance-rate"), ticksPerSecond, droppedFrames, size),
+        0, textY + TEXT_HEIGHT);
+    gc.fillText(String.format(getText("performance-memory"), heap.getUsed() / BYTES_PER_MEGABYTE,
+            heapMax / BYTES_PER_MEGABYTE, gcMillis - lastGcMillis, gcCount - lastGcCount), 0,
+        textY + 2 * TEXT_HEIGHT);
+
+    lastGcMillis = gcMillis;
+    lastGcCount = gcCount;
+    timeSinceLastRefresh = 0.0;
+  }
+
+  private String getText(String key) {
+    return LanguageController.getStringProperty(key).getValue();
+  }
+
+  private static long getGcMillis() {
+    long total = 0;
+    for (GarbageCollectorMXBean collector : getCollectors()) {
+      total += Math.max(0, collector.getCollectionTime());
+    }
+    return total;
+  }
+
+  private static long getGcCount() {
+    long total = 0;
+    for (GarbageCollectorMXBean collector : getCollectors()) {
+      total += Math.max(0, collector.getCollectionCount());
+    }
+    return total;
+  }
+
+  private static List<GarbageCollectorMXBean> getCollectors() {
+    return ManagementFactory.getGarbageCollectorMXBeans();
+  }
+}
@@ -1,9 +1,14 @@
 package cellsociety.view.renderer.drawer;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import javafx.scene.Node;
 import javafx.scene.layout.Pane;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Polygon;
+import javafx.scene.shape.Shape;
 import javafx.scene.shape.StrokeType;
 
 /**
@@ -14,17 +19,35 @@ import javafx.scene.shape.StrokeType;
 public abstract class GridDrawer {
 
   public static final int DEFAULT_BORDER_SIZE = 1;
+  public static final Color DEFAULT_BACKGROUND_COLOR = Color.DIMGRAY;
   // Constants
-  protected static final Color DEFAULT_BACKGROUND_COLOR = Color.DIMGRAY;
   protected static final Color DEFAULT_BORDER_COLOR = Color.LIGHTGRAY;
   protected static final Color DEFAULT_BOUND_COLOR = Color.BLACK;
   protected static final int DEFAULT_CELL_SIZE = 20;
-  // Singleton instance
-  private static GridDrawer instance;
+  // One instance per shape, so that switching shapes keeps the geometry of each
+  private static final Map<Class<? extends GridDrawer>, GridDrawer> instances = new HashMap<>();
 
-  private static <T extends GridDrawer> GridDrawer getInstance(Class<T> clazz) {
-    if (instance == null || !instance.getClass().equals(clazz)) {
+  // Vertex buffer of the last grid size drawn with this shape. Only one size is kept per shape, as
+  // the buffer of a large grid can take as much memory as the grid itself.
+  private int cachedRows = -1;
+  private int cachedCols = -1;
+  private double[] cachedGeometry;
+
+  // Reused to hand the points of one cell to its polygon
+  private Double[] cellPoints = new Double[0];
+
+  /**
+   * Returns the drawer of the given shape. Every shape has a single drawer, which keeps the
+   * geometry of the last grid size it drew.
+   *
+   * @param clazz The class of the GridDrawer to use
+   * @return the drawer of that class
+   */
+  public static <T extends GridDrawer> GridDrawer getInstance(Class<T> clazz) {
+    GridDrawer instance = instances.get(clazz);
+    if (instance == null) {
       instance = createInstance(clazz);
+      instances.put(clazz, instance);
     }
     return instance;
   }
@@ -59,6 +82,83 @@ public abstract class GridDrawer {
     drawer.drawGridBound(pane, numOfRows, numOfCols);
   }
 
+  /**
+   * Draw the cells of the grid from the cached vertex buffer of this drawer. If the pane already
+   * holds a grid with the same number of cells of the same kind, the existing cells are reused and
+   * only moved, so switching between polygon shapes or reloading a same-sized grid does not
+   * rebuild the scene graph.
+   *
+   * @param pane      The grid to draw on
+   * @param numOfRows The number of rows in the grid
+   * @param numOfCols The number of columns in the grid
+   */
+  protected void drawGridContents(Pane pane, int numOfRows, int numOfCols) {
+    int numOfCells = numOfRows * numOfCols;
+    double[] vertices = getGeometry(numOfRows, numOfCols);
+    List<Node> children = pane.getChildren();
+
+    if (isReusable(children, numOfCells)) {
+      // Drop the old boundary and move the existing cells in place
+      children.removeLast();
+      for (int i = 0; i < numOfCells; i++) {
+        Shape cell = (Shape) children.get(i);
+        placeCell(cell, vertices, i);
+        styleCell(cell);
+      }
+      return;
+    }
+
+    List<Node> cells = new ArrayList<>(numOfCells);
+    for (int i = 0; i < numOfCells; i++) {
+      Shape cell = createCell();
+      placeCell(cell, vertices, i);
+      cells.add(cell);
+    }
+    pane.getChildren().setAll(cells);
+  }
+
+  /**
+   * Returns the vertices of every cell of a grid of the given size, in the layout described by
+   * {@link #computeGeometry(int, int)}. The buffer is computed once per size and shared, so it
+   * must not be modified.
+   *
+   * @param numOfRows The number of rows in the grid
+   * @param numOfCols The number of columns in the grid
+   * @return the vertex buffer of the grid
+   */
+  public double[] getGeometry(int numOfRows, int numOfCols) {
+    if (cachedGeometry == null || numOfRows != cachedRows || numOfCols != cachedCols) {
+      // Release the previous buffer before computing the next one
+      cachedGeometry = null;
+      cachedGeometry = computeGeometry(numOfRows, numOfCols);
+      cachedRows = numOfRows;
+      cachedCols = numOfCols;
+    }
+    return cachedGeometry;
+  }
+
+  /**
+   * Creates an unplaced cell with the default fill and border.
+   *
+   * @return a new cell
+   */
+  public Shape createCell() {
+    Shape cell = new Polygon();
+    styleCell(cell);
+    return cell;
+  }
+
+  /**
+   * Moves a cell created by {@link #createCell()} to the given position of the grid.
+   *
+   * @param cell     The cell to move
+   * @param vertices The vertex buffer of the grid
+   * @param index    The row-major index of the position
+   */
+  public void placeCell(Shape cell, double[] vertices, int index) {
+    setCellPoints((Polygon) cell, vertices, index * 2 * getVertexCount(), getVertexCount());
+  }
+
   /* OVERRIDE METHOD BELOW */
 
   protected void addBoundary(Pane pane, List<Double> points) {
@@ -72,9 +172,88 @@ public abstract class GridDrawer {
     pane.getChildren().add(boundary);
   }
 
-  protected abstract void drawGridContents(Pane pane, int numOfRows, int numOfCols);
+  /**
+   * Give a cell the default fill and border and make it visible.
+   *
+   * @param cell The cell to style
+   */
+  protected void styleCell(Shape cell) {
+    cell.setFill(DEFAULT_BACKGROUND_COLOR);
+    cell.setStroke(DEFAULT_BORDER_COLOR);
+    cell.setStrokeWidth(DEFAULT_BORDER_SIZE);
+    cell.setStrokeType(StrokeType.INSIDE);
+    cell.setVisible(true);
+  }
+
+  /**
+   * Returns the number of vertices of a single cell.
+   *
+   * @return the number of vertices per cell
+   */
+  protected abstract int getVertexCount();
+
+  /**
+   * Compute the vertices of every cell in row-major order. Each cell occupies
+   * {@code 2 * getVertexCount()} consecutive entries of alternating x and y coordinates.
+   *
+   * @param numOfRows The number of rows in the grid
+   * @param numOfCols The number of columns in the grid
+   * @return the vertex buffer of the grid
+   */
+  protected abstract double[] computeGeometry(int numOfRows, int numOfCols);
 
   /* API BELOW */
 
-  protected abstract void drawGridBound(Pane pane, int numOfRows, int numOfCols);
+  /**
+   * Draw the boundary of the grid on top of the given pane.
+   *
+   * @param pane      The grid to draw on
+   * @param numOfRows The number of rows in the grid
+   * @param numOfCols The number of columns in the grid
+   */
+  public abstract void drawGridBound(Pane pane, int numOfRows, int numOfCols);
+
+  /* PRIVATE HELPER METHODS */
+
+  private boolean isReusable(List<Node> children, int numOfCells) {
+    // A reusable grid holds exactly one cell of this drawer's kind per cell, then the boundary
+    if (children.size() != numOfCells + 1) {
+      return false;
+    }
+    Class<?> cellClass = createCell().getClass();
+    for (int i = 0; i < numOfCells; i++) {
+      if (children.get(i).getClass() != cellClass) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private void setCellPoints(Polygon cell, double[] vertices, int offset, int vertexCount) {
+    List<Double> points = cell.getPoints();
+    int numPoints = 2 * vertexCount;
+    if (hasSamePoints(points, vertices, offset, numPoints)) {
+      return;
+    }
+    if (cellPoints.length != numPoints) {
+      cellPoints = new Double[numPoints];
+    }
+    for (int i = 0; i < numPoints; i++) {
+      cellPoints[i] = vertices[offset + i];
+    }
+    cell.getPoints().setAll(cellPoints);
+  }
+
+  private boolean hasSamePoints(List<Double> points, double[] vertices, int offset,
+      int numPoints) {
+    if (points.size() != numPoints) {
+      return false;
+    }
+    for (int i = 0; i < numPoints; i++) {
+      if (points.get(i) != vertices[offset + i]) {
+        return false;
+      }
+    }
+    return true;
+  }
 }
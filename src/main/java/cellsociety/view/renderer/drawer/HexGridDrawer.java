@@ -3,8 +3,6 @@ package cellsociety.view.renderer.drawer;
 import java.util.ArrayList;
 import java.util.List;
 import javafx.scene.layout.Pane;
-import javafx.scene.shape.Polygon;
-import javafx.scene.shape.StrokeType;
 
 /**
  * A class that draws a hexagonal grid.
@@ -16,25 +14,44 @@ public class HexGridDrawer extends GridDrawer {
   private static final double DEFAULT_HEX_CELL_SIZE = DEFAULT_CELL_SIZE / 1.5;
 
   @Override
-  protected void drawGridContents(Pane pane, int numOfRows, int numOfCols) {
-    pane.getChildren().clear();
+  protected int getVertexCount() {
+    return 6;
+  }
+
+  @Override
+  protected double[] computeGeometry(int numOfRows, int numOfCols) {
     double sideLength = DEFAULT_HEX_CELL_SIZE;
     double width = 2 * sideLength;
     double height = Math.sqrt(3) * sideLength;
     double offsetX = sideLength;
     double offsetY = height / 2;
+    double[] vertices = new double[numOfRows * numOfCols * 2 * getVertexCount()];
+
+    // The corner offsets are the same for every hexagon
+    double[] cornerX = new double[getVertexCount()];
+    double[] cornerY = new double[getVertexCount()];
+    for (int i = 0; i < getVertexCount(); i++) {
+      double angle = Math.toRadians(60 * i);
+      cornerX[i] = sideLength * Math.cos(angle);
+      cornerY[i] = sideLength * Math.sin(angle);
+    }
 
+    int index = 0;
     for (int row = 0; row < numOfRows; row++) {
       for (int col = 0; col < numOfCols; col++) {
-        double x = col * (width * 3 / 4);
-        double y = row * height + (col % 2 == 1 ? height / 2 : 0);
-        drawHexagon(pane, x + offsetX, y + offsetY, sideLength);
+        double centerX = col * (width * 3 / 4) + offsetX;
+        double centerY = row * height + (col % 2 == 1 ? height / 2 : 0) + offsetY;
+        for (int i = 0; i < getVertexCount(); i++) {
+          vertices[index++] = centerX + cornerX[i];
+          vertices[index++] = centerY + cornerY[i];
+        }
       }
     }
+    return vertices;
   }
 
   @Override
-  protected void drawGridBound(Pane pane, int numOfRows, int numOfCols) {
+  public void drawGridBound(Pane pane, int numOfRows, int numOfCols) {
     double sideLength = DEFAULT_HEX_CELL_SIZE;
     boolean isColOdd = numOfCols % 2 == 1;
     boolean isRowOdd = numOfRows % 2 == 1;
@@ -85,21 +102,4 @@ public class HexGridDrawer extends GridDrawer {
 
     addBoundary(pane, points);
   }
-
-  /* PRIVATE HELPER METHODS */
-
-  private void drawHexagon(Pane pane, double centerX, double centerY, double sideLength) {
-    double[] points = new double[12];
-    for (int i = 0; i < 6; i++) {
-      double angle = Math.toRadians(60 * i);
-      points[2 * i] = centerX + sideLength * Math.cos(angle);
-      points[2 * i + 1] = centerY + sideLength * Math.sin(angle);
-    }
-    Polygon hexagon = new Polygon(points);
-    hexagon.setFill(DEFAULT_BACKGROUND_COLOR);
-    hexagon.setStroke(DEFAULT_BORDER_COLOR);
-    hexagon.setStrokeWidth(DEFAULT_BORDER_SIZE);
-    hexagon.setStrokeType(StrokeType.INSIDE);
-    pane.getChildren().add(hexagon);
-  }
 }
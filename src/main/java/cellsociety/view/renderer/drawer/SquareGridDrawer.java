@@ -5,7 +5,7 @@ import java.util.List;
 import java.util.function.BiConsumer;
 import javafx.scene.layout.Pane;
 import javafx.scene.shape.Rectangle;
-import javafx.scene.shape.StrokeType;
+import javafx.scene.shape.Shape;
 
 /**
  * A class that draws a square grid.
@@ -15,28 +15,53 @@ import javafx.scene.shape.StrokeType;
 public class SquareGridDrawer extends GridDrawer {
 
   @Override
-  protected void drawGridContents(Pane pane, int numOfRows, int numOfCols) {
-    pane.getChildren().clear();
+  public Shape createCell() {
+    // Squares are drawn as rectangles, which render faster than four-point polygons
+    Shape cell = new Rectangle(DEFAULT_CELL_SIZE, DEFAULT_CELL_SIZE);
+    styleCell(cell);
+    return cell;
+  }
+
+  @Override
+  public void placeCell(Shape cell, double[] vertices, int index) {
+    int offset = index * 2 * getVertexCount();
+    Rectangle rectangle = (Rectangle) cell;
+    rectangle.setX(vertices[offset]);
+    rectangle.setY(vertices[offset + 1]);
+  }
+
+  @Override
+  protected int getVertexCount() {
+    return 4;
+  }
+
+  @Override
+  protected double[] computeGeometry(int numOfRows, int numOfCols) {
     double cellSize = DEFAULT_CELL_SIZE;
+    double[] vertices = new double[numOfRows * numOfCols * 2 * getVertexCount()];
 
+    int index = 0;
     for (int i = 0; i < numOfRows; i++) {
       for (int j = 0; j < numOfCols; j++) {
         double x = j * cellSize;
         double y = i * cellSize;
 
-        Rectangle cell = new Rectangle(x, y, cellSize, cellSize);
-        cell.setFill(DEFAULT_BACKGROUND_COLOR);
-        cell.setStroke(DEFAULT_BORDER_COLOR);
-        cell.setStrokeWidth(DEFAULT_BORDER_SIZE);
-        cell.setStrokeType(StrokeType.INSIDE);
-
-        pane.getChildren().add(cell);
+        // Corners in clockwise order starting from the top left
+        vertices[index++] = x;
+        vertices[index++] = y;
+        vertices[index++] = x + cellSize;
+        vertices[index++] = y;
+        vertices[index++] = x + cellSize;
+        vertices[index++] = y + cellSize;
+        vertices[index++] = x;
+        vertices[index++] = y + cellSize;
       }
     }
+    return vertices;
   }
 
   @Override
-  protected void drawGridBound(Pane pane, int numOfRows, int numOfCols) {
+  public void drawGridBound(Pane pane, int numOfRows, int numOfCols) {
     List<Double> points = new ArrayList<>();
     double cellSize = DEFAULT_CELL_SIZE;
     double totalWidth = numOfCols * cellSize;
@@ -4,8 +4,6 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.function.BiConsumer;
 import javafx.scene.layout.Pane;
-import javafx.scene.shape.Polygon;
-import javafx.scene.shape.StrokeType;
 
 /**
  * A class that draws a triangular grid.
@@ -17,9 +15,12 @@ public class TriGridDrawer extends GridDrawer {
   private static final double DEFAULT_TRI_CELL_SIZE = DEFAULT_CELL_SIZE * 1.3;
 
   @Override
-  protected void drawGridContents(Pane pane, int numOfRows, int numOfCols) {
-    pane.getChildren().clear();
+  protected int getVertexCount() {
+    return 3;
+  }
 
+  @Override
+  protected double[] computeGeometry(int numOfRows, int numOfCols) {
     // Get the side length and height of the triangle
     double sideLength = DEFAULT_TRI_CELL_SIZE;
     double height = Math.sqrt(3) * sideLength / 2;
@@ -27,17 +28,21 @@ public class TriGridDrawer extends GridDrawer {
     // Center the grid
     double offsetX = sideLength / 2;
     double offsetY = height / 2;
+    double[] vertices = new double[numOfRows * numOfCols * 2 * getVertexCount()];
 
+    int index = 0;
     for (int i = 0; i < numOfRows; i++) {
       for (int j = 0; j < numOfCols; j++) {
         boolean isFacingUp = (i + j) % 2 == 0;
-        drawTriangle(pane, j, i, sideLength, height, offsetX, offsetY, isFacingUp);
+        index = addTriangle(vertices, index, j, i, sideLength, height, offsetX, offsetY,
+            isFacingUp);
       }
     }
+    return vertices;
   }
 
   @Override
-  protected void drawGridBound(Pane pane, int numOfRows, int numOfCols) {
+  public void drawGridBound(Pane pane, int numOfRows, int numOfCols) {
     List<Double> points = new ArrayList<>();
     double sideLength = DEFAULT_TRI_CELL_SIZE;
     double height = Math.sqrt(3) * sideLength / 2;
@@ -85,8 +90,8 @@ public class TriGridDrawer extends GridDrawer {
 
   /* PRIVATE HELPER METHODS */
 
-  private void drawTriangle(Pane pane, int col, int row, double sideLength, double height,
-      double offsetX, double offsetY, boolean isFacingUp) {
+  private int addTriangle(double[] vertices, int index, int col, int row, double sideLength,
+      double height, double offsetX, double offsetY, boolean isFacingUp) {
     double x1, y1, x2, y2, x3, y3;
 
     if (isFacingUp) {
@@ -108,22 +113,12 @@ public class TriGridDrawer extends GridDrawer {
     }
 
     // Offset the triangle
-    x1 += offsetX;
-    y1 += offsetY;
-    x2 += offsetX;
-    y2 += offsetY;
-    x3 += offsetX;
-    y3 += offsetY;
-
-    // Create triangle
-    Polygon triangle = new Polygon(x1, y1, x2, y2, x3, y3);
-    triangle.setFill(DEFAULT_BACKGROUND_COLOR);
-    triangle.setStrokeType(StrokeType.INSIDE);
-    triangle.setStroke(DEFAULT_BORDER_COLOR);
-    triangle.setStrokeWidth(DEFAULT_BORDER_SIZE);
-
-    // Add triangle to the pane
-    pane.getChildren().add(triangle);
+    vertices[index++] = x1 + offsetX;
+    vertices[index++] = y1 + offsetY;
+    vertices[index++] = x2 + offsetX;
+    vertices[index++] = y2 + offsetY;
+    vertices[index++] = x3 + offsetX;
+    vertices[index++] = y3 + offsetY;
+    return index;
   }
-
 }
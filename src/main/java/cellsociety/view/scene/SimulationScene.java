@@ -12,18 +12,20 @@ import cellsociety.view.controller.ThemeController.UIComponent;
 import cellsociety.view.docking.DWindow;
 import cellsociety.view.docking.Docker;
 import cellsociety.view.docking.Docker.DockPosition;
-import cellsociety.view.renderer.SceneRenderer;
+import cellsociety.view.renderer.GridViewport;
+import cellsociety.view.renderer.MiniMapRenderer;
+import cellsociety.view.renderer.PerformanceRenderer;
 import cellsociety.view.renderer.drawer.GridDrawer;
 import java.io.File;
-import java.util.List;
 import java.util.Map;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import javafx.animation.KeyFrame;
 import javafx.animation.Timeline;
+import javafx.application.Platform;
+import javafx.geometry.BoundingBox;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
-import javafx.scene.Node;
 import javafx.scene.control.Button;
 import javafx.scene.control.CheckBox;
 import javafx.scene.control.ComboBox;
@@ -36,11 +38,12 @@ import javafx.scene.layout.Pane;
 import javafx.scene.layout.Priority;
 import javafx.scene.layout.Region;
 import javafx.scene.layout.VBox;
-import javafx.scene.shape.Shape;
 import javafx.scene.text.Text;
 import javafx.scene.text.TextFlow;
 import javafx.stage.DirectoryChooser;
+import javafx.stage.FileChooser;
 import javafx.stage.Stage;
+import javafx.stage.WindowEvent;
 
 /**
  * The SimulationScene class represents the main scene of the application where the simulation is
@@ -73,7 +76,9 @@ public class SimulationScene {
   // UI components
   private Button startPauseButton;
   private Pane grid;
-  private Pane miniGrid;
+  private MiniMapRenderer miniMap;
+  private PerformanceRenderer performance;
+  private GridViewport gridViewport;
   private VBox parameterBox;
   private VBox colorBox;
   private ComboBox<String> selectSimulationType;
@@ -109,6 +114,7 @@ public class SimulationScene {
     ScrollPane parameterPanel = createParameterPanel();
     ScrollPane colorPanel = createColorPanel();
     ScrollPane logPanel = createLogPanel();
+    ScrollPane performancePanel = createPerformancePanel();
 
     // Create a floating window for each component
     docker.createDWindow(LanguageController.getStringProperty("controls-window"), controls,
@@ -127,6 +133,8 @@ public class SimulationScene {
         logPanel, DockPosition.BOTTOM, parameterWindow);
     docker.createDWindow(LanguageController.getStringProperty("info-window"), infoLabel,
         DockPosition.CENTER, logWindow);
+    docker.createDWindow(LanguageController.getStringProperty("performance-window"),
+        performancePanel, DockPosition.CENTER, logWindow);
     docker.reformat();
   }
 
@@ -170,9 +178,18 @@ public class SimulationScene {
       gameLoop.setCycleCount(Timeline.INDEFINITE);
       gameLoop.getKeyFrames().add(
           new KeyFrame(javafx.util.Duration.seconds(1.0 / framesPerSecond),
-              e -> controller.update(1.0 / framesPerSecond)));
+              e -> {
+                controller.update(1.0 / framesPerSecond);
+                miniMap.update(1.0 / framesPerSecond);
+                performance.update(1.0 / framesPerSecond);
+              }));
       gameLoop.play();
 
+      // Expose the simulation to JVM tooling while the window is open
+      controller.registerMBean();
+      primaryStage.addEventHandler(WindowEvent.WINDOW_HIDDEN,
+          e -> controller.unregisterMBean());
+
       // Set the default simulation
       loadCallback(SceneController.DEFAULT_LOADED_SIMULATION_CONFIG);
       selectSimulationType.setValue(SceneController.DEFAULT_LOADED_SIMULATION_CONFIG);
@@ -223,10 +240,19 @@ public class SimulationScene {
     grid = new Pane();
     grid.getStyleClass().add("grid-panel");
 
-    miniGrid = new Pane();
-    miniGrid.getStyleClass().add("grid-panel");
+    miniMap = new MiniMapRenderer();
+    gridViewport = new GridViewport(grid);
+
+    // Recompute the visible tiles whenever the grid is panned, zoomed or the view is resized
+    Pane gridParent = SceneUIWidgetFactory.dragZoomViewUI(grid, miniMap.getView());
+    grid.boundsInParentProperty().addListener((observable, oldValue, newValue) ->
+        updateViewport());
+    gridParent.widthProperty().addListener((observable, oldValue, newValue) ->
+        updateViewport());
+    gridParent.heightProperty().addListener((observable, oldValue, newValue) ->
+        updateViewport());
 
-    return SceneUIWidgetFactory.dragZoomViewUI(grid, miniGrid);
+    return gridParent;
   }
 
   private ScrollPane createParameterPanel() {
@@ -267,6 +293,10 @@ public class SimulationScene {
         e -> saveCallback(directoryField.getText()));
     Button directoryButton = SceneUIWidgetFactory.createButtonUI(
         LanguageController.getStringProperty("directory-button"), e -> directorySelectCallback());
+    Button replayButton = SceneUIWidgetFactory.createButtonUI(
+        LanguageController.getStringProperty("replay-button"), e -> replayCallback());
+    Button stepBackButton = SceneUIWidgetFactory.createButtonUI(
+        LanguageController.getStringProperty("step-back-button"), e -> stepBackCallback());
 
     // Set button sizes
     directoryButton.setPrefWidth(SceneUIWidgetFactory.BUTTON_WIDTH * 0.8);
@@ -298,13 +328,36 @@ public class SimulationScene {
     loadButton.getStyleClass().add("load-button");
     saveButton.getStyleClass().add("save-button");
     directoryButton.getStyleClass().add("directory-button");
+    replayButton.getStyleClass().add("replay-button");
+    stepBackButton.getStyleClass().add("step-back-button");
+
+    // Turbo mode checkbox
+    CheckBox turboCheckBox = new CheckBox();
+    turboCheckBox.textProperty().bind(LanguageController.getStringProperty("turbo-checkbox-text"));
+    turboCheckBox.getStyleClass().add("turbo-checkbox");
+    turboCheckBox.setOnAction(e -> controller.setTurboMode(turboCheckBox.isSelected()));
+    turboCheckBox.setSelected(controller.isTurbo());
+
+    // Record checkbox
+    CheckBox recordCheckBox = new CheckBox();
+    recordCheckBox.textProperty().bind(
+        LanguageController.getStringProperty("record-checkbox-text"));
+    recordCheckBox.getStyleClass().add("record-checkbox");
+    recordCheckBox.setOnAction(e -> {
+      recordCallback(recordCheckBox.isSelected(), directoryField.getText());
+      recordCheckBox.setSelected(controller.isRecording());
+    });
 
     // HBox formatting for each dx
     HBox row1 = new HBox(10, startPauseButton, resetButton, newButton);
     row1.setAlignment(Pos.CENTER);
     row1.setPadding(new Insets(5));
 
-    HBox row3 = new HBox(10, loadButton, selectSimulationType);
+    HBox row2 = new HBox(10, stepBackButton, turboCheckBox, recordCheckBox);
+    row2.setAlignment(Pos.CENTER);
+    row2.setPadding(new Insets(5));
+
+    HBox row3 = new HBox(10, loadButton, selectSimulationType, replayButton);
     row3.setAlignment(Pos.CENTER);
     row3.setPadding(new Insets(5));
 
@@ -314,7 +367,7 @@ public class SimulationScene {
 
     // Create sections
     BorderPane section1 = SceneUIWidgetFactory.createSectionUI(
-        LanguageController.getStringProperty("operations-section"), row1);
+        LanguageController.getStringProperty("operations-section"), row1, row2);
     BorderPane section2 = SceneUIWidgetFactory.createSectionUI(
         LanguageController.getStringProperty("io-section"), row3, row4);
 
@@ -432,14 +485,29 @@ public class SimulationScene {
         LanguageController.getStringProperty("info-panel"));
   }
 
+  private ScrollPane createPerformancePanel() {
+    performance = new PerformanceRenderer(controller.getFrameSamples());
+
+    VBox performanceBox = new VBox(10, performance.getView());
+    performanceBox.setAlignment(Pos.TOP_CENTER);
+    performanceBox.getStyleClass().add("info-box");
+    performanceBox.setPadding(new Insets(10));
+    performanceBox.setMinHeight(Region.USE_COMPUTED_SIZE);
+    VBox.setVgrow(performanceBox, Priority.ALWAYS);
+
+    return SceneUIWidgetFactory.createContainerUI(performanceBox,
+        LanguageController.getStringProperty("performance-panel"));
+  }
+
   private ScrollPane createLogPanel() {
     // Create the log text area
     TextFlow logText = new TextFlow();
     logText.getStyleClass().add("log-text");
-    Log.addLogListener(log -> {
+    Log.addLogListener(log -> Platform.runLater(() -> {
+      // Log messages arrive on the log writer thread
       Text text = processAnsiCodes(log);
       logText.getChildren().add(text);
-    });
+    }));
     VBox.setVgrow(logText, Priority.ALWAYS);
 
     // Create the log container
@@ -542,6 +610,39 @@ public class SimulationScene {
     }
   }
 
+  private void stepBackCallback() {
+    // Force to pause
+    toggleStartPauseButton(true);
+
+    // Step back one tick
+    controller.stepBack(1);
+  }
+
+  private void recordCallback(boolean isRecording, String directory) {
+    if (!isRecording || (directory != null && !directory.isEmpty())) {
+      controller.setRecording(isRecording, directory);
+    }
+  }
+
+  private void replayCallback() {
+    // Select a recorded run
+    FileChooser fileChooser = new FileChooser();
+    fileChooser.setTitle("Select Run");
+    fileChooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("Runs", "*.run"));
+    File selectedFile = fileChooser.showOpenDialog(primaryStage);
+
+    if (selectedFile != null) {
+      // Force to pause
+      toggleStartPauseButton(true);
+
+      // Play back the run
+      controller.loadRun(selectedFile.getAbsolutePath());
+      primaryStage.setTitle(controller.getSimulationTitle());
+      centerGrid();
+      resetFlip();
+    }
+  }
+
   private void saveCallback(String path) {
     if (path != null && !path.isEmpty()) {
       // Force to pause
@@ -571,12 +672,7 @@ public class SimulationScene {
 
   private void toggleBorderCallback(boolean showBorder) {
     doShowBorder = showBorder;
-    List<Node> children = grid.getChildren();
-
-    // The last child is the boundary
-    for (int i = 0; i < children.size() - 1; i++) {
-      ((Shape) children.get(i)).setStrokeWidth(showBorder ? GridDrawer.DEFAULT_BORDER_SIZE : 0);
-    }
+    gridViewport.setBorderVisible(showBorder);
   }
 
   private void splashScreenThemeCallback(Theme theme) {
@@ -597,8 +693,9 @@ public class SimulationScene {
    */
   public <T extends GridDrawer> void setGrid(int numOfRows, int numOfCols,
       Class<T> gridDrawerClass) {
-    SceneRenderer.drawGrid(grid, numOfRows, numOfCols, gridDrawerClass);
-    SceneRenderer.drawGrid(miniGrid, numOfRows, numOfCols, gridDrawerClass);
+    gridViewport.setGrid(numOfRows, numOfCols, gridDrawerClass);
+    miniMap.setGrid(numOfRows, numOfCols);
+    updateViewport();
   }
 
   /**
@@ -609,8 +706,17 @@ public class SimulationScene {
    * @param color the state of the cell
    */
   public void setCell(int rowCount, int row, int col, String color) {
-    SceneRenderer.drawCell(grid, rowCount, row, col, color);
-    SceneRenderer.drawCell(miniGrid, rowCount, row, col, color);
+    gridViewport.drawCell(row, col, color);
+  }
+
+  /**
+   * Set the states of every cell shown by the minimap
+   *
+   * @param states  the row-major states of all cells, which the minimap keeps reading
+   * @param palette the color of every state indexed by state value
+   */
+  public void setMiniMapStates(int[] states, String[] palette) {
+    miniMap.setStates(states, palette);
   }
 
   /**
@@ -685,6 +791,20 @@ public class SimulationScene {
             LanguageController.getStringProperty(tooltipKey), callback));
   }
 
+  /**
+   * Starts or pauses the simulation as if the start/pause button was pressed, and updates the
+   * button to match.
+   *
+   * @param isPaused true to pause the simulation, false to start it
+   */
+  public void setStartPause(boolean isPaused) {
+    if (!isPaused && !controller.isLoaded()) {
+      Log.warn("Simulation is not loaded. Aborting start.");
+      return;
+    }
+    toggleStartPauseButton(isPaused);
+  }
+
   /* PRIVATE UI HELPER METHODS */
 
   private void toggleStartPauseButton(boolean isPause) {
@@ -714,6 +834,17 @@ public class SimulationScene {
     grid.relocate(centerX, centerY);
   }
 
+  private void updateViewport() {
+    Pane pane = (Pane) grid.getParent();
+    if (pane == null) {
+      return;
+    }
+
+    // The clip of the parent pane always starts at its origin
+    gridViewport.setViewport(
+        grid.parentToLocal(new BoundingBox(0, 0, pane.getWidth(), pane.getHeight())));
+  }
+
   private void resetFlip() {
     grid.setScaleX(abs(grid.getScaleX()));
     grid.setScaleY(abs(grid.getScaleY()));
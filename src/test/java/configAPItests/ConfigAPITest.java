@@ -22,7 +22,6 @@ import java.io.IOException;
 import java.lang.reflect.Field;
 import java.util.*;
 import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.transform.TransformerException;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.xml.sax.SAXException;
@@ -196,6 +195,23 @@ public class ConfigAPITest {
       return states;
     }
 
+    /**
+     * Returns a 2x2 grid of cell records (all state 1 with empty properties).
+     * Expected outcome: A 2x2 matrix matching getCellStates() and getCellProperties().
+     */
+    @Override
+    public List<List<CellRecord>> getCellRecords() {
+      List<List<CellRecord>> records = new ArrayList<>();
+      for (int i = 0; i < 2; i++) {
+        List<CellRecord> row = new ArrayList<>();
+        for (int j = 0; j < 2; j++) {
+          row.add(new CellRecord(1, new HashMap<>()));
+        }
+        records.add(row);
+      }
+      return records;
+    }
+
     /**
      * Returns a 2x2 grid of empty property maps.
      * Expected outcome: A 2x2 matrix where each cell's property map is empty.
@@ -223,7 +239,7 @@ public class ConfigAPITest {
 
       @Override
       public void saveCurrentConfig(ConfigInfo configInfo, String filePath)
-          throws ParserConfigurationException, IOException, TransformerException {
+          throws ParserConfigurationException, IOException {
         // Capture the file path instead of writing to disk.
         lastFileSaved = filePath;
       }
@@ -242,7 +258,7 @@ public class ConfigAPITest {
 
       @Override
       public String saveSimulation(String FilePath)
-          throws ParserConfigurationException, IOException, TransformerException {
+          throws ParserConfigurationException, IOException {
         try {
           Field writerField = configAPI.class.getDeclaredField("configWriter");
           writerField.setAccessible(true);
@@ -518,7 +534,7 @@ public class ConfigAPITest {
     }
 
     @Test
-    public void saveSimulation_ValidInput_ReturnsProvidedFilePath() throws ParserConfigurationException, IOException, TransformerException {
+    public void saveSimulation_ValidInput_ReturnsProvidedFilePath() throws ParserConfigurationException, IOException {
       // Testing configAPI.saveSimulation() using TestableConfigAPI.
       TestableConfigAPI api = new TestableConfigAPI();
       ConfigInfo dummyConfig = createDummyConfigInfo();
@@ -0,0 +1,134 @@
+package configtests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import cellsociety.model.config.ConfigCatalog;
+import cellsociety.model.config.ConfigHeader;
+import cellsociety.model.config.ConfigInfo.SimulationType;
+import cellsociety.model.config.ConfigInfo.cellShapeType;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * @author Billy McCune
+ * JUnit tests for the cached catalog of configuration files.
+ * <p>
+ * The test method names follow the convention:
+ * MethodName_StateUnderTest_ExpectedBehavior
+ */
+public class ConfigCatalogTest {
+
+  private static final long WATCH_TIMEOUT_MILLIS = 10_000;
+
+  private String createConfig(String title, int width) {
+    return "<simulation><type>Fire</type><title>" + title + "</title>"
+        + "<author>Tester</author><cellShapeType>Hexagon</cellShapeType>"
+        + "<width>" + width + "</width><height>4</height>"
+        + "<initialCells><row><cell state=\"oops\"></row></initialCells></simulation>";
+  }
+
+  @Test
+  public void getFileNames_FolderWithFiles_ListsNamesAlphabetically(@TempDir Path tempDir)
+      throws IOException {
+    Files.writeString(tempDir.resolve("b.xml"), createConfig("B", 2));
+    Files.writeString(tempDir.resolve("a.xml"), createConfig("A", 2));
+    Files.createDirectory(tempDir.resolve("folder"));
+    try (ConfigCatalog catalog = new ConfigCatalog(tempDir)) {
+      assertEquals(List.of("a.xml", "b.xml"), catalog.getFileNames());
+    }
+  }
+
+  @Test
+  public void getHeader_ConfigWithMalformedGrid_ReadsHeaderOnly(@TempDir Path tempDir)
+      throws IOException {
+    // The grid is not well-formed XML, so a full read would fail
+    Files.writeString(tempDir.resolve("fire.xml"), createConfig("Fire Test", 7));
+    try (ConfigCatalog catalog = new ConfigCatalog(tempDir)) {
+      ConfigHeader header = catalog.getHeader("fire.xml");
+      assertEquals("fire.xml", header.fileName());
+      assertEquals(SimulationType.FIRE, header.type());
+      assertEquals("Fire Test", header.title());
+      assertEquals("Tester", header.author());
+      assertEquals(7, header.width());
+      assertEquals(4, header.height());
+      assertEquals(cellShapeType.HEXAGON, header.cellShape());
+    }
+  }
+
+  @Test
+  public void getHeader_FileChanged_RereadsHeader(@TempDir Path tempDir) throws IOException {
+    Path config = tempDir.resolve("fire.xml");
+    Files.writeString(config, createConfig("Before", 7));
+    try (ConfigCatalog catalog = new ConfigCatalog(tempDir)) {
+      assertEquals("Before", catalog.getHeader("fire.xml").title());
+      Files.writeString(config, createConfig("After!", 17));
+      assertEquals("After!", catalog.getHeader("fire.xml").title());
+      assertEquals(17, catalog.getHeader("fire.xml").width());
+    }
+  }
+
+  @Test
+  public void getHeader_UnreadableFile_ReturnsEmptyHeader(@TempDir Path tempDir)
+      throws IOException {
+    Files.writeString(tempDir.resolve("notes.txt"), "not a configuration");
+    try (ConfigCatalog catalog = new ConfigCatalog(tempDir)) {
+      ConfigHeader header = catalog.getHeader("notes.txt");
+      assertNull(header.type());
+      assertNull(header.title());
+      assertEquals(-1, header.width());
+      assertNull(catalog.getHeader("missing.xml"));
+    }
+  }
+
+  @Test
+  public void getHeader_LifePattern_ReadsPatternSize(@TempDir Path tempDir) throws IOException {
+    Files.writeString(tempDir.resolve("glider.rle"), "#N Glider\nx = 3, y = 3\nbo$2bo$3o!");
+    try (ConfigCatalog catalog = new ConfigCatalog(tempDir)) {
+      ConfigHeader header = catalog.getHeader("glider.rle");
+      assertEquals(SimulationType.LIFE, header.type());
+      assertEquals("Glider", header.title());
+      assertEquals(3, header.width());
+      assertEquals(3, header.height());
+    }
+  }
+
+  @Test
+  public void getFile_FileAddedAndDeleted_UpdatesIndex(@TempDir Path tempDir) throws Exception {
+    try (ConfigCatalog catalog = new ConfigCatalog(tempDir)) {
+      assertTrue(catalog.getFileNames().isEmpty());
+      Path config = Files.writeString(tempDir.resolve("new.xml"), createConfig("New", 2));
+      // A file that is not indexed yet is found by a rescan
+      assertEquals(config.toFile(), catalog.getFile("new.xml"));
+      Files.delete(config);
+      awaitFileNames(catalog, List.of());
+    }
+  }
+
+  @Test
+  public void getFileNames_FileAdded_IsPickedUpByWatcher(@TempDir Path tempDir) throws Exception {
+    try (ConfigCatalog catalog = new ConfigCatalog(tempDir)) {
+      Files.writeString(tempDir.resolve("watched.xml"), createConfig("Watched", 2));
+      awaitFileNames(catalog, List.of("watched.xml"));
+    }
+  }
+
+  @Test
+  public void constructor_MissingFolder_ThrowsIllegalStateException(@TempDir Path tempDir) {
+    File missing = tempDir.resolve("missing").toFile();
+    assertThrows(IllegalStateException.class, () -> new ConfigCatalog(missing.toPath()));
+  }
+
+  private void awaitFileNames(ConfigCatalog catalog, List<String> expected)
+      throws InterruptedException {
+    long deadline = System.currentTimeMillis() + WATCH_TIMEOUT_MILLIS;
+    while (!catalog.getFileNames().equals(expected) && System.currentTimeMillis() < deadline) {
+      Thread.sleep(20);
+    }
+    assertEquals(expected, catalog.getFileNames());
+  }
+}
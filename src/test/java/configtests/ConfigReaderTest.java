@@ -1,7 +1,10 @@
 package configtests;
 
 
+import cellsociety.model.config.CellRecord;
+import cellsociety.model.config.ConfigInfo;
 import cellsociety.model.config.ConfigReader;
+import java.util.List;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -135,4 +138,32 @@ public class ConfigReaderTest {
     Exception e = assertThrows(ParserConfigurationException.class, () -> configReader.readConfig("ErrorAcceptedStatesEmpty.xml"));
     System.out.println("[ErrorAcceptedStatesEmpty.xml] " + e.getMessage());
   }
+
+  // Ensures that a streamed initialCells grid matches the declared size and accepted states
+  @Test
+  void readConfig_InitialCellsGrid_MatchesDeclaredSizeAndStates() throws Exception {
+    ConfigInfo info = configReader.readConfig("AntsDefault.xml");
+    List<List<CellRecord>> grid = info.myGrid();
+    assertEquals(info.myGridHeight(), grid.size());
+    for (List<CellRecord> row : grid) {
+      assertEquals(info.myGridWidth(), row.size());
+      for (CellRecord cell : row) {
+        assertTrue(info.acceptedStates().contains(cell.state()));
+        assertNotNull(cell.properties());
+      }
+    }
+  }
+
+  // Ensures that a 10x10 grid with 40% alive cells gets exactly 40 alive cells
+  @Test
+  void readConfig_RandomProportionsGrid_HasExactStateCounts() throws Exception {
+    ConfigInfo info = configReader.readConfig("GameOfLifeRandomProportions.xml");
+    int alive = 0;
+    for (List<CellRecord> row : info.myGrid()) {
+      for (CellRecord cell : row) {
+        alive += cell.state();
+      }
+    }
+    assertEquals(40, alive);
+  }
 }
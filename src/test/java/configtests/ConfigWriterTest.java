@@ -10,6 +10,7 @@ import cellsociety.model.config.ConfigInfo.gridEdgeType;
 import cellsociety.model.config.ConfigInfo.neighborArrangementType;
 import cellsociety.model.config.ConfigWriter;
 import cellsociety.model.config.ParameterRecord;
+import cellsociety.model.config.StreamingConfigReader;
 import java.io.File;
 import java.nio.file.Path;
 import java.util.List;
@@ -187,4 +188,30 @@ public class ConfigWriterTest {
         () -> writer.saveCurrentConfig(validConfig, tempFile.getAbsolutePath()),
         "Expected a ParserConfigurationException when the provided path is a file instead of a directory.");
   }
+
+  @Test
+  public void saveCurrentConfig_ValidConfig_RoundTripsThroughReader(@TempDir Path tempDir)
+      throws Exception {
+    ConfigWriter writer = new ConfigWriter();
+    writer.saveCurrentConfig(validConfig, tempDir.toString());
+    File savedFile = new File(tempDir.toString(), writer.getLastFileSaved());
+    ConfigInfo readConfig = StreamingConfigReader.readConfig(savedFile, savedFile.getName());
+    assertNotNull(readConfig);
+    assertEquals(validConfig.myGrid(), readConfig.myGrid());
+    assertEquals(validConfig.myParameters(), readConfig.myParameters());
+    assertEquals(validConfig.acceptedStates(), readConfig.acceptedStates());
+  }
+
+  @Test
+  public void saveCurrentConfig_Compressed_RoundTripsThroughReader(@TempDir Path tempDir)
+      throws Exception {
+    ConfigWriter writer = new ConfigWriter();
+    writer.saveCurrentConfig(validConfig, tempDir.toString(), true);
+    File savedFile = new File(tempDir.toString(), writer.getLastFileSaved());
+    assertTrue(savedFile.getName().endsWith(".xml.gz"));
+    ConfigInfo readConfig = StreamingConfigReader.readConfig(savedFile, savedFile.getName());
+    assertNotNull(readConfig);
+    assertEquals(validConfig.myGrid(), readConfig.myGrid());
+    assertEquals(validConfig.myTitle(), readConfig.myTitle());
+  }
 }
@@ -0,0 +1,157 @@
+package configtests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import cellsociety.model.config.ConfigInfo;
+import cellsociety.model.config.ConfigInfo.SimulationType;
+import cellsociety.model.config.LifePatternReader;
+import cellsociety.model.config.PackedCellGrid;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * @author Billy McCune
+ * JUnit tests for importing RLE, plaintext and macrocell Life patterns.
+ * <p>
+ * The test method names follow the convention:
+ * MethodName_StateUnderTest_ExpectedBehavior
+ */
+public class LifePatternReaderTest {
+
+  private static final int[] GLIDER = {
+      0, 1, 0,
+      0, 0, 1,
+      1, 1, 1
+  };
+
+  private File writePattern(Path tempDir, String name, String content) throws IOException {
+    File file = tempDir.resolve(name).toFile();
+    Files.writeString(file.toPath(), content);
+    return file;
+  }
+
+  private int[] getStates(ConfigInfo config) {
+    PackedCellGrid grid = (PackedCellGrid) config.myGrid();
+    return Arrays.copyOf(grid.getStates(), config.myGridWidth() * config.myGridHeight());
+  }
+
+  @Test
+  public void read_RleGlider_ImportsCellsAndMetadata(@TempDir Path tempDir) throws Exception {
+    File file = writePattern(tempDir, "glider.rle",
+        "#N Glider\n#O Richard K. Guy\n#C The smallest spaceship.\n"
+            + "x = 3, y = 3, rule = B3/S23\nbo$2bo$3o!\n");
+    ConfigInfo config = LifePatternReader.read(file, file.getName());
+    assertEquals(SimulationType.LIFE, config.myType());
+    assertEquals("Glider", config.myTitle());
+    assertEquals("Richard K. Guy", config.myAuthor());
+    assertEquals("The smallest spaceship.", config.myDescription());
+    assertEquals(3, config.myGridWidth());
+    assertEquals(3, config.myGridHeight());
+    assertEquals("B3/S23", config.myParameters().myStringParameters().get("rulestring"));
+    assertArrayEquals(GLIDER, getStates(config));
+  }
+
+  @Test
+  public void read_RleWithOffset_PlacesPatternInsideLargerGrid(@TempDir Path tempDir)
+      throws Exception {
+    File file = writePattern(tempDir, "glider.rle", "x = 3, y = 3\nbo$2bo$\n3o!");
+    ConfigInfo config = LifePatternReader.read(file, file.getName(), 6, 5, 2, 3);
+    int[] expected = new int[30];
+    for (int i = 0; i < GLIDER.length; i++) {
+      expected[(2 + i / 3) * 6 + 3 + i % 3] = GLIDER[i];
+    }
+    assertArrayEquals(expected, getStates(config));
+  }
+
+  @Test
+  public void read_RleWithSbRule_ConvertsToBsRulestring(@TempDir Path tempDir) throws Exception {
+    File file = writePattern(tempDir, "highlife.rle", "x = 1, y = 1, rule = s23/b36:T10,10\no!");
+    ConfigInfo config = LifePatternReader.read(file, file.getName());
+    assertEquals("B36/S23", config.myParameters().myStringParameters().get("rulestring"));
+  }
+
+  @Test
+  public void read_RleWithUnknownRule_ThrowsIllegalArgumentException(@TempDir Path tempDir)
+      throws Exception {
+    File file = writePattern(tempDir, "wireworld.rle", "x = 1, y = 1, rule = WireWorld\nA!");
+    assertThrows(IllegalArgumentException.class,
+        () -> LifePatternReader.read(file, file.getName()));
+  }
+
+  @Test
+  public void read_PatternOutsideGrid_ThrowsIllegalArgumentException(@TempDir Path tempDir)
+      throws Exception {
+    File file = writePattern(tempDir, "glider.rle", "x = 3, y = 3\nbo$2bo$3o!");
+    assertThrows(IllegalArgumentException.class,
+        () -> LifePatternReader.read(file, file.getName(), 4, 4, 2, 0));
+  }
+
+  @Test
+  public void read_LargeRle_ImportsEveryRow(@TempDir Path tempDir) throws Exception {
+    // A 1000x1000 checkerboard of runs, one million cells
+    StringBuilder rle = new StringBuilder("x = 1000, y = 1000\n");
+    for (int row = 0; row < 1000; row++) {
+      rle.append(row % 2 == 0 ? "500o500b$" : "500b500o$");
+    }
+    rle.append('!');
+    File file = writePattern(tempDir, "large.rle", rle.toString());
+    int[] states = getStates(LifePatternReader.read(file, file.getName()));
+    assertEquals(500_000, Arrays.stream(states).sum());
+    assertEquals(1, states[0]);
+    assertEquals(0, states[1000]);
+    assertEquals(1, states[1999]);
+  }
+
+  @Test
+  public void read_PlaintextGlider_ImportsCellsAndName(@TempDir Path tempDir) throws Exception {
+    File file = writePattern(tempDir, "glider.cells",
+        "!Name: Glider\r\n!\r\n.O\r\n..O\r\nOOO\r\n");
+    ConfigInfo config = LifePatternReader.read(file, file.getName());
+    assertEquals("Glider", config.myTitle());
+    assertEquals("B3/S23", config.myParameters().myStringParameters().get("rulestring"));
+    assertArrayEquals(GLIDER, getStates(config));
+  }
+
+  @Test
+  public void read_MacrocellGlider_ImportsBoundingBox(@TempDir Path tempDir) throws Exception {
+    File file = writePattern(tempDir, "glider.mc",
+        "[M2] (golly 4.0)\n#R 23/3\n.*$..*$***$\n4 0 1 0 0\n5 2 0 0 0\n");
+    ConfigInfo config = LifePatternReader.read(file, file.getName());
+    assertEquals(3, config.myGridWidth());
+    assertEquals(3, config.myGridHeight());
+    assertEquals("23/3", config.myParameters().myStringParameters().get("rulestring"));
+    assertArrayEquals(GLIDER, getStates(config));
+  }
+
+  @Test
+  public void read_MacrocellSharedLeaves_PaintsEveryCopy(@TempDir Path tempDir)
+      throws Exception {
+    // The same leaf is used in the north-west and south-east quadrants of a 16x16 node
+    File file = writePattern(tempDir, "pair.mc", "[M2]\n*$\n4 1 0 0 1\n");
+    int[] states = getStates(LifePatternReader.read(file, file.getName()));
+    assertEquals(81, states.length);
+    assertEquals(1, states[0]);
+    assertEquals(1, states[80]);
+    assertEquals(2, Arrays.stream(states).sum());
+  }
+
+  @Test
+  public void read_MacrocellWithoutHeader_ThrowsIOException(@TempDir Path tempDir)
+      throws Exception {
+    File file = writePattern(tempDir, "broken.mc", ".*$\n4 1 0 0 0\n");
+    assertThrows(IOException.class, () -> LifePatternReader.read(file, file.getName()));
+  }
+
+  @Test
+  public void isPattern_PatternAndXmlFiles_DetectsPatternExtensions() {
+    assertTrue(LifePatternReader.isPattern(new File("glider.rle")));
+    assertTrue(LifePatternReader.isPattern(new File("glider.cells")));
+    assertTrue(LifePatternReader.isPattern(new File("Glider.MC")));
+    assertFalse(LifePatternReader.isPattern(new File("GameOfLifeGlider.xml")));
+  }
+}
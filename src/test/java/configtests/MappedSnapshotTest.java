@@ -0,0 +1,161 @@
+package configtests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import cellsociety.model.config.CellRecord;
+import cellsociety.model.config.ConfigInfo;
+import cellsociety.model.config.ConfigInfo.SimulationType;
+import cellsociety.model.config.ConfigInfo.cellShapeType;
+import cellsociety.model.config.ConfigInfo.gridEdgeType;
+import cellsociety.model.config.ConfigInfo.neighborArrangementType;
+import cellsociety.model.config.MappedSnapshot;
+import cellsociety.model.config.ParameterRecord;
+import cellsociety.model.config.SnapshotFormat;
+import cellsociety.model.config.SnapshotReader;
+import cellsociety.model.config.SnapshotWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * @author Billy McCune
+ * JUnit tests for the memory-mapped snapshot reader.
+ * <p>
+ * The test method names follow the convention:
+ * MethodName_StateUnderTest_ExpectedBehavior
+ */
+public class MappedSnapshotTest {
+
+  private static final int SIZE = 40;
+
+  private ConfigInfo createConfig(int stateOffset) {
+    // Alternating states are always stored bit-packed, which makes the plane mappable
+    List<List<CellRecord>> grid = new ArrayList<>();
+    for (int i = 0; i < SIZE; i++) {
+      List<CellRecord> row = new ArrayList<>();
+      for (int j = 0; j < SIZE; j++) {
+        Map<String, Double> properties = (i == j) ? Map.of("sugar", (double) i) : Map.of();
+        row.add(new CellRecord((i + j + stateOffset) % 3, properties));
+      }
+      grid.add(row);
+    }
+    return new ConfigInfo(
+        SimulationType.LIFE,
+        cellShapeType.SQUARE,
+        gridEdgeType.BASE,
+        neighborArrangementType.MOORE,
+        1,
+        "Mapped",
+        "Author",
+        "Description",
+        SIZE,
+        SIZE,
+        5,
+        grid,
+        new ParameterRecord(Map.of(), Map.of("rules", "B3/S23")),
+        Set.of(0, 1, 2, 3),
+        "Mapped.snapshot"
+    );
+  }
+
+  private File writeSnapshot(ConfigInfo config, Path tempDir) throws IOException {
+    File file = tempDir.resolve("Mapped" + SnapshotFormat.SNAPSHOT_EXTENSION).toFile();
+    SnapshotWriter.write(config, file);
+    return file;
+  }
+
+  @Test
+  public void readConfig_BitPackedSnapshot_MatchesOriginal(@TempDir Path tempDir)
+      throws Exception {
+    ConfigInfo config = createConfig(0);
+    File file = writeSnapshot(config, tempDir);
+    assertEquals(config, MappedSnapshot.readConfig(file, config.myFileName()));
+  }
+
+  @Test
+  public void setState_WritableSnapshot_IsWrittenBackOnClose(@TempDir Path tempDir)
+      throws Exception {
+    File file = writeSnapshot(createConfig(0), tempDir);
+    try (MappedSnapshot snapshot = MappedSnapshot.open(file, true)) {
+      // State 3 is accepted but unused, so it is only available through the palette
+      snapshot.setState(5, 7, 3);
+      assertTrue(snapshot.isDirty());
+      assertEquals(3, snapshot.getState(5, 7));
+    }
+    ConfigInfo reread = SnapshotReader.read(file, file.getName());
+    assertEquals(3, reread.myGrid().get(5).get(7).state());
+    assertEquals((5 + 6) % 3, reread.myGrid().get(5).get(6).state());
+  }
+
+  @Test
+  public void setState_ReadOnlySnapshot_ThrowsIllegalStateException(@TempDir Path tempDir)
+      throws Exception {
+    File file = writeSnapshot(createConfig(0), tempDir);
+    try (MappedSnapshot snapshot = MappedSnapshot.open(file, false)) {
+      assertThrows(IllegalStateException.class, () -> snapshot.setState(0, 0, 1));
+    }
+  }
+
+  @Test
+  public void setState_StateNotInPalette_ThrowsIllegalArgumentException(@TempDir Path tempDir)
+      throws Exception {
+    File file = writeSnapshot(createConfig(0), tempDir);
+    try (MappedSnapshot snapshot = MappedSnapshot.open(file, true)) {
+      assertThrows(IllegalArgumentException.class, () -> snapshot.setState(0, 0, 9));
+      assertFalse(snapshot.isDirty());
+    }
+  }
+
+  @Test
+  public void writeBack_SameWorldWithNewStates_UpdatesInPlace(@TempDir Path tempDir)
+      throws Exception {
+    File file = writeSnapshot(createConfig(0), tempDir);
+    ConfigInfo shifted = createConfig(1);
+    try (MappedSnapshot snapshot = MappedSnapshot.open(file, true)) {
+      assertTrue(snapshot.writeBack(shifted));
+      assertFalse(snapshot.isDirty());
+    }
+    assertEquals(shifted, SnapshotReader.read(file, shifted.myFileName()));
+  }
+
+  @Test
+  public void writeBack_DifferentHeader_ReturnsFalse(@TempDir Path tempDir) throws Exception {
+    ConfigInfo config = createConfig(0);
+    File file = writeSnapshot(config, tempDir);
+    ConfigInfo renamed = new ConfigInfo(config.myType(), config.myCellShapeType(),
+        config.myGridEdgeType(), config.myneighborArrangementType(), config.neighborRadius(),
+        "Renamed", config.myAuthor(), config.myDescription(), config.myGridWidth(),
+        config.myGridHeight(), config.myTickSpeed(), config.myGrid(), config.myParameters(),
+        config.acceptedStates(), config.myFileName());
+    try (MappedSnapshot snapshot = MappedSnapshot.open(file, true)) {
+      assertFalse(snapshot.writeBack(renamed));
+    }
+  }
+
+  @Test
+  public void open_RunLengthEncodedSnapshot_ThrowsIOException(@TempDir Path tempDir)
+      throws Exception {
+    List<List<CellRecord>> grid = new ArrayList<>();
+    for (int i = 0; i < SIZE; i++) {
+      List<CellRecord> row = new ArrayList<>();
+      for (int j = 0; j < SIZE; j++) {
+        row.add(new CellRecord(0, Map.of()));
+      }
+      grid.add(row);
+    }
+    ConfigInfo config = createConfig(0);
+    ConfigInfo uniform = new ConfigInfo(config.myType(), config.myCellShapeType(),
+        config.myGridEdgeType(), config.myneighborArrangementType(), config.neighborRadius(),
+        config.myTitle(), config.myAuthor(), config.myDescription(), SIZE, SIZE,
+        config.myTickSpeed(), grid, config.myParameters(), config.acceptedStates(),
+        config.myFileName());
+    File file = writeSnapshot(uniform, tempDir);
+    assertThrows(IOException.class, () -> MappedSnapshot.open(file, false));
+  }
+}
@@ -0,0 +1,79 @@
+package configtests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import cellsociety.model.config.RandomGridGenerator;
+import java.util.Arrays;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author Billy McCune
+ * JUnit tests for generating random packed grids with exact state counts.
+ * <p>
+ * The test method names follow the convention:
+ * MethodName_StateUnderTest_ExpectedBehavior
+ */
+public class RandomGridGeneratorTest {
+
+  // Large enough to be split into several chunks that are generated in parallel
+  private static final int LARGE_GRID = 1_000_000;
+
+  private int[] countStates(int[] cells, int numStates) {
+    int[] counts = new int[numStates];
+    for (int state : cells) {
+      counts[state]++;
+    }
+    return counts;
+  }
+
+  @Test
+  public void generate_ExactCounts_KeepsEveryCount() {
+    int[] cells = RandomGridGenerator.generate(
+        Map.of(0, 500_000, 1, 300_000, 2, 199_999, 3, 1), LARGE_GRID, 42);
+    assertArrayEquals(new int[]{500_000, 300_000, 199_999, 1}, countStates(cells, 4));
+  }
+
+  @Test
+  public void generate_SameSeed_ProducesSameGrid() {
+    Map<Integer, Integer> counts = Map.of(0, 600_000, 1, 400_000);
+    assertArrayEquals(RandomGridGenerator.generate(counts, LARGE_GRID, 7),
+        RandomGridGenerator.generate(counts, LARGE_GRID, 7));
+  }
+
+  @Test
+  public void generate_DifferentSeeds_ProduceDifferentGrids() {
+    Map<Integer, Integer> counts = Map.of(0, 50, 1, 50);
+    assertFalse(Arrays.equals(RandomGridGenerator.generate(counts, 100, 1),
+        RandomGridGenerator.generate(counts, 100, 2)));
+  }
+
+  @Test
+  public void generate_HalfAlive_SpreadsStatesEvenly() {
+    // Every tenth of the grid should hold close to a tenth of the alive cells
+    int[] cells = RandomGridGenerator.generate(Map.of(0, 500_000, 1, 500_000), LARGE_GRID, 3);
+    for (int part = 0; part < 10; part++) {
+      int alive = 0;
+      for (int i = part * LARGE_GRID / 10; i < (part + 1) * LARGE_GRID / 10; i++) {
+        alive += cells[i];
+      }
+      assertEquals(50_000, alive, 1_000);
+    }
+  }
+
+  @Test
+  public void generate_SingleState_FillsWholeGrid() {
+    int[] cells = RandomGridGenerator.generate(Map.of(5, 1000), 1000, 0);
+    for (int state : cells) {
+      assertEquals(5, state);
+    }
+  }
+
+  @Test
+  public void generate_CountsNotMatchingTotal_ThrowsIllegalStateException() {
+    assertThrows(IllegalStateException.class,
+        () -> RandomGridGenerator.generate(Map.of(0, 10, 1, 5), 16, 0));
+    assertThrows(IllegalStateException.class,
+        () -> RandomGridGenerator.generate(Map.of(0, 20, 1, -4), 16, 0));
+  }
+}
@@ -0,0 +1,182 @@
+package configtests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import cellsociety.model.config.CellRecord;
+import cellsociety.model.config.ConfigInfo;
+import cellsociety.model.config.ConfigInfo.SimulationType;
+import cellsociety.model.config.ConfigInfo.cellShapeType;
+import cellsociety.model.config.ConfigInfo.gridEdgeType;
+import cellsociety.model.config.ConfigInfo.neighborArrangementType;
+import cellsociety.model.config.ParameterRecord;
+import cellsociety.model.config.RunFormat;
+import cellsociety.model.config.RunPlayer;
+import cellsociety.model.config.RunRecorder;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.IntBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * @author Billy McCune
+ * JUnit tests for recording runs with RunRecorder and playing them back with RunPlayer.
+ * <p>
+ * The test method names follow the convention:
+ * MethodName_StateUnderTest_ExpectedBehavior
+ */
+public class RunRecordingTest {
+
+  private static final int ROWS = 4;
+  private static final int COLS = 5;
+  private static final int NUM_TICKS = 12;
+
+  private ConfigInfo createConfig() {
+    return new ConfigInfo(
+        SimulationType.WATOR,
+        cellShapeType.SQUARE,
+        gridEdgeType.TORUS,
+        neighborArrangementType.MOORE,
+        1,
+        "Recorded",
+        "Author",
+        "Description",
+        COLS,
+        ROWS,
+        5,
+        List.of(),
+        new ParameterRecord(Map.of("sharkBreedTime", 4.0), Map.of()),
+        Set.of(0, 1, 2),
+        "Recorded.xml"
+    );
+  }
+
+  private int[] getStates(int tick) {
+    int[] states = new int[ROWS * COLS];
+    for (int i = 0; i < states.length; i++) {
+      states[i] = (i * 7 + tick * (i % 3)) % 3;
+    }
+    return states;
+  }
+
+  private Map<String, Double> getProperties(int tick, int index) {
+    if (index % 4 != 0 || (tick + index) % 5 == 0) {
+      return new HashMap<>();
+    }
+    return new HashMap<>(Map.of("energy", (double) (tick / 2 + index)));
+  }
+
+  private File recordRun(Path tempDir, int keyframeInterval) throws IOException {
+    File file = tempDir.resolve("run" + RunFormat.RUN_EXTENSION).toFile();
+    try (RunRecorder recorder = new RunRecorder(file, createConfig(), keyframeInterval)) {
+      for (int tick = 0; tick < NUM_TICKS; tick++) {
+        int currentTick = tick;
+        recorder.record(IntBuffer.wrap(getStates(tick)), i -> getProperties(currentTick, i));
+      }
+      assertEquals(NUM_TICKS, recorder.getTickCount());
+    }
+    return file;
+  }
+
+  private void assertTick(RunPlayer player, int tick) {
+    assertEquals(tick, player.getTick());
+    IntBuffer states = player.getStates();
+    int[] expected = getStates(tick);
+    for (int i = 0; i < expected.length; i++) {
+      assertEquals(expected[i], states.get(i));
+      assertEquals(getProperties(tick, i), player.getProperties(i));
+    }
+  }
+
+  @Test
+  public void next_RecordedRun_ReplaysEveryTick(@TempDir Path tempDir) throws Exception {
+    File file = recordRun(tempDir, 5);
+    try (RunPlayer player = RunPlayer.open(file)) {
+      assertEquals(NUM_TICKS - 1, player.getLastTick());
+      assertTick(player, 0);
+      for (int tick = 1; tick < NUM_TICKS; tick++) {
+        assertTrue(player.next());
+        assertTick(player, tick);
+      }
+      assertFalse(player.next());
+    }
+  }
+
+  @Test
+  public void seek_BackwardAndForward_MatchesRecordedTicks(@TempDir Path tempDir)
+      throws Exception {
+    File file = recordRun(tempDir, 3);
+    try (RunPlayer player = RunPlayer.open(file)) {
+      player.seek(10);
+      assertTick(player, 10);
+      player.seek(4);
+      assertTick(player, 4);
+      player.seek(5);
+      assertTick(player, 5);
+      player.seek(100);
+      assertTick(player, NUM_TICKS - 1);
+    }
+  }
+
+  @Test
+  public void getConfigInfo_RecordedRun_HoldsHeaderAndCurrentGrid(@TempDir Path tempDir)
+      throws Exception {
+    File file = recordRun(tempDir, 5);
+    try (RunPlayer player = RunPlayer.open(file)) {
+      player.seek(7);
+      ConfigInfo config = player.getConfigInfo();
+      assertEquals("Recorded", config.myTitle());
+      assertEquals(createConfig().myParameters(), config.myParameters());
+      List<List<CellRecord>> grid = config.myGrid();
+      assertEquals(ROWS, grid.size());
+      assertEquals(getStates(7)[COLS + 2], grid.get(1).get(2).state());
+    }
+  }
+
+  @Test
+  public void open_PartiallyWrittenLastFrame_StopsAtLastCompleteTick(@TempDir Path tempDir)
+      throws Exception {
+    File file = recordRun(tempDir, 5);
+    try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+      raf.setLength(raf.length() - 2);
+    }
+    try (RunPlayer player = RunPlayer.open(file)) {
+      assertEquals(NUM_TICKS - 2, player.getLastTick());
+      player.seek(NUM_TICKS);
+      assertTick(player, NUM_TICKS - 2);
+    }
+  }
+
+  @Test
+  public void open_NotARun_ThrowsIOException(@TempDir Path tempDir) throws Exception {
+    File file = tempDir.resolve("bad" + RunFormat.RUN_EXTENSION).toFile();
+    Files.write(file.toPath(), new byte[]{1, 2, 3, 4, 5, 6, 7, 8});
+    assertThrows(IOException.class, () -> RunPlayer.open(file));
+  }
+
+  @Test
+  public void record_ClosedRecorder_ThrowsIllegalStateException(@TempDir Path tempDir)
+      throws Exception {
+    File file = tempDir.resolve("closed" + RunFormat.RUN_EXTENSION).toFile();
+    RunRecorder recorder = new RunRecorder(file, createConfig(), 5);
+    recorder.close();
+    assertThrows(IllegalStateException.class,
+        () -> recorder.record(IntBuffer.wrap(getStates(0)), i -> null));
+  }
+
+  @Test
+  public void constructor_NonPositiveKeyframeInterval_ThrowsIllegalArgumentException(
+      @TempDir Path tempDir) {
+    File file = tempDir.resolve("invalid" + RunFormat.RUN_EXTENSION).toFile();
+    assertThrows(IllegalArgumentException.class,
+        () -> new RunRecorder(file, createConfig(), 0));
+  }
+}
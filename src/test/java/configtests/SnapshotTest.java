@@ -0,0 +1,180 @@
+package configtests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import cellsociety.model.config.CellRecord;
+import cellsociety.model.config.Checkpoint;
+import cellsociety.model.config.ConfigInfo;
+import cellsociety.model.config.ConfigInfo.SimulationType;
+import cellsociety.model.config.ConfigInfo.cellShapeType;
+import cellsociety.model.config.ConfigInfo.gridEdgeType;
+import cellsociety.model.config.ConfigInfo.neighborArrangementType;
+import cellsociety.model.config.ParameterRecord;
+import cellsociety.model.config.SnapshotFormat;
+import cellsociety.model.config.SnapshotReader;
+import cellsociety.model.config.SnapshotWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * @author Billy McCune
+ * JUnit tests for the binary snapshot reader and writer.
+ * <p>
+ * The test method names follow the convention:
+ * MethodName_StateUnderTest_ExpectedBehavior
+ */
+public class SnapshotTest {
+
+  private ConfigInfo createConfig(List<List<CellRecord>> grid, Set<Integer> acceptedStates) {
+    ParameterRecord parameters = new ParameterRecord(Map.of("param1", 1.5), Map.of("str", "value"));
+    return new ConfigInfo(
+        SimulationType.SUGAR,
+        cellShapeType.HEXAGON,
+        gridEdgeType.TORUS,
+        neighborArrangementType.NEUMANN,
+        2,
+        "Snapshot Title",
+        "Snapshot Author",
+        "Snapshot Description",
+        grid.getFirst().size(),
+        grid.size(),
+        10,
+        grid,
+        parameters,
+        acceptedStates,
+        "Snapshot.snapshot"
+    );
+  }
+
+  private ConfigInfo roundTrip(ConfigInfo config, Path tempDir) throws IOException {
+    File file = tempDir.resolve("Snapshot" + SnapshotFormat.SNAPSHOT_EXTENSION).toFile();
+    SnapshotWriter.write(config, file);
+    return SnapshotReader.read(file, config.myFileName());
+  }
+
+  @Test
+  public void write_ExistingFile_KeepsItAndWritesNumberedFile(@TempDir Path tempDir)
+      throws Exception {
+    ConfigInfo config = createConfig(List.of(List.of(new CellRecord(1, Map.of()))), Set.of(0, 1));
+    File file = tempDir.resolve("Snapshot" + SnapshotFormat.SNAPSHOT_EXTENSION).toFile();
+    assertEquals(file, SnapshotWriter.write(config, file));
+    long length = file.length();
+
+    File copy = SnapshotWriter.write(config, file);
+    assertEquals("Snapshot_1" + SnapshotFormat.SNAPSHOT_EXTENSION, copy.getName());
+    assertEquals(length, file.length());
+    assertEquals(config, SnapshotReader.read(copy, config.myFileName()));
+  }
+
+  @Test
+  public void read_WidelySpreadStates_MatchesOriginal(@TempDir Path tempDir) throws Exception {
+    // States too far apart for a bit set are sorted into the palette instead
+    List<List<CellRecord>> grid = List.of(
+        List.of(new CellRecord(7_000_000, Map.of()), new CellRecord(0, Map.of())),
+        List.of(new CellRecord(0, Map.of()), new CellRecord(7_000_000, Map.of()))
+    );
+    ConfigInfo config = createConfig(grid, Set.of(0, 3, 7_000_000));
+    assertEquals(config, roundTrip(config, tempDir));
+  }
+
+  @Test
+  public void read_WrittenSnapshotWithProperties_MatchesOriginal(@TempDir Path tempDir)
+      throws Exception {
+    // Cells with properties are stored in sparse columns
+    List<List<CellRecord>> grid = List.of(
+        List.of(new CellRecord(1, Map.of("sugar", 3.0, "agentSugar", 2.0)),
+            new CellRecord(0, Map.of())),
+        List.of(new CellRecord(0, Map.of("sugar", 1.0)), new CellRecord(1, Map.of()))
+    );
+    ConfigInfo config = createConfig(grid, Set.of(0, 1));
+    assertEquals(config, roundTrip(config, tempDir));
+  }
+
+  @Test
+  public void read_UniformGrid_MatchesOriginal(@TempDir Path tempDir) throws Exception {
+    // A single long run is stored with run-length encoding
+    List<List<CellRecord>> grid = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      List<CellRecord> row = new ArrayList<>();
+      for (int j = 0; j < 100; j++) {
+        row.add(new CellRecord(7, Map.of()));
+      }
+      grid.add(row);
+    }
+    ConfigInfo config = createConfig(grid, Set.of(7));
+    assertEquals(config, roundTrip(config, tempDir));
+  }
+
+  @Test
+  public void read_NoisyGridWithNegativeStates_MatchesOriginal(@TempDir Path tempDir)
+      throws Exception {
+    // Alternating states are stored bit-packed through the palette
+    List<List<CellRecord>> grid = new ArrayList<>();
+    for (int i = 0; i < 37; i++) {
+      List<CellRecord> row = new ArrayList<>();
+      for (int j = 0; j < 41; j++) {
+        row.add(new CellRecord((i * 7 + j * 3) % 5 - 2, Map.of()));
+      }
+      grid.add(row);
+    }
+    ConfigInfo config = createConfig(grid, Set.of(-2, -1, 0, 1, 2));
+    assertEquals(config, roundTrip(config, tempDir));
+  }
+
+  @Test
+  public void read_NotASnapshot_ThrowsIOException(@TempDir Path tempDir) throws Exception {
+    File file = tempDir.resolve("Invalid" + SnapshotFormat.SNAPSHOT_EXTENSION).toFile();
+    Files.writeString(file.toPath(), "<simulation></simulation>");
+    assertThrows(IOException.class, () -> SnapshotReader.read(file, file.getName()));
+  }
+
+  @Test
+  public void read_TruncatedSnapshot_ThrowsIOException(@TempDir Path tempDir) throws Exception {
+    List<List<CellRecord>> grid = List.of(List.of(new CellRecord(0, Map.of("sugar", 1.0))));
+    File file = tempDir.resolve("Truncated" + SnapshotFormat.SNAPSHOT_EXTENSION).toFile();
+    SnapshotWriter.write(createConfig(grid, Set.of(0)), file);
+    byte[] bytes = Files.readAllBytes(file.toPath());
+    Files.write(file.toPath(), Arrays.copyOf(bytes, bytes.length - 4));
+    assertThrows(IOException.class, () -> SnapshotReader.read(file, file.getName()));
+  }
+
+  @Test
+  public void isSnapshot_XmlFile_ReturnsFalse() {
+    assertFalse(SnapshotFormat.isSnapshot("Life.xml"));
+    assertTrue(SnapshotFormat.isSnapshot("Life" + SnapshotFormat.SNAPSHOT_EXTENSION));
+  }
+
+  @Test
+  public void readCheckpoint_WrittenCheckpoint_MatchesOriginal(@TempDir Path tempDir)
+      throws Exception {
+    // The logic state is stored after a complete snapshot of the grid
+    List<List<CellRecord>> grid = List.of(
+        List.of(new CellRecord(1, Map.of("agentSugar", 2.0)), new CellRecord(0, Map.of())));
+    ConfigInfo config = createConfig(grid, Set.of(0, 1));
+    File file = tempDir.resolve("Run" + Checkpoint.CHECKPOINT_EXTENSION).toFile();
+    new Checkpoint(config, new byte[]{4, 8, 15, 16, 23, 42}).write(file);
+    assertTrue(Checkpoint.isCheckpoint(file));
+
+    Checkpoint checkpoint = Checkpoint.read(file);
+    assertEquals(config.myGrid(), checkpoint.configInfo().myGrid());
+    assertEquals(config.myParameters(), checkpoint.configInfo().myParameters());
+    assertArrayEquals(new byte[]{4, 8, 15, 16, 23, 42}, checkpoint.logicState());
+  }
+
+  @Test
+  public void readCheckpoint_Snapshot_ThrowsIOException(@TempDir Path tempDir) throws Exception {
+    List<List<CellRecord>> grid = List.of(List.of(new CellRecord(0, Map.of())));
+    File file = tempDir.resolve("Plain" + Checkpoint.CHECKPOINT_EXTENSION).toFile();
+    SnapshotWriter.write(createConfig(grid, Set.of(0)), file);
+    assertThrows(IOException.class, () -> Checkpoint.read(file));
+  }
+}
@@ -0,0 +1,130 @@
+package logtests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import cellsociety.model.config.CellRecord;
+import cellsociety.model.config.ConfigReader;
+import cellsociety.model.config.ParameterRecord;
+import cellsociety.model.data.Grid;
+import cellsociety.model.data.cells.CellFactory;
+import cellsociety.model.data.constants.EdgeType;
+import cellsociety.model.data.constants.GridShape;
+import cellsociety.model.data.constants.NeighborType;
+import cellsociety.model.data.states.LifeState;
+import cellsociety.model.logic.LifeLogic;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests for the Flight Recorder events of the model.
+ *
+ * Test method names follow the naming convention:
+ * [TestedMethod_StateUnderTest_ExpectedOutcome]
+ */
+public class FlightRecorderEventTest {
+
+  private LifeLogic createBlinker() {
+    List<List<CellRecord>> cells = new ArrayList<>();
+    for (int row = 0; row < 5; row++) {
+      List<CellRecord> rowCells = new ArrayList<>();
+      for (int col = 0; col < 4; col++) {
+        rowCells.add(new CellRecord(row >= 1 && row <= 3 && col == 1 ? 1 : 0, new HashMap<>()));
+      }
+      cells.add(rowCells);
+    }
+    Grid<LifeState> grid = new Grid<>(cells, new CellFactory<>(LifeState.class), GridShape.SQUARE,
+        NeighborType.MOORE, EdgeType.BASE);
+    return new LifeLogic(grid, new ParameterRecord(Map.of(), Map.of()));
+  }
+
+  private List<RecordedEvent> readEvents(Recording recording, Path file, String name)
+      throws Exception {
+    recording.dump(file);
+    List<RecordedEvent> events = new ArrayList<>();
+    for (RecordedEvent event : RecordingFile.readAllEvents(file)) {
+      if (event.getEventType().getName().equals(name)) {
+        events.add(event);
+      }
+    }
+    return events;
+  }
+
+  @Test
+  public void update_TickEventEnabled_RecordsSimulationAndChangedCells(@TempDir Path tempDir)
+      throws Exception {
+    try (Recording recording = new Recording()) {
+      recording.enable("cellsociety.Tick");
+      recording.start();
+      LifeLogic logic = createBlinker();
+      logic.update();
+      logic.update();
+      recording.stop();
+
+      List<RecordedEvent> ticks = readEvents(recording, tempDir.resolve("tick.jfr"),
+          "cellsociety.Tick");
+      assertEquals(2, ticks.size());
+      assertEquals("Life", ticks.get(0).getString("simulation"));
+      assertEquals(5, ticks.get(0).getInt("numRows"));
+      assertEquals(4, ticks.get(0).getInt("numCols"));
+      assertEquals(4, ticks.get(0).getInt("changedCells"));
+    }
+  }
+
+  @Test
+  public void assignNeighbors_EventEnabled_RecordsNeighborSettings(@TempDir Path tempDir)
+      throws Exception {
+    try (Recording recording = new Recording()) {
+      recording.enable("cellsociety.NeighborRebuild");
+      recording.start();
+      createBlinker();
+      recording.stop();
+
+      List<RecordedEvent> rebuilds = readEvents(recording,
+          tempDir.resolve("neighbors.jfr"), "cellsociety.NeighborRebuild");
+      assertEquals(1, rebuilds.size());
+      assertEquals("SQUARE", rebuilds.get(0).getString("shape"));
+      assertEquals("MOORE", rebuilds.get(0).getString("neighborType"));
+      assertEquals(1, rebuilds.get(0).getInt("steps"));
+    }
+  }
+
+  @Test
+  public void readConfig_EventEnabled_RecordsFileAndGridSize(@TempDir Path tempDir)
+      throws Exception {
+    try (Recording recording = new Recording()) {
+      recording.enable("cellsociety.ConfigLoad");
+      recording.start();
+      new ConfigReader().readConfig("GameOfLifeGlider.xml");
+      recording.stop();
+
+      List<RecordedEvent> loads = readEvents(recording, tempDir.resolve("load.jfr"),
+          "cellsociety.ConfigLoad");
+      assertEquals(1, loads.size());
+      assertEquals("GameOfLifeGlider.xml", loads.get(0).getString("fileName"));
+      assertEquals("LIFE", loads.get(0).getString("simulation"));
+      assertEquals(5, loads.get(0).getInt("numRows"));
+      assertTrue(loads.get(0).getBoolean("succeeded"));
+      assertTrue(loads.get(0).getLong("fileSize") > 0);
+    }
+  }
+
+  @Test
+  public void update_EventsNotEnabled_RecordsNothing(@TempDir Path tempDir) throws Exception {
+    try (Recording recording = new Recording()) {
+      recording.start();
+      createBlinker().update();
+      recording.stop();
+
+      assertTrue(readEvents(recording, tempDir.resolve("default.jfr"), "cellsociety.Tick")
+          .isEmpty());
+    }
+  }
+}
@@ -1,9 +1,15 @@
 package logtests;
 
 import cellsociety.logging.Log;
+import cellsociety.logging.Log.LogLevel;
 import org.junit.jupiter.api.Test;
 import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import static org.junit.jupiter.api.Assertions.*;
 
 public class LogTest {
@@ -28,6 +34,7 @@ public class LogTest {
     Log.trace("Test trace message");
 
     // Assert that the output contains the expected trace message
+    Log.flush();
     assertTrue(outContent.toString().contains("Test trace message"));
 
     ResetStreams();
@@ -40,6 +47,7 @@ public class LogTest {
 
     Log.trace("Test %s message", "formatted");
 
+    Log.flush();
     assertTrue(outContent.toString().contains("Test formatted message"));
 
     ResetStreams();
@@ -52,6 +60,7 @@ public class LogTest {
 
     Log.info("Test info message");
 
+    Log.flush();
     assertTrue(outContent.toString().contains("Test info message"));
 
     ResetStreams();
@@ -64,6 +73,7 @@ public class LogTest {
 
     Log.info("Test %s info message", "formatted");
 
+    Log.flush();
     assertTrue(outContent.toString().contains("Test formatted info message"));
 
     ResetStreams();
@@ -76,6 +86,7 @@ public class LogTest {
 
     Log.warn("Test warn message");
 
+    Log.flush();
     assertTrue(outContent.toString().contains("Test warn message"));
 
     ResetStreams();
@@ -88,6 +99,7 @@ public class LogTest {
 
     Log.warn("Test %s warn message", "formatted");
 
+    Log.flush();
     assertTrue(outContent.toString().contains("Test formatted warn message"));
 
     ResetStreams();
@@ -100,6 +112,7 @@ public class LogTest {
 
     Log.error("Test error message");
 
+    Log.flush();
     assertTrue(outContent.toString().contains("Test error message"));
 
     ResetStreams();
@@ -112,6 +125,7 @@ public class LogTest {
 
     Log.error("Test %s error message", "formatted");
 
+    Log.flush();
     assertTrue(outContent.toString().contains("Test formatted error message"));
 
     ResetStreams();
@@ -126,6 +140,7 @@ public class LogTest {
 
     Log.trace(e, "Test trace with exception");
 
+    Log.flush();
     assertTrue(outContent.toString().contains("Test trace with exception"));
 
     ResetStreams();
@@ -140,6 +155,7 @@ public class LogTest {
 
     Log.info(e, "Test info with exception");
 
+    Log.flush();
     assertTrue(outContent.toString().contains("Test info with exception"));
 
     ResetStreams();
@@ -154,6 +170,7 @@ public class LogTest {
 
     Log.warn(e, "Test warn with exception");
 
+    Log.flush();
     assertTrue(outContent.toString().contains("Test warn with exception"));
 
     ResetStreams();
@@ -168,6 +185,7 @@ public class LogTest {
 
     Log.error(e, "Test error with exception");
 
+    Log.flush();
     assertTrue(outContent.toString().contains("Test error with exception"));
 
     ResetStreams();
@@ -182,6 +200,7 @@ public class LogTest {
 
     Log.trace(e, "Test %s trace with exception", "formatted");
 
+    Log.flush();
     assertTrue(outContent.toString().contains("Test formatted trace with exception"));
 
     ResetStreams();
@@ -196,6 +215,7 @@ public class LogTest {
 
     Log.info(e, "Test %s info with exception", "formatted");
 
+    Log.flush();
     assertTrue(outContent.toString().contains("Test formatted info with exception"));
 
     ResetStreams();
@@ -210,6 +230,7 @@ public class LogTest {
 
     Log.warn(e, "Test %s warn with exception", "formatted");
 
+    Log.flush();
     assertTrue(outContent.toString().contains("Test formatted warn with exception"));
 
     ResetStreams();
@@ -224,8 +245,179 @@ public class LogTest {
 
     Log.error(e, "Test %s error with exception", "formatted");
 
+    Log.flush();
     assertTrue(outContent.toString().contains("Test formatted error with exception"));
 
     ResetStreams();
   }
+
+  @Test
+  public void SetLevel_WarnLevel_LowerLevelsAreNotBuiltOrPrinted() {
+    System.setOut(new PrintStream(outContent));
+    System.setErr(new PrintStream(errContent));
+    LogLevel originalLevel = Log.getLevel();
+
+    try {
+      Log.setLevel(LogLevel.WARN);
+      assertFalse(Log.isEnabled(LogLevel.INFO));
+      Log.trace(() -> {
+        throw new AssertionError("A disabled message was built");
+      });
+      Log.info("Test hidden info message");
+      Log.warn(() -> "Test supplied warn message");
+      Log.flush();
+
+      assertFalse(outContent.toString().contains("Test hidden info message"));
+      assertTrue(outContent.toString().contains("Test supplied warn message"));
+    } finally {
+      Log.setLevel(originalLevel);
+      ResetStreams();
+    }
+  }
+
+  @Test
+  public void RepeatedMessage_LoggedManyTimes_PrintedOnceWithCount() {
+    System.setOut(new PrintStream(outContent));
+    System.setErr(new PrintStream(errContent));
+
+    for (int i = 0; i < 500; i++) {
+      Log.error("Test repeated error message");
+    }
+    Log.flush();
+
+    String output = outContent.toString();
+    assertEquals(output.indexOf("Test repeated error message"),
+        output.lastIndexOf("Test repeated error message"));
+    assertTrue(output.contains("repeated 499 more times"));
+
+    ResetStreams();
+  }
+
+  @Test
+  public void LogMessages_LoggedFromManyThreads_AllStoredAndBounded() throws Exception {
+    System.setOut(new PrintStream(outContent));
+    System.setErr(new PrintStream(errContent));
+
+    List<Thread> threads = new ArrayList<>();
+    for (int t = 0; t < 4; t++) {
+      int thread = t;
+      threads.add(new Thread(() -> {
+        for (int i = 0; i < 100; i++) {
+          Log.info("Test thread %d message %d", thread, i);
+        }
+      }));
+    }
+    threads.forEach(Thread::start);
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    Log.flush();
+
+    String stored = String.join("\n", Log.getLogMessages());
+    for (int t = 0; t < 4; t++) {
+      assertTrue(stored.contains("Test thread " + t + " message 0"));
+      assertTrue(stored.contains("Test thread " + t + " message 99"));
+    }
+    assertTrue(Log.getLogMessages().size() <= 1000);
+
+    ResetStreams();
+  }
+
+  @Test
+  public void RepeatedMessage_LoggedWhileWriterIsIdle_StillPrintedOnceWithCount()
+      throws Exception {
+    System.setOut(new PrintStream(outContent));
+    System.setErr(new PrintStream(errContent));
+
+    for (int i = 0; i < 20; i++) {
+      Log.warn("Test slowly repeated message");
+      Thread.sleep(5);
+    }
+    Log.flush();
+
+    String output = outContent.toString();
+    assertEquals(output.indexOf("Test slowly repeated message"),
+        output.lastIndexOf("Test slowly repeated message"));
+    assertTrue(output.contains("repeated 19 more times"));
+
+    ResetStreams();
+  }
+
+  @Test
+  public void ErrorMessage_LoggedWhileQueueIsFull_IsNeverDropped() throws Exception {
+    System.setOut(new PrintStream(outContent));
+    System.setErr(new PrintStream(errContent));
+
+    // Hold the writer in a listener so that the queue fills up
+    CountDownLatch blocked = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    Consumer<String> listener = message -> {
+      if (message.contains("Test blocking message")) {
+        blocked.countDown();
+        try {
+          release.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }
+    };
+    Log.addLogListener(listener);
+    try {
+      Log.info("Test blocking message");
+      assertTrue(blocked.await(5, TimeUnit.SECONDS));
+      for (int i = 0; i < 10_100; i++) {
+        Log.trace("Test flooding message %d", i);
+      }
+      Log.error("Test error after the flood");
+      assertTrue(Log.getDroppedMessages() > 0);
+    } finally {
+      release.countDown();
+    }
+    Log.flush();
+    Log.removeLogListener(listener);
+
+    String output = outContent.toString();
+    assertTrue(output.contains("Test error after the flood"));
+    assertTrue(output.contains("log messages were dropped"));
+
+    ResetStreams();
+  }
+
+  @Test
+  public void ErrorMessage_FloodedWhileWriterIsBlocked_QueueStaysBounded() throws Exception {
+    System.setOut(new PrintStream(outContent));
+    System.setErr(new PrintStream(errContent));
+
+    CountDownLatch blocked = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    Consumer<String> listener = message -> {
+      if (message.contains("Test blocking message")) {
+        blocked.countDown();
+        try {
+          release.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }
+    };
+    Log.addLogListener(listener);
+    try {
+      Log.info("Test blocking message");
+      assertTrue(blocked.await(5, TimeUnit.SECONDS));
+      for (int i = 0; i < 1_000_000; i++) {
+        Log.error("Test flooding error");
+      }
+      assertTrue(Log.getPendingMessages() <= 1);
+    } finally {
+      release.countDown();
+    }
+    Log.flush();
+    Log.removeLogListener(listener);
+
+    String output = outContent.toString();
+    assertEquals(output.indexOf("Test flooding error"), output.lastIndexOf("Test flooding error"));
+    assertTrue(output.contains("Previous message repeated 999999 more times"));
+
+    ResetStreams();
+  }
 }
@@ -0,0 +1,58 @@
+package modelAPItests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import cellsociety.model.modelAPI.LatencyHistogram;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the LatencyHistogram class.
+ *
+ * Test method names follow the naming convention:
+ * [TestedMethod_StateUnderTest_ExpectedOutcome]
+ */
+public class LatencyHistogramTest {
+
+  @Test
+  public void getPercentile_NothingRecorded_ReturnsZero() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    assertEquals(0, histogram.getCount());
+    assertEquals(0, histogram.getPercentile(99));
+    assertEquals(0, histogram.getMax());
+  }
+
+  @Test
+  public void getPercentile_UniformDurations_WithinBucketPrecision() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (long nanos = 1; nanos <= 10_000; nanos++) {
+      histogram.record(nanos * 1000);
+    }
+    assertEquals(10_000, histogram.getCount());
+    assertEquals(10_000_000, histogram.getMax());
+    long median = histogram.getPercentile(50);
+    assertTrue(median >= 5_000_000 && median <= 5_000_000 * 17 / 16, "median " + median);
+    long p99 = histogram.getPercentile(99);
+    assertTrue(p99 >= 9_900_000 && p99 <= 10_000_000, "p99 " + p99);
+  }
+
+  @Test
+  public void getPercentile_SmallDurations_AreExact() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    histogram.record(3);
+    histogram.record(7);
+    histogram.record(-5);
+    assertEquals(0, histogram.getPercentile(1));
+    assertEquals(3, histogram.getPercentile(50));
+    assertEquals(7, histogram.getPercentile(100));
+  }
+
+  @Test
+  public void reset_RecordedDurations_ClearsHistogram() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    histogram.record(Long.MAX_VALUE);
+    assertEquals(Long.MAX_VALUE, histogram.getPercentile(100));
+    histogram.reset();
+    assertEquals(0, histogram.getCount());
+    assertEquals(0, histogram.summarize().max());
+  }
+}
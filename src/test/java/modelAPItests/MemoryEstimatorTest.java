@@ -0,0 +1,105 @@
+package modelAPItests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import cellsociety.model.config.CellRecord;
+import cellsociety.model.config.ConfigReader;
+import cellsociety.model.data.Grid;
+import cellsociety.model.data.cells.CellFactory;
+import cellsociety.model.data.constants.EdgeType;
+import cellsociety.model.data.constants.GridShape;
+import cellsociety.model.data.constants.NeighborType;
+import cellsociety.model.data.states.LifeState;
+import cellsociety.model.equivalence.LogicEngine;
+import cellsociety.model.modelAPI.MemoryEstimator;
+import cellsociety.model.modelAPI.MemoryFootprint;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the MemoryEstimator class.
+ *
+ * Test method names follow the naming convention:
+ * [TestedMethod_StateUnderTest_ExpectedOutcome]
+ */
+public class MemoryEstimatorTest {
+
+  @Test
+  public void extrapolate_TorusSquareGrid_MatchesMeasuredGrid() {
+    Grid<LifeState> grid = createGrid(12, 10, GridShape.SQUARE, NeighborType.MOORE, 2, 3);
+    MemoryFootprint measured = MemoryEstimator.measure(grid, null, 0);
+    MemoryFootprint extrapolated = MemoryEstimator.extrapolate(12, 10, GridShape.SQUARE,
+        NeighborType.MOORE, 2, 3);
+
+    assertEquals(24, grid.getCell(5, 5).getNeighbors().size());
+    assertEquals(measured, extrapolated);
+    assertTrue(measured.neighbors() > measured.cells());
+    assertEquals(measured.total(), measured.getComponents().values().stream()
+        .mapToLong(Long::longValue).sum());
+  }
+
+  @Test
+  public void extrapolate_TorusHexGrid_CloseToMeasuredGrid() {
+    Grid<LifeState> grid = createGrid(10, 10, GridShape.HEX, NeighborType.MOORE, 3, 0);
+    long measured = MemoryEstimator.measure(grid, null, 0).neighbors();
+    long extrapolated = MemoryEstimator.extrapolate(10, 10, GridShape.HEX, NeighborType.MOORE,
+        3, 0).neighbors();
+    assertEquals(measured, extrapolated, measured / 10.0);
+  }
+
+  @Test
+  public void extrapolate_LargerNeighborRadius_GrowsNeighborEstimate() {
+    long previous = 0;
+    for (int radius = 1; radius <= 4; radius++) {
+      MemoryFootprint footprint = MemoryEstimator.extrapolate(100, 100, GridShape.TRI,
+          NeighborType.NEUMANN, radius, 0);
+      assertTrue(footprint.neighbors() > previous, "radius " + radius);
+      assertEquals(0, footprint.logic());
+      assertEquals(0, footprint.history());
+      previous = footprint.neighbors();
+    }
+  }
+
+  @Test
+  public void extrapolate_SingleCell_HasNoNeighbors() {
+    MemoryFootprint footprint = MemoryEstimator.extrapolate(1, 1, GridShape.SQUARE,
+        NeighborType.MOORE, 5, 0);
+    MemoryFootprint measured = MemoryEstimator.measure(
+        createGrid(1, 1, GridShape.SQUARE, NeighborType.MOORE, 5, 0), null, 0);
+    assertEquals(measured.neighbors(), footprint.neighbors());
+  }
+
+  @Test
+  public void measure_WatorLogic_CountsTrackedCreatures() throws Exception {
+    LogicEngine engine = LogicEngine.create(new ConfigReader().readConfig("WatorBattle.xml"), 1);
+    int numCreatures = engine.getLogic().getCollectionSize();
+    MemoryFootprint footprint = MemoryEstimator.measure(engine.getGrid(), engine.getLogic(), 0);
+
+    assertTrue(numCreatures > 0);
+    assertTrue(footprint.logic() >= 4L * numCreatures);
+    assertEquals(0, MemoryEstimator.measure(engine.getGrid(), null, 0).logic());
+  }
+
+  private Grid<LifeState> createGrid(int rows, int cols, GridShape shape,
+      NeighborType neighborType, int radius, int numProperties) {
+    List<List<CellRecord>> raw = new ArrayList<>();
+    for (int i = 0; i < rows; i++) {
+      List<CellRecord> row = new ArrayList<>();
+      for (int j = 0; j < cols; j++) {
+        Map<String, Double> properties = new HashMap<>();
+        for (int k = 0; k < numProperties; k++) {
+          properties.put("property" + k, (double) k);
+        }
+        row.add(new CellRecord((i + j) % 2, properties));
+      }
+      raw.add(row);
+    }
+    Grid<LifeState> grid = new Grid<>(raw, new CellFactory<>(LifeState.class), shape,
+        neighborType, EdgeType.TORUS);
+    grid.setSteps(radius);
+    return grid;
+  }
+}
@@ -16,16 +16,28 @@ import cellsociety.model.data.cells.CellFactory;
 import cellsociety.model.data.constants.EdgeType;
 import cellsociety.model.data.constants.NeighborType;
 import cellsociety.model.logic.Logic;
+import cellsociety.model.modelAPI.MemoryFootprint;
 import cellsociety.model.modelAPI.ModelApi;
+import cellsociety.model.modelAPI.SimulationControl;
+import cellsociety.model.modelAPI.SimulationMXBean;
+import cellsociety.model.modelAPI.SimulationMetrics;
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.Consumer;
+import javax.management.JMX;
+import javax.management.ObjectName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import util.SampleCells;
 
 /**
  * A comprehensive test suite for the ModelApi class.
@@ -172,6 +184,22 @@ public class ModelAPITest {
     }
   }
 
+  /**
+   * Copies the properties of every cell, as the model returns the live maps of its cells.
+   */
+  private List<List<Map<String, Double>>> copyProperties(
+      List<List<Map<String, Double>>> properties) {
+    List<List<Map<String, Double>>> copy = new ArrayList<>();
+    for (List<Map<String, Double>> row : properties) {
+      List<Map<String, Double>> rowCopy = new ArrayList<>();
+      for (Map<String, Double> cellProperties : row) {
+        rowCopy.add(new HashMap<>(cellProperties));
+      }
+      copy.add(rowCopy);
+    }
+    return copy;
+  }
+
   /**
    * Helper method to create a dummy ConfigInfo record.
    *
@@ -359,4 +387,425 @@ public class ModelAPITest {
     ConfigInfo internalConfig = (ConfigInfo) getPrivateField(api, "configInfo");
     assertEquals(config, internalConfig);
   }
+
+  @Test
+  public void startPlayback_RecordedRun_ReplaysRecordedTicks(@TempDir Path tempDir)
+      throws Exception {
+    // Tested Methods: startRecording(), stopRecording(), startPlayback(), seekPlayback()
+    // State: A blinker is recorded for four ticks and played back.
+    // Expected Outcome: Playback shows the recorded ticks without running the logic.
+    ModelApi api = new ModelApi();
+    List<List<CellRecord>> gridConfig = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      List<CellRecord> row = new ArrayList<>();
+      for (int j = 0; j < 5; j++) {
+        row.add(new CellRecord(i == 2 && j >= 1 && j <= 3 ? 1 : 0, new HashMap<>()));
+      }
+      gridConfig.add(row);
+    }
+    ParameterRecord pr = new ParameterRecord(new HashMap<>(),
+        new HashMap<>(Map.of("rules", "B3/S23")));
+    api.setConfigInfo(createFakeConfigInfo(pr, gridConfig));
+    api.resetModel();
+
+    File runFile = tempDir.resolve("blinker.run").toFile();
+    api.startRecording(runFile, 2);
+    assertTrue(api.isRecording());
+    List<List<List<Integer>>> recorded = new ArrayList<>();
+    recorded.add(api.getCellStates());
+    for (int tick = 0; tick < 3; tick++) {
+      api.updateSimulation();
+      recorded.add(api.getCellStates());
+    }
+    api.stopRecording();
+    assertFalse(api.isRecording());
+
+    api.startPlayback(runFile);
+    assertTrue(api.isPlayingBack());
+    assertEquals(3, api.getPlaybackLastTick());
+    assertEquals(recorded.get(0), api.getCellStates());
+    api.updateSimulation();
+    assertEquals(recorded.get(1), api.getCellStates());
+    api.seekPlayback(3);
+    assertEquals(recorded.get(3), api.getCellStates());
+    api.seekPlayback(2);
+    assertEquals(2, api.getPlaybackTick());
+    assertEquals(recorded.get(2), api.getCellStates());
+    api.stopPlayback();
+    assertFalse(api.isPlayingBack());
+  }
+
+  @Test
+  public void stepBack_HistoryEnabled_RestoresEarlierTicks() throws Exception {
+    // Tested Methods: setHistoryBudget(), stepBack(), getHistoryLength()
+    // State: A blinker is simulated for three ticks with the rewind history enabled.
+    // Expected Outcome: Stepping back restores the earlier grids without re-simulating.
+    ModelApi api = new ModelApi();
+    List<List<CellRecord>> gridConfig = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      List<CellRecord> row = new ArrayList<>();
+      for (int j = 0; j < 5; j++) {
+        row.add(new CellRecord(i == 2 && j >= 1 && j <= 3 ? 1 : 0, new HashMap<>()));
+      }
+      gridConfig.add(row);
+    }
+    ParameterRecord pr = new ParameterRecord(new HashMap<>(),
+        new HashMap<>(Map.of("rules", "B3/S23")));
+    api.setConfigInfo(createFakeConfigInfo(pr, gridConfig));
+    api.resetModel();
+    assertEquals(0, api.stepBack(1));
+
+    api.setHistoryBudget(1L << 20);
+    List<List<List<Integer>>> simulated = new ArrayList<>();
+    simulated.add(api.getCellStates());
+    for (int tick = 0; tick < 3; tick++) {
+      api.updateSimulation();
+      simulated.add(api.getCellStates());
+    }
+    assertEquals(3, api.getHistoryLength());
+    assertEquals(2, api.stepBack(2));
+    assertEquals(simulated.get(1), api.getCellStates());
+    assertEquals(1, api.stepBack(5));
+    assertEquals(simulated.get(0), api.getCellStates());
+    api.updateSimulation();
+    assertEquals(simulated.get(1), api.getCellStates());
+  }
+
+  @Test
+  public void stepBack_WatorRun_ContinuesWithSameTicksAfterRewind() throws Exception {
+    // Tested Methods: stepBack(), updateSimulation()
+    // State: A Wa-Tor run is stepped back across and within a keyframe interval of its history.
+    // Expected Outcome: The rewound run computes the same ticks as before, as the positions and
+    // random generator of the logic are rewound together with the grid.
+    List<List<CellRecord>> gridConfig = SampleCells.createCells("Wator", 12, 12, 7);
+    ParameterRecord pr = new ParameterRecord(new HashMap<>(Map.of("fishEnergyGain", 2.0,
+        "fishReproductionTime", 2.0, "sharkReproductionTime", 4.0, "sharkBaseEnergy", 3.0)),
+        new HashMap<>());
+    ConfigInfo config = createFakeConfigInfo(pr, gridConfig);
+    ModelApi api = new ModelApi();
+    api.setConfigInfo(new ConfigInfo(SimulationType.WATOR, config.myCellShapeType(),
+        config.myGridEdgeType(), config.myneighborArrangementType(), config.neighborRadius(),
+        config.myTitle(), config.myAuthor(), config.myDescription(), 12, 12,
+        config.myTickSpeed(), gridConfig, pr, new HashSet<>(Arrays.asList(0, 1, 2)),
+        config.myFileName()));
+    api.resetModel();
+    api.setHistoryBudget(1L << 20);
+
+    List<List<List<Integer>>> states = new ArrayList<>();
+    List<List<List<Map<String, Double>>>> properties = new ArrayList<>();
+    states.add(api.getCellStates());
+    properties.add(copyProperties(api.getCellProperties()));
+    for (int tick = 0; tick < 40; tick++) {
+      api.updateSimulation();
+      states.add(api.getCellStates());
+      properties.add(copyProperties(api.getCellProperties()));
+    }
+    for (int[] rewind : new int[][]{{5, 35}, {10, 30}}) {
+      assertEquals(rewind[0], api.stepBack(rewind[0]));
+      assertEquals(states.get(rewind[1]), api.getCellStates());
+      assertEquals(properties.get(rewind[1]), api.getCellProperties());
+      for (int tick = rewind[1] + 1; tick <= 40; tick++) {
+        api.updateSimulation();
+        assertEquals(states.get(tick), api.getCellStates());
+        assertEquals(properties.get(tick), api.getCellProperties());
+      }
+    }
+  }
+
+  @Test
+  public void resumeCheckpoint_SavedMidRun_ContinuesWithSameTicks(@TempDir Path tempDir)
+      throws Exception {
+    // Tested Methods: saveCheckpoint(), resumeCheckpoint()
+    // State: A Wa-Tor run is checkpointed after three ticks and resumed by another ModelApi.
+    // Expected Outcome: The resumed run computes the same ticks as the original run.
+    List<List<CellRecord>> gridConfig = new ArrayList<>();
+    for (int i = 0; i < 6; i++) {
+      List<CellRecord> row = new ArrayList<>();
+      for (int j = 0; j < 6; j++) {
+        row.add(new CellRecord((i * 7 + j * 3) % 5 == 0 ? 2 : (i + j) % 3 == 0 ? 1 : 0,
+            new HashMap<>()));
+      }
+      gridConfig.add(row);
+    }
+    ParameterRecord pr = new ParameterRecord(new HashMap<>(Map.of("fishEnergyGain", 2.0,
+        "fishReproductionTime", 2.0, "sharkReproductionTime", 4.0, "sharkBaseEnergy", 3.0)),
+        new HashMap<>());
+    ConfigInfo config = createFakeConfigInfo(pr, gridConfig);
+    ModelApi original = new ModelApi();
+    original.setConfigInfo(new ConfigInfo(SimulationType.WATOR, config.myCellShapeType(),
+        config.myGridEdgeType(), config.myneighborArrangementType(), config.neighborRadius(),
+        config.myTitle(), config.myAuthor(), config.myDescription(), 6, 6, config.myTickSpeed(),
+        gridConfig, pr, new HashSet<>(Arrays.asList(0, 1, 2)), config.myFileName()));
+    original.resetModel();
+    for (int tick = 0; tick < 3; tick++) {
+      original.updateSimulation();
+    }
+
+    File checkpointFile = tempDir.resolve("wator.checkpoint").toFile();
+    original.saveCheckpoint(checkpointFile);
+    ModelApi resumed = new ModelApi();
+    ConfigInfo resumedConfig = resumed.resumeCheckpoint(checkpointFile);
+    assertEquals(SimulationType.WATOR, resumedConfig.myType());
+    assertEquals(original.getCellStates(), resumed.getCellStates());
+    assertEquals(original.getCellProperties(), resumed.getCellProperties());
+    for (int tick = 0; tick < 10; tick++) {
+      original.updateSimulation();
+      resumed.updateSimulation();
+      assertEquals(original.getCellStates(), resumed.getCellStates());
+      assertEquals(original.getCellProperties(), resumed.getCellProperties());
+    }
+  }
+
+  @Test
+  public void getMetrics_BlinkerTicks_ReportsTicksChangesAndPopulations() throws Exception {
+    // Tested Methods: getMetrics(), addMetricsListener(), recordRenderTime(), resetMetrics()
+    // State: A blinker is simulated for two ticks while a listener is registered.
+    // Expected Outcome: Every tick reports the count, the changed cells and the populations.
+    ModelApi api = new ModelApi();
+    List<List<CellRecord>> gridConfig = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      List<CellRecord> row = new ArrayList<>();
+      for (int j = 0; j < 5; j++) {
+        row.add(new CellRecord(i == 2 && j >= 1 && j <= 3 ? 1 : 0, new HashMap<>()));
+      }
+      gridConfig.add(row);
+    }
+    ParameterRecord pr = new ParameterRecord(new HashMap<>(),
+        new HashMap<>(Map.of("rules", "B3/S23")));
+    api.setConfigInfo(createFakeConfigInfo(pr, gridConfig));
+    api.resetModel();
+    assertEquals(0, api.getMetrics().ticks());
+    assertEquals(Map.of("DEAD", 22, "ALIVE", 3), api.getMetrics().populations());
+
+    List<SimulationMetrics> received = new ArrayList<>();
+    api.addMetricsListener(received::add);
+    api.updateSimulation();
+    api.recordRenderTime(2_000_000);
+    api.updateSimulation();
+
+    assertEquals(2, received.size());
+    SimulationMetrics metrics = received.get(1);
+    assertEquals(2, metrics.ticks());
+    assertEquals(4, metrics.changedCells());
+    assertEquals(3, metrics.populations().get("ALIVE"));
+    assertEquals(2, metrics.tickLatency().count());
+    assertTrue(metrics.tickLatency().max() >= metrics.tickLatency().p50());
+    assertEquals(1, metrics.renderLatency().count());
+    assertEquals(2.0, metrics.renderLatency().max(), 1e-9);
+    assertEquals(5, metrics.numRows());
+
+    api.resetMetrics();
+    assertEquals(0, api.getMetrics().ticks());
+    assertEquals(0, api.getMetrics().renderLatency().count());
+  }
+
+  @Test
+  public void registerMBean_LoadedBlinker_ExposesStatsAndControls(@TempDir Path tempDir)
+      throws Exception {
+    // Tested Methods: registerMBean(), unregisterMBean(), getEstimatedMemoryUse()
+    // State: A blinker is registered with a control that runs tasks immediately and ticked twice.
+    // Expected Outcome: The MBean reports the ticks and grid, and its operations reach the control.
+    ModelApi api = new ModelApi();
+    List<List<CellRecord>> gridConfig = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      List<CellRecord> row = new ArrayList<>();
+      for (int j = 0; j < 5; j++) {
+        row.add(new CellRecord(i == 2 && j >= 1 && j <= 3 ? 1 : 0, new HashMap<>()));
+      }
+      gridConfig.add(row);
+    }
+    api.setConfigInfo(createFakeConfigInfo(
+        new ParameterRecord(new HashMap<>(), new HashMap<>()), gridConfig));
+    api.resetModel();
+    FakeControl control = new FakeControl();
+    ObjectName name = api.registerMBean(control);
+    try {
+      assertNotNull(name);
+      assertTrue(ManagementFactory.getPlatformMBeanServer().isRegistered(name));
+      SimulationMXBean bean = JMX.newMXBeanProxy(ManagementFactory.getPlatformMBeanServer(),
+          name, SimulationMXBean.class);
+      api.updateSimulation();
+      api.updateSimulation();
+
+      assertEquals("LIFE", bean.getSimulationType());
+      assertEquals(2, bean.getTicks());
+      assertEquals(5, bean.getNumRows());
+      assertEquals(5, bean.getNumCols());
+      assertEquals(4, bean.getChangedCells());
+      assertTrue(bean.getTickLatencyMaxMillis() >= bean.getTickLatencyP50Millis());
+      assertEquals(api.getEstimatedMemoryUse(), bean.getEstimatedMemoryBytes());
+      assertTrue(bean.getEstimatedMemoryBytes() > 0);
+
+      bean.resume();
+      assertFalse(bean.isPaused());
+      bean.setTargetSpeed(42);
+      assertEquals(42, bean.getTargetSpeed());
+      File checkpoint = tempDir.resolve("blinker.checkpoint").toFile();
+      assertEquals(checkpoint.getAbsolutePath(), bean.saveCheckpoint(checkpoint.getPath()));
+      assertTrue(checkpoint.length() > 0);
+      bean.resetMetrics();
+      assertEquals(0, bean.getTicks());
+    } finally {
+      api.unregisterMBean();
+    }
+    assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(name));
+    assertNull(api.getMBeanName());
+  }
+
+  @Test
+  public void getMemoryFootprint_LoadedWithHistory_ReportsEveryComponent() throws Exception {
+    // Tested Methods: getMemoryFootprint(), estimateMemoryFootprint(), getEstimatedMemoryUse()
+    // State: A 6x6 grid is loaded with a rewind history and ticked once.
+    // Expected Outcome: The measured grid matches the extrapolation and the history is counted.
+    ModelApi api = new ModelApi();
+    assertEquals(0, api.getMemoryFootprint().total());
+    List<List<CellRecord>> gridConfig = new ArrayList<>();
+    for (int i = 0; i < 6; i++) {
+      List<CellRecord> row = new ArrayList<>();
+      for (int j = 0; j < 6; j++) {
+        row.add(new CellRecord(i == 2 && j >= 1 && j <= 3 ? 1 : 0, new HashMap<>()));
+      }
+      gridConfig.add(row);
+    }
+    ConfigInfo config = createFakeConfigInfo(
+        new ParameterRecord(new HashMap<>(), new HashMap<>()), gridConfig);
+    api.setConfigInfo(config);
+    api.setHistoryBudget(1 << 20);
+    api.resetModel();
+    api.updateSimulation();
+
+    MemoryFootprint footprint = api.getMemoryFootprint();
+    MemoryFootprint estimate = api.estimateMemoryFootprint(config);
+    assertEquals(estimate.cells(), footprint.cells());
+    assertEquals(estimate.neighbors(), footprint.neighbors());
+    assertEquals(estimate.properties(), footprint.properties());
+    assertEquals(estimate.viewNodes(), footprint.viewNodes());
+    assertTrue(footprint.logic() > 0);
+    assertTrue(footprint.history() > 0);
+    assertEquals(footprint.total(), api.getEstimatedMemoryUse());
+  }
+
+  @Test
+  public void setConfigInfo_GridLargerThanHeap_RefusedAndKeepsCurrentConfig() {
+    // Tested Methods: setConfigInfo(), estimateMemoryFootprint()
+    // State: A loaded config is followed by a config whose neighbors cannot fit in the heap.
+    // Expected Outcome: The large config is refused with its estimate and the first one is kept.
+    ModelApi api = new ModelApi();
+    ParameterRecord pr = new ParameterRecord(new HashMap<>(), new HashMap<>());
+    List<List<CellRecord>> smallGrid = List.of(List.of(new CellRecord(0, new HashMap<>())));
+    ConfigInfo small = createFakeConfigInfo(pr, smallGrid);
+    api.setConfigInfo(small);
+
+    List<List<CellRecord>> largeGrid = Collections.nCopies(1000,
+        Collections.nCopies(1000, new CellRecord(0, new HashMap<>())));
+    ConfigInfo base = createFakeConfigInfo(pr, largeGrid);
+    ConfigInfo large = new ConfigInfo(base.myType(), base.myCellShapeType(),
+        base.myGridEdgeType(), base.myneighborArrangementType(), 40, base.myTitle(),
+        base.myAuthor(), base.myDescription(), base.myGridWidth(), base.myGridHeight(),
+        base.myTickSpeed(), largeGrid, pr, base.acceptedStates(), base.myFileName());
+    assertTrue(api.estimateMemoryFootprint(large).total() > Runtime.getRuntime().maxMemory());
+
+    IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+        () -> api.setConfigInfo(large));
+    assertTrue(e.getMessage().startsWith("error-insufficientMemory,"));
+    assertEquals(small, getPrivateField(api, "configInfo"));
+  }
+
+  @Test
+  public void setConfigInfo_HeapFilledWithGarbage_Loaded() {
+    // Tested Methods: setConfigInfo()
+    // State: The heap is filled with garbage until the free heap is below the estimate of a config
+    // that fits in half of the heap.
+    // Expected Outcome: The config is loaded, as the garbage does not count against it.
+    ModelApi api = new ModelApi();
+    ParameterRecord pr = new ParameterRecord(new HashMap<>(), new HashMap<>());
+    List<List<CellRecord>> smallGrid = List.of(List.of(new CellRecord(0, new HashMap<>())));
+    api.setConfigInfo(createFakeConfigInfo(pr, smallGrid));
+
+    Runtime runtime = Runtime.getRuntime();
+    List<List<CellRecord>> sampleGrid = Collections.nCopies(100,
+        Collections.nCopies(100, new CellRecord(0, new HashMap<>())));
+    long bytesPerRow =
+        api.estimateMemoryFootprint(createFakeConfigInfo(pr, sampleGrid)).total() / 100;
+    int numRows = (int) (runtime.maxMemory() / 2 / bytesPerRow);
+    ConfigInfo config = createFakeConfigInfo(pr, Collections.nCopies(numRows,
+        Collections.nCopies(100, new CellRecord(0, new HashMap<>()))));
+    long required = api.estimateMemoryFootprint(config).total();
+
+    List<byte[]> garbage = new ArrayList<>();
+    while (runtime.maxMemory() - (runtime.totalMemory() - runtime.freeMemory()) >= required) {
+      garbage.add(new byte[1 << 20]);
+    }
+    garbage = null;
+
+    api.setConfigInfo(config);
+    assertEquals(config, getPrivateField(api, "configInfo"));
+  }
+
+  @Test
+  public void registerMBean_SimulationThreadBusy_FirstReadReturnsEstimate() throws Exception {
+    // Tested Methods: registerMBean(), getEstimatedMemoryUse()
+    // State: A loaded model is registered with a control that never runs the tasks handed to it.
+    // Expected Outcome: The first read of the memory estimate returns the estimate at registration.
+    ModelApi api = new ModelApi();
+    api.setConfigInfo(createFakeConfigInfo(new ParameterRecord(new HashMap<>(), new HashMap<>()),
+        SampleCells.createCells("Life", 8, 8, 1)));
+    api.resetModel();
+    DeferringControl control = new DeferringControl();
+    ObjectName name = api.registerMBean(control);
+    try {
+      SimulationMXBean bean = JMX.newMXBeanProxy(ManagementFactory.getPlatformMBeanServer(),
+          name, SimulationMXBean.class);
+      assertEquals(api.getEstimatedMemoryUse(), bean.getEstimatedMemoryBytes());
+      assertTrue(bean.getEstimatedMemoryBytes() > 0);
+      assertEquals(1, control.tasks.size());
+    } finally {
+      api.unregisterMBean();
+    }
+  }
+
+  /**
+   * A SimulationControl that runs tasks immediately on the calling thread.
+   */
+  private static class FakeControl implements SimulationControl {
+    private boolean paused = true;
+    private double speed;
+
+    @Override
+    public void setPaused(boolean isPaused) {
+      paused = isPaused;
+    }
+
+    @Override
+    public boolean isPaused() {
+      return paused;
+    }
+
+    @Override
+    public void setTargetSpeed(double speed) {
+      this.speed = speed;
+    }
+
+    @Override
+    public double getTargetSpeed() {
+      return speed;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+      task.run();
+    }
+  }
+
+  /**
+   * A SimulationControl whose simulation thread is busy, so the tasks handed to it are kept.
+   */
+  private static class DeferringControl extends FakeControl {
+    private final List<Runnable> tasks = new ArrayList<>();
+
+    @Override
+    public void execute(Runnable task) {
+      tasks.add(task);
+    }
+  }
 }
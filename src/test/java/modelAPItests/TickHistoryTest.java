@@ -0,0 +1,161 @@
+package modelAPItests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import cellsociety.model.modelAPI.TickHistory;
+import java.nio.IntBuffer;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the TickHistory class.
+ *
+ * Test method names follow the naming convention:
+ * [TestedMethod_StateUnderTest_ExpectedOutcome]
+ */
+public class TickHistoryTest {
+
+  private static final int NUM_CELLS = 30;
+
+  private int[] getStates(int tick) {
+    int[] states = new int[NUM_CELLS];
+    for (int i = 0; i < NUM_CELLS; i++) {
+      states[i] = (i + tick) % 7 == 0 ? 2 : (i % 5 == 0 ? tick % 3 : 0);
+    }
+    return states;
+  }
+
+  private Map<String, Double> getProperties(int tick, int index) {
+    if (index % 6 != 1) {
+      return new HashMap<>();
+    }
+    return new HashMap<>(Map.of("energy", (double) (tick / 3)));
+  }
+
+  private void record(TickHistory history, int tick) {
+    history.record(IntBuffer.wrap(getStates(tick)), i -> getProperties(tick, i));
+  }
+
+  private void assertTick(TickHistory history, int tick) {
+    int[] expected = getStates(tick);
+    IntBuffer states = history.getStates();
+    for (int i = 0; i < NUM_CELLS; i++) {
+      assertEquals(expected[i], states.get(i));
+      assertEquals(getProperties(tick, i), history.getProperties(i));
+    }
+  }
+
+  @Test
+  public void stepBack_WithinHistory_RestoresEarlierTick() {
+    TickHistory history = new TickHistory(1L << 20, 4);
+    for (int tick = 0; tick <= 10; tick++) {
+      record(history, tick);
+    }
+    assertEquals(10, history.getLength());
+    assertEquals(3, history.stepBack(3));
+    assertTick(history, 7);
+    assertEquals(7, history.getLength());
+    assertEquals(1, history.stepBack(1));
+    assertTick(history, 6);
+  }
+
+  @Test
+  public void stepBack_ThenRecord_ContinuesFromRestoredTick() {
+    TickHistory history = new TickHistory(1L << 20, 4);
+    for (int tick = 0; tick <= 9; tick++) {
+      record(history, tick);
+    }
+    history.stepBack(5);
+    for (int tick = 5; tick <= 9; tick++) {
+      record(history, tick);
+    }
+    assertEquals(2, history.stepBack(2));
+    assertTick(history, 7);
+  }
+
+  @Test
+  public void stepBack_PastOldestTick_StopsAtOldestTick() {
+    TickHistory history = new TickHistory(1L << 20, 4);
+    for (int tick = 0; tick <= 5; tick++) {
+      record(history, tick);
+    }
+    assertEquals(5, history.stepBack(100));
+    assertTick(history, 0);
+    assertEquals(0, history.stepBack(1));
+  }
+
+  @Test
+  public void record_BudgetExceeded_EvictsOldestKeyframeGroups() {
+    TickHistory history = new TickHistory(2000, 4);
+    for (int tick = 0; tick <= 200; tick++) {
+      record(history, tick);
+    }
+    assertTrue(history.getUsedMemory() <= 2000);
+    assertTrue(history.getLength() < 200);
+    int length = history.getLength();
+    assertEquals(length, history.stepBack(length + 10));
+    assertTick(history, 200 - length);
+  }
+
+  @Test
+  public void record_UnchangedPropertyVersions_OnlyReadsChangedProperties() {
+    TickHistory history = new TickHistory(1L << 20, 4);
+    int[] reads = new int[1];
+    for (int tick = 0; tick <= 10; tick++) {
+      int version = tick / 3;
+      int currentTick = tick;
+      history.record(IntBuffer.wrap(getStates(tick)), i -> version, i -> {
+        reads[0]++;
+        return getProperties(currentTick, i);
+      });
+    }
+    // The properties only change on ticks 3, 6 and 9
+    assertEquals(4 * NUM_CELLS, reads[0]);
+    assertEquals(4, history.stepBack(4));
+    assertTick(history, 6);
+  }
+
+  @Test
+  public void record_KeyframeOverBudget_StopsRecordingUntilCleared() {
+    TickHistory history = new TickHistory(16, 4);
+    record(history, 0);
+    record(history, 1);
+    assertTrue(history.isOverBudget());
+    assertEquals(0, history.getLength());
+    assertEquals(0, history.getUsedMemory());
+    history.clear();
+    assertFalse(history.isOverBudget());
+  }
+
+  @Test
+  public void getLogicState_RecordedWithLogicState_OnlyKeptForKeyframes() {
+    TickHistory history = new TickHistory(1L << 20, 4);
+    int[] checkpoints = {0};
+    for (int tick = 0; tick <= 6; tick++) {
+      int recordedTick = tick;
+      history.record(IntBuffer.wrap(getStates(tick)), null, i -> getProperties(recordedTick, i),
+          () -> new byte[]{(byte) checkpoints[0]++, (byte) recordedTick});
+    }
+    assertEquals(2, checkpoints[0]);
+    assertNull(history.getLogicState());
+    assertEquals(2, history.getTicksSinceKeyframe());
+    history.stepBack(history.getTicksSinceKeyframe());
+    assertTick(history, 4);
+    assertArrayEquals(new byte[]{1, 4}, history.getLogicState());
+    assertEquals(0, history.getTicksSinceKeyframe());
+  }
+
+  @Test
+  public void record_DifferentNumberOfCells_ThrowsIllegalArgumentException() {
+    TickHistory history = new TickHistory(1L << 20, 4);
+    record(history, 0);
+    assertThrows(IllegalArgumentException.class,
+        () -> history.record(IntBuffer.allocate(NUM_CELLS + 1), i -> null));
+  }
+
+  @Test
+  public void constructor_NonPositiveBudget_ThrowsIllegalArgumentException() {
+    assertThrows(IllegalArgumentException.class, () -> new TickHistory(0, 4));
+  }
+}
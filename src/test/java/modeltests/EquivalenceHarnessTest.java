@@ -0,0 +1,135 @@
+package modeltests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import cellsociety.model.config.ConfigInfo;
+import cellsociety.model.config.ConfigReader;
+import cellsociety.model.equivalence.Divergence;
+import cellsociety.model.equivalence.Divergence.CellDifference;
+import cellsociety.model.equivalence.EquivalenceHarness;
+import cellsociety.model.equivalence.EquivalenceReport;
+import cellsociety.model.equivalence.LogicEngine;
+import cellsociety.model.equivalence.SimulationEngine;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author Jacob You
+ */
+public class EquivalenceHarnessTest {
+
+  private static final long SEED = 308;
+
+  @Test
+  public void EquivalenceHarness_Run_SameSeededLogic_AgreesOnEveryTick() throws Exception {
+    ConfigInfo config = new ConfigReader().readConfig("SpreadingOfFire.xml");
+    EquivalenceHarness harness = new EquivalenceHarness(LogicEngine::create);
+    EquivalenceReport report = harness.run(config, SEED, 50);
+
+    assertTrue(report.isEquivalent());
+    assertEquals(50, report.ticks());
+    assertEquals(report.referenceHash(), report.candidateHash());
+    assertEquals(report.referenceHash(), harness.run(config, SEED, 50).referenceHash());
+  }
+
+  @Test
+  public void EquivalenceHarness_Run_DifferentSeeds_DivergesOnRandomChoices() throws Exception {
+    ConfigInfo config = new ConfigReader().readConfig("SpreadingOfFire.xml");
+    EquivalenceHarness harness = new EquivalenceHarness(
+        (configInfo, seed) -> LogicEngine.create(configInfo, seed + 1));
+    EquivalenceReport report = harness.run(config, SEED, 200);
+
+    assertFalse(report.isEquivalent());
+    assertTrue(report.divergence().tick() > 0);
+    assertNotEquals(report.referenceHash(), report.candidateHash());
+  }
+
+  @Test
+  public void EquivalenceHarness_Run_FaultyEngine_ReportsFirstTickAndRegion() throws Exception {
+    ConfigInfo config = new ConfigReader().readConfig("GameOfLifeGlider.xml");
+    EquivalenceHarness harness = new EquivalenceHarness(
+        (configInfo, seed) -> new FaultyEngine(LogicEngine.create(configInfo, seed), 5, 3, 4));
+    EquivalenceReport report = harness.run(config, SEED, 20);
+
+    assertFalse(report.isEquivalent());
+    assertEquals(5, report.ticks());
+    Divergence divergence = report.divergence();
+    assertEquals(5, divergence.tick());
+    assertEquals(3, divergence.startRow());
+    assertEquals(3, divergence.endRow());
+    assertEquals(4, divergence.startCol());
+    assertEquals(4, divergence.endCol());
+    assertEquals(1, divergence.numDifferences());
+    CellDifference difference = divergence.differences().getFirst();
+    assertEquals("state", difference.name());
+    assertEquals(difference.reference() + 1, difference.candidate());
+    assertEquals(1, divergence.windowRow());
+    assertEquals(2, divergence.windowCol());
+    assertEquals(divergence.referenceStates()[2][2] + 1, divergence.candidateStates()[2][2]);
+    assertTrue(divergence.dump().contains("tick 5"));
+  }
+
+  @Test
+  public void EquivalenceHarness_Run_DifferentProperty_OnlyDetectedWhenCompared()
+      throws Exception {
+    ConfigInfo config = new ConfigReader().readConfig("GameOfLifeGlider.xml");
+    EquivalenceHarness harness = new EquivalenceHarness(
+        (configInfo, seed) -> new FaultyEngine(LogicEngine.create(configInfo, seed), 3, -1, -1));
+    assertTrue(harness.run(config, SEED, 10).isEquivalent());
+
+    harness.setComparedProperties(List.of("energy"));
+    EquivalenceReport report = harness.run(config, SEED, 10);
+    assertFalse(report.isEquivalent());
+    assertEquals(3, report.divergence().tick());
+    assertEquals("energy", report.divergence().differences().getFirst().name());
+  }
+
+  /**
+   * An engine that agrees with the engine it wraps until the given tick, then reports one cell in
+   * a different state, or every cell with a different energy when no cell is given.
+   */
+  private static class FaultyEngine implements SimulationEngine {
+
+    private final SimulationEngine engine;
+    private final int faultyTick;
+    private final int faultyRow;
+    private final int faultyCol;
+    private int tick;
+
+    private FaultyEngine(SimulationEngine engine, int faultyTick, int faultyRow, int faultyCol) {
+      this.engine = engine;
+      this.faultyTick = faultyTick;
+      this.faultyRow = faultyRow;
+      this.faultyCol = faultyCol;
+    }
+
+    @Override
+    public void step() {
+      engine.step();
+      tick++;
+    }
+
+    @Override
+    public int getNumRows() {
+      return engine.getNumRows();
+    }
+
+    @Override
+    public int getNumCols() {
+      return engine.getNumCols();
+    }
+
+    @Override
+    public void exportStates(int[] dest) {
+      engine.exportStates(dest);
+      if (tick >= faultyTick && faultyRow >= 0) {
+        dest[faultyRow * getNumCols() + faultyCol]++;
+      }
+    }
+
+    @Override
+    public double getProperty(int row, int col, String property) {
+      return tick >= faultyTick ? 1 : engine.getProperty(row, col, property);
+    }
+  }
+}
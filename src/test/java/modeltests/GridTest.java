@@ -11,7 +11,9 @@ import cellsociety.model.data.constants.GridShape;
 import cellsociety.model.data.constants.NeighborType;
 import cellsociety.model.data.neighbors.Direction;
 import cellsociety.model.data.states.State;
+import java.nio.IntBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -265,4 +267,104 @@ public class GridTest {
     assertNotNull(directions, "The list of directions should not be null.");
     assertFalse(directions.isEmpty(), "The list of directions should not be empty.");
   }
+
+  @Test
+  public void Grid_CopyStates_AfterUpdate_ReturnsPackedStates() {
+    List<List<CellRecord>> raw = createRawGrid(3, 4, 0);
+    Grid<TestState> grid = createGrid(raw);
+    grid.getCell(1, 2).setNextState(TestState.ONE);
+    grid.updateGrid();
+
+    int[] states = new int[12];
+    grid.copyStates(states, 0, 0, 0, 3, 4);
+    assertEquals(1, states[1 * 4 + 2]);
+    assertEquals(1, Arrays.stream(states).sum());
+  }
+
+  @Test
+  public void Grid_CopyStates_Region_CopiesOnlyRegion() {
+    List<List<CellRecord>> raw = createRawGrid(3, 4, 0);
+    Grid<TestState> grid = createGrid(raw);
+    grid.getCell(2, 3).setNextState(TestState.ONE);
+    grid.updateGrid();
+
+    IntBuffer buffer = IntBuffer.allocate(4);
+    grid.copyStates(buffer, 1, 2, 2, 2);
+    assertArrayEquals(new int[]{0, 0, 0, 1}, buffer.array());
+  }
+
+  @Test
+  public void Grid_CopyStates_RegionOutOfBounds_ThrowsException() {
+    List<List<CellRecord>> raw = createRawGrid(3, 3, 0);
+    Grid<TestState> grid = createGrid(raw);
+    assertThrows(IllegalArgumentException.class,
+        () -> grid.copyStates(new int[9], 0, 1, 1, 3, 3));
+  }
+
+  @Test
+  public void Grid_GetStateBuffer_UpdateGrid_AdvancesEpoch() {
+    List<List<CellRecord>> raw = createRawGrid(2, 2, 1);
+    Grid<TestState> grid = createGrid(raw);
+    long epoch = grid.getEpoch();
+    assertEquals(1, grid.getStateBuffer().get(3));
+    assertTrue(grid.getStateBuffer().isReadOnly());
+
+    grid.updateGrid();
+    assertTrue(grid.getEpoch() > epoch);
+  }
+
+  @Test
+  public void Grid_RestoreStates_CapturedTick_RestoresStatesAndProperties() {
+    List<List<CellRecord>> raw = createRawGrid(2, 3, 0);
+    Grid<TestState> grid = createGrid(raw);
+    int[] captured = {0, 1, 0, 1, 1, 0};
+    long epoch = grid.getEpoch();
+
+    grid.restoreStates(IntBuffer.wrap(captured),
+        index -> index == 4 ? Map.of("dummy", 5.0) : Map.of("dummy", 1.0));
+
+    assertEquals(TestState.ONE, grid.getCell(0, 1).getCurrentState());
+    assertEquals(TestState.ONE, grid.getCell(0, 1).getNextState());
+    assertEquals(5.0, grid.getCell(1, 1).getProperty("dummy"));
+    assertEquals(1.0, grid.getCell(1, 2).getProperty("dummy"));
+    assertEquals(1, grid.getStateBuffer().get(3));
+    assertTrue(grid.getEpoch() > epoch);
+  }
+
+  @Test
+  public void Grid_RestoreStates_BufferTooSmall_ThrowsException() {
+    List<List<CellRecord>> raw = createRawGrid(2, 2, 0);
+    Grid<TestState> grid = createGrid(raw);
+    assertThrows(IllegalArgumentException.class,
+        () -> grid.restoreStates(IntBuffer.allocate(3), index -> Map.of()));
+  }
+
+  @Test
+  public void Grid_UpdateGrid_ChangedStates_CountsPopulationsAndChanges() {
+    List<List<CellRecord>> raw = createRawGrid(2, 3, 0);
+    Grid<TestState> grid = createGrid(raw);
+    assertEquals(6, grid.getPopulation(0));
+    assertEquals(0, grid.getPopulation(1));
+    assertEquals(0, grid.getChangedCells());
+
+    grid.getCell(0, 1).setNextState(TestState.ONE);
+    grid.getCell(1, 2).setNextState(TestState.ONE);
+    grid.updateGrid();
+    assertEquals(2, grid.getChangedCells());
+    assertArrayEquals(new int[]{4, 2}, grid.getPopulations());
+
+    grid.updateGrid();
+    assertEquals(0, grid.getChangedCells());
+    assertEquals(2, grid.getPopulation(1));
+  }
+
+  @Test
+  public void Grid_RestoreStates_CapturedTick_UpdatesPopulations() {
+    List<List<CellRecord>> raw = createRawGrid(2, 2, 1);
+    Grid<TestState> grid = createGrid(raw);
+    grid.restoreStates(IntBuffer.wrap(new int[]{0, 1, 0, 1}), index -> Map.of("dummy", 1.0));
+    assertEquals(2, grid.getPopulation(0));
+    assertEquals(2, grid.getPopulation(1));
+    assertEquals(2, grid.getChangedCells());
+  }
 }
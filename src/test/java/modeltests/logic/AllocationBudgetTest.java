@@ -0,0 +1,134 @@
+package modeltests.logic;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import cellsociety.model.config.ParameterRecord;
+import cellsociety.model.data.Grid;
+import cellsociety.model.data.cells.CellFactory;
+import cellsociety.model.data.constants.EdgeType;
+import cellsociety.model.data.constants.GridShape;
+import cellsociety.model.data.constants.NeighborType;
+import cellsociety.model.logic.Logic;
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import org.junit.jupiter.api.Test;
+import util.SampleCells;
+
+/**
+ * Checks that one tick of every simulation, {@link Logic#update()}, allocates no more than a
+ * declared number of bytes per cell, so that allocations added to the hot path fail here instead
+ * of showing up as garbage collection pauses later.
+ * <p>
+ * The bytes are counted by the JVM for the current thread, so they do not depend on timing. The
+ * build runs this class in a JVM of its own with escape analysis turned off, so that every
+ * allocation in the code is counted, whatever the compiler would have removed after the tests that
+ * ran before. Each simulation first warms up on one grid, so that its classes are loaded, and is
+ * then measured on the first ticks of a fresh grid of the same seeded cells, while the grid is
+ * still busy; a simulation such as Wa-Tor can die out long before a warm up ends. The budgets are
+ * the measured allocation plus less than the smallest object per cell, so a single allocation
+ * added for every cell fails the test; lower a budget after removing allocations from a logic.
+ *
+ * @author Jacob You
+ */
+public class AllocationBudgetTest {
+
+  private static final int SIZE = 64;
+  private static final long SEED = 308;
+  private static final int WARMUP_TICKS = 100;
+  private static final int MEASURED_TICKS = 10;
+
+  @Test
+  public void LifeLogic_Update_StaysWithinAllocationBudget() {
+    assertWithinBudget("Life", 40);
+  }
+
+  @Test
+  public void FireLogic_Update_StaysWithinAllocationBudget() {
+    assertWithinBudget("Fire", 12);
+  }
+
+  @Test
+  public void PercolationLogic_Update_StaysWithinAllocationBudget() {
+    assertWithinBudget("Percolation", 48);
+  }
+
+  @Test
+  public void SegregationLogic_Update_StaysWithinAllocationBudget() {
+    assertWithinBudget("Segregation", 36);
+  }
+
+  @Test
+  public void WatorLogic_Update_StaysWithinAllocationBudget() {
+    assertWithinBudget("Wator", 112);
+  }
+
+  @Test
+  public void SugarLogic_Update_StaysWithinAllocationBudget() {
+    assertWithinBudget("Sugar", 26);
+  }
+
+  @Test
+  public void AntLogic_Update_StaysWithinAllocationBudget() {
+    assertWithinBudget("Ant", 196);
+  }
+
+  @Test
+  public void BacteriaLogic_Update_StaysWithinAllocationBudget() {
+    assertWithinBudget("Bacteria", 72);
+  }
+
+  @Test
+  public void FallingLogic_Update_StaysWithinAllocationBudget() {
+    assertWithinBudget("Falling", 12);
+  }
+
+  @Test
+  public void DarwinLogic_Update_StaysWithinAllocationBudget() {
+    assertWithinBudget("Darwin", 1540);
+  }
+
+  /**
+   * Runs a simulation and fails if its measured ticks allocate more than the budget on average.
+   */
+  private void assertWithinBudget(String simulation, double bytesPerCell) {
+    com.sun.management.ThreadMXBean threads =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    assertTrue(threads.isThreadAllocatedMemorySupported(),
+        "Allocated bytes cannot be measured on this JVM");
+    threads.setThreadAllocatedMemoryEnabled(true);
+
+    Logic<?> warmup = createLogic(simulation);
+    for (int i = 0; i < WARMUP_TICKS; i++) {
+      warmup.update();
+    }
+    Logic<?> logic = createLogic(simulation);
+    long threadId = Thread.currentThread().threadId();
+    long before = threads.getThreadAllocatedBytes(threadId);
+    for (int i = 0; i < MEASURED_TICKS; i++) {
+      logic.update();
+    }
+    long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+    double measured = (double) allocated / MEASURED_TICKS / (SIZE * SIZE);
+    assertTrue(measured <= bytesPerCell, String.format(
+        "%s allocated %.1f bytes per cell and tick, over its budget of %.1f", simulation,
+        measured, bytesPerCell));
+  }
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private Logic<?> createLogic(String simulation) {
+    try {
+      Class stateClass = Class.forName("cellsociety.model.data.states." + simulation + "State");
+      Grid<?> grid = new Grid(SampleCells.createCells(simulation, SIZE, SIZE, SEED),
+          new CellFactory(stateClass),
+          GridShape.SQUARE, NeighborType.MOORE, EdgeType.BASE);
+      Logic<?> logic = (Logic<?>) Class.forName("cellsociety.model.logic." + simulation + "Logic")
+          .getDeclaredConstructor(Grid.class, ParameterRecord.class)
+          .newInstance(grid, new ParameterRecord(new HashMap<>(), new HashMap<>()));
+      logic.seedRandom(SEED);
+      return logic;
+    } catch (ReflectiveOperationException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
@@ -12,6 +12,11 @@ import cellsociety.model.data.constants.GridShape;
 import cellsociety.model.data.constants.NeighborType;
 import cellsociety.model.data.states.AntState;
 import cellsociety.model.logic.AntLogic;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -175,4 +180,50 @@ public class AntLogicTest {
     logic.update();
     assertNotEquals(0, top.getProperty("returningEntities"));
   }
+
+  @Test
+  public void AntLogic_ResumedFromCheckpoint_MatchesUninterruptedRun() throws IOException {
+    List<List<Integer>> data = createGridData(6, 6, AntState.EMPTY.getValue());
+    data.get(1).set(1, AntState.NEST.getValue());
+    data.get(4).set(4, AntState.FOOD.getValue());
+    Grid<AntState> grid = createGridFromData(data);
+    grid.getCell(1, 1).setProperty("searchingEntities", 4);
+    ParameterRecord pr = createDefaultParameterRecord();
+    AntLogic logic = new AntLogic(grid, pr);
+    logic.seedRandom(42);
+    for (int i = 0; i < 5; i++) {
+      logic.update();
+    }
+
+    ByteArrayOutputStream checkpoint = new ByteArrayOutputStream();
+    logic.writeCheckpoint(new DataOutputStream(checkpoint));
+    List<List<CellRecord>> records = new ArrayList<>();
+    for (int r = 0; r < 6; r++) {
+      List<CellRecord> row = new ArrayList<>();
+      for (int c = 0; c < 6; c++) {
+        Cell<AntState> cell = grid.getCell(r, c);
+        row.add(new CellRecord(cell.getCurrentState().getValue(),
+            new HashMap<>(cell.getAllProperties())));
+      }
+      records.add(row);
+    }
+    Grid<AntState> resumedGrid = new Grid<>(records, new CellFactory<>(AntState.class),
+        GridShape.SQUARE, NeighborType.MOORE, EdgeType.TORUS);
+    AntLogic resumedLogic = new AntLogic(resumedGrid, pr);
+    resumedLogic.readCheckpoint(
+        new DataInputStream(new ByteArrayInputStream(checkpoint.toByteArray())));
+
+    for (int i = 0; i < 10; i++) {
+      logic.update();
+      resumedLogic.update();
+      for (int r = 0; r < 6; r++) {
+        for (int c = 0; c < 6; c++) {
+          assertEquals(grid.getCell(r, c).getCurrentState(),
+              resumedGrid.getCell(r, c).getCurrentState());
+          assertEquals(grid.getCell(r, c).getAllProperties(),
+              resumedGrid.getCell(r, c).getAllProperties());
+        }
+      }
+    }
+  }
 }
@@ -0,0 +1,99 @@
+package util;
+
+import cellsociety.model.config.CellRecord;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Generates the initial cells of a simulation from a seed, with a mix of states and cell
+ * properties resembling its bundled configurations, so that the logic does real work on every
+ * tick instead of idling on an empty grid. The allocation tests and the benchmarks share it, so
+ * both measure the same grids.
+ *
+ * @author Billy McCune
+ */
+public final class SampleCells {
+
+  private SampleCells() {
+  }
+
+  /**
+   * Generates the initial cells of a simulation.
+   *
+   * @param simulation the simulation name, e.g. "Life" or "Wator"
+   * @param numRows    the number of rows
+   * @param numCols    the number of columns
+   * @param seed       the seed the cells are generated from
+   * @return the generated cells
+   * @throws IllegalArgumentException if the simulation is unknown
+   */
+  public static List<List<CellRecord>> createCells(String simulation, int numRows, int numCols,
+      long seed) {
+    SplittableRandom random = new SplittableRandom(seed);
+    List<List<CellRecord>> cells = new ArrayList<>(numRows);
+    for (int row = 0; row < numRows; row++) {
+      List<CellRecord> rowCells = new ArrayList<>(numCols);
+      for (int col = 0; col < numCols; col++) {
+        rowCells.add(createCell(simulation, random));
+      }
+      cells.add(rowCells);
+    }
+    return cells;
+  }
+
+  private static CellRecord createCell(String simulation, SplittableRandom random) {
+    Map<String, Double> properties = new HashMap<>();
+    int state = switch (simulation) {
+      case "Life" -> pick(random, 75, 25);
+      case "Fire" -> pick(random, 20, 78, 2);
+      case "Percolation" -> pick(random, 40, 58, 2);
+      case "Segregation" -> pick(random, 20, 40, 40);
+      case "Wator" -> pick(random, 45, 40, 15);
+      case "Falling" -> pick(random, 55, 10, 25, 10);
+      case "Ant" -> {
+        int antState = pick(random, 85, 5, 1, 9);
+        if (antState == 2) {
+          properties.put("searchingEntities", 10.0);
+        }
+        yield antState;
+      }
+      case "Sugar" -> {
+        int sugarState = pick(random, 90, 10);
+        double maxSugar = 5 + random.nextInt(11);
+        properties.put("maxSugar", maxSugar);
+        properties.put("sugarAmount", (double) random.nextInt((int) maxSugar + 1));
+        if (sugarState == 1) {
+          properties.put("agentSugar", 5.0 + random.nextInt(10));
+        }
+        yield sugarState;
+      }
+      case "Bacteria" -> {
+        properties.put("coloredId", (double) random.nextInt(3));
+        yield 0;
+      }
+      case "Darwin" -> {
+        properties.put("speciesID", (double) pick(random, 70, 10, 10, 10));
+        yield 0;
+      }
+      default -> throw new IllegalArgumentException("Unknown simulation: " + simulation);
+    };
+    return new CellRecord(state, properties);
+  }
+
+  /**
+   * Picks an index with probability proportional to its weight out of a total of 100.
+   */
+  private static int pick(SplittableRandom random, int... weights) {
+    int roll = random.nextInt(100);
+    for (int i = 0; i < weights.length; i++) {
+      roll -= weights[i];
+      if (roll < 0) {
+        return i;
+      }
+    }
+    return weights.length - 1;
+  }
+}
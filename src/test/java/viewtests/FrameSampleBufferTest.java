@@ -0,0 +1,82 @@
+package viewtests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import cellsociety.view.renderer.FrameSampleBuffer;
+import cellsociety.view.renderer.FrameSampleBuffer.Samples;
+import org.junit.jupiter.api.Test;
+
+public class FrameSampleBufferTest {
+
+  @Test
+  public void copyTo_FewerFramesThanCapacity_CopiesAllOldestFirst() {
+    FrameSampleBuffer buffer = new FrameSampleBuffer(8);
+    buffer.record(100, 10, 20, 1, false);
+    buffer.record(200, 30, 40, 2, true);
+
+    Samples samples = new Samples(buffer.getCapacity());
+    assertEquals(2, buffer.copyTo(samples));
+    assertEquals(100, samples.getFrameNanos(0));
+    assertEquals(10, samples.getTickNanos(0));
+    assertEquals(20, samples.getRenderNanos(0));
+    assertEquals(1, samples.getTicks(0));
+    assertFalse(samples.isDropped(0));
+    assertEquals(200, samples.getFrameNanos(1));
+    assertEquals(2, samples.getTicks(1));
+    assertTrue(samples.isDropped(1));
+  }
+
+  @Test
+  public void copyTo_BufferWrappedAround_KeepsNewestFrames() {
+    FrameSampleBuffer buffer = new FrameSampleBuffer(5);
+    assertEquals(8, buffer.getCapacity());
+    for (int i = 0; i < 20; i++) {
+      buffer.record(i, i, i, i, false);
+    }
+
+    Samples samples = new Samples(buffer.getCapacity());
+    int size = buffer.copyTo(samples);
+    assertEquals(20, buffer.getCount());
+    assertTrue(size >= buffer.getCapacity() - 1);
+    assertEquals(19, samples.getTicks(size - 1));
+    for (int i = 1; i < size; i++) {
+      assertEquals(samples.getTicks(i - 1) + 1, samples.getTicks(i));
+    }
+  }
+
+  @Test
+  public void copyTo_SmallerSamples_CopiesNewestThatFit() {
+    FrameSampleBuffer buffer = new FrameSampleBuffer(8);
+    for (int i = 0; i < 6; i++) {
+      buffer.record(i, i, i, i, false);
+    }
+
+    Samples samples = new Samples(3);
+    assertEquals(3, buffer.copyTo(samples));
+    assertEquals(3, samples.getTicks(0));
+    assertEquals(5, samples.getTicks(2));
+  }
+
+  @Test
+  public void copyTo_ConcurrentRecording_NeverReturnsTornSequence() throws Exception {
+    FrameSampleBuffer buffer = new FrameSampleBuffer(16);
+    Thread writer = new Thread(() -> {
+      for (int i = 0; i < 200_000; i++) {
+        buffer.record(i, i, i, i, false);
+      }
+    });
+    writer.start();
+    Samples samples = new Samples(buffer.getCapacity());
+    while (writer.isAlive()) {
+      int size = buffer.copyTo(samples);
+      for (int i = 0; i < size; i++) {
+        assertEquals(samples.getTicks(i), samples.getFrameNanos(i));
+        assertEquals(samples.getTicks(i), samples.getRenderNanos(i));
+        if (i > 0) {
+          assertEquals(samples.getTicks(i - 1) + 1, samples.getTicks(i));
+        }
+      }
+    }
+    writer.join();
+  }
+}
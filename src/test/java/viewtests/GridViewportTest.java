@@ -0,0 +1,113 @@
+package viewtests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import cellsociety.view.renderer.GridViewport;
+import cellsociety.view.renderer.drawer.HexGridDrawer;
+import cellsociety.view.renderer.drawer.SquareGridDrawer;
+import java.util.ArrayList;
+import java.util.List;
+import javafx.geometry.BoundingBox;
+import javafx.scene.Node;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Rectangle;
+import org.junit.jupiter.api.Test;
+
+public class GridViewportTest {
+
+  // A square cell is 20 pixels wide, so a tile is 640 pixels wide
+  private static final int TILE_PIXELS = 20 * GridViewport.TILE_SIZE;
+  private static final int TILE_CELLS = GridViewport.TILE_SIZE * GridViewport.TILE_SIZE;
+
+  @Test
+  public void setViewport_OneTileVisible_OnlyCreatesNodesForThatTile() {
+    Pane pane = new Pane();
+    GridViewport viewport = new GridViewport(pane);
+    viewport.setGrid(200, 200, SquareGridDrawer.class);
+    assertEquals(1, pane.getChildren().size());
+
+    viewport.setViewport(new BoundingBox(10, 10, 100, 100));
+    assertEquals(TILE_CELLS + 1, pane.getChildren().size());
+    assertTrue(viewport.isCellVisible(0, 0));
+    assertFalse(viewport.isCellVisible(0, GridViewport.TILE_SIZE));
+  }
+
+  @Test
+  public void setViewport_Panned_ReusesNodesOfHiddenTiles() {
+    Pane pane = new Pane();
+    GridViewport viewport = new GridViewport(pane);
+    viewport.setGrid(200, 200, SquareGridDrawer.class);
+    viewport.setViewport(new BoundingBox(10, 10, 100, 100));
+    List<Node> nodes = new ArrayList<>(pane.getChildren());
+
+    viewport.setViewport(new BoundingBox(3 * TILE_PIXELS + 10, 2 * TILE_PIXELS + 10, 100, 100));
+    assertEquals(nodes, pane.getChildren());
+    assertFalse(viewport.isCellVisible(0, 0));
+    assertTrue(viewport.isCellVisible(2 * GridViewport.TILE_SIZE, 3 * GridViewport.TILE_SIZE));
+    Rectangle cell = findCell(pane, 3 * TILE_PIXELS, 2 * TILE_PIXELS);
+    assertTrue(cell.isVisible());
+  }
+
+  @Test
+  public void setViewport_ZoomedIn_KeepsOnlyAsManyHiddenTilesAsVisibleTiles() {
+    Pane pane = new Pane();
+    GridViewport viewport = new GridViewport(pane);
+    viewport.setGrid(100, 100, SquareGridDrawer.class);
+    viewport.setViewport(new BoundingBox(10, 10, 2 * TILE_PIXELS, 10));
+    assertEquals(3 * TILE_CELLS + 1, pane.getChildren().size());
+
+    viewport.setViewport(new BoundingBox(10, 10, 10, 10));
+    assertEquals(2 * TILE_CELLS + 1, pane.getChildren().size());
+  }
+
+  @Test
+  public void drawCell_HiddenTile_DrawnOnceTileIsVisible() {
+    Pane pane = new Pane();
+    GridViewport viewport = new GridViewport(pane);
+    viewport.setGrid(100, 100, SquareGridDrawer.class);
+    viewport.setViewport(new BoundingBox(10, 10, 100, 100));
+
+    viewport.drawCell(40, 50, "RED");
+    viewport.drawCell(1, 2, "BLUE");
+    assertEquals(Color.BLUE, findCell(pane, 40, 20).getFill());
+
+    viewport.setViewport(new BoundingBox(1000, 800, 100, 100));
+    assertEquals(Color.RED, findCell(pane, 1000, 800).getFill());
+  }
+
+  @Test
+  public void setBorderVisible_BordersHidden_AppliedToLaterCells() {
+    Pane pane = new Pane();
+    GridViewport viewport = new GridViewport(pane);
+    viewport.setGrid(100, 100, SquareGridDrawer.class);
+    viewport.setBorderVisible(false);
+
+    viewport.setViewport(new BoundingBox(10, 10, 100, 100));
+    assertEquals(0, findCell(pane, 0, 0).getStrokeWidth());
+  }
+
+  @Test
+  public void setGrid_OtherShape_ReplacesNodes() {
+    Pane pane = new Pane();
+    GridViewport viewport = new GridViewport(pane);
+    viewport.setGrid(10, 10, SquareGridDrawer.class);
+    viewport.setViewport(new BoundingBox(0, 0, 1000, 1000));
+    assertEquals(101, pane.getChildren().size());
+
+    viewport.setGrid(10, 10, HexGridDrawer.class);
+    assertEquals(1, pane.getChildren().size());
+    viewport.setViewport(new BoundingBox(0, 0, 1000, 1000));
+    assertEquals(101, pane.getChildren().size());
+  }
+
+  private Rectangle findCell(Pane pane, double x, double y) {
+    for (Node node : pane.getChildren()) {
+      if (node instanceof Rectangle cell && cell.isVisible() && cell.getX() == x
+          && cell.getY() == y) {
+        return cell;
+      }
+    }
+    return fail("No visible cell at " + x + ", " + y);
+  }
+}
@@ -0,0 +1,68 @@
+package viewtests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import cellsociety.view.renderer.MiniMapRenderer;
+import javafx.scene.image.PixelReader;
+import org.junit.jupiter.api.Test;
+import util.DukeApplicationTest;
+
+public class MiniMapRendererTest extends DukeApplicationTest {
+
+  private static final String[] PALETTE = {"BLACK", "WHITE", null};
+
+  private PixelReader render(MiniMapRenderer miniMap, int[] states) {
+    miniMap.setStates(states, PALETTE);
+    miniMap.update(MiniMapRenderer.DEFAULT_REFRESH_INTERVAL);
+    return miniMap.getView().getImage().getPixelReader();
+  }
+
+  @Test
+  public void update_SingleCellInLargeBlock_TintsItsPixel() {
+    // A 1000 x 1000 grid is drawn in blocks of 10 x 10 cells
+    MiniMapRenderer miniMap = new MiniMapRenderer();
+    miniMap.setGrid(1000, 1000);
+    int[] states = new int[1000 * 1000];
+    states[13 * 1000 + 17] = 1;
+
+    PixelReader pixels = render(miniMap, states);
+    assertEquals(0xFF020202, pixels.getArgb(1, 1));
+    assertEquals(0xFF000000, pixels.getArgb(0, 0));
+    assertEquals(0xFF000000, pixels.getArgb(2, 1));
+  }
+
+  @Test
+  public void update_HalfWhiteBlock_AveragesEveryCell() {
+    MiniMapRenderer miniMap = new MiniMapRenderer();
+    miniMap.setGrid(400, 400);
+    int[] states = new int[400 * 400];
+    for (int row = 0; row < 4; row++) {
+      for (int col = 0; col < 2; col++) {
+        states[row * 400 + col] = 1;
+      }
+    }
+
+    PixelReader pixels = render(miniMap, states);
+    assertEquals(0xFF7F7F7F, pixels.getArgb(0, 0));
+  }
+
+  @Test
+  public void update_StatesUpdatedInPlace_RedrawnAfterSetStates() {
+    MiniMapRenderer miniMap = new MiniMapRenderer();
+    miniMap.setGrid(10, 10);
+    int[] states = new int[10 * 10];
+    assertEquals(0xFF000000, render(miniMap, states).getArgb(3, 4));
+
+    states[4 * 10 + 3] = 2;
+    assertEquals(0xFFFFFFFF, render(miniMap, states).getArgb(3, 4));
+  }
+
+  @Test
+  public void setGrid_NoStatesSet_DrawsBlankImage() {
+    MiniMapRenderer miniMap = new MiniMapRenderer();
+    miniMap.setGrid(10, 10);
+
+    PixelReader pixels = miniMap.getView().getImage().getPixelReader();
+    assertEquals(0xFFFFFFFF, pixels.getArgb(0, 0));
+  }
+}
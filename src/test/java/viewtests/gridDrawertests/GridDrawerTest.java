@@ -5,6 +5,8 @@ import cellsociety.view.renderer.drawer.HexGridDrawer;
 import cellsociety.view.renderer.drawer.SquareGridDrawer;
 import cellsociety.view.renderer.drawer.TriGridDrawer;
 import javafx.scene.layout.Pane;
+import javafx.scene.shape.Polygon;
+import javafx.scene.shape.Rectangle;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -81,4 +83,38 @@ public class GridDrawerTest {
     GridDrawer.drawGrid(pane, numOfRows, numOfCols, HexGridDrawer.class);
     Assertions.assertEquals(numOfRows * numOfCols + boundarySize, pane.getChildren().size());
   }
+
+  @Test
+  public void getGeometry_SameSizeAfterShapeSwitch_ReusesGeometry() {
+    double[] squareGeometry = GridDrawer.getInstance(SquareGridDrawer.class).getGeometry(6, 7);
+    double[] hexGeometry = GridDrawer.getInstance(HexGridDrawer.class).getGeometry(6, 7);
+
+    Assertions.assertSame(squareGeometry,
+        GridDrawer.getInstance(SquareGridDrawer.class).getGeometry(6, 7));
+    Assertions.assertSame(hexGeometry,
+        GridDrawer.getInstance(HexGridDrawer.class).getGeometry(6, 7));
+  }
+
+  @Test
+  public void getGeometry_DifferentSize_RecomputesGeometry() {
+    GridDrawer drawer = GridDrawer.getInstance(TriGridDrawer.class);
+    double[] geometry = drawer.getGeometry(4, 4);
+
+    double[] resized = drawer.getGeometry(4, 5);
+    Assertions.assertNotSame(geometry, resized);
+    Assertions.assertEquals(4 * 5 * 2 * 3, resized.length);
+  }
+
+  @Test
+  public void drawGrid_SquareGrid_DrawsRectangles() {
+    Pane pane = new Pane();
+
+    GridDrawer.drawGrid(pane, 3, 4, SquareGridDrawer.class);
+    Rectangle cell = Assertions.assertInstanceOf(Rectangle.class, pane.getChildren().get(6));
+    Assertions.assertEquals(40, cell.getX());
+    Assertions.assertEquals(20, cell.getY());
+
+    GridDrawer.drawGrid(pane, 3, 4, HexGridDrawer.class);
+    Assertions.assertInstanceOf(Polygon.class, pane.getChildren().get(6));
+  }
 }